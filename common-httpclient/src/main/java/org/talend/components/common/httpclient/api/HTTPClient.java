@@ -48,6 +48,17 @@ public interface HTTPClient<C> {
 
         InputStream getBodyAsStream() throws HTTPClientException;
 
+        /**
+         * Read the body while it is received, without loading it in memory.
+         * Once streamed, the body can't be read again, unless it had already been loaded by getBodyAsString() or
+         * getBodyAsStream() before. The caller has to close the returned stream.
+         *
+         * @return The body of the response.
+         */
+        default InputStream streamBody() throws HTTPClientException {
+            return getBodyAsStream();
+        }
+
         R getNestedResponse();
 
         String getEncoding();
@@ -29,7 +29,7 @@ import org.talend.components.common.httpclient.api.pagination.OffsetLimitPaginat
 /**
  * The configuration of an HTTP query for HTTPClient implementations.
  */
-public class QueryConfiguration {
+public class QueryConfiguration implements Cloneable {
 
     /**
      * The URL with placeholders.
@@ -152,4 +152,28 @@ public class QueryConfiguration {
 
     private OffsetLimitPagination offsetLimitPagination;
 
+    /**
+     * The copy shares all the values but the URL path parameters, query parameters and headers, which can be
+     * updated without impacting this configuration.
+     *
+     * @return a copy of this configuration.
+     */
+    public QueryConfiguration copy() {
+        try {
+            QueryConfiguration copy = (QueryConfiguration) super.clone();
+            copy.setUrlPathParams(new HashMap<>(this.urlPathParams));
+            copy.setQueryParams(copyKeyValuePairs(this.queryParams));
+            copy.setHeaders(copyKeyValuePairs(this.headers));
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static List<KeyValuePair> copyKeyValuePairs(List<KeyValuePair> kvps) {
+        List<KeyValuePair> copy = new ArrayList<>(kvps.size());
+        kvps.forEach(kvp -> copy.add(new KeyValuePair(kvp.getKey(), kvp.getValue())));
+        return copy;
+    }
+
 }
@@ -363,13 +363,31 @@ public class QueryConfigurationBuilder {
             String limitValue, String elementsPath) {
 
         OffsetLimitPagination offsetLimitPagination = new OffsetLimitPagination(location, offsetParamName,
-                offsetValue, limitParamName, limitValue, elementsPath);
+                offsetValue, limitParamName, limitValue, elementsPath, null, 0);
 
         queryConfiguration.setOffsetLimitPagination(offsetLimitPagination);
 
         return this;
     }
 
+    /**
+     * Request the next pages while the current one is consumed, see PaginationExecutor.
+     *
+     * @param prefetchedPages number of pages requested ahead, 0 to request them one after the other.
+     * @param totalPath path to the total number of elements in the response, can be null.
+     */
+    public QueryConfigurationBuilder setOffsetLimitPaginationPrefetch(int prefetchedPages, String totalPath) {
+        notNegative("http.configuration.pagination.prefetchedPages", prefetchedPages);
+        OffsetLimitPagination offsetLimitPagination = queryConfiguration.getOffsetLimitPagination();
+        if (offsetLimitPagination == null) {
+            throw new IllegalStateException("Offset/limit pagination must be set before its prefetch.");
+        }
+        offsetLimitPagination.setPrefetchedPages(prefetchedPages);
+        offsetLimitPagination.setTotalPath(totalPath);
+
+        return this;
+    }
+
     private static String changeNullToEmpty(String value, boolean trim) {
         return value == null ? "" : (trim ? value.trim() : value);
     }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.api.authentication;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM-wide cache of OAuth 2.0 client credentials tokens, keyed by
+ * {@link QueryConfiguration#getOAuthTokenCacheKey()}.
+ *
+ * Concurrent callers needing a token for the same key wait for a single token request. A valid token entering the
+ * last {@link #REFRESH_AHEAD_RATIO} of its lifetime is still returned, but a new one is requested in the background
+ * so that calls don't pay the token round-trip once it has expired.
+ */
+@Slf4j
+public final class OAuth20TokenManager {
+
+    /** Part of the token lifetime, at its end, during which a new token is requested in the background. */
+    public static final double REFRESH_AHEAD_RATIO = 0.2;
+
+    private static final OAuth20TokenManager INSTANCE =
+            new OAuth20TokenManager(oauthCall -> new OAuth20FlowExecution(oauthCall).executeFlow());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final TokenFetcher fetcher;
+
+    private final ExecutorService refresher = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "oauth20-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong fetches = new AtomicLong();
+
+    private final AtomicLong failedFetches = new AtomicLong();
+
+    private final AtomicLong totalFetchMillis = new AtomicLong();
+
+    private final AtomicLong lastFetchMillis = new AtomicLong();
+
+    OAuth20TokenManager(TokenFetcher fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    public static OAuth20TokenManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return a valid token for the key, requesting it with the given OAuth 2.0 call if none is cached.
+     *
+     * @param key the client credentials key.
+     * @param oauthCall the token endpoint call.
+     * @return a not expired token.
+     * @throws HTTPClientException if the token can't be retrieved.
+     */
+    public Token getToken(String key, QueryConfiguration oauthCall) throws HTTPClientException {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        Token token = entry.token;
+        if (token != null && !token.isExpired()) {
+            hits.incrementAndGet();
+            if (isRefreshNeeded(token)) {
+                fetch(entry, oauthCall, true);
+            }
+            return token;
+        }
+
+        misses.incrementAndGet();
+        try {
+            return fetch(entry, oauthCall, false).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HTTPClientException) {
+                throw (HTTPClientException) e.getCause();
+            }
+            throw new HTTPClientException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HTTPClientException("Interrupted while waiting for an OAuth 2.0 token.", e);
+        }
+    }
+
+    public OAuth20TokenMetrics metrics() {
+        return new OAuth20TokenMetrics(entries.size(), hits.get(), misses.get(), fetches.get(), failedFetches.get(),
+                totalFetchMillis.get(), lastFetchMillis.get());
+    }
+
+    /**
+     * Forget all the cached tokens.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static boolean isRefreshNeeded(Token token) {
+        if (token.getExpiresIn() <= 0) {
+            return false;
+        }
+        long remaining = token.getDeliveredTime() + token.getExpiresIn() - System.currentTimeMillis() / 1000;
+        return remaining < token.getExpiresIn() * REFRESH_AHEAD_RATIO;
+    }
+
+    /**
+     * Join the token request running for the entry or start a new one.
+     * A synchronous request is executed by the calling thread, others waiting for the same key share its result.
+     */
+    private CompletableFuture<Token> fetch(Entry entry, QueryConfiguration oauthCall, boolean background) {
+        CompletableFuture<Token> request;
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return entry.inFlight;
+            }
+            request = new CompletableFuture<>();
+            entry.inFlight = request;
+        }
+
+        Runnable execution = () -> execute(entry, oauthCall, request);
+        if (background) {
+            log.debug("OAuth 2.0 token from '{}' is about to expire, refreshing it.", oauthCall.getUrl());
+            refresher.execute(execution);
+        } else {
+            execution.run();
+        }
+        return request;
+    }
+
+    private void execute(Entry entry, QueryConfiguration oauthCall, CompletableFuture<Token> request) {
+        long start = System.currentTimeMillis();
+        fetches.incrementAndGet();
+        Token token = null;
+        Exception failure = null;
+        try {
+            token = fetcher.fetch(oauthCall);
+            entry.token = token;
+        } catch (Exception e) {
+            failedFetches.incrementAndGet();
+            log.warn("Can't retrieve OAuth 2.0 token from '{}': {}", oauthCall.getUrl(), e.getMessage());
+            failure = e;
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        totalFetchMillis.addAndGet(duration);
+        lastFetchMillis.set(duration);
+        synchronized (entry) {
+            entry.inFlight = null;
+        }
+
+        if (failure == null) {
+            request.complete(token);
+        } else {
+            request.completeExceptionally(failure);
+        }
+    }
+
+    @FunctionalInterface
+    interface TokenFetcher {
+
+        Token fetch(QueryConfiguration oauthCall) throws HTTPClientException;
+    }
+
+    private static class Entry {
+
+        private volatile Token token;
+
+        private CompletableFuture<Token> inFlight;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.api.authentication;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the OAuth 2.0 token cache usage.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OAuth20TokenMetrics {
+
+    /** Number of distinct client credentials seen. */
+    private final int cachedTokens;
+
+    /** Calls served by a cached token. */
+    private final long hits;
+
+    /** Calls that had to wait for a token. */
+    private final long misses;
+
+    /** Token requests sent to the authorization servers, including background refreshes. */
+    private final long fetches;
+
+    /** Token requests that failed. */
+    private final long failedFetches;
+
+    /** Cumulated time spent in token requests, in milliseconds. */
+    private final long totalFetchMillis;
+
+    /** Duration of the last token request, in milliseconds. */
+    private final long lastFetchMillis;
+
+    public double getHitRate() {
+        long calls = hits + misses;
+        return calls == 0 ? 0d : (double) hits / calls;
+    }
+
+    public long getAverageFetchMillis() {
+        return fetches == 0 ? 0L : totalFetchMillis / fetches;
+    }
+
+}
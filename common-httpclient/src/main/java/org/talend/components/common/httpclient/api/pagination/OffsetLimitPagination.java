@@ -31,4 +31,14 @@ public class OffsetLimitPagination {
 
     private String elementsPath;
 
+    /**
+     * Path to the total number of elements in the response, the same way as elementsPath, null if not sent.
+     */
+    private String totalPath;
+
+    /**
+     * Number of pages requested ahead while the current one is consumed, 0 to request them one after the other.
+     */
+    private int prefetchedPages;
+
 }
\ No newline at end of file
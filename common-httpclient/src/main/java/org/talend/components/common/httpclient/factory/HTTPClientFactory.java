@@ -14,6 +14,9 @@ package org.talend.components.common.httpclient.factory;
 
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.OAuth20TokenManager;
+import org.talend.components.common.httpclient.api.authentication.OAuth20TokenMetrics;
+import org.talend.components.common.httpclient.impl.cxf.CXFClientPool;
 import org.talend.components.common.httpclient.impl.cxf.CXFHTTPClientImpl;
 
 /**
@@ -30,4 +33,29 @@ public class HTTPClientFactory {
         return new CXFHTTPClientImpl(queryConfiguration);
     }
 
+    /**
+     * Clients are pooled by origin, proxy and TLS settings, see CXFClientPool.
+     *
+     * @return the current usage of the pool.
+     */
+    public static HTTPClientPoolMetrics getPoolMetrics() {
+        return CXFClientPool.metrics();
+    }
+
+    /**
+     * Close the idle pooled clients.
+     */
+    public static void clearPool() {
+        CXFClientPool.clear();
+    }
+
+    /**
+     * OAuth 2.0 client credentials tokens are shared by all the clients of the JVM, see OAuth20TokenManager.
+     *
+     * @return the current usage of the token cache.
+     */
+    public static OAuth20TokenMetrics getOAuth20TokenMetrics() {
+        return OAuth20TokenManager.getInstance().metrics();
+    }
+
 }
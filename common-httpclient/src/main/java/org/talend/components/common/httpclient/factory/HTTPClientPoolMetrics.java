@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.factory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the HTTP client pool usage.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HTTPClientPoolMetrics {
+
+    /** Number of distinct origin, proxy and TLS settings seen. */
+    private final int pools;
+
+    /** Clients waiting for a call. */
+    private final int idleClients;
+
+    /** Clients created since the JVM started. */
+    private final long createdClients;
+
+    /** Calls served by an already configured client. */
+    private final long reusedClients;
+
+}
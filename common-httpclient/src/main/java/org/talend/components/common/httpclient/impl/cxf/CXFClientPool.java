@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.impl.cxf;
+
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.talend.components.common.httpclient.api.ProxyConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.factory.HTTPClientPoolMetrics;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM-wide pool of CXF web clients, keyed by origin (scheme, host and port), proxy and TLS settings.
+ *
+ * A client is borrowed for a single call and returned once the response is received, so its conduit is set up once
+ * for all the calls to the same origin. Clients of the same key share one SSL socket factory: the JDK keeps
+ * alive connections per socket factory, so that pages and records sent to the same server reuse the open
+ * connection and TLS session instead of doing a new handshake for each call.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CXFClientPool {
+
+    /** Maximum number of idle clients kept for a key, others are closed when returned. */
+    public static final int MAX_IDLE_CLIENTS_PER_KEY = 16;
+
+    private static final Map<PoolKey, Slot> SLOTS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private static final AtomicLong REUSED = new AtomicLong();
+
+    /**
+     * Take an idle client for the configuration or create one.
+     * The client is always reset and pointing to the configuration URL.
+     */
+    public static PooledClient borrow(final QueryConfiguration queryConfiguration) {
+        final String url = queryConfiguration.getUrl();
+        final PoolKey key = toKey(queryConfiguration);
+        if (key == null) {
+            CREATED.incrementAndGet();
+            return new PooledClient(null, WebClient.create(url));
+        }
+        final Slot slot = SLOTS.computeIfAbsent(key, k -> new Slot());
+        WebClient client = slot.idle.pollFirst();
+        if (client == null) {
+            CREATED.incrementAndGet();
+            client = WebClient.create(url);
+        } else {
+            slot.idleCount.decrementAndGet();
+            REUSED.incrementAndGet();
+            client.reset();
+            client.to(url, false);
+        }
+        return new PooledClient(slot, client);
+    }
+
+    /**
+     * Give a client back to the pool once its response has been received.
+     */
+    public static void release(final PooledClient pooled) {
+        if (pooled.slot == null || pooled.slot.idleCount.incrementAndGet() > MAX_IDLE_CLIENTS_PER_KEY) {
+            if (pooled.slot != null) {
+                pooled.slot.idleCount.decrementAndGet();
+            }
+            pooled.client.close();
+            return;
+        }
+        pooled.client.reset();
+        pooled.slot.idle.offerFirst(pooled.client);
+    }
+
+    /**
+     * Socket factory shared by all the clients of the key, built from the JVM default SSL context or from a context
+     * trusting any certificate when certificate validation is bypassed.
+     */
+    static SSLSocketFactory getSocketFactory(final PooledClient pooled, final boolean bypassCertificateValidation)
+            throws GeneralSecurityException {
+        if (pooled.slot == null) {
+            return createSocketFactory(bypassCertificateValidation);
+        }
+        synchronized (pooled.slot) {
+            if (pooled.slot.socketFactory == null) {
+                pooled.slot.socketFactory = createSocketFactory(bypassCertificateValidation);
+            }
+            return pooled.slot.socketFactory;
+        }
+    }
+
+    public static HTTPClientPoolMetrics metrics() {
+        final int idle = SLOTS.values().stream().mapToInt(s -> s.idleCount.get()).sum();
+        return new HTTPClientPoolMetrics(SLOTS.size(), idle, CREATED.get(), REUSED.get());
+    }
+
+    /**
+     * Close all the idle clients.
+     */
+    public static void clear() {
+        SLOTS.values().forEach(slot -> {
+            WebClient client;
+            while ((client = slot.idle.pollFirst()) != null) {
+                slot.idleCount.decrementAndGet();
+                client.close();
+            }
+        });
+        SLOTS.clear();
+    }
+
+    private static SSLSocketFactory createSocketFactory(final boolean bypassCertificateValidation)
+            throws GeneralSecurityException {
+        if (!bypassCertificateValidation) {
+            return SSLContext.getDefault().getSocketFactory();
+        }
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, new TrustManager[] { new BlindTrustManager() }, null);
+        return context.getSocketFactory();
+    }
+
+    private static PoolKey toKey(final QueryConfiguration queryConfiguration) {
+        try {
+            final URI uri = URI.create(queryConfiguration.getUrl());
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return null;
+            }
+            final String origin = String.format("%s://%s:%d", uri.getScheme().toLowerCase(),
+                    uri.getHost().toLowerCase(), uri.getPort());
+            return new PoolKey(origin, queryConfiguration.getProxy(),
+                    queryConfiguration.isBypassCertificateValidation());
+        } catch (IllegalArgumentException e) {
+            log.debug("URL '{}' can't be pooled: {}", queryConfiguration.getUrl(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Value
+    private static class PoolKey {
+
+        String origin;
+
+        ProxyConfiguration proxy;
+
+        boolean bypassCertificateValidation;
+    }
+
+    private static class Slot {
+
+        private final Deque<WebClient> idle = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        private SSLSocketFactory socketFactory;
+    }
+
+    /**
+     * A client borrowed from the pool, it must be used by a single thread until released.
+     */
+    public static final class PooledClient {
+
+        private final Slot slot;
+
+        @Getter
+        private final WebClient client;
+
+        private PooledClient(final Slot slot, final WebClient client) {
+            this.slot = slot;
+            this.client = client;
+        }
+    }
+}
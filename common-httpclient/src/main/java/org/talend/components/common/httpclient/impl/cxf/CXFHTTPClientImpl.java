@@ -18,7 +18,6 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.HttpHeaders;
@@ -43,6 +42,7 @@ import org.talend.components.common.httpclient.api.HTTPClientException;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.common.httpclient.api.authentication.AuthenticationType;
 import org.talend.components.common.httpclient.api.authentication.OAuth20FlowExecution;
+import org.talend.components.common.httpclient.api.authentication.OAuth20TokenManager;
 import org.talend.components.common.httpclient.api.authentication.Token;
 import org.talend.components.common.httpclient.pagination.PaginationStrategy;
 import org.talend.components.common.httpclient.pagination.PaginationStrategyFactory;
@@ -58,9 +58,16 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     private WebClient webClient;
 
+    private CXFClientPool.PooledClient pooledClient;
+
     private Token token;
 
     public CXFHTTPClientImpl(final QueryConfiguration queryConfiguration) {
+        this.queryConfiguration = queryConfiguration;
+        borrowClient();
+    }
+
+    private void borrowClient() {
         // This is to force the use of the same classloader of this class
         // If not, it uses the cxf tries to load the Bus with the current thread contextclassloader
         // and if it is different, it throws and exception.
@@ -69,17 +76,22 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         try {
             Thread.currentThread().setContextClassLoader(this.getClass().getClassLoader());
 
-            this.queryConfiguration = queryConfiguration;
-            String url = configureURL();
-            this.webClient = WebClient.create(url);
+            this.pooledClient = CXFClientPool.borrow(queryConfiguration);
+            this.webClient = pooledClient.getClient();
         } finally {
             Thread.currentThread().setContextClassLoader(backupThreadContextClassLoader);
         }
-
     }
 
+    /**
+     * The nested client comes from a pool, it is given back once {@link #invoke()} returns. A new one is borrowed if
+     * it is requested after.
+     */
     @Override
     public WebClient getNestedClient() {
+        if (this.webClient == null) {
+            borrowClient();
+        }
         return this.webClient;
     }
 
@@ -90,6 +102,17 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     @Override
     public HTTPResponse invoke() throws HTTPClientException {
+        getNestedClient();
+        try {
+            return doInvoke();
+        } finally {
+            CXFClientPool.release(pooledClient);
+            this.pooledClient = null;
+            this.webClient = null;
+        }
+    }
+
+    private HTTPResponse doInvoke() throws HTTPClientException {
         validateURL();
 
         manageAuthentication();
@@ -143,21 +166,19 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
     private void certificateValidation() throws HTTPClientException {
         final HTTPConduit conduit = WebClient.getConfig(webClient).getHttpConduit();
 
-        // skip server truststore validation
-        if (queryConfiguration.isBypassCertificateValidation()) {
+        // The socket factory is shared by the pooled clients of the same origin so that the JDK reuses kept alive
+        // connections, it is built with the blind trust manager when server truststore validation is skipped
+        boolean bypass = queryConfiguration.isBypassCertificateValidation();
+        TLSClientParameters params = getTlsClientParameters(conduit);
+        if (bypass) {
             // Disabled certificates verification
-            TLSClientParameters params = getTlsClientParameters(conduit);
             params.setTrustManagers(new TrustManager[] { new BlindTrustManager() });
             params.setDisableCNCheck(true);
-        } else {
-            // init TLS by JVM default SSLContext
-            // difficult to mix with bypassCertificateValidation function, so here only disable it if that is true
-            TLSClientParameters params = getTlsClientParameters(conduit);
-            try {
-                params.setSslContext(SSLContext.getDefault());
-            } catch (Exception e) {
-                log.warn("fail to call SSLContext.getDefault() : " + e.getMessage());
-            }
+        }
+        try {
+            params.setSSLSocketFactory(CXFClientPool.getSocketFactory(pooledClient, bypass));
+        } catch (Exception e) {
+            log.warn("fail to init the SSL socket factory : " + e.getMessage());
         }
     }
 
@@ -227,6 +248,8 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     private void manageAuthentication() throws HTTPClientException {
         HTTPConduit httpConduit = WebClient.getConfig(webClient).getHttpConduit();
+        // the conduit may come from a previous call of the pooled client
+        httpConduit.setAuthorization(new AuthorizationPolicy());
 
         switch (queryConfiguration.getAuthenticationType()) {
         case Basic:
@@ -261,8 +284,13 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         case OAuth20_Client_Credential:
             if (token == null || token.isExpired()) {
                 QueryConfiguration oauthCall = queryConfiguration.getOauthCall();
-                OAuth20FlowExecution flow = new OAuth20FlowExecution(oauthCall);
-                this.token = flow.executeFlow();
+                Optional<String> tokenCacheKey = queryConfiguration.getOAuthTokenCacheKey();
+                if (tokenCacheKey.isPresent()) {
+                    this.token = OAuth20TokenManager.getInstance().getToken(tokenCacheKey.get(), oauthCall);
+                } else {
+                    OAuth20FlowExecution flow = new OAuth20FlowExecution(oauthCall);
+                    this.token = flow.executeFlow();
+                }
             }
             String t = String.format("%s %s", token.getTokenType(), token.getAccessToken());
             this.setAuthorizationToken(t);
@@ -308,12 +336,16 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
                     .getRequestContext()
                     .put(CXFConstants.AUTO_REDIRECT_MAX_SAME_URI_COUNT,
                             queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI());
+        } else {
+            WebClient.getConfig(webClient).getRequestContext().remove(CXFConstants.AUTO_REDIRECT_MAX_SAME_URI_COUNT);
         }
 
         if (queryConfiguration.getAllowedURIRedirection() != null) {
             WebClient.getConfig(webClient)
                     .getRequestContext()
                     .put(CXFConstants.AUTO_REDIRECT_ALLOWED_URI, queryConfiguration.getAllowedURIRedirection());
+        } else {
+            WebClient.getConfig(webClient).getRequestContext().remove(CXFConstants.AUTO_REDIRECT_ALLOWED_URI);
         }
     }
 
@@ -322,6 +354,7 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
         ClientConfiguration config = WebClient.getConfig(webClient);
 
+        config.getInInterceptors().removeIf(GZIPInInterceptor.class::isInstance);
         if (queryConfiguration.isDecompressResponsePayload()) {
             config.getInInterceptors().add(new GZIPInInterceptor());
         }
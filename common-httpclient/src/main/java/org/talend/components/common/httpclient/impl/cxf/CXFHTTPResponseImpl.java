@@ -45,6 +45,8 @@ class CXFHTTPResponseImpl implements HTTPClient.HTTPResponse<Response> {
 
     private byte[] payload;
 
+    private boolean streamed;
+
     private final PaginationStrategy paginationStrategy;
 
     public CXFHTTPResponseImpl(final Response response, PaginationStrategy paginationStrategy) {
@@ -109,9 +111,27 @@ class CXFHTTPResponseImpl implements HTTPClient.HTTPResponse<Response> {
         return new ByteArrayInputStream(this.payload);
     }
 
+    @Override
+    public InputStream streamBody() throws HTTPClientException {
+        if (this.payload != null) {
+            return new ByteArrayInputStream(this.payload);
+        }
+        checkNotStreamed();
+        this.streamed = true;
+        InputStream inputStream = (InputStream) response.getEntity();
+        return inputStream == null ? new ByteArrayInputStream(new byte[] {}) : inputStream;
+    }
+
+    private void checkNotStreamed() throws HTTPClientException {
+        if (this.streamed) {
+            throw new HTTPClientException("HTTP response payload has already been streamed, it can't be read again.");
+        }
+    }
+
     private void loadPayload() throws HTTPClientException {
         try {
             if (this.payload == null) {
+                checkNotStreamed();
                 InputStream inputStream = (InputStream) response.getEntity();
                 if (inputStream == null) {
                     inputStream = new ByteArrayInputStream(new byte[] {});
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 import javax.json.Json;
+import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
 
@@ -100,6 +101,69 @@ public class OffsetLimitPaginationStrategy implements PaginationStrategy {
         return this.lastCount;
     }
 
+    /**
+     * @return the offset of the page requested by the initial configuration.
+     */
+    public long getOffset() {
+        OffsetLimitPagination offsetLimitPagination = this.queryConfiguration.getOffsetLimitPagination();
+        return getKeyValuePairs(this.queryConfiguration, offsetLimitPagination).stream()
+                .filter(kvp -> kvp.getKey().equals(offsetLimitPagination.getOffsetParamName()))
+                .findFirst()
+                .map(kvp -> Long.parseLong(kvp.getValue()))
+                .orElseGet(() -> Long.parseLong(offsetLimitPagination.getOffsetValue()));
+    }
+
+    /**
+     * The initial configuration is not updated, so that several pages can be requested at the same time.
+     *
+     * @param offset position of the first element of the page.
+     * @return a copy of the initial configuration requesting the page at that offset.
+     */
+    public QueryConfiguration getPageConfiguration(long offset) {
+        OffsetLimitPagination offsetLimitPagination = this.queryConfiguration.getOffsetLimitPagination();
+        QueryConfiguration page = this.queryConfiguration.copy();
+        List<KeyValuePair> keyValuePairs = getKeyValuePairs(page, offsetLimitPagination);
+        String offsetValue = String.valueOf(offset);
+        Optional<KeyValuePair> existingOffset = keyValuePairs.stream()
+                .filter(kvp -> kvp.getKey().equals(offsetLimitPagination.getOffsetParamName()))
+                .findFirst();
+        if (existingOffset.isPresent()) {
+            existingOffset.get().setValue(offsetValue);
+        } else {
+            keyValuePairs.add(new KeyValuePair(offsetLimitPagination.getOffsetParamName(), offsetValue));
+        }
+        return page;
+    }
+
+    /**
+     * @param response a page.
+     * @return the total number of elements sent in the page, empty if no total path is configured.
+     */
+    public Optional<Long> getTotal(HTTPClient.HTTPResponse response) throws HTTPClientException {
+        String totalPath = this.queryConfiguration.getOffsetLimitPagination().getTotalPath();
+        if (totalPath == null || totalPath.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        String[] paths = splitPath(totalPath);
+        try (JsonReader jsonReader = Json.createReader(new StringReader(response.getBodyAsString()))) {
+            JsonObject current = jsonReader.readObject();
+            for (int i = 0; i < paths.length - 1; i++) {
+                current = current.getJsonObject(paths[i]);
+            }
+            JsonNumber total = current.getJsonNumber(paths[paths.length - 1]);
+            return total == null ? Optional.empty() : Optional.of(total.longValue());
+        }
+    }
+
+    private static List<KeyValuePair> getKeyValuePairs(QueryConfiguration queryConfiguration,
+            OffsetLimitPagination offsetLimitPagination) {
+        if (offsetLimitPagination.getLocation() == PaginationParametersLocation.HEADERS) {
+            return queryConfiguration.getHeaders();
+        }
+        return queryConfiguration.getQueryParams();
+    }
+
     private List<KeyValuePair> initKeyValuePairs(final List<KeyValuePair> kvps,
             final OffsetLimitPagination offsetLimitPagination) {
         kvps.add(new KeyValuePair(offsetLimitPagination.getOffsetParamName(), offsetLimitPagination.getOffsetValue()));
@@ -144,19 +208,7 @@ public class OffsetLimitPaginationStrategy implements PaginationStrategy {
      * Intermediate segments, must be jsonObject.
      */
     private int computeNbReceivedElement(HTTPClient.HTTPResponse response) throws HTTPClientException {
-        String elementsPath = this.queryConfiguration.getOffsetLimitPagination().getElementsPath();
-
-        // Remove trailing '.' characters.
-        while (elementsPath.startsWith(".")) {
-            elementsPath = elementsPath.substring(1);
-        }
-
-        while (elementsPath.endsWith(".")) {
-            elementsPath = elementsPath.substring(0, elementsPath.length() - 1);
-        }
-
-        // Retrieve all segment
-        String[] paths = elementsPath.split("\\.");
+        String[] paths = splitPath(this.queryConfiguration.getOffsetLimitPagination().getElementsPath());
 
         int nbElements = 0;
         JsonReader jsonReader = Json.createReader(new StringReader(response.getBodyAsString()));
@@ -180,4 +232,18 @@ public class OffsetLimitPaginationStrategy implements PaginationStrategy {
 
         return nbElements;
     }
+
+    private static String[] splitPath(String path) {
+        // Remove trailing '.' characters.
+        while (path.startsWith(".")) {
+            path = path.substring(1);
+        }
+
+        while (path.endsWith(".")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        // Retrieve all segment
+        return path.split("\\.");
+    }
 }
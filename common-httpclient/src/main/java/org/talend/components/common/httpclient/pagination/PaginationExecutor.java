@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.pagination;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.pagination.OffsetLimitPagination;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request the pages of a query and return them in order.
+ *
+ * Without offset/limit pagination, or when no page is prefetched, each page is requested once the previous one is
+ * returned, using the configuration given by HTTPResponse#nextPageQueryConfiguration().
+ *
+ * When OffsetLimitPagination#getPrefetchedPages() is positive, the first page gives the page size and the next
+ * offsets are computed from it: up to that number of pages are requested ahead on background threads while the
+ * current one is consumed. The pagination stops at the first empty page, at the first page shorter than the first
+ * one, or once the total number of elements is reached when the response sends it. Pages requested after the end are
+ * cancelled. This expects the server to send full pages but the last one.
+ */
+@Slf4j
+public class PaginationExecutor implements AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final PageInvoker invoker;
+
+    private final int prefetchedPages;
+
+    private final Deque<Future<HTTPClient.HTTPResponse>> pending = new ArrayDeque<>();
+
+    private Optional<QueryConfiguration> nextConfiguration;
+
+    private OffsetLimitPaginationStrategy strategy;
+
+    private ExecutorService executor;
+
+    private long pageSize;
+
+    private long nextOffset;
+
+    private long total = Long.MAX_VALUE;
+
+    private boolean lastPageReached;
+
+    public PaginationExecutor(final QueryConfiguration queryConfiguration, final PageInvoker invoker) {
+        this.invoker = invoker;
+        this.nextConfiguration = Optional.ofNullable(queryConfiguration);
+        OffsetLimitPagination offsetLimitPagination =
+                queryConfiguration == null ? null : queryConfiguration.getOffsetLimitPagination();
+        this.prefetchedPages = offsetLimitPagination == null ? 0 : offsetLimitPagination.getPrefetchedPages();
+    }
+
+    /**
+     * @return the next page, empty when there is no more page or when the page doesn't contain any element.
+     */
+    public Optional<HTTPClient.HTTPResponse> nextPage() throws HTTPClientException {
+        HTTPClient.HTTPResponse response;
+        if (prefetchedPages <= 0 || strategy == null) {
+            if (!nextConfiguration.isPresent()) {
+                return Optional.empty();
+            }
+            QueryConfiguration queryConfiguration = nextConfiguration.get();
+            nextConfiguration = Optional.empty();
+            response = invoker.invoke(queryConfiguration);
+            if (prefetchedPages > 0) {
+                return startPrefetch(queryConfiguration, response);
+            }
+            nextConfiguration = response.nextPageQueryConfiguration();
+        } else {
+            Future<HTTPClient.HTTPResponse> page = pending.pollFirst();
+            if (page == null) {
+                return Optional.empty();
+            }
+            response = await(page);
+            int count = response.getLastPageCount();
+            if (count < pageSize) {
+                // Short or empty page, nothing after it
+                stop();
+            } else {
+                prefetch();
+            }
+        }
+
+        // An empty page is not returned since some element paths can't be evaluated on it.
+        return response.getLastPageCount() <= 0 ? Optional.empty() : Optional.of(response);
+    }
+
+    /**
+     * @return false if nextPage() will return an empty value.
+     */
+    public boolean hasNextPage() {
+        if (strategy == null) {
+            return nextConfiguration.isPresent();
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        stop();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private Optional<HTTPClient.HTTPResponse> startPrefetch(final QueryConfiguration first,
+            final HTTPClient.HTTPResponse response) throws HTTPClientException {
+        int count = response.getLastPageCount();
+        if (count <= 0) {
+            return Optional.empty();
+        }
+        strategy = new OffsetLimitPaginationStrategy(first);
+        pageSize = count;
+        nextOffset = strategy.getOffset() + count;
+        total = strategy.getTotal(response).orElse(Long.MAX_VALUE);
+        log.debug("Prefetching {} pages of {} elements from '{}'.", prefetchedPages, pageSize, first.getUrl());
+        executor = Executors.newFixedThreadPool(prefetchedPages,
+                daemonThreads(Thread.currentThread().getContextClassLoader()));
+        prefetch();
+        return Optional.of(response);
+    }
+
+    private void prefetch() {
+        while (!lastPageReached && pending.size() < prefetchedPages && nextOffset < total) {
+            QueryConfiguration page = strategy.getPageConfiguration(nextOffset);
+            pending.addLast(executor.submit(() -> invoker.invoke(page)));
+            nextOffset += pageSize;
+        }
+    }
+
+    private void stop() {
+        lastPageReached = true;
+        Future<HTTPClient.HTTPResponse> page;
+        while ((page = pending.pollFirst()) != null) {
+            page.cancel(true);
+        }
+    }
+
+    private HTTPClient.HTTPResponse await(final Future<HTTPClient.HTTPResponse> page) throws HTTPClientException {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            throw new HTTPClientException("Interrupted while waiting for a page.", e);
+        } catch (ExecutionException e) {
+            stop();
+            Throwable cause = e.getCause();
+            if (cause instanceof HTTPClientException) {
+                throw (HTTPClientException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HTTPClientException(cause.getMessage(), cause);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(final ClassLoader loader) {
+        final int pool = POOL_COUNT.incrementAndGet();
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "http-page-" + pool + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(loader);
+            return thread;
+        };
+    }
+
+    /**
+     * Send the query of a page.
+     */
+    @FunctionalInterface
+    public interface PageInvoker {
+
+        HTTPClient.HTTPResponse invoke(QueryConfiguration queryConfiguration) throws HTTPClientException;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.api.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
+
+class OAuth20TokenManagerTest {
+
+    private final QueryConfiguration oauthCall = QueryConfigurationBuilder.create("http://localhost/token").build();
+
+    @Test
+    void concurrentCallsShareOneTokenRequest() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        OAuth20TokenManager manager = new OAuth20TokenManager(c -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return newToken("shared", 3600);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Token>> tokens = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tokens.add(executor.submit(() -> manager.getToken("key", oauthCall)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Token> token : tokens) {
+                Assertions.assertEquals("shared", token.get(5, TimeUnit.SECONDS).getAccessToken());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals("shared", manager.getToken("key", oauthCall).getAccessToken());
+        Assertions.assertEquals(1, manager.metrics().getFetches());
+        Assertions.assertTrue(manager.metrics().getHits() >= 1);
+    }
+
+    @Test
+    void tokenCloseToExpirationIsRefreshedInBackground() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        OAuth20TokenManager manager = new OAuth20TokenManager(c -> {
+            if (calls.incrementAndGet() == 1) {
+                // Delivered 95s ago for 100s: still valid but in the refresh window
+                return new Token("old", "Bearer", System.currentTimeMillis() / 1000 - 95, 100);
+            }
+            return newToken("new", 100);
+        });
+
+        Assertions.assertEquals("old", manager.getToken("key", oauthCall).getAccessToken());
+        // Served from the cache while the new token is requested
+        Assertions.assertEquals("old", manager.getToken("key", oauthCall).getAccessToken());
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (manager.metrics().getFetches() < 2 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        Assertions.assertEquals("new", manager.getToken("key", oauthCall).getAccessToken());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failureIsPropagatedAndNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        OAuth20TokenManager manager = new OAuth20TokenManager(c -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new HTTPClientException("invalid_client");
+            }
+            return newToken("valid", 3600);
+        });
+
+        HTTPClientException e = Assertions.assertThrows(HTTPClientException.class,
+                () -> manager.getToken("key", oauthCall));
+        Assertions.assertEquals("invalid_client", e.getMessage());
+        Assertions.assertEquals("valid", manager.getToken("key", oauthCall).getAccessToken());
+
+        OAuth20TokenMetrics metrics = manager.metrics();
+        Assertions.assertEquals(2, metrics.getMisses());
+        Assertions.assertEquals(1, metrics.getFailedFetches());
+        Assertions.assertEquals(0d, metrics.getHitRate());
+    }
+
+    private static Token newToken(String value, long expiresIn) {
+        return new Token(value, "Bearer", System.currentTimeMillis() / 1000, expiresIn);
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.talend.components.common.httpclient.impl.cxf;
 
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
@@ -49,6 +50,7 @@ import org.talend.components.common.httpclient.api.pagination.PaginationParamete
 import org.talend.components.common.httpclient.factory.HTTPClientFactory;
 import org.talend.components.common.httpclient.impl.cxf.servers.AbstractHTTPServerFactory;
 import org.talend.components.common.httpclient.impl.cxf.servers.BasicHTTPServerFactory;
+import org.talend.components.common.httpclient.pagination.PaginationExecutor;
 
 class CXFHTTPClientImplWithBasicHTTPServerTest {
 
@@ -275,6 +277,47 @@ class CXFHTTPClientImplWithBasicHTTPServerTest {
         Assertions.assertEquals("Basic bXlVc2VyOm15UGFzc3dvcmQ=", token);
     }
 
+    @Test
+    void streamedBodyCanBeReadOnce() throws Exception {
+        final QueryConfiguration config =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_ECHO)).setMethod("GET").build();
+        HTTPClient.HTTPResponse response = HTTPClientFactory.create(config).invoke();
+
+        try (InputStream body = response.streamBody();
+                JsonReader reader = Json.createReader(body)) {
+            Assertions.assertTrue(reader.readObject().containsKey("request-headers"));
+        }
+        Assertions.assertThrows(HTTPClientException.class, response::getBodyAsString);
+
+        // A loaded body is still available after being streamed
+        HTTPClient.HTTPResponse loaded = HTTPClientFactory.create(config).invoke();
+        String body = loaded.getBodyAsString();
+        try (InputStream streamed = loaded.streamBody()) {
+            Assertions.assertEquals(body.getBytes(loaded.getEncoding()).length, streamed.available());
+        }
+    }
+
+    @Test
+    void pooledClientDoesNotLeakPreviousCall() throws HTTPClientException {
+        final QueryConfiguration authenticated =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_ECHO))
+                        .setMethod("GET")
+                        .setBasicAuthentication("myUser", "myPassword")
+                        .addHeader("X-Pooled", "first")
+                        .build();
+        HTTPClientFactory.create(authenticated).invoke().getBodyAsString();
+        long reused = HTTPClientFactory.getPoolMetrics().getReusedClients();
+
+        final QueryConfiguration anonymous =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_ECHO)).setMethod("GET").build();
+        HTTPClient.HTTPResponse response = HTTPClientFactory.create(anonymous).invoke();
+        JsonObject headers = ResourcesUtils.getJsonObject(response.getBodyAsString()).getJsonObject("request-headers");
+
+        Assertions.assertTrue(HTTPClientFactory.getPoolMetrics().getReusedClients() > reused);
+        Assertions.assertFalse(headers.containsKey(HttpHeaderHelper.AUTHORIZATION.toLowerCase()));
+        Assertions.assertFalse(headers.containsKey("x-pooled"));
+    }
+
     @ParameterizedTest
     @MethodSource("oauth20ClientCredentialAuthenticationParams")
     void oauth20ClientCredentialAuthentication(OAuth20.AuthentMode authentMode, String tokenEndpoint,
@@ -493,6 +536,47 @@ class CXFHTTPClientImplWithBasicHTTPServerTest {
 
     }
 
+    @ParameterizedTest
+    @CsvSource({ "QUERY_PARAMETERS,0,3,4",
+            "QUERY_PARAMETERS,40,10,2",
+            "HEADERS,40,4,8",
+            "HEADERS,1,6,1", })
+    void offsetLimitPaginationWithPrefetch(PaginationParametersLocation location, int offset, int limit,
+            int prefetchedPages) throws HTTPClientException {
+
+        QueryConfiguration config =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT))
+                        .setMethod("GET")
+                        .setOffsetLimitPagination(location,
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_OFFSETNAME,
+                                String.valueOf(offset),
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_LIMITNAME,
+                                String.valueOf(limit),
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_ELEMENTS)
+                        .setOffsetLimitPaginationPrefetch(prefetchedPages, null)
+                        .addQueryParam(BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_LOCALISATION,
+                                location.name())
+                        .build();
+
+        List<JsonObject> allElements = new ArrayList<>();
+        try (PaginationExecutor pages =
+                new PaginationExecutor(config, c -> HTTPClientFactory.create(c).invoke())) {
+            Optional<HTTPClient.HTTPResponse> response;
+            while ((response = pages.nextPage()).isPresent()) {
+                JsonReader reader = Json.createReader(new StringReader(response.get().getBodyAsString()));
+                JsonArray elements = reader.readObject()
+                        .getJsonArray(BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_ELEMENTS);
+                elements.stream().forEach(e -> allElements.add((JsonObject) e));
+            }
+            Assertions.assertFalse(pages.hasNextPage());
+        }
+
+        Assertions.assertEquals(53 - offset, allElements.size());
+        for (int i = 0; i < allElements.size(); i++) {
+            Assertions.assertEquals(i + offset + 1, allElements.get(i).getInt("id"));
+        }
+    }
+
     private static String getUrl(String endPoint) {
         return getBaseURL() + endPoint;
     }
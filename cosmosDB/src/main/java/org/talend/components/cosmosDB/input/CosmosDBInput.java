@@ -50,10 +50,18 @@ public class CosmosDBInput implements Serializable {
 
     private transient Iterator<Document> iterator;
 
+    private final TimestampWindow window;
+
     public CosmosDBInput(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service,
             final RecordBuilderFactory builderFactory) {
+        this(configuration, service, builderFactory, null);
+    }
+
+    public CosmosDBInput(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory builderFactory, final TimestampWindow window) {
         this.configuration = configuration;
+        this.window = window;
         this.service = service;
         this.builderFactory = builderFactory;
     }
@@ -97,6 +105,11 @@ public class CosmosDBInput implements Serializable {
             queryResults =
                     this.client.queryDocuments(collectionLink, configuration.getDataset().getQuery(), queryOptions);
             log.info("Query [{}] execution success.", configuration.getDataset().getQuery());
+        } else if (window != null) {
+            FeedOptions queryOptions = new FeedOptions();
+            queryOptions.setEnableCrossPartitionQuery(true);
+            log.debug("window: [{}, {})", window.getLower(), window.getUpper());
+            queryResults = client.queryDocuments(collectionLink, window.toQuery(), queryOptions);
         } else {
             queryResults = client.readDocuments(collectionLink, null);
         }
@@ -16,6 +16,7 @@ import lombok.Data;
 import org.talend.components.cosmosDB.dataset.QueryDataset;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
@@ -28,7 +29,8 @@ import java.io.Serializable;
 @GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }), //
 }), @GridLayout(names = GridLayout.FormType.ADVANCED,
         value = { @GridLayout.Row({ "dataset" }),
-                @GridLayout.Row({ "jsonForceDouble" }) }) })
+                @GridLayout.Row({ "jsonForceDouble" }),
+                @GridLayout.Row({ "splitByTimestamp" }) }) })
 @Documentation("cosmosDB input Mapper Configuration")
 public class CosmosDBInputConfiguration implements Serializable {
 
@@ -41,4 +43,12 @@ public class CosmosDBInputConfiguration implements Serializable {
     @Documentation("Force json number to double.")
     private boolean jsonForceDouble = true;
 
+    @Option
+    @DefaultValue("false")
+    @ActiveIf(target = "dataset.useQuery", value = "false")
+    @Documentation("Read the collection in parallel, in _ts windows. _ts is the modification time: the windows stop "
+            + "at the last modification seen when the read starts, so the documents modified during the read are not "
+            + "read, nor those inserted meanwhile.")
+    private boolean splitByTimestamp = false;
+
 }
\ No newline at end of file
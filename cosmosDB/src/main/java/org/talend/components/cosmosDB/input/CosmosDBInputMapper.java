@@ -12,6 +12,9 @@
  */
 package org.talend.components.cosmosDB.input;
 
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.FeedOptions;
+import lombok.extern.slf4j.Slf4j;
 import org.talend.components.cosmosDB.service.CosmosDBService;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
@@ -22,54 +25,108 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 
+@Slf4j
 @Version(1)
 @Icon(value = Icon.IconType.CUSTOM, custom = "CosmosDB-input")
 @PartitionMapper(name = "SQLAPIInput")
 @Documentation("cosmosDB input Mapper")
 public class CosmosDBInputMapper implements Serializable {
 
+    private static final int MAX_PARTITIONS = 32;
+
     private final CosmosDBInputConfiguration configuration;
 
     private final CosmosDBService service;
 
     private final RecordBuilderFactory recordBuilderFactory;
 
+    private final TimestampWindow window;
+
     public CosmosDBInputMapper(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service, final RecordBuilderFactory recordBuilderFactory) {
+        this(configuration, service, recordBuilderFactory, null);
+    }
+
+    private CosmosDBInputMapper(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory recordBuilderFactory, final TimestampWindow window) {
         this.configuration = configuration;
+        this.window = window;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
     }
 
+    /**
+     * Number of documents of the collection when the read is split, a single worker reads it otherwise.
+     */
     @Assessor
     public long estimateSize() {
-        // this method should return the estimation of the dataset size
-        // it is recommended to return a byte value
-        // if you don't have the exact size you can use a rough estimation
-        return 1L;
+        if (!configuration.isSplitByTimestamp() || configuration.getDataset().isUseQuery()) {
+            return 1L;
+        }
+        DocumentClient client = service.documentClientFrom(configuration.getDataset().getDatastore());
+        try {
+            return aggregate(client, "SELECT VALUE COUNT(1) FROM c");
+        } catch (RuntimeException e) {
+            log.warn("[estimateSize] {}", e.getMessage());
+            return 1L;
+        } finally {
+            client.close();
+        }
     }
 
+    /**
+     * When splitByTimestamp is set, reading a whole collection is cut in contiguous _ts windows, each one read by its
+     * own worker. _ts being the modification time, the documents modified during the read are left out, see
+     * {@link TimestampWindow}: this is why the split is an opt-in, a single worker reads the whole collection
+     * otherwise.
+     */
     @Split
     public List<CosmosDBInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CosmosDBInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        if (!configuration.isSplitByTimestamp() || configuration.getDataset().isUseQuery() || bundles <= 0) {
+            return singletonList(this);
+        }
+        DocumentClient client = service.documentClientFrom(configuration.getDataset().getDatastore());
+        try {
+            long count = aggregate(client, "SELECT VALUE COUNT(1) FROM c");
+            int partitions = (int) Math.min(MAX_PARTITIONS, (count + bundles - 1) / bundles);
+            if (partitions < 2) {
+                return singletonList(this);
+            }
+            long min = aggregate(client, "SELECT VALUE MIN(c._ts) FROM c");
+            long max = aggregate(client, "SELECT VALUE MAX(c._ts) FROM c");
+            List<TimestampWindow> windows = TimestampWindow.plan(min, max, partitions);
+            log.debug("[split] {} documents in {} windows.", count, windows.size());
+            return windows
+                    .stream()
+                    .map(w -> new CosmosDBInputMapper(configuration, service, recordBuilderFactory, w))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            log.warn("[split] {}", e.getMessage());
+            return singletonList(this);
+        } finally {
+            client.close();
+        }
     }
 
     @Emitter
     public CosmosDBInput createWorker() {
-        // here we create an actual worker,
-        // you are free to rework the configuration etc but our default generated implementation
-        // propagates the partition mapper entries.
-        return new CosmosDBInput(configuration, service, recordBuilderFactory);
+        return new CosmosDBInput(configuration, service, recordBuilderFactory, window);
+    }
+
+    private long aggregate(final DocumentClient client, final String query) {
+        String collectionLink = String
+                .format("/dbs/%s/colls/%s", configuration.getDataset().getDatastore().getDatabaseID(),
+                        configuration.getDataset().getCollectionID());
+        FeedOptions options = new FeedOptions();
+        options.setEnableCrossPartitionQuery(true);
+        List<Object> values = client.queryAggregateValues(collectionLink, query, options);
+        if (values.isEmpty() || !(values.get(0) instanceof Number)) {
+            return 0L;
+        }
+        return ((Number) values.get(0)).longValue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.input;
+
+import com.microsoft.azure.documentdb.SqlParameter;
+import com.microsoft.azure.documentdb.SqlParameterCollection;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Range of the document timestamps (_ts, epoch seconds) read by one worker, lower bound inclusive and upper bound
+ * exclusive. A null bound is open.
+ *
+ * _ts is the time of the last modification, not of the creation: a document written during the read moves to a _ts
+ * later than the split. So the windows of a split read stop at the highest _ts seen by the split, and such a document
+ * is never read twice, by its old window and by the last one. It is not read at all when its old window had not
+ * reached it yet, the split read is a view of the collection as of the split, without the documents modified since.
+ */
+@Getter
+@AllArgsConstructor
+public class TimestampWindow implements Serializable {
+
+    private final Long lower;
+
+    private final Long upper;
+
+    /**
+     * Cut [min, max] in at most <code>partitions</code> windows of equal duration. The last one ends after max, the
+     * documents modified after the split are left out.
+     */
+    public static List<TimestampWindow> plan(long min, long max, int partitions) {
+        List<TimestampWindow> windows = new ArrayList<>();
+        long step = (max - min) / Math.max(1, partitions);
+        if (partitions < 2 || step <= 0) {
+            windows.add(new TimestampWindow(null, null));
+            return windows;
+        }
+        Long lower = null;
+        for (int i = 1; i < partitions; i++) {
+            long upper = min + step * i;
+            windows.add(new TimestampWindow(lower, upper));
+            lower = upper;
+        }
+        windows.add(new TimestampWindow(lower, max + 1));
+        return windows;
+    }
+
+    public SqlQuerySpec toQuery() {
+        StringBuilder query = new StringBuilder("SELECT * FROM c");
+        SqlParameterCollection parameters = new SqlParameterCollection();
+        if (lower != null) {
+            query.append(" WHERE c._ts >= @lower");
+            parameters.add(new SqlParameter("@lower", lower));
+        }
+        if (upper != null) {
+            query.append(lower == null ? " WHERE" : " AND").append(" c._ts < @upper");
+            parameters.add(new SqlParameter("@upper", upper));
+        }
+        return new SqlQuerySpec(query.toString(), parameters);
+    }
+}
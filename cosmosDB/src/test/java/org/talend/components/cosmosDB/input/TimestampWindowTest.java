@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.input;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TimestampWindowTest {
+
+    @Test
+    void planContiguousWindows() {
+        List<TimestampWindow> windows = TimestampWindow.plan(1000L, 2000L, 4);
+        Assertions.assertEquals(4, windows.size());
+        Assertions.assertNull(windows.get(0).getLower());
+        Assertions.assertEquals(1250L, windows.get(0).getUpper());
+        Assertions.assertEquals(1250L, windows.get(1).getLower());
+        Assertions.assertEquals(1500L, windows.get(1).getUpper());
+        Assertions.assertEquals(1750L, windows.get(3).getLower());
+        // documents modified after the split are past the last window
+        Assertions.assertEquals(2001L, windows.get(3).getUpper());
+    }
+
+    @Test
+    void planSingleWindowWhenRangeIsTooNarrow() {
+        List<TimestampWindow> windows = TimestampWindow.plan(1000L, 1002L, 4);
+        Assertions.assertEquals(1, windows.size());
+        Assertions.assertNull(windows.get(0).getLower());
+        Assertions.assertNull(windows.get(0).getUpper());
+    }
+
+    @Test
+    void queryBounds() {
+        Assertions.assertEquals("SELECT * FROM c WHERE c._ts >= @lower AND c._ts < @upper",
+                new TimestampWindow(1L, 2L).toQuery().getQueryText());
+        Assertions.assertEquals("SELECT * FROM c WHERE c._ts < @upper",
+                new TimestampWindow(null, 2L).toQuery().getQueryText());
+        Assertions.assertEquals("SELECT * FROM c", new TimestampWindow(null, null).toQuery().getQueryText());
+    }
+}
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -42,11 +43,13 @@ import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.Collection;
-import com.couchbase.client.java.analytics.AnalyticsResult;
+import com.couchbase.client.java.ReactiveCluster;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.manager.query.CreatePrimaryQueryIndexOptions;
-import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.QueryOptions;
+
+import reactor.core.publisher.Flux;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,6 +71,10 @@ public class CouchbaseInput implements Serializable {
 
     private Set<String> columnsSet;
 
+    private final KeyRange range;
+
+    private transient Stream<JsonObject> queryResults;
+
     private transient Iterator<JsonObject> queryResultsIterator = null;
 
     private transient Collection collection;
@@ -76,7 +83,16 @@ public class CouchbaseInput implements Serializable {
 
     public CouchbaseInput(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory builderFactory, final I18nMessage i18n) {
+        this(configuration, service, builderFactory, i18n, null);
+    }
+
+    /**
+     * @param range part of the keyspace this worker reads with {@link SelectAction#ALL}, {@code null} for all of it
+     */
+    public CouchbaseInput(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory builderFactory, final I18nMessage i18n, final KeyRange range) {
         this.configuration = configuration;
+        this.range = range;
         this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
@@ -94,47 +110,53 @@ public class CouchbaseInput implements Serializable {
         }
         columnsSet = new HashSet<>();
 
+        // rows are pulled from the reactive API at most fetchSize at a time, so the whole result set never has to
+        // be buffered before the first record is emitted
+        final ReactiveCluster reactiveCluster = cluster.reactive();
+        final Flux<JsonObject> rows;
         if (configuration.getSelectAction() == SelectAction.ANALYTICS) {
-            AnalyticsResult analyticsResult = null;
-            try {
-                analyticsResult = cluster.analyticsQuery(configuration.getQuery());
-            } catch (CouchbaseException e) {
-                LOG.error(i18n.queryResultError(e.getMessage()));
-                throw new ComponentException(i18n.queryResultError(e.getMessage()));
-            }
-            queryResultsIterator = analyticsResult.rowsAsObject().iterator();
+            rows = reactiveCluster.analyticsQuery(configuration.getQuery())
+                    .flatMapMany(result -> result.rowsAs(JsonObject.class));
         } else {
             // DSL API (Statement, AsPath classes etc. was deprecated, cannot use it anymore!)
             // In most cases, a simple string statement is the best replacement.
 
-            QueryResult n1qlResult;
+            QueryOptions options = QueryOptions.queryOptions();
             StringBuilder statementBuilder;
             switch (configuration.getSelectAction()) {
             case ALL:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
+                if (range != null) {
+                    statementBuilder.append(range.whereClause());
+                    options = options.parameters(range.parameters());
+                }
                 if (!configuration.getLimit().isEmpty()) {
                     statementBuilder.append(" LIMIT ").append(configuration.getLimit().trim());
                 }
-                n1qlResult = cluster.query(statementBuilder.toString());
                 break;
             case N1QL:
                 /*
                  * should contain "meta().id as `_meta_id_`" field for non-json (binary) documents
                  */
-                n1qlResult = cluster.query(configuration.getQuery());
+                statementBuilder = new StringBuilder(configuration.getQuery());
                 break;
             case ONE:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
                 statementBuilder.append(" USE KEYS \"").append(configuration.getDocumentId()).append("\"");
-                n1qlResult = cluster.query(statementBuilder.toString());
                 break;
             default:
                 throw new ComponentException("Select action: '" + configuration.getSelectAction() + "' is unsupported");
             }
-            queryResultsIterator = n1qlResult.rowsAsObject().iterator();
+            rows = reactiveCluster.query(statementBuilder.toString(), options)
+                    .flatMapMany(result -> result.rowsAs(JsonObject.class));
         }
+        queryResults = rows.onErrorMap(CouchbaseException.class, e -> {
+            LOG.error(i18n.queryResultError(e.getMessage()));
+            return new ComponentException(i18n.queryResultError(e.getMessage()));
+        }).toStream(Math.max(1, configuration.getFetchSize()));
+        queryResultsIterator = queryResults.iterator();
     }
 
     @Producer
@@ -193,6 +215,11 @@ public class CouchbaseInput implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (queryResults != null) {
+            // cancels the upstream subscription when the flow stops before the end of the result
+            queryResults.close();
+            queryResults = null;
+        }
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
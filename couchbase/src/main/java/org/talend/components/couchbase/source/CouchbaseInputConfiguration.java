@@ -30,7 +30,7 @@ import lombok.Data;
         @GridLayout.Row("documentId"), @GridLayout.Row("query") })
 @GridLayout(names = GridLayout.FormType.ADVANCED,
         value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row({ "limit" }),
-                @GridLayout.Row("createPrimaryIndex") })
+                @GridLayout.Row("createPrimaryIndex"), @GridLayout.Row("fetchSize") })
 @Documentation("Couchbase input Mapper Configuration.")
 public class CouchbaseInputConfiguration implements Serializable {
 
@@ -64,6 +64,10 @@ public class CouchbaseInputConfiguration implements Serializable {
     @ActiveIf(target = "selectAction", value = "ALL")
     private String limit = "";
 
+    @Option
+    @Documentation("Number of rows requested from the server at a time while the result is streamed.")
+    private int fetchSize = 1000;
+
     public CouchbaseDataSet getDataSet() {
         return dataSet;
     }
@@ -18,21 +18,33 @@ import org.talend.components.couchbase.service.I18nMessage;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.input.*;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.java.Cluster;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.query.QueryOptions;
+
+import lombok.extern.slf4j.Slf4j;
+
 import static java.util.Collections.singletonList;
 
+@Slf4j
 @Version(value = 3, migrationHandler = CouchbaseInputMigrationHandler.class)
 @Icon(value = Icon.IconType.CUSTOM, custom = "couchbase-input")
 @PartitionMapper(name = "Input")
 @Documentation("Couchbase input Mapper")
 public class CouchbaseInputMapper implements Serializable {
 
+    private static final int MAX_PARTITIONS = 64;
+
     private final CouchbaseInputConfiguration configuration;
 
     private final CouchbaseService service;
@@ -41,10 +53,21 @@ public class CouchbaseInputMapper implements Serializable {
 
     private final I18nMessage i18nMessage;
 
+    private final KeyRange range;
+
+    /** documents counted by {@link #estimateSize()}, reused by {@link #split(long)} called next. */
+    private transient Long documents;
+
     public CouchbaseInputMapper(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory recordBuilderFactory,
             final I18nMessage i18nMessage) {
+        this(configuration, service, recordBuilderFactory, i18nMessage, null);
+    }
+
+    private CouchbaseInputMapper(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage, final KeyRange range) {
         this.configuration = configuration;
+        this.range = range;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.i18nMessage = i18nMessage;
@@ -52,30 +75,97 @@ public class CouchbaseInputMapper implements Serializable {
 
     @Assessor
     public long estimateSize() {
-        // this method should return the estimation of the dataset size
-        // it is recommended to return a byte value
-        // if you don't have the exact size you can use a rough estimation
-        return 1L;
+        if (!isSplittable()) {
+            return 1L;
+        }
+        // number of documents, split() sizes the bundles with the same unit
+        Cluster cluster = service.openConnection(configuration.getDataSet().getDatastore());
+        try {
+            documents = countDocuments(cluster);
+            return documents;
+        } catch (CouchbaseException e) {
+            log.warn(i18nMessage.queryResultError(e.getMessage()));
+            return 1L;
+        } finally {
+            service.closeConnection(configuration.getDataSet().getDatastore());
+        }
     }
 
     @Split
     public List<CouchbaseInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CouchbaseInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        // only a whole bucket scan can be cut, user queries and limited reads are run by a single worker
+        if (!isSplittable() || bundles <= 0) {
+            return singletonList(this);
+        }
+        Cluster cluster = service.openConnection(configuration.getDataSet().getDatastore());
+        try {
+            long count = documents != null ? documents : countDocuments(cluster);
+            int partitions = (int) Math.min(MAX_PARTITIONS, (count + bundles - 1) / bundles);
+            if (partitions <= 1) {
+                return singletonList(this);
+            }
+            List<String> bounds = findBounds(cluster, count, partitions);
+            List<CouchbaseInputMapper> mappers = new ArrayList<>(bounds.size() + 1);
+            String lower = null;
+            for (String upper : bounds) {
+                mappers.add(withRange(new KeyRange(lower, upper)));
+                lower = upper;
+            }
+            mappers.add(withRange(new KeyRange(lower, null)));
+            return mappers;
+        } catch (CouchbaseException | ComponentException e) {
+            log.warn(i18nMessage.queryResultError(e.getMessage()));
+            return singletonList(this);
+        } finally {
+            service.closeConnection(configuration.getDataSet().getDatastore());
+        }
     }
 
     @Emitter
     public CouchbaseInput createWorker() {
-        // here we create an actual worker,
-        // you are free to rework the configuration etc but our default generated implementation
-        // propagates the partition mapper entries.
-        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage);
+        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage, range);
+    }
+
+    private boolean isSplittable() {
+        return configuration.getSelectAction() == SelectAction.ALL
+                && (configuration.getLimit() == null || configuration.getLimit().trim().isEmpty());
+    }
+
+    private CouchbaseInputMapper withRange(final KeyRange keyRange) {
+        return new CouchbaseInputMapper(configuration, service, recordBuilderFactory, i18nMessage, keyRange);
+    }
+
+    private long countDocuments(final Cluster cluster) {
+        List<JsonObject> rows = cluster
+                .query("SELECT COUNT(*) AS `count` FROM `" + configuration.getDataSet().getBucket() + "`")
+                .rowsAsObject();
+        return rows.isEmpty() ? 0L : rows.get(0).getNumber("count").longValue();
+    }
+
+    /**
+     * Looks up the id starting each partition in the primary index: ordered by meta().id, the offset and limit are
+     * pushed down to the index scan, so only one id per partition is returned to the client. Ids inserted or removed
+     * meanwhile only shift the boundaries, every document still belongs to exactly one range.
+     */
+    private List<String> findBounds(final Cluster cluster, final long count, final int partitions) {
+        String statement = "SELECT RAW meta().id FROM `" + configuration.getDataSet().getBucket()
+                + "` ORDER BY meta().id OFFSET $offset LIMIT 1";
+        List<String> bounds = new ArrayList<>(partitions - 1);
+        for (int partition = 1; partition < partitions; partition++) {
+            List<String> ids = cluster
+                    .query(statement,
+                            QueryOptions.queryOptions()
+                                    .parameters(JsonObject.create().put("offset", partition * count / partitions)))
+                    .rowsAs(String.class);
+            if (ids.isEmpty()) {
+                // fewer documents than counted
+                break;
+            }
+            String id = ids.get(0);
+            if (bounds.isEmpty() || id.compareTo(bounds.get(bounds.size() - 1)) > 0) {
+                bounds.add(id);
+            }
+        }
+        return bounds;
     }
-}
\ No newline at end of file
+}
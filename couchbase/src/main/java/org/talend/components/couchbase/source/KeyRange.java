@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.couchbase.source;
+
+import java.io.Serializable;
+
+import com.couchbase.client.java.json.JsonObject;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Range of document ids ({@code meta().id}) read by one worker: lower bound inclusive, upper bound exclusive,
+ * a {@code null} bound is open.
+ */
+@Getter
+@AllArgsConstructor
+public class KeyRange implements Serializable {
+
+    private final String lower;
+
+    private final String upper;
+
+    String whereClause() {
+        if (lower != null && upper != null) {
+            return " WHERE meta().id >= $lower AND meta().id < $upper";
+        }
+        if (lower != null) {
+            return " WHERE meta().id >= $lower";
+        }
+        if (upper != null) {
+            return " WHERE meta().id < $upper";
+        }
+        return "";
+    }
+
+    JsonObject parameters() {
+        JsonObject parameters = JsonObject.create();
+        if (lower != null) {
+            parameters.put("lower", lower);
+        }
+        if (upper != null) {
+            parameters.put("upper", upper);
+        }
+        return parameters;
+    }
+}
@@ -15,6 +15,8 @@ package org.talend.components.couchbase.source;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.talend.sdk.component.junit.SimpleFactory.configurationByExample;
 
 import java.nio.charset.StandardCharsets;
@@ -35,7 +37,10 @@ import org.talend.components.couchbase.configuration.ConnectionParameter;
 import org.talend.components.couchbase.dataset.CouchbaseDataSet;
 import org.talend.components.couchbase.dataset.DocumentType;
 import org.talend.components.couchbase.datastore.CouchbaseDataStore;
+import org.talend.components.couchbase.service.CouchbaseService;
+import org.talend.components.couchbase.service.I18nMessage;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.junit5.WithComponents;
 import org.talend.sdk.component.runtime.manager.chain.Job;
 
@@ -46,6 +51,8 @@ import com.couchbase.client.java.codec.RawBinaryTranscoder;
 import com.couchbase.client.java.codec.RawStringTranscoder;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryScanConsistency;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,6 +62,12 @@ import lombok.extern.slf4j.Slf4j;
 @DisplayName("Testing of CouchbaseInput component")
 class CouchbaseInputTest extends CouchbaseUtilTest {
 
+    @Service
+    private CouchbaseService couchbaseService;
+
+    @Service
+    private I18nMessage i18nMessage;
+
     private void executeJob(CouchbaseInputConfiguration configuration) {
         final String inputConfig = configurationByExample().forInstance(configuration).configured().toQueryString();
         Job
@@ -345,6 +358,96 @@ class CouchbaseInputTest extends CouchbaseUtilTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Rows streamed by pages of fetch size")
+    void streamedInputDataTest() {
+        log.info("Test start: streamedInputDataTest");
+        String idPrefix = "streamedInputDataTest";
+        insertDocuments(idPrefix, 25);
+        CouchbaseInputConfiguration configuration = getInputConfiguration();
+        configuration.setFetchSize(2);
+        executeJob(configuration);
+
+        List<String> ids = componentsHandler
+                .getCollectedData(Record.class)
+                .stream()
+                .map(record -> record.getString("_meta_id_"))
+                .filter(id -> id.startsWith(idPrefix))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Worker released before the end of the result")
+    void releaseBeforeEndTest() {
+        log.info("Test start: releaseBeforeEndTest");
+        insertDocuments("releaseBeforeEndTest", 10);
+        CouchbaseInputConfiguration configuration = getInputConfiguration();
+        configuration.setFetchSize(2);
+        CouchbaseInput input =
+                new CouchbaseInput(configuration, couchbaseService, recordBuilderFactory, i18nMessage, null);
+        input.init();
+        assertNotNull(input.next());
+        assertNotNull(input.next());
+        // cancels the query still streaming the remaining rows
+        input.release();
+    }
+
+    @Test
+    @DisplayName("Bucket scan split by document id ranges")
+    void splitInputDataTest() {
+        log.info("Test start: splitInputDataTest");
+        insertDocuments("splitInputDataTest", 40);
+        CouchbaseInputConfiguration configuration = getInputConfiguration();
+        CouchbaseInputMapper mapper =
+                new CouchbaseInputMapper(configuration, couchbaseService, recordBuilderFactory, i18nMessage);
+
+        long documents = mapper.estimateSize();
+        assertTrue(documents >= 40);
+        List<CouchbaseInputMapper> mappers = mapper.split((documents + 3) / 4);
+        assertTrue(mappers.size() > 1 && mappers.size() <= 4, () -> mappers.size() + " partitions");
+
+        // every document is read by exactly one of the partitions
+        List<String> partitioned = new ArrayList<>();
+        mappers.forEach(partition -> partitioned.addAll(readIds(partition.createWorker())));
+        Collections.sort(partitioned);
+        assertEquals(readIds(mapper.createWorker()), partitioned);
+
+        // user queries and limited reads are not split
+        configuration.setLimit("10");
+        assertEquals(1, new CouchbaseInputMapper(configuration, couchbaseService, recordBuilderFactory, i18nMessage)
+                .split(1)
+                .size());
+    }
+
+    private void insertDocuments(String idPrefix, int count) {
+        Collection collection = couchbaseCluster.bucket(BUCKET_NAME).defaultCollection();
+        for (int i = 0; i < count; i++) {
+            collection.insert(generateDocId(idPrefix, i), createJsonObject(idPrefix + i));
+        }
+        // wait for the primary index to include the new documents
+        couchbaseCluster
+                .query("SELECT COUNT(*) FROM `" + BUCKET_NAME + "`",
+                        QueryOptions.queryOptions().scanConsistency(QueryScanConsistency.REQUEST_PLUS));
+    }
+
+    private List<String> readIds(CouchbaseInput input) {
+        List<String> ids = new ArrayList<>();
+        input.init();
+        try {
+            for (Record record = input.next(); record != null; record = input.next()) {
+                ids.add(record.getString("_meta_id_"));
+            }
+            assertNull(input.next());
+        } finally {
+            input.release();
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
     private CouchbaseInputConfiguration getInputConfiguration() {
         CouchbaseDataSet couchbaseDataSet = new CouchbaseDataSet();
         couchbaseDataSet.setDatastore(couchbaseDataStore);
@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.http.Header;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.ODataClientErrorException;
+import org.apache.olingo.client.api.communication.ODataServerErrorException;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.components.dynamicscrm.service.DynamicsCrmService;
+import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.ms.crm.odata.DynamicsCRMClient;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups records in OData $batch requests and keeps several of them in flight.
+ *
+ * By default all operations of a batch are sent in one change set, which the server applies atomically. When
+ * continueOnError is set, each record gets its own change set, so failures are reported per record and don't roll
+ * back the rest of the batch. Change sets throttled by the server (429) are sent again in a new batch after the
+ * Retry-After delay, the other ones are reported once.
+ */
+@Slf4j
+public class BatchRecordWriter implements AutoCloseable {
+
+    static final int UNAUTHORIZED = 401;
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    static final int SERVICE_UNAVAILABLE = 503;
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final ODataClient client;
+
+    private final Supplier<String> authorizationProvider;
+
+    private final RecordProcessor processor;
+
+    private final DynamicsCrmOutputConfiguration configuration;
+
+    private final I18n i18n;
+
+    private final String serviceRootUrl;
+
+    private final int maxRetries;
+
+    private final ExecutorService executor;
+
+    private final Deque<Future<?>> inFlight = new ArrayDeque<>();
+
+    /** records of each change set, aligned with changesets */
+    private final List<List<Record>> records = new ArrayList<>();
+
+    private final List<List<ODataBatchableRequest>> changesets = new ArrayList<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile String authorization;
+
+    private int operations;
+
+    public BatchRecordWriter(final DynamicsCRMClient client, final RecordProcessor processor,
+            final DynamicsCrmOutputConfiguration configuration, final I18n i18n) {
+        this(client.getClient(), () -> authorizationOf(client, configuration), processor, configuration, i18n);
+    }
+
+    BatchRecordWriter(final ODataClient client, final Supplier<String> authorizationProvider,
+            final RecordProcessor processor, final DynamicsCrmOutputConfiguration configuration, final I18n i18n) {
+        this.client = client;
+        this.authorizationProvider = authorizationProvider;
+        this.processor = processor;
+        this.configuration = configuration;
+        this.i18n = i18n;
+        this.serviceRootUrl = configuration.getDataset().getDatastore().getServiceRootUrl();
+        Integer retries = configuration.getDataset().getDatastore().getMaxRetries();
+        this.maxRetries = retries == null ? 0 : retries;
+        this.executor = Executors.newFixedThreadPool(configuration.getMaxBatchesInFlight());
+    }
+
+    /**
+     * The client doesn't expose its authentication, it only applies it to the requests it creates: the authorization
+     * header is taken from such a request once, and again only when the server answers 401 to a $batch request.
+     */
+    private static String authorizationOf(final DynamicsCRMClient client,
+            final DynamicsCrmOutputConfiguration configuration) {
+        String serviceRootUrl = configuration.getDataset().getDatastore().getServiceRootUrl();
+        synchronized (client) {
+            return client
+                    .createRequest(client.getClient().newURIBuilder(serviceRootUrl))
+                    .getHeader(HttpHeader.AUTHORIZATION);
+        }
+    }
+
+    public void write(Record rec) {
+        // requests are built on the caller thread, only the http exchange runs in the pool
+        List<ODataBatchableRequest> requests;
+        try {
+            requests = processor.createBatchRequests(rec, serviceRootUrl);
+        } catch (DynamicsCrmException e) {
+            // the record can't be sent, it doesn't affect the other records of the batch
+            reject(rec, e.getMessage());
+            return;
+        }
+        if (operations > 0 && operations + requests.size() > configuration.getBatchSize()) {
+            flush();
+        }
+        if (configuration.isContinueOnError() || changesets.isEmpty()) {
+            changesets.add(new ArrayList<>());
+            records.add(new ArrayList<>());
+        }
+        changesets.get(changesets.size() - 1).addAll(requests);
+        records.get(records.size() - 1).add(rec);
+        operations += requests.size();
+        if (operations >= configuration.getBatchSize()) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending records, waits only if the maximum number of batches in flight is reached.
+     */
+    public void flush() {
+        if (records.isEmpty()) {
+            return;
+        }
+        final Batch batch = new Batch(new ArrayList<>(records), new ArrayList<>(changesets));
+        records.clear();
+        changesets.clear();
+        operations = 0;
+
+        while (inFlight.size() >= configuration.getMaxBatchesInFlight()) {
+            awaitOldest();
+        }
+        inFlight.add(executor.submit(() -> send(batch)));
+    }
+
+    /**
+     * Send the pending records and wait for all the batches in flight.
+     */
+    public void drain() {
+        flush();
+        while (!inFlight.isEmpty()) {
+            awaitOldest();
+        }
+    }
+
+    /**
+     * @return the number of records rejected so far.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void awaitOldest() {
+        try {
+            inFlight.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DynamicsCrmException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DynamicsCrmException) {
+                throw (DynamicsCrmException) e.getCause();
+            }
+            throw new DynamicsCrmException(i18n.failedToInsertEntity(e.getCause().getMessage()), e.getCause());
+        }
+    }
+
+    private void send(Batch batch) {
+        Batch pending = batch;
+        boolean authorizationRefreshed = false;
+        for (int attempt = 0;; attempt++) {
+            String retryAfter;
+            try {
+                pending = handleResponse(pending, execute(pending), attempt >= maxRetries);
+                if (pending == null) {
+                    return;
+                }
+                // some change sets were throttled, only they are sent again
+                retryAfter = pending.retryAfter;
+            } catch (ODataClientErrorException e) {
+                int status = e.getStatusLine().getStatusCode();
+                if (status == UNAUTHORIZED && !authorizationRefreshed) {
+                    authorizationRefreshed = true;
+                    authorization = null;
+                    continue;
+                }
+                if (status != TOO_MANY_REQUESTS || attempt >= maxRetries) {
+                    throw new DynamicsCrmException(i18n.failedToInsertEntity(e.getMessage()), e);
+                }
+                retryAfter = getRetryAfter(e.getHeaderInfo());
+            } catch (ODataServerErrorException e) {
+                if (e.getStatusLine().getStatusCode() != SERVICE_UNAVAILABLE || attempt >= maxRetries) {
+                    throw new DynamicsCrmException(i18n.failedToInsertEntity(e.getMessage()), e);
+                }
+                retryAfter = null;
+            }
+            waitBeforeRetry(retryDelay(retryAfter, attempt));
+        }
+    }
+
+    private ODataBatchResponse execute(Batch batch) {
+        ODataBatchRequest request = client.getBatchRequestFactory().getBatchRequest(serviceRootUrl);
+        String currentAuthorization = getAuthorization();
+        if (currentAuthorization != null) {
+            request.addCustomHeader(HttpHeader.AUTHORIZATION, currentAuthorization);
+        }
+        if (configuration.isContinueOnError()) {
+            // sends the odata.continue-on-error preference and keeps reading the response after a failed change set
+            request.continueOnError();
+        }
+        BatchManager payload = request.payloadManager();
+        for (List<ODataBatchableRequest> changesetRequests : batch.changesets) {
+            ODataChangeset changeset = payload.addChangeset();
+            changesetRequests.forEach(changeset::addRequest);
+        }
+        return payload.getResponse();
+    }
+
+    private String getAuthorization() {
+        String current = authorization;
+        if (current == null) {
+            current = authorizationProvider.get();
+            authorization = current;
+        }
+        return current;
+    }
+
+    /**
+     * Report the result of each change set of the batch.
+     *
+     * @param lastAttempt if true, throttled change sets are failures, otherwise they are kept for a retry.
+     * @return the throttled change sets to send again, null if there is none.
+     */
+    private Batch handleResponse(Batch batch, ODataBatchResponse response, boolean lastAttempt) {
+        List<ChangesetResult> results = readResults(batch.changesets.size(), response);
+
+        Batch throttled = null;
+        if (!lastAttempt) {
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).status == TOO_MANY_REQUESTS) {
+                    if (throttled == null) {
+                        throttled = new Batch(new ArrayList<>(), new ArrayList<>());
+                        throttled.retryAfter = results.get(i).retryAfter;
+                    }
+                    throttled.records.add(batch.records.get(i));
+                    throttled.changesets.add(batch.changesets.get(i));
+                }
+            }
+        }
+
+        int rejectedRecords = 0;
+        if (configuration.isContinueOnError()) {
+            for (int i = 0; i < results.size(); i++) {
+                ChangesetResult result = results.get(i);
+                if (result.error != null && !(throttled != null && result.status == TOO_MANY_REQUESTS)) {
+                    for (Record rec : batch.records.get(i)) {
+                        rejectedRecords++;
+                        reject(rec, result.error);
+                    }
+                }
+            }
+        } else if (throttled == null && results.get(0).error != null) {
+            // the single change set was rolled back, none of the records was written
+            String error = results.get(0).error;
+            rejectedRecords = batch.recordCount();
+            batch.records.forEach(changeset -> changeset.forEach(r -> reject(r, error)));
+            throw new DynamicsCrmException(i18n.batchFailed(rejectedRecords, error));
+        }
+        log.debug("$batch of {} records sent, {} rejected.", batch.recordCount(), rejectedRecords);
+        return throttled;
+    }
+
+    private List<ChangesetResult> readResults(int changesets, ODataBatchResponse response) {
+        List<ChangesetResult> results = new ArrayList<>(changesets);
+        try {
+            Iterator<ODataBatchResponseItem> items = response.getBody();
+            while (items.hasNext()) {
+                ODataBatchResponseItem item = items.next();
+                ChangesetResult result = new ChangesetResult();
+                while (item.hasNext()) {
+                    ODataResponse part = item.next();
+                    if (result.error == null && part.getStatusCode() >= 400) {
+                        result.status = part.getStatusCode();
+                        result.error = part.getStatusCode() + " " + part.getStatusMessage() + " " + readBody(part);
+                        Collection<String> retryAfter = part.getHeader(RETRY_AFTER);
+                        if (retryAfter != null && !retryAfter.isEmpty()) {
+                            result.retryAfter = retryAfter.iterator().next();
+                        }
+                    }
+                }
+                item.close();
+                if (results.size() < changesets) {
+                    results.add(result);
+                }
+            }
+        } finally {
+            response.close();
+        }
+        // the server stops at the first failing change set when continue on error isn't requested
+        while (results.size() < changesets) {
+            ChangesetResult notExecuted = new ChangesetResult();
+            notExecuted.error = i18n.batchOperationNotExecuted();
+            results.add(notExecuted);
+        }
+        return results;
+    }
+
+    private void reject(Record rec, String error) {
+        rejected.incrementAndGet();
+        log.error(i18n.batchRecordRejected(error, String.valueOf(rec)));
+    }
+
+    private String readBody(ODataResponse part) {
+        try (InputStream body = part.getRawResponse()) {
+            if (body == null) {
+                return "";
+            }
+            return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))
+                    .lines()
+                    .collect(Collectors.joining("\n"));
+        } catch (IOException | RuntimeException e) {
+            return "";
+        }
+    }
+
+    private void waitBeforeRetry(long delay) {
+        log.warn("Service protection limit reached, retrying $batch in {} ms.", delay);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DynamicsCrmException(e);
+        }
+    }
+
+    static String getRetryAfter(Header[] headers) {
+        if (headers == null) {
+            return null;
+        }
+        for (Header header : headers) {
+            if (RETRY_AFTER.equalsIgnoreCase(header.getName())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delay before retrying a throttled request, the Retry-After header value is either a number of seconds or an
+     * http date. Without it, the delay grows exponentially with the attempt.
+     */
+    static long retryDelay(String retryAfter, int attempt) {
+        if (retryAfter != null && !retryAfter.trim().isEmpty()) {
+            String value = retryAfter.trim();
+            try {
+                return Math.max(0, (long) (Double.parseDouble(value) * 1000));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+                } catch (DateTimeParseException ignored) {
+                    log.debug("Unparseable Retry-After header: {}", value);
+                }
+            }
+        }
+        return (long) DynamicsCrmService.INTERVAL_TIME << Math.min(attempt, 6);
+    }
+
+    private static class ChangesetResult {
+
+        private int status;
+
+        private String error;
+
+        private String retryAfter;
+    }
+
+    private static class Batch {
+
+        /** records of each change set */
+        private final List<List<Record>> records;
+
+        private final List<List<ODataBatchableRequest>> changesets;
+
+        /** Retry-After of a throttled change set, when the batch is a retry. */
+        private String retryAfter;
+
+        private Batch(final List<List<Record>> records, final List<List<ODataBatchableRequest>> changesets) {
+            this.records = records;
+            this.changesets = changesets;
+        }
+
+        private int recordCount() {
+            return records.stream().mapToInt(List::size).sum();
+        }
+    }
+}
@@ -12,9 +12,16 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 import javax.naming.ServiceUnavailableException;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
 import org.talend.components.dynamicscrm.service.I18n;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.record.Record;
@@ -35,8 +42,31 @@ public class DeleteRecordProcessor implements RecordProcessor {
 
     @Override
     public void processRecord(Record rec) throws ServiceUnavailableException {
+        client.deleteEntity(getRecordId(rec).toString());
+    }
+
+    @Override
+    public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl) {
+        URI uri = client
+                .getClient()
+                .newURIBuilder(serviceRootUrl)
+                .appendEntitySetSegment(entitySet.getName())
+                .appendKeySegment(getRecordId(rec))
+                .build();
+        return Collections.singletonList(client.getClient().getCUDRequestFactory().getDeleteRequest(uri));
+    }
+
+    private UUID getRecordId(Record rec) {
         // There is only one key in Dynamics CRM.
         String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
-        client.deleteEntity(rec.getString(keyName));
+        String recordId = rec.getString(keyName);
+        if (recordId == null || recordId.isEmpty()) {
+            throw new DynamicsCrmException(i18n.invalidEntityId(keyName, recordId));
+        }
+        try {
+            return UUID.fromString(recordId);
+        } catch (IllegalArgumentException e) {
+            throw new DynamicsCrmException(i18n.invalidEntityId(keyName, recordId), e);
+        }
     }
 }
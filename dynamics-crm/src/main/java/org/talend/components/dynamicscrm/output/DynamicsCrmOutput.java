@@ -37,6 +37,7 @@ import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
@@ -64,6 +65,8 @@ public class DynamicsCrmOutput implements Serializable {
 
     private RecordProcessor processor;
 
+    private BatchRecordWriter batchWriter;
+
     public DynamicsCrmOutput(@Option("configuration") final DynamicsCrmOutputConfiguration configuration,
             final DynamicsCrmService service, final I18n i18n) {
         this.configuration = configuration;
@@ -98,6 +101,9 @@ public class DynamicsCrmOutput implements Serializable {
                 .filter(s -> possibleColumns.contains(client.extractNavigationLinkName(s)))
                 .collect(Collectors.toList());
         processor = createProcessor(configuration.getAction());
+        if (configuration.isBatchMode()) {
+            batchWriter = new BatchRecordWriter(client, processor, configuration, i18n);
+        }
     }
 
     private Predicate<? super PropertyValidationData> getFilter() {
@@ -126,6 +132,10 @@ public class DynamicsCrmOutput implements Serializable {
 
     @ElementListener
     public void onNext(@Input final Record defaultInput) {
+        if (batchWriter != null) {
+            batchWriter.write(defaultInput);
+            return;
+        }
         try {
             processor.processRecord(defaultInput);
         } catch (ServiceUnavailableException e) {
@@ -133,8 +143,19 @@ public class DynamicsCrmOutput implements Serializable {
         }
     }
 
+    @AfterGroup
+    public void afterGroup() {
+        if (batchWriter != null) {
+            batchWriter.drain();
+        }
+    }
+
     @PreDestroy
     public void release() {
+        if (batchWriter != null) {
+            batchWriter.close();
+            batchWriter = null;
+        }
         client = null;
     }
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import java.util.List;
 import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -29,7 +31,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "action" }), @GridLayout.Row({ "lookupMapping" }) })
 @GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("emptyStringToNull"),
-        @GridLayout.Row("ignoreNull") })
+        @GridLayout.Row("ignoreNull"), @GridLayout.Row("batchMode"),
+        @GridLayout.Row({ "batchSize", "maxBatchesInFlight" }), @GridLayout.Row("continueOnError") })
 @Documentation("Azure Dynamics 365 output configuration")
 public class DynamicsCrmOutputConfiguration implements Serializable {
 
@@ -62,6 +65,28 @@ public class DynamicsCrmOutputConfiguration implements Serializable {
     @Documentation("Fields to write to CRM")
     private List<String> columns;
 
+    @Option
+    @Documentation("Send records in OData $batch requests instead of one request per record")
+    private boolean batchMode;
+
+    @Option
+    @Min(1)
+    @Max(1000)
+    @ActiveIf(target = "batchMode", value = "true")
+    @Documentation("Maximum number of operations in one $batch request")
+    private int batchSize = 100;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "batchMode", value = "true")
+    @Documentation("Maximum number of $batch requests sent concurrently")
+    private int maxBatchesInFlight = 2;
+
+    @Option
+    @ActiveIf(target = "batchMode", value = "true")
+    @Documentation("Apply each record in its own change set so a failing record doesn't roll back the others")
+    private boolean continueOnError;
+
     public enum Action {
         INSERT,
         UPSERT,
@@ -12,12 +12,20 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.List;
 
 public interface RecordProcessor {
 
     void processRecord(Record rec) throws ServiceUnavailableException;
 
+    /**
+     * Build the OData requests applying the record without executing them, they are sent together in one change set
+     * of a $batch request.
+     */
+    List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl);
+
 }
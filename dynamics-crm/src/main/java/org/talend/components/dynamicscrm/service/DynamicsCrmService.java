@@ -12,22 +12,28 @@
  */
 package org.talend.components.dynamicscrm.service;
 
+import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.naming.AuthenticationException;
 
+import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.talend.components.dynamicscrm.datastore.AppType;
 import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
 import org.talend.components.dynamicscrm.datastore.OAuthFlow;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration;
 import org.talend.components.dynamicscrm.source.DynamicsCrmQueryResultsIterator;
+import org.talend.components.dynamicscrm.source.InputHelper;
+import org.talend.components.dynamicscrm.source.SplitHelper;
 import org.talend.ms.crm.odata.ClientConfiguration;
 import org.talend.ms.crm.odata.ClientConfiguration.WebAppPermission;
 import org.talend.ms.crm.odata.ClientConfigurationFactory;
@@ -43,6 +49,8 @@ public class DynamicsCrmService {
 
     public static final int INTERVAL_TIME = 1000;
 
+    public static final int COUNT_LIMIT = 5000;
+
     @Service
     private I18n i18n;
 
@@ -89,9 +97,113 @@ public class DynamicsCrmService {
     }
 
     public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config) {
+        return getEntitySetIterator(client, config, false);
+    }
+
+    public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config,
+            boolean prefetch) {
         ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(config);
         ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody());
+        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody(), prefetch);
+    }
+
+    /**
+     * Compute the $filter windows splitting the read of the configured entity set, empty if it can't be split.
+     */
+    public List<String> getPartitionFilters(DynamicsCrmInputMapperConfiguration configuration) {
+        return getPartitionFilters(configuration, configuration.getPartitions());
+    }
+
+    public List<String> getPartitionFilters(DynamicsCrmInputMapperConfiguration configuration, int partitions) {
+        DynamicsCrmConnection datastore = configuration.getDataset().getDatastore();
+        String entitySetName = configuration.getDataset().getEntitySet();
+        try {
+            DynamicsCRMClient client = createClient(datastore, entitySetName);
+            switch (configuration.getSplitMode()) {
+            case PRIMARY_KEY:
+                String keyField = getMetadata(client)
+                        .getEntityContainer()
+                        .getEntitySet(entitySetName)
+                        .getEntityType()
+                        .getKeyPropertyRefs()
+                        .get(0)
+                        .getName();
+                return SplitHelper.guidRangeFilters(keyField, partitions);
+            case CREATED_ON:
+                String filter = new InputHelper(i18n).getFilterQuery(configuration);
+                String min = getBoundaryValue(client, datastore, entitySetName, SplitHelper.CREATED_ON, filter, false);
+                String max = getBoundaryValue(client, datastore, entitySetName, SplitHelper.CREATED_ON, filter, true);
+                if (min == null || max == null) {
+                    return Collections.emptyList();
+                }
+                return SplitHelper
+                        .dateRangeFilters(SplitHelper.CREATED_ON, OffsetDateTime.parse(min).toInstant(),
+                                OffsetDateTime.parse(max).toInstant(), partitions);
+            default:
+                return Collections.emptyList();
+            }
+        } catch (AuthenticationException e) {
+            throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Cheap probe of the number of entities matching the input filter, reading a single entity with $count.
+     *
+     * The server stops counting at {@link #COUNT_LIMIT}, a result equal to it only means "at least".
+     */
+    public long countEntities(DynamicsCrmInputMapperConfiguration configuration) {
+        DynamicsCrmConnection datastore = configuration.getDataset().getDatastore();
+        String entitySetName = configuration.getDataset().getEntitySet();
+        try {
+            DynamicsCRMClient client = createClient(datastore, entitySetName);
+            String filter = new InputHelper(i18n).getFilterQuery(configuration);
+            URIBuilder uriBuilder =
+                    createUriBuilderForCount(client.getClient(), datastore.getServiceRootUrl(), entitySetName, filter);
+            return getCount(client.createRequest(uriBuilder).execute().getBody());
+        } catch (AuthenticationException e) {
+            throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()), e);
+        }
+    }
+
+    static URIBuilder createUriBuilderForCount(ODataClient client, String serviceRootUrl, String entitySetName,
+            String filter) {
+        URIBuilder uriBuilder = client
+                .newURIBuilder(serviceRootUrl)
+                .appendEntitySetSegment(entitySetName)
+                .count(true)
+                .top(1);
+        if (filter != null) {
+            uriBuilder.filter(filter);
+        }
+        return uriBuilder;
+    }
+
+    static long getCount(ClientEntitySet entitySet) {
+        Integer count = entitySet.getCount();
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Cheap probe of the lowest or highest value of a field, reading a single entity.
+     */
+    protected String getBoundaryValue(DynamicsCRMClient client, DynamicsCrmConnection datastore, String entitySetName,
+            String field, String filter, boolean highest) {
+        URIBuilder uriBuilder = client
+                .getClient()
+                .newURIBuilder(datastore.getServiceRootUrl())
+                .appendEntitySetSegment(entitySetName)
+                .select(field)
+                .orderBy(field + (highest ? " desc" : " asc"))
+                .top(1);
+        if (filter != null) {
+            uriBuilder.filter(filter);
+        }
+        List<ClientEntity> entities = client.createRequest(uriBuilder).execute().getBody().getEntities();
+        if (entities.isEmpty() || entities.get(0).getProperty(field) == null) {
+            return null;
+        }
+        return entities.get(0).getProperty(field).getPrimitiveValue().toString();
     }
 
     public Edm getMetadata(DynamicsCRMClient client) {
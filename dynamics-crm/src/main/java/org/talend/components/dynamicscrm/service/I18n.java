@@ -34,4 +34,12 @@ public interface I18n {
     String failedToInsertEntity(String message);
 
     String idCannotBeNull(String keyFieldName);
+
+    String batchRecordRejected(String message, String record);
+
+    String batchFailed(int rejected, String message);
+
+    String batchOperationNotExecuted();
+
+    String invalidEntityId(String keyFieldName, String value);
 }
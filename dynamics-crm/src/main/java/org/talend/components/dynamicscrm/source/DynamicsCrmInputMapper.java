@@ -16,10 +16,12 @@ import static java.util.Collections.singletonList;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.talend.components.dynamicscrm.migration.DynamicsRuntimeMigrationHandler;
 import org.talend.components.dynamicscrm.service.DynamicsCrmService;
 import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.SplitMode;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
@@ -32,6 +34,10 @@ import org.talend.sdk.component.api.input.Split;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Version(value = 2, migrationHandler = DynamicsRuntimeMigrationHandler.class)
 @Icon(value = IconType.CUSTOM, custom = "azure-dynamics-connector")
 @PartitionMapper(name = "AzureDynamics365Input")
@@ -46,6 +52,9 @@ public class DynamicsCrmInputMapper implements Serializable {
 
     private final I18n i18n;
 
+    @Setter
+    private String partitionFilter;
+
     public DynamicsCrmInputMapper(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory recordBuilderFactory,
             final I18n i18n) {
@@ -55,18 +64,61 @@ public class DynamicsCrmInputMapper implements Serializable {
         this.i18n = i18n;
     }
 
+    /**
+     * Number of entities to read, probed with $count when the read can be split.
+     */
     @Assessor
     public long estimateSize() {
-        return 1L;
+        if (configuration.getSplitMode() == SplitMode.NONE) {
+            return 1L;
+        }
+        try {
+            return Math.max(1L, service.countEntities(configuration));
+        } catch (RuntimeException e) {
+            log.warn("[estimateSize] {}", e.getMessage());
+            return 1L;
+        }
     }
 
+    /**
+     * The number of windows follows the partition size requested by the runtime, bounded by the configured
+     * partitions. Above the server count limit, or when the probe fails, the configured partitions are used.
+     */
     @Split
     public List<DynamicsCrmInputMapper> split(@PartitionSize final long bundles) {
-        return singletonList(this);
+        if (configuration.getSplitMode() == SplitMode.NONE || configuration.getPartitions() < 2) {
+            return singletonList(this);
+        }
+        int partitions = configuration.getPartitions();
+        if (bundles > 0) {
+            long count = DynamicsCrmService.COUNT_LIMIT;
+            try {
+                count = service.countEntities(configuration);
+            } catch (RuntimeException e) {
+                log.warn("[split] {}", e.getMessage());
+            }
+            if (count < DynamicsCrmService.COUNT_LIMIT) {
+                partitions = (int) Math.min(partitions, (count + bundles - 1) / bundles);
+            }
+        }
+        if (partitions < 2) {
+            return singletonList(this);
+        }
+        List<String> partitionFilters = service.getPartitionFilters(configuration, partitions);
+        if (partitionFilters.size() < 2) {
+            return singletonList(this);
+        }
+        return partitionFilters.stream().map(this::cloneWithPartitionFilter).collect(Collectors.toList());
+    }
+
+    private DynamicsCrmInputMapper cloneWithPartitionFilter(String partitionFilter) {
+        DynamicsCrmInputMapper mapper = new DynamicsCrmInputMapper(configuration, service, recordBuilderFactory, i18n);
+        mapper.setPartitionFilter(partitionFilter);
+        return mapper;
     }
 
     @Emitter
     public DynamicsCrmInputSource createWorker() {
-        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n);
+        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n, partitionFilter);
     }
 }
\ No newline at end of file
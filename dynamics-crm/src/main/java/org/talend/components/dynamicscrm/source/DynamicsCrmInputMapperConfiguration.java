@@ -20,6 +20,7 @@ import java.util.List;
 import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -29,7 +30,8 @@ import lombok.Data;
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "customFilter" }), @GridLayout.Row({ "operator" }),
         @GridLayout.Row({ "filterConditions" }), @GridLayout.Row({ "filter" }),
         @GridLayout.Row({ "orderByConditionsList" }) })
-@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("prefetchPages"),
+        @GridLayout.Row({ "splitMode", "partitions" }) })
 @Documentation("Dynamics CRM input configuration")
 public class DynamicsCrmInputMapperConfiguration implements Serializable {
 
@@ -65,9 +67,29 @@ public class DynamicsCrmInputMapperConfiguration implements Serializable {
     @Documentation("Fields to get from CRM")
     private List<String> columns;
 
+    @Option
+    @Documentation("Request the next page while the current one is converted to records")
+    private boolean prefetchPages = true;
+
+    @Option
+    @Documentation("Split the read in several $filter windows, read concurrently")
+    private SplitMode splitMode = SplitMode.NONE;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "splitMode", value = "NONE", negate = true)
+    @Documentation("Maximum number of $filter windows, fewer are used for small entity sets")
+    private int partitions = 4;
+
     public enum Operator {
         AND,
         OR;
     }
 
+    public enum SplitMode {
+        NONE,
+        CREATED_ON,
+        PRIMARY_KEY;
+    }
+
 }
\ No newline at end of file
@@ -57,13 +57,22 @@ public class DynamicsCrmInputSource implements Serializable {
 
     private final InputHelper helper;
 
+    private final String partitionFilter;
+
     public DynamicsCrmInputSource(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n) {
+        this(configuration, service, builderFactory, i18n, null);
+    }
+
+    public DynamicsCrmInputSource(final DynamicsCrmInputMapperConfiguration configuration,
+            final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n,
+            final String partitionFilter) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
         this.helper = new InputHelper(i18n);
+        this.partitionFilter = partitionFilter;
     }
 
     @PostConstruct
@@ -96,7 +105,9 @@ public class DynamicsCrmInputSource implements Serializable {
         schema = helper
                 .getSchemaFromMetadata(metadata, configuration.getDataset().getEntitySet(), columnNames,
                         builderFactory);
-        iterator = service.getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration));
+        iterator = service
+                .getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration, partitionFilter),
+                        configuration.isPrefetchPages());
     }
 
     @Producer
@@ -110,6 +121,9 @@ public class DynamicsCrmInputSource implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (iterator != null) {
+            iterator.close();
+        }
         iterator = null;
     }
 }
\ No newline at end of file
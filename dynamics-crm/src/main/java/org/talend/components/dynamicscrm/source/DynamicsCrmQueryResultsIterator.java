@@ -14,15 +14,20 @@ package org.talend.components.dynamicscrm.source;
 
 import java.net.URI;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.ms.crm.odata.QueryOptionConfig;
 
-public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
+public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity>, AutoCloseable {
 
     private final DynamicsCRMClient client;
 
@@ -32,12 +37,28 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
 
     private Iterator<ClientEntity> entityIterator;
 
+    /** when set, the next page is requested in background while the current one is consumed */
+    private ExecutorService prefetchExecutor;
+
+    private Future<ClientEntitySet> nextPage;
+
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
             ClientEntitySet clientEntitySet) {
-        this.entityIterator = clientEntitySet.getEntities().iterator();
-        this.nextPageUri = clientEntitySet.getNext();
+        this(client, queryOptionConfig, clientEntitySet, false);
+    }
+
+    public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
+            ClientEntitySet clientEntitySet, boolean prefetch) {
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
+        if (prefetch) {
+            this.prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "dynamics-crm-page-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        setPage(clientEntitySet);
     }
 
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig) {
@@ -63,13 +84,48 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
     }
 
     private void requestNext() {
-        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
-        if (nextPageUri != null) {
-            request.setURI(nextPageUri);
+        if (nextPage != null) {
+            try {
+                setPage(nextPage.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DynamicsCrmException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new DynamicsCrmException(e.getCause());
+            }
+        } else {
+            setPage(fetch(nextPageUri));
         }
-        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        ClientEntitySet entitySet = response.getBody();
+    }
+
+    private void setPage(ClientEntitySet entitySet) {
         entityIterator = entitySet.getEntities().iterator();
         nextPageUri = entitySet.getNext();
+        nextPage = null;
+        if (prefetchExecutor != null && nextPageUri != null) {
+            final URI uri = nextPageUri;
+            nextPage = prefetchExecutor.submit(() -> fetch(uri));
+        }
+    }
+
+    private ClientEntitySet fetch(URI pageUri) {
+        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
+        if (pageUri != null) {
+            request.setURI(pageUri);
+        }
+        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
+        return response.getBody();
+    }
+
+    @Override
+    public void close() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+        nextPage = null;
     }
 }
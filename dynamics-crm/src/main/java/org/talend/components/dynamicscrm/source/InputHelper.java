@@ -59,10 +59,15 @@ public class InputHelper {
     }
 
     public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration) {
+        return createQueryOptionConfig(schema, configuration, null);
+    }
+
+    public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration,
+            String partitionFilter) {
         QueryOptionConfig config = new QueryOptionConfig();
         final String[] names = schema.getEntries().stream().map(Schema.Entry::getName).toArray(String[]::new);
         config.setReturnEntityProperties(names);
-        String filterString = getFilterQuery(schema, configuration);
+        String filterString = SplitHelper.combine(getFilterQuery(schema, configuration), partitionFilter);
         if (filterString != null) {
             config.setFilter(filterString);
         }
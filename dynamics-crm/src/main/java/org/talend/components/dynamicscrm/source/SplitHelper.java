@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.source;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compute the $filter windows used to split an entity set read between several workers.
+ *
+ * Windows are contiguous and the first and last ones are open ended, so together they always cover the whole entity
+ * set whatever the actual bounds are when each window is read.
+ */
+public final class SplitHelper {
+
+    public static final String CREATED_ON = "createdon";
+
+    private SplitHelper() {
+    }
+
+    /**
+     * Split [min, max] of a datetime field in windows of equal duration.
+     */
+    public static List<String> dateRangeFilters(String field, Instant min, Instant max, int partitions) {
+        List<String> bounds = new ArrayList<>();
+        long start = min.toEpochMilli();
+        long step = (max.toEpochMilli() - start) / partitions;
+        if (step <= 0) {
+            return new ArrayList<>();
+        }
+        for (int i = 1; i < partitions; i++) {
+            bounds.add(Instant.ofEpochMilli(start + step * i).toString());
+        }
+        return toRangeFilters(field, bounds);
+    }
+
+    /**
+     * Split the guid key space in windows of equal size.
+     *
+     * The server compares uniqueidentifier values on their last group first, byte by byte, so the bounds only vary
+     * the first byte of the last group to stay ordered for the server.
+     */
+    public static List<String> guidRangeFilters(String keyField, int partitions) {
+        int count = Math.min(partitions, 256);
+        List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            bounds.add(String.format("00000000-0000-0000-0000-%02x0000000000", i * 256 / count));
+        }
+        return toRangeFilters(keyField, bounds);
+    }
+
+    /**
+     * Combine the user filter with the window one.
+     */
+    public static String combine(String filter, String partitionFilter) {
+        if (partitionFilter == null || partitionFilter.isEmpty()) {
+            return filter;
+        }
+        if (filter == null || filter.isEmpty()) {
+            return partitionFilter;
+        }
+        return "(" + filter + ") and (" + partitionFilter + ")";
+    }
+
+    private static List<String> toRangeFilters(String field, List<String> bounds) {
+        List<String> filters = new ArrayList<>();
+        if (bounds.isEmpty()) {
+            return filters;
+        }
+        filters.add(field + " lt " + bounds.get(0));
+        for (int i = 1; i < bounds.size(); i++) {
+            filters.add(field + " ge " + bounds.get(i - 1) + " and " + field + " lt " + bounds.get(i));
+        }
+        filters.add(field + " ge " + bounds.get(bounds.size() - 1));
+        return filters;
+    }
+}
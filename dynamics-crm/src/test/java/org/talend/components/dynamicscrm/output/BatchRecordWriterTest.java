@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
+import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpServer;
+
+@WithComponents("org.talend.components.dynamicscrm")
+class BatchRecordWriterTest {
+
+    private static final Pattern CONTENT_ID = Pattern.compile("Content-ID: *(\\S+)");
+
+    private static final Pattern DELETE = Pattern.compile("DELETE \\S*accounts\\(([0-9a-f-]+)\\)");
+
+    private static final String ID_1 = "00000000-0000-0000-0000-000000000001";
+
+    private static final String ID_2 = "00000000-0000-0000-0000-000000000002";
+
+    private static final String ID_3 = "00000000-0000-0000-0000-000000000003";
+
+    @Service
+    private I18n i18n;
+
+    @Service
+    private RecordBuilderFactory recordBuilderFactory;
+
+    private final ODataClient client = ODataClientFactory.getClient();
+
+    /** status of each change set, for each $batch request the server answers */
+    private final Queue<int[]> statuses = new ConcurrentLinkedQueue<>();
+
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = read(exchange.getRequestBody());
+            requests.add(request);
+            byte[] response = batchResponse(request, statuses.poll()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "multipart/mixed; boundary=batchresponse_1");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRetryAfterSeconds() {
+        assertEquals(5000L, BatchRecordWriter.retryDelay("5", 0));
+        assertEquals(1500L, BatchRecordWriter.retryDelay(" 1.5 ", 3));
+    }
+
+    @Test
+    void testRetryAfterHttpDate() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        long delay = BatchRecordWriter.retryDelay(date, 0);
+        assertTrue(delay > 20000L && delay <= 30000L, "unexpected delay " + delay);
+    }
+
+    @Test
+    void testBackoffWithoutRetryAfter() {
+        assertEquals(1000L, BatchRecordWriter.retryDelay(null, 0));
+        assertEquals(4000L, BatchRecordWriter.retryDelay("not a delay", 2));
+        assertEquals(64000L, BatchRecordWriter.retryDelay(null, 20));
+    }
+
+    @Test
+    void testGetRetryAfter() {
+        Header[] headers = { new BasicHeader("Content-Type", "application/json"), new BasicHeader("retry-after", "7") };
+        assertEquals("7", BatchRecordWriter.getRetryAfter(headers));
+        assertNull(BatchRecordWriter.getRetryAfter(new Header[0]));
+        assertNull(BatchRecordWriter.getRetryAfter(null));
+    }
+
+    @Test
+    void testContinueOnErrorResults() {
+        // the second change set fails, the third one is throttled and sent again alone
+        statuses.add(new int[] { 204, 400, 429 });
+        statuses.add(new int[] { 204 });
+
+        try (BatchRecordWriter writer = createWriter(true)) {
+            writer.write(account(ID_1));
+            writer.write(account("not an id"));
+            writer.write(account(ID_2));
+            writer.write(account(ID_3));
+            writer.drain();
+
+            assertEquals(2, writer.getRejected());
+        }
+
+        assertEquals(2, requests.size());
+        assertEquals(Arrays.asList(ID_1, ID_2, ID_3), deletedIds(requests.get(0)));
+        assertEquals(Collections.singletonList(ID_3), deletedIds(requests.get(1)));
+    }
+
+    @Test
+    void testAtomicBatchThrottled() {
+        statuses.add(new int[] { 429 });
+        statuses.add(new int[] { 204 });
+
+        try (BatchRecordWriter writer = createWriter(false)) {
+            writer.write(account(ID_1));
+            writer.write(account(ID_2));
+            writer.drain();
+
+            assertEquals(0, writer.getRejected());
+        }
+
+        assertEquals(2, requests.size());
+        assertEquals(deletedIds(requests.get(0)), deletedIds(requests.get(1)));
+    }
+
+    @Test
+    void testAtomicBatchThrottledUntilLastAttempt() {
+        // maxRetries is 2, the third attempt is the last one
+        statuses.add(new int[] { 429 });
+        statuses.add(new int[] { 429 });
+        statuses.add(new int[] { 429 });
+
+        try (BatchRecordWriter writer = createWriter(false)) {
+            writer.write(account(ID_1));
+            writer.write(account(ID_2));
+            writer.write(account(ID_3));
+            assertThrows(DynamicsCrmException.class, writer::drain);
+            // all the records of the change set were rolled back, not only the first one
+            assertEquals(3, writer.getRejected());
+        }
+
+        assertEquals(3, requests.size());
+        for (String request : requests) {
+            assertEquals(Arrays.asList(ID_1, ID_2, ID_3), deletedIds(request));
+        }
+    }
+
+    @Test
+    void testInvalidUpsertKeyRejected() {
+        assertEquals(UUID.fromString(ID_1), UpsertRecordProcessor.toEntityId("accountid", ID_1, i18n));
+        DynamicsCrmException e = assertThrows(DynamicsCrmException.class,
+                () -> UpsertRecordProcessor.toEntityId("accountid", "not an id", i18n));
+        assertEquals(i18n.invalidEntityId("accountid", "not an id"), e.getMessage());
+    }
+
+    @Test
+    void testAtomicBatchFailed() {
+        statuses.add(new int[] { 400 });
+
+        try (BatchRecordWriter writer = createWriter(false)) {
+            writer.write(account(ID_1));
+            writer.write(account(ID_2));
+            DynamicsCrmException e = assertThrows(DynamicsCrmException.class, writer::drain);
+            assertFalse(e.getMessage().isEmpty());
+            assertEquals(2, writer.getRejected());
+        }
+    }
+
+    private BatchRecordWriter createWriter(boolean continueOnError) {
+        DynamicsCrmConnection connection = new DynamicsCrmConnection();
+        connection.setServiceRootUrl("http://localhost:" + server.getAddress().getPort() + "/api/data/v9.0");
+        connection.setMaxRetries(2);
+        DynamicsCrmDataset dataset = new DynamicsCrmDataset();
+        dataset.setDatastore(connection);
+        dataset.setEntitySet("accounts");
+        DynamicsCrmOutputConfiguration configuration = new DynamicsCrmOutputConfiguration();
+        configuration.setDataset(dataset);
+        configuration.setBatchMode(true);
+        configuration.setBatchSize(10);
+        configuration.setMaxBatchesInFlight(1);
+        configuration.setContinueOnError(continueOnError);
+        return new BatchRecordWriter(client, () -> "Bearer token", new DeleteProcessor(), configuration, i18n);
+    }
+
+    private Record account(String id) {
+        return recordBuilderFactory.newRecordBuilder().withString("accountid", id).build();
+    }
+
+    private static List<String> deletedIds(String request) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = DELETE.matcher(request);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Answer each change set of the request with the given status, failed change sets are sent as a single part like
+     * the service does.
+     */
+    private static String batchResponse(String request, int[] changesetStatuses) {
+        List<String> contentIds = new ArrayList<>();
+        Matcher matcher = CONTENT_ID.matcher(request);
+        while (matcher.find()) {
+            contentIds.add(matcher.group(1));
+        }
+        StringBuilder response = new StringBuilder();
+        for (int i = 0; i < changesetStatuses.length && i < contentIds.size(); i++) {
+            int status = changesetStatuses[i];
+            response.append("--batchresponse_1\r\n");
+            if (status < 400) {
+                response
+                        .append("Content-Type: multipart/mixed; boundary=changesetresponse_")
+                        .append(i)
+                        .append("\r\n\r\n--changesetresponse_")
+                        .append(i)
+                        .append("\r\n");
+            }
+            response
+                    .append("Content-Type: application/http\r\nContent-Transfer-Encoding: binary\r\n")
+                    .append("Content-ID: ")
+                    .append(contentIds.get(i))
+                    .append("\r\n\r\n");
+            if (status < 400) {
+                response
+                        .append("HTTP/1.1 204 No Content\r\n\r\n\r\n--changesetresponse_")
+                        .append(i)
+                        .append("--\r\n");
+            } else if (status == BatchRecordWriter.TOO_MANY_REQUESTS) {
+                response
+                        .append("HTTP/1.1 429 Too Many Requests\r\nRetry-After: 0\r\n")
+                        .append("Content-Type: application/json\r\n\r\n")
+                        .append("{\"error\":{\"code\":\"0x80072322\",\"message\":\"throttled\"}}\r\n");
+            } else {
+                response
+                        .append("HTTP/1.1 400 Bad Request\r\nContent-Type: application/json\r\n\r\n")
+                        .append("{\"error\":{\"code\":\"0x80040217\",\"message\":\"not found\"}}\r\n");
+            }
+        }
+        return response.append("--batchresponse_1--\r\n").toString();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private class DeleteProcessor implements RecordProcessor {
+
+        @Override
+        public void processRecord(Record rec) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl) {
+            UUID id;
+            try {
+                id = UUID.fromString(rec.getString("accountid"));
+            } catch (IllegalArgumentException e) {
+                throw new DynamicsCrmException(i18n.invalidEntityId("accountid", rec.getString("accountid")), e);
+            }
+            URI uri = client
+                    .newURIBuilder(serviceRootUrl)
+                    .appendEntitySetSegment("accounts")
+                    .appendKeySegment(id)
+                    .build();
+            return Collections.singletonList(client.getCUDRequestFactory().getDeleteRequest(uri));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class DynamicsCrmServiceTest {
+
+    private final ODataClient client = ODataClientFactory.getClient();
+
+    private HttpServer server;
+
+    private String serviceRoot;
+
+    private String body;
+
+    private String query;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), "UTF-8");
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json;odata.metadata=minimal");
+            exchange.getResponseHeaders().add("OData-Version", "4.0");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/api/data/v9.1";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void countEntities() {
+        body = "{\"@odata.context\":\"" + serviceRoot + "/$metadata#accounts\",\"@odata.count\":42,"
+                + "\"value\":[{\"accountid\":\"00000000-0000-0000-0000-000000000001\"}]}";
+
+        assertEquals(42L, DynamicsCrmService.getCount(count("name eq 'a'")));
+        // a single entity is read along with the count
+        assertTrue(query.contains("$count=true"), query);
+        assertTrue(query.contains("$top=1"), query);
+        assertTrue(query.contains("$filter=name eq 'a'"), query);
+    }
+
+    @Test
+    void countWithoutFilter() {
+        body = "{\"@odata.context\":\"" + serviceRoot + "/$metadata#accounts\",\"@odata.count\":0,\"value\":[]}";
+
+        assertEquals(0L, DynamicsCrmService.getCount(count(null)));
+        assertFalse(query.contains("$filter"), query);
+    }
+
+    @Test
+    void noCountInResponse() {
+        body = "{\"@odata.context\":\"" + serviceRoot + "/$metadata#accounts\",\"value\":[]}";
+
+        assertEquals(0L, DynamicsCrmService.getCount(count(null)));
+    }
+
+    private ClientEntitySet count(String filter) {
+        URI uri = DynamicsCrmService.createUriBuilderForCount(client, serviceRoot, "accounts", filter).build();
+        return client.getRetrieveRequestFactory().getEntitySetRequest(uri).execute().getBody();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.source;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.components.dynamicscrm.service.DynamicsCrmService;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.SplitMode;
+
+class DynamicsCrmInputMapperTest {
+
+    private final List<Integer> requestedPartitions = new ArrayList<>();
+
+    private DynamicsCrmInputMapperConfiguration configuration;
+
+    private Long count;
+
+    private int counts;
+
+    private final DynamicsCrmService service = new DynamicsCrmService() {
+
+        @Override
+        public long countEntities(DynamicsCrmInputMapperConfiguration configuration) {
+            counts++;
+            if (count == null) {
+                throw new DynamicsCrmException("count failed");
+            }
+            return count;
+        }
+
+        @Override
+        public List<String> getPartitionFilters(DynamicsCrmInputMapperConfiguration configuration, int partitions) {
+            requestedPartitions.add(partitions);
+            return SplitHelper.guidRangeFilters("accountid", partitions);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        configuration = new DynamicsCrmInputMapperConfiguration();
+        configuration.setSplitMode(SplitMode.PRIMARY_KEY);
+        configuration.setPartitions(8);
+    }
+
+    @Test
+    void estimateSizeIsTheCount() {
+        count = 42L;
+        assertEquals(42L, mapper().estimateSize());
+        count = 0L;
+        assertEquals(1L, mapper().estimateSize());
+        count = null;
+        assertEquals(1L, mapper().estimateSize());
+    }
+
+    @Test
+    void noEstimateWithoutSplit() {
+        configuration.setSplitMode(SplitMode.NONE);
+        count = 42L;
+        assertEquals(1L, mapper().estimateSize());
+        assertEquals(1, mapper().split(10).size());
+        assertEquals(0, counts);
+    }
+
+    @Test
+    void windowsSizedFromThePartitionSize() {
+        count = 100L;
+        assertEquals(4, mapper().split(30).size());
+        assertEquals(4, requestedPartitions.get(0));
+    }
+
+    @Test
+    void configuredPartitionsAreAnUpperBound() {
+        count = 4000L;
+        assertEquals(8, mapper().split(10).size());
+        assertEquals(8, requestedPartitions.get(0));
+    }
+
+    @Test
+    void singleWindowForSmallEntitySet() {
+        count = 100L;
+        DynamicsCrmInputMapper mapper = mapper();
+        List<DynamicsCrmInputMapper> mappers = mapper.split(100);
+        assertEquals(1, mappers.size());
+        assertSame(mapper, mappers.get(0));
+        assertTrue(requestedPartitions.isEmpty());
+    }
+
+    @Test
+    void configuredPartitionsAboveCountLimit() {
+        // the count stops at the limit, the entity set may be much bigger
+        count = (long) DynamicsCrmService.COUNT_LIMIT;
+        assertEquals(8, mapper().split(DynamicsCrmService.COUNT_LIMIT).size());
+    }
+
+    @Test
+    void configuredPartitionsWhenCountFails() {
+        count = null;
+        assertEquals(8, mapper().split(100).size());
+    }
+
+    @Test
+    void configuredPartitionsWithoutPartitionSize() {
+        count = 100L;
+        assertEquals(8, mapper().split(0).size());
+        assertEquals(0, counts);
+    }
+
+    private DynamicsCrmInputMapper mapper() {
+        return new DynamicsCrmInputMapper(configuration, service, null, null);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.source;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SplitHelperTest {
+
+    @Test
+    void testDateRangeFilters() {
+        List<String> filters = SplitHelper
+                .dateRangeFilters("createdon", Instant.parse("2020-01-01T00:00:00Z"),
+                        Instant.parse("2020-01-04T00:00:00Z"), 3);
+
+        assertEquals(Arrays
+                .asList("createdon lt 2020-01-02T00:00:00Z",
+                        "createdon ge 2020-01-02T00:00:00Z and createdon lt 2020-01-03T00:00:00Z",
+                        "createdon ge 2020-01-03T00:00:00Z"),
+                filters);
+    }
+
+    @Test
+    void testEmptyDateRange() {
+        Instant instant = Instant.parse("2020-01-01T00:00:00Z");
+        assertTrue(SplitHelper.dateRangeFilters("createdon", instant, instant, 4).isEmpty());
+    }
+
+    @Test
+    void testGuidRangeFilters() {
+        List<String> filters = SplitHelper.guidRangeFilters("accountid", 4);
+
+        assertEquals(Arrays
+                .asList("accountid lt 00000000-0000-0000-0000-400000000000",
+                        "accountid ge 00000000-0000-0000-0000-400000000000"
+                                + " and accountid lt 00000000-0000-0000-0000-800000000000",
+                        "accountid ge 00000000-0000-0000-0000-800000000000"
+                                + " and accountid lt 00000000-0000-0000-0000-c00000000000",
+                        "accountid ge 00000000-0000-0000-0000-c00000000000"),
+                filters);
+    }
+
+    @Test
+    void testCombine() {
+        assertEquals("a eq 1", SplitHelper.combine("a eq 1", null));
+        assertEquals("b lt 2", SplitHelper.combine(null, "b lt 2"));
+        assertEquals("(a eq 1 or c eq 3) and (b lt 2)", SplitHelper.combine("a eq 1 or c eq 3", "b lt 2"));
+    }
+}
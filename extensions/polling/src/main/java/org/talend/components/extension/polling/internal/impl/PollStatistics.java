@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import lombok.Value;
+
+/**
+ * Figures of a poll, from the resume of the delegate input to its last record.
+ */
+@Value
+public class PollStatistics {
+
+    /** Records read during the poll. */
+    int records;
+
+    /** Time spent reading the records, in ms. */
+    long durationMillis;
+
+    /** Time between the end of the previous poll and the start of this one, in ms. */
+    long idleMillis;
+
+    /** Delay before the next poll, from the start of this one, in ms. */
+    long nextDelayMillis;
+
+}
@@ -29,7 +29,8 @@ import java.io.Serializable;
 @AllArgsConstructor
 @NoArgsConstructor
 @GridLayout(names = GridLayout.FormType.MAIN, value = { @GridLayout.Row({ "delay" }), })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "maxRead" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "maxRead" }),
+        @GridLayout.Row({ "maxDelay" }) })
 public class PollingConfiguration implements Serializable {
 
     @Option
@@ -42,4 +43,10 @@ public class PollingConfiguration implements Serializable {
     @DefaultValue("1")
     private Integer maxRead = 1;
 
+    @Option
+    @Documentation("Max delay between two calls (in ms). The delay is doubled after each call without data up to "
+            + "this value, and back to the min delay once data is read. 0 keeps a fixed delay.")
+    @DefaultValue("0")
+    private Integer maxDelay = 0;
+
 }
\ No newline at end of file
@@ -12,7 +12,7 @@
  */
 package org.talend.components.extension.polling.internal.impl;
 
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.talend.components.extension.polling.api.Pollable;
 import org.talend.sdk.component.api.component.Version;
@@ -22,39 +22,109 @@ import org.talend.sdk.component.runtime.input.Input;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Read the delegate input by polls.
+ *
+ * A poll resumes the delegate once, then reads its records until it returns null or until maxRead records are read.
+ * The next poll starts "delay" ms after the start of the previous one: next() waits until then instead of returning
+ * null, so that the runtime doesn't loop on it. When maxDelay is greater than delay, the delay is doubled after each
+ * poll without data, up to maxDelay, and back to delay as soon as a poll reads data.
+ */
 @Version(2)
 @Slf4j
-@RequiredArgsConstructor
 public class PollingInput implements Input, Serializable {
 
     private final PollingConfiguration pollingConfiguration;
 
     private final Input input;
 
-    private final AtomicLong lastExec = new AtomicLong(0);
+    private final Clock clock;
 
     private String resumeMethodName;
 
-    private Method resumeMethod;
+    private transient Method resumeMethod;
+
+    /** True while the records of a poll are read. */
+    private boolean polling;
+
+    /** Start time of the current or last poll, 0 before the first one. */
+    private long pollStart;
+
+    /** End time of the last poll. */
+    private long pollEnd;
+
+    /** Idle time before the current poll. */
+    private long pollIdle;
 
-    private AtomicInteger currentRead = new AtomicInteger(0);
+    private int pollRecords;
+
+    /** Delay between the start of the last poll and the next one, negative before the first poll. */
+    private long currentDelay = -1;
+
+    @Getter
+    private transient PollStatistics lastPoll;
+
+    public PollingInput(final PollingConfiguration pollingConfiguration, final Input input) {
+        this(pollingConfiguration, input, SystemClock.INSTANCE);
+    }
+
+    PollingInput(final PollingConfiguration pollingConfiguration, final Input input, final Clock clock) {
+        this.pollingConfiguration = pollingConfiguration;
+        this.input = input;
+        this.clock = clock;
+    }
 
     @Override
     public Object next() {
-        long currentTime = System.currentTimeMillis();
-        final int n = this.currentRead.incrementAndGet();
-
-        if (pollingConfiguration.getMaxRead() > 0 && n > pollingConfiguration.getMaxRead()) {
-            final long duration = currentTime - this.lastExec.get();
-            if (duration < pollingConfiguration.getDelay()) {
-                return null; // currently resume not supported, just to know that we will recall the input
+        if (!polling) {
+            if (!waitNextPoll()) {
+                return null;
             }
-            currentRead.set(1);
-            log.info("Call batch input from polling after {} ms.", duration);
+            startPoll();
+        }
+
+        final Object next = input.next();
+        if (next == null) {
+            endPoll();
+            return null;
+        }
+
+        pollRecords++;
+        if (pollingConfiguration.getMaxRead() > 0 && pollRecords >= pollingConfiguration.getMaxRead()) {
+            endPoll();
+        }
+        return next;
+    }
+
+    /**
+     * @return false if interrupted while waiting.
+     */
+    private boolean waitNextPoll() {
+        if (pollStart == 0) {
+            return true; // first poll
+        }
+        final long wait = pollStart + currentDelay - clock.currentTimeMillis();
+        if (wait <= 0) {
+            return true;
+        }
+        try {
+            clock.sleep(wait);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
+    }
+
+    private void startPoll() {
+        final long now = clock.currentTimeMillis();
+        pollIdle = pollEnd == 0 ? 0 : now - pollEnd;
+        pollStart = now;
+        pollRecords = 0;
+        polling = true;
+        log.info("Call batch input from polling after {} ms.", pollIdle);
 
         final Object delegate = Delegated.class.cast(input).getDelegate();
         if (resumeMethodName == null) {
@@ -63,11 +133,24 @@ public class PollingInput implements Input, Serializable {
 
         // Resumable.class.cast(Delegated.class.cast(input).getDelegate()).resume(null);
         resume(delegate, resumeMethodName, null);
+    }
 
-        final Object next = input.next();
-        this.lastExec.set(currentTime);
+    private void endPoll() {
+        polling = false;
+        pollEnd = clock.currentTimeMillis();
+        currentDelay = nextDelay(pollRecords > 0);
+        lastPoll = new PollStatistics(pollRecords, pollEnd - pollStart, pollIdle, currentDelay);
+        log.debug("Poll done: {}", lastPoll);
+    }
 
-        return next;
+    private long nextDelay(final boolean dataRead) {
+        final long minDelay = Math.max(0, pollingConfiguration.getDelay());
+        final Integer maxDelay = pollingConfiguration.getMaxDelay();
+        if (dataRead || currentDelay < 0 || maxDelay == null || maxDelay <= minDelay) {
+            return minDelay;
+        }
+        // Exponential backoff while the source has no data
+        return Math.min(maxDelay, Math.max(1, currentDelay) * 2);
     }
 
     private void resume(final Object delegate, final String resumeMethodName, final Object configuration) {
@@ -115,4 +198,28 @@ public class PollingInput implements Input, Serializable {
     public void stop() {
         input.stop();
     }
-}
\ No newline at end of file
+
+    /**
+     * Time source of the polls, replaced in tests so that they don't sleep.
+     */
+    interface Clock extends Serializable {
+
+        long currentTimeMillis();
+
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private enum SystemClock implements Clock {
+        INSTANCE;
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void sleep(final long millis) throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    }
+}
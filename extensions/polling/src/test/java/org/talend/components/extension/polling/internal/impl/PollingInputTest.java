@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import org.junit.jupiter.api.Test;
+import org.talend.components.extension.polling.api.Pollable;
+import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.input.Input;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingInputTest {
+
+    /** Time taken by the source to return a record. */
+    private static final long READ_MILLIS = 10;
+
+    private final FakeClock clock = new FakeClock();
+
+    @Test
+    void fixedDelay() {
+        final PolledSource source = new PolledSource(asList(asList("a", "b"), emptyList(), singletonList("c")));
+        final PollingInput input = new PollingInput(new PollingConfiguration(1000, 0, 0), source.input(), clock);
+
+        assertEquals("a", input.next());
+        assertEquals("b", input.next());
+        assertEquals(1, source.resumed);
+        assertNull(input.getLastPoll());
+        assertNull(input.next());
+        assertEquals(new PollStatistics(2, 2 * READ_MILLIS, 0, 1000), input.getLastPoll());
+        assertTrue(clock.sleeps.isEmpty());
+
+        // the next poll starts 1000 ms after the start of the previous one
+        assertNull(input.next());
+        assertEquals(singletonList(1000 - 2 * READ_MILLIS), clock.sleeps);
+        assertEquals(2, source.resumed);
+        assertEquals(new PollStatistics(0, 0, 1000 - 2 * READ_MILLIS, 1000), input.getLastPoll());
+
+        assertEquals("c", input.next());
+        assertEquals(asList(1000 - 2 * READ_MILLIS, 1000L), clock.sleeps);
+        assertEquals(3, source.resumed);
+    }
+
+    @Test
+    void noWaitWhenPollLastedLongerThanDelay() {
+        final PolledSource source = new PolledSource(asList(asList("a", "b", "c"), singletonList("d")));
+        final PollingInput input =
+                new PollingInput(new PollingConfiguration((int) READ_MILLIS, 0, 0), source.input(), clock);
+
+        assertEquals("a", input.next());
+        assertEquals("b", input.next());
+        assertEquals("c", input.next());
+        assertNull(input.next());
+        assertEquals("d", input.next());
+        assertTrue(clock.sleeps.isEmpty());
+        assertEquals(2, source.resumed);
+    }
+
+    @Test
+    void adaptiveDelay() {
+        final PolledSource source = new PolledSource(asList(singletonList("a"), emptyList(), emptyList(),
+                emptyList(), emptyList(), emptyList(), singletonList("b"), emptyList()));
+        final PollingInput input = new PollingInput(new PollingConfiguration(100, 0, 1000), source.input(), clock);
+
+        assertEquals("a", input.next());
+        assertNull(input.next());
+        assertEquals(100, input.getLastPoll().getNextDelayMillis());
+
+        // doubled after each poll without data, up to maxDelay
+        final List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            assertNull(input.next());
+            delays.add(input.getLastPoll().getNextDelayMillis());
+        }
+        assertEquals(asList(200L, 400L, 800L, 1000L, 1000L), delays);
+
+        // back to the min delay as soon as a poll reads data
+        assertEquals("b", input.next());
+        assertNull(input.next());
+        assertEquals(new PollStatistics(1, READ_MILLIS, 1000, 100), input.getLastPoll());
+        assertNull(input.next());
+        assertEquals(200, input.getLastPoll().getNextDelayMillis());
+
+        assertEquals(asList(100 - READ_MILLIS, 200L, 400L, 800L, 1000L, 1000L, 100 - READ_MILLIS), clock.sleeps);
+        assertEquals(8, source.resumed);
+    }
+
+    @Test
+    void fixedDelayWhenMaxDelayIsLower() {
+        final PolledSource source = new PolledSource(asList(emptyList(), emptyList(), emptyList()));
+        final PollingInput input = new PollingInput(new PollingConfiguration(100, 0, 50), source.input(), clock);
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(input.next());
+            assertEquals(100, input.getLastPoll().getNextDelayMillis());
+        }
+        assertEquals(asList(100L, 100L), clock.sleeps);
+    }
+
+    @Test
+    void maxRead() {
+        final PolledSource source = new PolledSource(asList(asList("a", "b", "c"), singletonList("d")));
+        final PollingInput input = new PollingInput(new PollingConfiguration(100, 2, 0), source.input(), clock);
+
+        // the poll ends with the maxRead-th record, the remaining ones are read by the next poll
+        assertEquals("a", input.next());
+        assertEquals("b", input.next());
+        assertEquals(new PollStatistics(2, 2 * READ_MILLIS, 0, 100), input.getLastPoll());
+        assertEquals(1, source.resumed);
+
+        assertEquals("c", input.next());
+        assertEquals(singletonList(100 - 2 * READ_MILLIS), clock.sleeps);
+        assertEquals(2, source.resumed);
+        assertEquals("d", input.next());
+        assertEquals(new PollStatistics(2, 2 * READ_MILLIS, 100 - 2 * READ_MILLIS, 100), input.getLastPoll());
+
+        assertNull(input.next());
+        assertEquals(3, source.resumed);
+        assertEquals(new PollStatistics(0, 0, 100 - 2 * READ_MILLIS, 100), input.getLastPoll());
+    }
+
+    @Test
+    void interruptedWhileWaiting() {
+        final PolledSource source = new PolledSource(asList(singletonList("a"), singletonList("b")));
+        final PollingInput input = new PollingInput(new PollingConfiguration(100, 0, 0), source.input(), clock);
+
+        assertEquals("a", input.next());
+        assertNull(input.next());
+        clock.interrupted = true;
+        try {
+            assertNull(input.next());
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(1, source.resumed);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        clock.interrupted = false;
+        assertEquals("b", input.next());
+        assertEquals(2, source.resumed);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Clock whose sleeps only move the time forward.
+     */
+    private static class FakeClock implements PollingInput.Clock {
+
+        private final List<Long> sleeps = new ArrayList<>();
+
+        private long now = 1_000_000;
+
+        private boolean interrupted;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        @Override
+        public void sleep(final long millis) throws InterruptedException {
+            if (interrupted) {
+                throw new InterruptedException();
+            }
+            sleeps.add(millis);
+            now += millis;
+        }
+    }
+
+    /**
+     * Source returning one more batch of records each time it is resumed.
+     */
+    @Pollable(resumeMethod = "resume")
+    public class PolledSource {
+
+        private final Deque<List<String>> batches;
+
+        private final Deque<String> records = new ArrayDeque<>();
+
+        private int resumed;
+
+        PolledSource(final List<List<String>> batches) {
+            this.batches = new ArrayDeque<>(batches);
+        }
+
+        public void resume(final Object configuration) {
+            resumed++;
+            if (!batches.isEmpty()) {
+                records.addAll(batches.poll());
+            }
+        }
+
+        String next() {
+            final String next = records.poll();
+            if (next != null) {
+                clock.now += READ_MILLIS;
+            }
+            return next;
+        }
+
+        Input input() {
+            return new DelegatedInput(this);
+        }
+    }
+
+    private static class DelegatedInput implements Input, Delegated {
+
+        private final PolledSource source;
+
+        private DelegatedInput(final PolledSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public Object next() {
+            return source.next();
+        }
+
+        @Override
+        public Object getDelegate() {
+            return source;
+        }
+
+        @Override
+        public String plugin() {
+            return "test";
+        }
+
+        @Override
+        public String rootName() {
+            return "test";
+        }
+
+        @Override
+        public String name() {
+            return "PolledSource";
+        }
+
+        @Override
+        public void start() {
+            // no-op
+        }
+
+        @Override
+        public void stop() {
+            // no-op
+        }
+    }
+}
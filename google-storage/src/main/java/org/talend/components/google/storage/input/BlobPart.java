@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Part of a blob read by a worker: the whole blob, or the lines starting in a byte range of it.
+ */
+@Data
+@AllArgsConstructor
+public class BlobPart implements Serializable {
+
+    private static final long serialVersionUID = -1840366346066183720L;
+
+    /** blob name */
+    private String name;
+
+    /** position of the first byte of the range */
+    private long start;
+
+    /** position after the last byte of the range, blob size for whole blob */
+    private long end;
+
+    /** true to read only the lines starting in the range */
+    private boolean ranged;
+
+    public static BlobPart whole(final String name) {
+        return new BlobPart(name, 0L, 0L, false);
+    }
+
+    public static BlobPart whole(final String name, final long size) {
+        return new BlobPart(name, 0L, size, false);
+    }
+
+    public static BlobPart range(final String name, final long start, final long end) {
+        return new BlobPart(name, start, end, true);
+    }
+
+    public long size() {
+        return this.end - this.start;
+    }
+}
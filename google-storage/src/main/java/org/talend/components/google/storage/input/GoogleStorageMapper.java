@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.components.google.storage.service.StorageFacade;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distributes the blobs of the data set between workers, each one reading about a bundle of bytes. Large CSV blobs
+ * can be cut in byte ranges when the configuration allows it.
+ */
+@Version
+@Slf4j
+@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
+@PartitionMapper(family = "GoogleStorage", name = "Input")
+@Documentation("This component read content file from google cloud storage.")
+public class GoogleStorageMapper implements Serializable {
+
+    private static final long serialVersionUID = -3476502542458452016L;
+
+    /** minimum size of a byte range of a blob, smaller ones would cost more in requests than they save */
+    private static final long MIN_RANGE_SIZE = 16L * 1024L * 1024L;
+
+    private final InputConfiguration config;
+
+    private final RecordBuilderFactory factory;
+
+    private final RecordIORepository ioRepository;
+
+    private final GSService services;
+
+    /** blob parts of this mapper, null for all blobs of data set */
+    private final List<BlobPart> parts;
+
+    public GoogleStorageMapper(@Option("configuration") final InputConfiguration config,
+            final RecordBuilderFactory factory, final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    private GoogleStorageMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final List<BlobPart> parts) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.parts = parts;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        return this.findParts().stream().mapToLong(BlobPart::size).sum();
+    }
+
+    @Split
+    public List<GoogleStorageMapper> split(@PartitionSize final long bundleSize) {
+        final List<BlobPart> blobParts = this.findParts();
+        if (bundleSize <= 0 || blobParts.size() <= 1 && !this.isSplittable()) {
+            return Collections.singletonList(this);
+        }
+
+        // cut large blobs in ranges
+        final long rangeSize = Math.max(bundleSize, MIN_RANGE_SIZE);
+        final List<BlobPart> ranges = new ArrayList<>();
+        for (BlobPart part : blobParts) {
+            if (this.isSplittable() && !part.isRanged() && part.size() > rangeSize) {
+                for (long start = 0; start < part.getEnd(); start += rangeSize) {
+                    ranges.add(BlobPart.range(part.getName(), start, Math.min(part.getEnd(), start + rangeSize)));
+                }
+            } else {
+                ranges.add(part);
+            }
+        }
+
+        // group parts in bundles
+        final List<GoogleStorageMapper> mappers = new ArrayList<>();
+        List<BlobPart> bundle = new ArrayList<>();
+        long currentSize = 0L;
+        for (BlobPart part : ranges) {
+            if (!bundle.isEmpty() && currentSize + part.size() > bundleSize) {
+                mappers.add(this.withParts(bundle));
+                bundle = new ArrayList<>();
+                currentSize = 0L;
+            }
+            bundle.add(part);
+            currentSize += part.size();
+        }
+        if (!bundle.isEmpty()) {
+            mappers.add(this.withParts(bundle));
+        }
+        log.info("Google storage input split in {} workers for {} blob parts", mappers.size(), ranges.size());
+        return mappers;
+    }
+
+    @Emitter
+    public GoogleStorageSource createWorker() {
+        return new GoogleStorageSource(this.config, this.factory, this.ioRepository, this.services, this.parts);
+    }
+
+    private GoogleStorageMapper withParts(final List<BlobPart> bundle) {
+        return new GoogleStorageMapper(this.config, this.factory, this.ioRepository, this.services, bundle);
+    }
+
+    private List<BlobPart> findParts() {
+        if (this.parts != null) {
+            return this.parts;
+        }
+        final GSDataSet dataset = this.config.getDataset();
+        final StorageFacade storage = this.services.buildStorage(dataset.getDataStore());
+        this.services.checkBucket(storage, dataset.getBucket());
+        this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+        final Map<String, Long> sizes = storage.findBlobsSize(dataset.getBucket(), dataset.getBlob());
+        final List<BlobPart> blobParts = new ArrayList<>(sizes.size());
+        sizes.forEach((String name, Long size) -> blobParts.add(BlobPart.whole(name, size)));
+        return blobParts;
+    }
+
+    /**
+     * A blob can be read by ranges when its records are lines, the line separator ending with a single byte new line
+     * and no header to skip.
+     */
+    private boolean isSplittable() {
+        final FormatConfiguration format = this.config.getDataset().getContentFormat();
+        if (!this.config.isSplitLargeBlobs() || format.getContentFormat() != FormatConfiguration.Type.CSV) {
+            return false;
+        }
+        final LineConfiguration lines = format.getCsvConfiguration().getLineConfiguration();
+        final Charset charset = lines.getEncodingCharset();
+        return lines.calcHeader() == 0 && lines.getLineSeparator().endsWith("\n")
+                && Arrays.equals(new byte[] { '\n' }, "\n".getBytes(charset));
+    }
+}
@@ -12,11 +12,15 @@
  */
 package org.talend.components.google.storage.input;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
 
 import org.talend.components.common.collections.IteratorComposer;
 import org.talend.components.common.stream.api.RecordIORepository;
@@ -26,23 +30,15 @@ import org.talend.components.common.stream.format.ContentFormat;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.components.google.storage.service.GSService;
 import org.talend.components.google.storage.service.StorageFacade;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Version
 @Slf4j
-@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
-@Emitter(family = "GoogleStorage", name = "Input")
 @Documentation("This component read content file from google cloud storage.")
-@RequiredArgsConstructor
 public class GoogleStorageSource implements Serializable {
 
     private static final long serialVersionUID = 7373818898514942128L;
@@ -57,9 +53,28 @@ public class GoogleStorageSource implements Serializable {
 
     private final GSService services;
 
+    /** blob parts to read, null to read all blobs of data set */
+    private final List<BlobPart> parts;
+
     /** current record iterator */
     private transient Iterator<Record> recordIterator = null;
 
+    private transient PrefetchedInputs inputs = null;
+
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final List<BlobPart> parts) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.parts = parts;
+    }
+
     @Producer
     public Record next() {
         if (recordIterator == null) {
@@ -75,22 +90,55 @@ public class GoogleStorageSource implements Serializable {
         // blob name list
         final GSDataSet dataset = this.getDataSet();
         final StorageFacade storage = this.services.buildStorage(dataset.getDataStore());
-        this.services.checkBucket(storage, dataset.getBucket());
-        this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
-        final Stream<String> blobsName = storage.findBlobsName(dataset.getBucket(), dataset.getBlob());
+        final Iterator<BlobPart> blobParts;
+        if (this.parts == null) {
+            this.services.checkBucket(storage, dataset.getBucket());
+            this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+            blobParts = storage.findBlobsName(dataset.getBucket(), dataset.getBlob()).map(BlobPart::whole).iterator();
+        } else {
+            blobParts = this.parts.iterator();
+        }
 
         // reader depending on format.
         final RecordReader recordReader = this.buildReader();
 
+        // open next input while current is read.
+        this.inputs = new PrefetchedInputs(IteratorComposer
+                .of(blobParts) //
+                .map((BlobPart part) -> (Supplier<InputStream>) () -> this.open(storage, part)) //
+                .build());
+
         // build iterator on record for each input
         return IteratorComposer
-                .of(blobsName.iterator()) //
-                .map((String name) -> storage.buildInput(dataset.getBucket(), name)) // create input stream
+                .of(this.inputs) //
                 .map((Supplier<InputStream> input) -> new RecordsInputStream(recordReader, input)) //
                 .flatmap(RecordsInputStream::records) //
                 .build();
     }
 
+    private InputStream open(final StorageFacade storage, final BlobPart part) {
+        final String bucket = this.getDataSet().getBucket();
+        if (!part.isRanged()) {
+            return storage.buildInput(bucket, part.getName()).get();
+        }
+        // read from previous byte to know if range starts on a new line.
+        final long position = Math.max(0L, part.getStart() - 1);
+        try {
+            return new LineRangeInputStream(storage.buildInput(bucket, part.getName(), position).get(),
+                    part.getStart(), part.getEnd());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (this.inputs != null) {
+            this.inputs.close();
+            this.inputs = null;
+        }
+    }
+
     private RecordReader buildReader() {
         // reader depending on format.
         final ContentFormat format = this.getDataSet().getContentFormat().findFormat();
@@ -23,7 +23,8 @@ import lombok.Data;
 
 @Data
 @GridLayout({ @GridLayout.Row("dataset") })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("dataset"), @GridLayout.Row("splitLargeBlobs") })
 public class InputConfiguration implements Serializable {
 
     /** serialization */
@@ -33,4 +34,9 @@ public class InputConfiguration implements Serializable {
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
 
+    @Option
+    @Documentation("Let several workers read a large CSV blob, each one a byte range of it. "
+            + "Only for CSV without header whose values don't contain line separators.")
+    private boolean splitLargeBlobs = false;
+
 }
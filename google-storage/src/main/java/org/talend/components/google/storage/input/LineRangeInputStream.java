@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lines of a blob starting in [start, end): the source stream must be positioned on <code>start - 1</code>, or on 0
+ * for the first range. The line started before the range belongs to the previous range and is skipped, the last line
+ * started in the range is read after its end up to the line separator. So each line is read by exactly one range.
+ */
+public class LineRangeInputStream extends FilterInputStream {
+
+    private static final int NEW_LINE = '\n';
+
+    private final long end;
+
+    private long position;
+
+    private int last = NEW_LINE;
+
+    public LineRangeInputStream(final InputStream in, final long start, final long end) throws IOException {
+        super(new BufferedInputStream(in));
+        this.end = end;
+        this.position = start;
+        if (start > 0) {
+            this.position = start - 1;
+            int b;
+            do {
+                b = this.in.read();
+                this.position++;
+            } while (b != -1 && b != NEW_LINE);
+            if (b == -1) {
+                // the range is in the middle of the last line
+                this.position = Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private boolean isOver() {
+        return this.position >= this.end && this.last == NEW_LINE;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.isOver()) {
+            return -1;
+        }
+        final int b = this.in.read();
+        if (b == -1) {
+            this.position = Long.MAX_VALUE;
+            this.last = NEW_LINE;
+            return -1;
+        }
+        this.position++;
+        this.last = b;
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (this.isOver()) {
+            return -1;
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (this.position >= this.end) {
+            // past the end of the range, only up to the end of the current line
+            final int b = this.read();
+            if (b == -1) {
+                return -1;
+            }
+            buffer[offset] = (byte) b;
+            return 1;
+        }
+        final int count = this.in.read(buffer, offset, (int) Math.min(length, this.end - this.position));
+        if (count < 0) {
+            this.position = Long.MAX_VALUE;
+            this.last = NEW_LINE;
+            return -1;
+        }
+        this.position += count;
+        if (count > 0) {
+            this.last = buffer[offset + count - 1];
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && this.read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (this.isOver()) {
+            return 0;
+        }
+        // at least the end of the current line may be read past the range
+        final long inRange = Math.max(1L, Math.min(Integer.MAX_VALUE, this.end - this.position));
+        return (int) Math.min(this.in.available(), inRange);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens the input stream of the next blob in background while the current one is parsed.
+ */
+@Slf4j
+public class PrefetchedInputs implements Iterator<Supplier<InputStream>>, AutoCloseable {
+
+    private final Iterator<Supplier<InputStream>> inputs;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor((Runnable task) -> {
+        final Thread thread = new Thread(task, "gs-input-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<InputStream> next;
+
+    public PrefetchedInputs(final Iterator<Supplier<InputStream>> inputs) {
+        this.inputs = inputs;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.next != null || this.inputs.hasNext();
+    }
+
+    @Override
+    public Supplier<InputStream> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Future<InputStream> current = this.next != null ? this.next : this.open(this.inputs.next());
+        this.next = this.inputs.hasNext() ? this.open(this.inputs.next()) : null;
+        return () -> this.get(current);
+    }
+
+    private Future<InputStream> open(final Supplier<InputStream> input) {
+        return this.executor.submit(input::get);
+    }
+
+    private InputStream get(final Future<InputStream> input) {
+        try {
+            return input.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        if (this.next != null) {
+            // the prefetched stream won't be read
+            try {
+                this.get(this.next).close();
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Prefetched input not closed", ex);
+            }
+            this.next = null;
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.talend.components.google.storage.service;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -38,6 +39,16 @@ public interface StorageFacade extends Serializable {
      */
     Supplier<InputStream> buildInput(final String bucket, final String blob);
 
+    /**
+     * Build input stream getter on bucket/blob starting at a given position.
+     *
+     * @param bucket : bucket.
+     * @param blob : blob.
+     * @param position : position of the first byte to read.
+     * @return input stream getter to read data.
+     */
+    Supplier<InputStream> buildInput(final String bucket, final String blob, final long position);
+
     /**
      * Find all blob for a given bucket that match name.
      * 
@@ -47,6 +58,15 @@ public interface StorageFacade extends Serializable {
      */
     Stream<String> findBlobsName(final String bucket, final String blobStartName);
 
+    /**
+     * Find size of all blob for a given bucket that match name.
+     *
+     * @param bucket : bucket name.
+     * @param blobStartName : start name of blob.
+     * @return size in bytes of each blob that matches, in listing order.
+     */
+    Map<String, Long> findBlobsSize(final String bucket, final String blobStartName);
+
     /**
      * Check if a bucket exist.
      * 
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LineRangeInputStreamTest {
+
+    private static final String CONTENT = "l1,a\nline2,bb\n\nl4,c\nlast";
+
+    @Test
+    void eachLineReadOnce() throws IOException {
+        final byte[] data = CONTENT.getBytes(StandardCharsets.UTF_8);
+        for (int rangeSize = 1; rangeSize <= data.length; rangeSize++) {
+            final StringBuilder content = new StringBuilder();
+            for (int start = 0; start < data.length; start += rangeSize) {
+                content.append(this.read(data, start, Math.min(data.length, start + rangeSize)));
+            }
+            Assertions.assertEquals(CONTENT, content.toString(), "range size " + rangeSize);
+        }
+    }
+
+    @Test
+    void ranges() throws IOException {
+        final byte[] data = CONTENT.getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals("l1,a\nline2,bb\n", this.read(data, 0, 6));
+        Assertions.assertEquals("\nl4,c\n", this.read(data, 6, 16));
+        Assertions.assertEquals("last", this.read(data, 16, data.length));
+        Assertions.assertEquals("", this.read(data, 21, data.length));
+    }
+
+    private String read(final byte[] data, final int start, final int end) throws IOException {
+        final int position = Math.max(0, start - 1);
+        final InputStream source = new ByteArrayInputStream(data, position, data.length - position);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream range = new LineRangeInputStream(source, start, end)) {
+            final byte[] buffer = new byte[3];
+            int count;
+            while ((count = range.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
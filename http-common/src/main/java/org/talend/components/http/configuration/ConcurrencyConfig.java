@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.configuration;
+
+import java.io.Serializable;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+import lombok.Data;
+
+/**
+ * Concurrent requests of the processors. Not an option of {@link RequestConfig}, so that the inputs don't show it: a
+ * processor configuration declares it and copies it in {@link RequestConfig#setConcurrency}.
+ */
+@Data
+@GridLayout({ @GridLayout.Row("concurrentRequests"), @GridLayout.Row({ "maxConcurrentRequests", "preserveOrder" }),
+        @GridLayout.Row("maxRequestsPerSecond"), @GridLayout.Row({ "maxRetries", "retryBackoff" }) })
+public class ConcurrencyConfig implements Serializable {
+
+    @Option
+    @Documentation("Send the requests of several input records at the same time.")
+    private boolean concurrentRequests;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "concurrentRequests", value = "true")
+    @Documentation("Maximum number of input records whose requests are in flight.")
+    private int maxConcurrentRequests = 8;
+
+    @Option
+    @ActiveIf(target = "concurrentRequests", value = "true")
+    @Documentation("Emit the results in the order of the input records, else as soon as they are received.")
+    private boolean preserveOrder = true;
+
+    @Option
+    @Min(0)
+    @ActiveIf(target = "concurrentRequests", value = "true")
+    @Documentation("Maximum number of requests sent per second to a same host, 0 for no limit.")
+    private int maxRequestsPerSecond;
+
+    @Option
+    @Min(0)
+    @ActiveIf(target = "concurrentRequests", value = "true")
+    @Documentation("Number of retries of a request answered by a 429 or 503 status.")
+    private int maxRetries = 3;
+
+    @Option
+    @Min(0)
+    @ActiveIf(target = "concurrentRequests", value = "true")
+    @Documentation("Delay before the first retry in milliseconds, doubled at each retry. "
+            + "A Retry-After header sent by the server takes precedence.")
+    private long retryBackoff = 500;
+}
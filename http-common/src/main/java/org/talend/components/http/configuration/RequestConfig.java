@@ -59,4 +59,9 @@ public class RequestConfig implements Serializable {
     @Documentation("Table to attach files.")
     @ActiveIf(target = "uploadFiles", value = "true")
     private List<UploadFile> uploadFileTable;
+
+    /**
+     * Filled by the processors, see {@link ConcurrencyConfig}.
+     */
+    private ConcurrencyConfig concurrency = new ConcurrencyConfig();
 }
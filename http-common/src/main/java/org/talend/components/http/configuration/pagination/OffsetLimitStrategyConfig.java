@@ -14,6 +14,8 @@ package org.talend.components.http.configuration.pagination;
 
 import lombok.Data;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -24,7 +26,9 @@ import java.io.Serializable;
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "location" }),
         @GridLayout.Row({ "offsetParamName", "offsetValue" }),
         @GridLayout.Row({ "limitParamName", "limitValue" }),
-        @GridLayout.Row({ "elementsPath" })
+        @GridLayout.Row({ "elementsPath" }),
+        @GridLayout.Row({ "prefetchedPages" }),
+        @GridLayout.Row({ "totalPath" })
 })
 @Documentation("Offset/max HTTP pagination strategy configuration.")
 public class OffsetLimitStrategyConfig implements Serializable {
@@ -54,6 +58,18 @@ public class OffsetLimitStrategyConfig implements Serializable {
     @Documentation("Path to the list of element contained by the page.")
     private String elementsPath;
 
+    @Option
+    @Min(0)
+    @Documentation("Number of pages requested ahead while the current one is converted, 0 to request them one after "
+            + "the other. The server must send full pages but the last one.")
+    @DefaultValue("0")
+    private int prefetchedPages;
+
+    @Option
+    @ActiveIf(target = "prefetchedPages", value = "0", negate = true)
+    @Documentation("Path to the total number of elements, if sent with each page.")
+    private String totalPath;
+
     public enum Location {
         QUERY_PARAMETERS,
         HEADERS
@@ -16,6 +16,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.pagination.PaginationExecutor;
 import org.talend.components.extension.polling.api.Pollable;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.service.I18n;
@@ -27,6 +28,7 @@ import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Optional;
@@ -50,7 +52,7 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
 
     private boolean done;
 
-    private Optional<QueryConfiguration> queryConfiguration;
+    private transient PaginationExecutor pages;
 
     public AbstractHTTPInput(final T config, final HTTPClientService client,
             final RecordBuilderService recordBuilder, final I18n i18n) {
@@ -74,14 +76,24 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
         }
 
         done = false;
-        if (!this.queryConfiguration.isPresent()) {
+        if (this.pages == null || !this.pages.hasNextPage()) {
             this.postConstruct();
         }
     }
 
     @PostConstruct
     public void postConstruct() {
-        this.queryConfiguration = Optional.ofNullable(client.convertConfiguration(this.config, null));
+        this.release();
+        QueryConfiguration queryConfiguration = client.convertConfiguration(this.config, null);
+        this.pages = new PaginationExecutor(queryConfiguration, qc -> client.invoke(qc, this.config.isDieOnError()));
+    }
+
+    @PreDestroy
+    public void release() {
+        if (this.pages != null) {
+            this.pages.close();
+            this.pages = null;
+        }
     }
 
     @Producer
@@ -89,13 +101,10 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
         if (items == null && !done) {
             done = true;
             try {
-                HTTPClient.HTTPResponse response =
-                        client.invoke(this.queryConfiguration.get(), this.config.isDieOnError());
-
-                this.queryConfiguration = response.nextPageQueryConfiguration();
+                Optional<HTTPClient.HTTPResponse> response = pages.nextPage();
 
-                if (response.getLastPageCount() <= 0) {
-                    // This getLastPageCount() has been added because DSSL doesn't deal with json empty array.
+                if (!response.isPresent()) {
+                    // Empty pages are not returned by the executor because DSSL doesn't deal with json empty array.
                     // Since dataset.dssl and dataset.pagination.OffsetLimit.elements dssl segments are contatenated
                     // we can have something like '.element.name' but, on the last pagination call, when an empty array
                     // is retrieved, it generates an exception since .element is empty and we try to access nested
@@ -103,7 +112,7 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
                     return null;
                 }
 
-                items = recordBuilder.buildFixedRecord(response, config);
+                items = recordBuilder.buildFixedRecord(response.get(), config);
             } catch (Exception e) {
                 HTTPComponentException ce = new HTTPComponentException(ComponentException.ErrorOrigin.BACKEND,
                         i18n.httpClientException(String.valueOf(e.getClass()), e.getMessage()));
@@ -126,7 +135,7 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
         if (!items.hasNext()) {
             items = null;
 
-            if (this.queryConfiguration.isPresent()) {
+            if (this.pages.hasNextPage()) {
                 done = false;
             }
         }
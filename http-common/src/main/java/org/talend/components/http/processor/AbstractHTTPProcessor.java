@@ -13,12 +13,17 @@
 package org.talend.components.http.processor;
 
 import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.pagination.PaginationExecutor;
+import org.talend.components.http.configuration.ConcurrencyConfig;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.RecordBuilderService;
 import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.components.http.service.httpClient.HTTPComponentException;
 import org.talend.sdk.component.api.exception.ComponentException;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Output;
@@ -26,14 +31,31 @@ import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public abstract class AbstractHTTPProcessor<T> implements Serializable {
 
+    private static final Set<Integer> RETRYABLE_STATUS = new HashSet<>(Arrays.asList(429, 503));
+
+    private static final String RETRY_AFTER = "Retry-After";
+
     @Getter(AccessLevel.PROTECTED)
     private final RequestConfig config;
 
@@ -45,6 +67,10 @@ public abstract class AbstractHTTPProcessor<T> implements Serializable {
 
     private final I18n i18n;
 
+    private transient RequestPipeline<List<HTTPClient.HTTPResponse>> pipeline;
+
+    private transient HostRateLimiter rateLimiter;
+
     public AbstractHTTPProcessor(final T config, final HTTPClientService client,
             final RecordBuilderService recordBuilder, final I18n i18n) {
         this.client = client;
@@ -55,34 +81,169 @@ public abstract class AbstractHTTPProcessor<T> implements Serializable {
 
     @ElementListener
     public void process(@Input final Record input, @Output final OutputEmitter<Record> main) {
+        ConcurrencyConfig concurrency = config.getConcurrency();
+        if (concurrency != null && concurrency.isConcurrentRequests() && concurrency.getMaxConcurrentRequests() > 1) {
+            processConcurrently(input, main);
+            return;
+        }
 
+        try (PaginationExecutor pages = new PaginationExecutor(client.convertConfiguration(config, input),
+                qc -> client.invoke(qc, config.isDieOnError()))) {
+            Optional<HTTPClient.HTTPResponse> response;
+            while ((response = pages.nextPage()).isPresent()) {
+                emit(input, response.get(), main);
+            }
+        } catch (Exception e) {
+            throw toComponentException(e);
+        }
+    }
+
+    /**
+     * Emit the results of the calls still in flight at the end of the group.
+     */
+    @AfterGroup
+    public void afterGroup(@Output final OutputEmitter<Record> main) {
+        if (pipeline == null) {
+            return;
+        }
         try {
-            Optional<QueryConfiguration> nextPageConfiguration = Optional.empty();
+            emitCompleted(pipeline.takeCompleted(true), main);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw toComponentException(e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (pipeline != null) {
+            pipeline.close();
+            pipeline = null;
+        }
+    }
+
+    /**
+     * The calls of an input record, pages included, run on the pipeline threads. Responses are converted to records
+     * and emitted by the component thread once completed.
+     */
+    private void processConcurrently(final Record input, final OutputEmitter<Record> main) {
+        if (pipeline == null) {
+            pipeline = new RequestPipeline<>(config.getConcurrency().getMaxConcurrentRequests(),
+                    config.getConcurrency().isPreserveOrder(), this.getClass().getClassLoader());
+            rateLimiter = new HostRateLimiter(config.getConcurrency().getMaxRequestsPerSecond());
+        }
+        pipeline.submit(input, () -> fetchAllPages(input));
+        try {
+            emitCompleted(pipeline.takeCompleted(false), main);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw toComponentException(e);
+        }
+    }
 
+    private void emitCompleted(final List<RequestPipeline.Job<List<HTTPClient.HTTPResponse>>> jobs,
+            final OutputEmitter<Record> main) {
+        for (RequestPipeline.Job<List<HTTPClient.HTTPResponse>> job : jobs) {
+            try {
+                for (HTTPClient.HTTPResponse response : job.getResult().get()) {
+                    emit(job.getInput(), response, main);
+                }
+            } catch (ExecutionException e) {
+                throw toComponentException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            } catch (Exception e) {
+                throw toComponentException(e);
+            }
+        }
+    }
+
+    private List<HTTPClient.HTTPResponse> fetchAllPages(final Record input) {
+        try {
+            List<HTTPClient.HTTPResponse> responses = new ArrayList<>();
+            Optional<QueryConfiguration> nextPageConfiguration = Optional.empty();
             do {
                 QueryConfiguration queryConfiguration = nextPageConfiguration.isPresent() ? nextPageConfiguration.get()
                         : client.convertConfiguration(config, input);
-                HTTPClient.HTTPResponse response = client.invoke(queryConfiguration, config.isDieOnError());
+                HTTPClient.HTTPResponse response = invokeWithRetry(queryConfiguration);
                 if (response.getLastPageCount() <= 0) {
-                    return;
-                }
-
-                Iterator<Record> items = recordBuilder.buildFixedRecord(input, response, config);
-
-                while (items.hasNext()) {
-                    main.emit(items.next());
+                    break;
                 }
+                responses.add(response);
                 nextPageConfiguration = response.nextPageQueryConfiguration();
             } while (nextPageConfiguration.isPresent());
-
+            return responses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
         } catch (Exception e) {
-            ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
-                    i18n.httpClientException(String.valueOf(e.getClass()), e.getMessage()));
-            ce.setStackTrace(e.getStackTrace());
-            throw ce;
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Retry the calls answered by 429 (too many requests) or 503 (service unavailable), waiting for the delay given
+     * by a Retry-After header, else for an exponential backoff.
+     */
+    private HTTPClient.HTTPResponse invokeWithRetry(final QueryConfiguration queryConfiguration)
+            throws HTTPClientException, InterruptedException {
+        for (int attempt = 0;; attempt++) {
+            rateLimiter.acquire(queryConfiguration.getUrl());
+            HTTPClient.HTTPResponse response;
+            try {
+                response = client.invoke(queryConfiguration, config.isDieOnError());
+            } catch (HTTPComponentException e) {
+                if (attempt >= config.getConcurrency().getMaxRetries() || !isRetryable(e.getResponse())) {
+                    throw e;
+                }
+                response = e.getResponse();
+            }
+            if (attempt >= config.getConcurrency().getMaxRetries() || !isRetryable(response)) {
+                return response;
+            }
+            long delay = retryDelay(response, attempt);
+            log.debug("HTTP {} on '{}', retry {} in {} ms.", response.getStatus().getCode(),
+                    queryConfiguration.getUrl(), attempt + 1, delay);
+            TimeUnit.MILLISECONDS.sleep(delay);
         }
     }
 
+    private static boolean isRetryable(final HTTPClient.HTTPResponse response) {
+        return response != null && RETRYABLE_STATUS.contains(response.getStatus().getCode());
+    }
+
+    private long retryDelay(final HTTPClient.HTTPResponse response, final int attempt) {
+        Map<String, String> headers = response.getHeaders();
+        String retryAfter = headers == null ? null
+                : headers.entrySet()
+                        .stream()
+                        .filter(h -> RETRY_AFTER.equalsIgnoreCase(h.getKey()))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // HTTP date form, fallback on the backoff
+            }
+        }
+        return config.getConcurrency().getRetryBackoff() << Math.min(attempt, 16);
+    }
+
+    private void emit(final Record input, final HTTPClient.HTTPResponse response, final OutputEmitter<Record> main) {
+        Iterator<Record> items = recordBuilder.buildFixedRecord(input, response, config);
+
+        while (items.hasNext()) {
+            main.emit(items.next());
+        }
+    }
+
+    private ComponentException toComponentException(final Exception e) {
+        ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
+                i18n.httpClientException(String.valueOf(e.getClass()), e.getMessage()));
+        ce.setStackTrace(e.getStackTrace());
+        return ce;
+    }
+
     protected abstract RequestConfig translateConfiguration(T config);
 
 }
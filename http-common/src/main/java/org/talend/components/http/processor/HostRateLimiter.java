@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces the requests sent to a same host so that no more than the configured number are started per second.
+ */
+class HostRateLimiter {
+
+    private final long intervalNanos;
+
+    private final Map<String, Long> nextSlots = new ConcurrentHashMap<>();
+
+    HostRateLimiter(final int maxRequestsPerSecond) {
+        this.intervalNanos = maxRequestsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond;
+    }
+
+    /**
+     * Wait for the next free slot of the url host.
+     */
+    void acquire(final String url) throws InterruptedException {
+        if (intervalNanos <= 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long slot = nextSlots
+                .merge(hostOf(url), now + intervalNanos, (next, ignored) -> Math.max(now, next) + intervalNanos)
+                - intervalNanos;
+        final long wait = slot - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static String hostOf(final String url) {
+        try {
+            final String host = URI.create(url).getHost();
+            return host == null ? url : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Runs the calls of several input records on a bounded pool of threads.
+ *
+ * Completed calls are handed back to the component thread, which is the only one allowed to emit, either in input
+ * order or in completion order.
+ *
+ * @param <R> result of the call of one input record.
+ */
+class RequestPipeline<R> implements AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int maxInFlight;
+
+    private final boolean preserveOrder;
+
+    private final ExecutorService executor;
+
+    private final Deque<Job<R>> inFlight = new ArrayDeque<>();
+
+    RequestPipeline(final int maxInFlight, final boolean preserveOrder, final ClassLoader loader) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.preserveOrder = preserveOrder;
+        this.executor = Executors.newFixedThreadPool(this.maxInFlight, threadFactory(loader));
+    }
+
+    void submit(final Record input, final Supplier<R> call) {
+        inFlight.addLast(new Job<>(input, CompletableFuture.supplyAsync(call, executor)));
+    }
+
+    /**
+     * Take the completed jobs, waiting until fewer than the maximum are in flight, or until none is when draining.
+     */
+    List<Job<R>> takeCompleted(final boolean drain) throws InterruptedException {
+        final List<Job<R>> completed = new ArrayList<>();
+        while (true) {
+            collectDone(completed);
+            if (inFlight.isEmpty() || (!drain && inFlight.size() < maxInFlight)) {
+                return completed;
+            }
+            awaitNext();
+        }
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void close() {
+        inFlight.forEach(job -> job.getResult().cancel(true));
+        inFlight.clear();
+        executor.shutdownNow();
+    }
+
+    private void collectDone(final List<Job<R>> completed) {
+        if (preserveOrder) {
+            while (!inFlight.isEmpty() && inFlight.peekFirst().getResult().isDone()) {
+                completed.add(inFlight.pollFirst());
+            }
+            return;
+        }
+        final Iterator<Job<R>> jobs = inFlight.iterator();
+        while (jobs.hasNext()) {
+            final Job<R> job = jobs.next();
+            if (job.getResult().isDone()) {
+                completed.add(job);
+                jobs.remove();
+            }
+        }
+    }
+
+    private void awaitNext() throws InterruptedException {
+        final CompletableFuture<?> next = preserveOrder ? inFlight.peekFirst().getResult()
+                : CompletableFuture.anyOf(inFlight.stream().map(Job::getResult).toArray(CompletableFuture[]::new));
+        try {
+            next.get();
+        } catch (ExecutionException e) {
+            // reported when the job is emitted
+        }
+    }
+
+    private static ThreadFactory threadFactory(final ClassLoader loader) {
+        final int pool = POOL_COUNT.incrementAndGet();
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "http-request-" + pool + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // the component loader is needed by the http client and the record builders
+            thread.setContextClassLoader(loader);
+            return thread;
+        };
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Job<R> {
+
+        private final Record input;
+
+        private final CompletableFuture<R> result;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Keep the first bytes read from a stream, to display the beginning of a response body that can't be parsed.
+ */
+class HeadCapturingInputStream extends FilterInputStream {
+
+    private final int headSize;
+
+    private final ByteArrayOutputStream head;
+
+    HeadCapturingInputStream(final InputStream in, final int headSize) {
+        super(in);
+        this.headSize = headSize;
+        this.head = new ByteArrayOutputStream(headSize);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0 && head.size() < headSize) {
+            head.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        int nb = super.read(b, off, len);
+        if (nb > 0 && head.size() < headSize) {
+            head.write(b, off, Math.min(nb, headSize - head.size()));
+        }
+        return nb;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * @param encoding encoding of the stream.
+     * @return the first characters read so far.
+     */
+    String getHead(final String encoding) {
+        try {
+            return encoding == null ? head.toString() : head.toString(encoding);
+        } catch (UnsupportedEncodingException e) {
+            return head.toString();
+        }
+    }
+}
@@ -13,6 +13,9 @@
 package org.talend.components.http.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,7 @@ import javax.json.stream.JsonParserFactory;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.talend.components.common.collections.IteratorComposer;
 import org.talend.components.common.collections.IteratorMap;
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
@@ -71,6 +75,9 @@ public class RecordBuilderService {
     public static final String CONTEXT_SUBSTITUTOR_RESULT_CLOSER = System
             .getProperty("org.talend.components.rest.context_substitutor_result_closer", "}");
 
+    /** Number of characters of the body displayed when it can't be parsed. */
+    private static final int ERROR_PAYLOAD_LENGTH = 100;
+
     @Service
     private I18n i18n;
 
@@ -132,22 +139,34 @@ public class RecordBuilderService {
         final Iterator<Record> readIterator;
 
         String payload = null;
+        HeadCapturingInputStream body = null;
         try {
-            // I read the payload in case of an exception to be able to display it in the message.
-            payload = response.getBodyAsString();
-            if (config.isDownloadFile()) {
-                MediaType mediaType = getNestedResponseMediaType(response);
-                if (attachmentService.isMultipart(mediaType)) {
-                    String notAttachmentPartOfMultipart = attachmentService.parseMultipartAndDownloadAttachments(
-                            mediaType.getType() + "/" + mediaType.getSubtype(), payload, config);
-
-                    payload = notAttachmentPartOfMultipart;
-                }
+            MediaType mediaType = config.isDownloadFile() ? getNestedResponseMediaType(response) : null;
+            if (mediaType != null && attachmentService.isMultipart(mediaType)) {
+                // I read the payload in case of an exception to be able to display it in the message.
+                payload = response.getBodyAsString();
+                payload = attachmentService.parseMultipartAndDownloadAttachments(
+                        mediaType.getType() + "/" + mediaType.getSubtype(), payload, config);
+                // Inject null in reader if null or, the ByteArrayInputStream if it contains something.
+                readIterator = reader.read(payload == null ? null : new ByteArrayInputStream(payload.getBytes()));
+            } else if (isStreamable(format, response.getEncoding())) {
+                // Records are read while the body is received, only its beginning is kept for the error message.
+                body = new HeadCapturingInputStream(response.streamBody(), ERROR_PAYLOAD_LENGTH + 1);
+                final HeadCapturingInputStream stream = body;
+                readIterator = IteratorComposer.of(reader.read(stream)).closeable(() -> {
+                    reader.close();
+                    stream.close();
+                }).build();
+            } else {
+                payload = response.getBodyAsString();
+                readIterator = reader.read(payload == null ? null : new ByteArrayInputStream(payload.getBytes()));
             }
-            // Inject null in reader if null or, the ByteArrayInputStream if it contains something.
-            readIterator = reader.read(payload == null ? null : new ByteArrayInputStream(payload.getBytes()));
         } catch (RuntimeException | HTTPClientException e) {
-            int endSubstring = 100;
+            if (body != null) {
+                payload = body.getHead(response.getEncoding());
+                closeQuietly(body);
+            }
+            int endSubstring = ERROR_PAYLOAD_LENGTH;
             payload = (payload == null || "".equals(payload)) ? i18n.emptyPayload() : payload.trim();
             // Display only first characters of the payload in the message
             endSubstring = endSubstring > payload.length() ? payload.length() : endSubstring;
@@ -179,6 +198,26 @@ public class RecordBuilderService {
                 true);
     }
 
+    /**
+     * Json is parsed from the stream only for encodings the parser can detect, others are decoded first.
+     * Raw text is decoded by its reader using the response encoding.
+     */
+    private static boolean isStreamable(final Format format, final String encoding) {
+        if (format != Format.JSON) {
+            return true;
+        }
+        return encoding == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding)
+                || StandardCharsets.US_ASCII.name().equalsIgnoreCase(encoding);
+    }
+
+    private static void closeQuietly(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Can't close HTTP response body: {}", e.getMessage());
+        }
+    }
+
     private MediaType getNestedResponseMediaType(
             HTTPClient.HTTPResponse response) {
         return ((Response) response.getNestedResponse()).getMediaType();
@@ -16,10 +16,7 @@ import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.function.UnaryOperator;
 
 import javax.activation.FileDataSource;
@@ -34,7 +31,6 @@ import org.talend.components.common.httpclient.api.ProxyConfiguration;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
 import org.talend.components.common.httpclient.api.authentication.APIKeyDestination;
-import org.talend.components.common.httpclient.api.authentication.Token;
 import org.talend.components.common.httpclient.api.pagination.PaginationParametersLocation;
 import org.talend.components.common.httpclient.api.substitutor.Substitutor;
 import org.talend.components.common.httpclient.factory.HTTPClientFactory;
@@ -69,35 +65,16 @@ public class HTTPClientService {
     @Service
     private I18n messages;
 
-    private Map<String, Token> tokenCache = new HashMap<>();
-
     public HTTPClient.HTTPResponse invoke(QueryConfiguration queryConfiguration, boolean isDieOnError) // final
                                                                                                        // RequestConfig
                                                                                                        // config, final
                                                                                                        // Record input)
             throws HTTPClientException {
 
-        Optional<Token> oauthToken = Optional.empty();
-        Optional<String> tokenCacheKey = queryConfiguration.getOAuthTokenCacheKey();
-        if (tokenCacheKey.isPresent()) {
-            oauthToken = Optional.ofNullable(tokenCache.get(tokenCacheKey.get()));
-        }
-
+        // OAuth 2.0 tokens are cached JVM-wide by the client, see OAuth20TokenManager
         HTTPClient httpClient = HTTPClientFactory.create(queryConfiguration);
-        if (oauthToken.isPresent() && !oauthToken.get().isExpired()) {
-            // Set the token only if not expired
-            httpClient.setOAuth20Token(oauthToken.get());
-        }
-
         HTTPClient.HTTPResponse response = httpClient.invoke();
 
-        // Is there a OAuth20 token to manage ?
-        if (tokenCacheKey.isPresent() && response.getOAuth20Token().isPresent()) {
-            // Don't understand why I have to cast to Token since Optional<Token>
-            Token responseToken = (Token) response.getOAuth20Token().get();
-            tokenCache.put(tokenCacheKey.get(), responseToken);
-        }
-
         if (isDieOnError && (response.getStatus().getCode() / 100) != 2) {
             HTTPComponentException httpComponentException = new HTTPComponentException(
                     messages.responseStatusIsNotOK(response.getStatus().getCodeWithReason()));
@@ -274,6 +251,8 @@ public class HTTPClientService {
                         offsetLimitStrategyConfig.getOffsetParamName(), offsetLimitStrategyConfig.getOffsetValue(),
                         offsetLimitStrategyConfig.getLimitParamName(), offsetLimitStrategyConfig.getLimitValue(),
                         offsetLimitStrategyConfig.getElementsPath());
+                queryConfigurationBuilder.setOffsetLimitPaginationPrefetch(
+                        offsetLimitStrategyConfig.getPrefetchedPages(), offsetLimitStrategyConfig.getTotalPath());
                 break;
             }
         }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.HTTPMethod;
+import org.talend.components.common.httpclient.api.KeyValuePair;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.http.AbstractProcessorTest;
+import org.talend.components.http.configuration.ConcurrencyConfig;
+import org.talend.components.http.configuration.Format;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.components.http.service.I18n;
+import org.talend.components.http.service.RecordBuilderService;
+import org.talend.components.http.service.RequestConfigBuilder;
+import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.sdk.component.api.exception.ComponentException;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpExchange;
+
+@WithComponents(value = "org.talend.components.http")
+class AbstractHTTPProcessorTest extends AbstractProcessorTest {
+
+    @Service
+    private HTTPClientService client;
+
+    @Service
+    private RecordBuilderService recordBuilder;
+
+    @Service
+    private I18n i18n;
+
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final List<Record> emitted = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void stopServerThreads() {
+        serverThreads.shutdownNow();
+    }
+
+    @Override
+    protected RequestConfig buildConfig() {
+        RequestConfig config = RequestConfigBuilder.getEmptyProcessorRequestConfig();
+        config.getDataset().getDatastore().setBase("http://localhost:" + getPort());
+        config.getDataset().setResource("item");
+        config.getDataset().setMethodType(HTTPMethod.GET.name());
+        config.getDataset().setFormat(Format.RAW_TEXT);
+
+        ConcurrencyConfig concurrency = config.getConcurrency();
+        concurrency.setConcurrentRequests(true);
+        concurrency.setMaxConcurrentRequests(4);
+        return config;
+    }
+
+    @Test
+    void retryAfterThenOk() {
+        getConfig().getConcurrency().setRetryBackoff(TimeUnit.MINUTES.toMillis(1));
+        start(exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, "slow down");
+            } else {
+                respond(exchange, 200, idOf(exchange));
+            }
+        });
+
+        long start = System.nanoTime();
+        run(createData(1));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assertions.assertEquals(2, requests.get());
+        Assertions.assertEquals(Collections.singletonList("200 0"), statusAndBodies());
+        // the one second asked by the server, not the one minute backoff
+        Assertions.assertTrue(elapsed >= 900, "elapsed " + elapsed);
+        Assertions.assertTrue(elapsed < 30_000, "elapsed " + elapsed);
+    }
+
+    @Test
+    void backoffUpToMaxRetries() {
+        getConfig().getConcurrency().setMaxRetries(2);
+        getConfig().getConcurrency().setRetryBackoff(100);
+        start(exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 503, "unavailable");
+        });
+
+        long start = System.nanoTime();
+        run(createData(1));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // the last 503 is emitted as any response when the processor doesn't die on error
+        Assertions.assertEquals(3, requests.get());
+        Assertions.assertEquals(Collections.singletonList("503 unavailable"), statusAndBodies());
+        // 100 then 200 ms
+        Assertions.assertTrue(elapsed >= 300, "elapsed " + elapsed);
+    }
+
+    @Test
+    void dieOnErrorAfterMaxRetries() {
+        getConfig().setDieOnError(true);
+        getConfig().getConcurrency().setMaxRetries(2);
+        getConfig().getConcurrency().setRetryBackoff(10);
+        start(exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 429, "slow down");
+        });
+
+        Assertions.assertThrows(ComponentException.class, () -> run(createData(1)));
+        Assertions.assertEquals(3, requests.get());
+        Assertions.assertTrue(emitted.isEmpty());
+    }
+
+    @Test
+    void pacedPerHost() {
+        getConfig().getConcurrency().setMaxRequestsPerSecond(10);
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        start(exchange -> {
+            received.add(System.nanoTime());
+            respond(exchange, 200, idOf(exchange));
+        });
+
+        run(createData(5));
+
+        Assertions.assertEquals(5, received.size());
+        long first = Collections.min(received);
+        long last = Collections.max(received);
+        // 4 intervals of 100 ms although 4 requests could run at the same time
+        long spread = TimeUnit.NANOSECONDS.toMillis(last - first);
+        Assertions.assertTrue(spread >= 350, "spread " + spread);
+    }
+
+    @Test
+    void orderedAcrossAfterGroup() {
+        start(exchange -> {
+            // the first records are answered last
+            String id = idOf(exchange);
+            sleep((10 - Integer.parseInt(id)) * 30L);
+            respond(exchange, 200, id);
+        });
+
+        List<Record> data = createData(10);
+        Processor processor = newProcessor();
+        try {
+            data.subList(0, 5).forEach(input -> processor.process(input, emitted::add));
+            processor.afterGroup(emitted::add);
+            Assertions.assertEquals(5, emitted.size());
+            data.subList(5, 10).forEach(input -> processor.process(input, emitted::add));
+            processor.afterGroup(emitted::add);
+        } finally {
+            processor.release();
+        }
+
+        Assertions.assertEquals(IntStream.range(0, 10).mapToObj(i -> "200 " + i).collect(Collectors.toList()),
+                statusAndBodies());
+    }
+
+    @Test
+    void completionOrder() {
+        getConfig().getConcurrency().setPreserveOrder(false);
+        start(exchange -> {
+            String id = idOf(exchange);
+            sleep((10 - Integer.parseInt(id)) * 30L);
+            respond(exchange, 200, id);
+        });
+
+        run(createData(10));
+
+        List<String> received = statusAndBodies();
+        Assertions.assertNotEquals(IntStream.range(0, 10).mapToObj(i -> "200 " + i).collect(Collectors.toList()),
+                received);
+        Collections.sort(received);
+        Assertions.assertEquals(IntStream.range(0, 10).mapToObj(i -> "200 " + i).collect(Collectors.toList()),
+                received);
+    }
+
+    private void run(final List<Record> data) {
+        Processor processor = newProcessor();
+        try {
+            data.forEach(input -> processor.process(input, emitted::add));
+            processor.afterGroup(emitted::add);
+        } finally {
+            processor.release();
+        }
+    }
+
+    private Processor newProcessor() {
+        return new Processor(getConfig(), new IdQueryClient(client), recordBuilder, i18n);
+    }
+
+    private List<String> statusAndBodies() {
+        return emitted.stream().map(r -> r.getInt("status") + " " + r.getString("body")).collect(Collectors.toList());
+    }
+
+    private void start(final Handler handler) {
+        getServer().setExecutor(serverThreads);
+        setServerContextAndStart(exchange -> {
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static String idOf(final HttpExchange exchange) {
+        return exchange.getRequestURI().getQuery().replace("id=", "");
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Handler {
+
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static class Processor extends AbstractHTTPProcessor<RequestConfig> {
+
+        Processor(final RequestConfig config, final HTTPClientService client, final RecordBuilderService recordBuilder,
+                final I18n i18n) {
+            super(config, client, recordBuilder, i18n);
+        }
+
+        @Override
+        protected RequestConfig translateConfiguration(final RequestConfig config) {
+            return config;
+        }
+    }
+
+    /**
+     * Sends the id of the input record as query parameter, the server answers with it.
+     */
+    private static class IdQueryClient extends HTTPClientService {
+
+        private final HTTPClientService delegate;
+
+        IdQueryClient(final HTTPClientService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public QueryConfiguration convertConfiguration(final RequestConfig config, final Record input) {
+            QueryConfiguration queryConfiguration = delegate.convertConfiguration(config, input);
+            queryConfiguration.getQueryParams().add(new KeyValuePair("id", String.valueOf(input.getInt("id"))));
+            return queryConfiguration;
+        }
+
+        @Override
+        public HTTPClient.HTTPResponse invoke(final QueryConfiguration queryConfiguration, final boolean isDieOnError)
+                throws HTTPClientException {
+            return delegate.invoke(queryConfiguration, isDieOnError);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RequestPipelineTest {
+
+    @Test
+    void preserveOrder() throws InterruptedException {
+        CountDownLatch firstCanEnd = new CountDownLatch(1);
+        try (RequestPipeline<String> pipeline = new RequestPipeline<>(4, true, getClass().getClassLoader())) {
+            pipeline.submit(null, () -> {
+                await(firstCanEnd);
+                return "first";
+            });
+            pipeline.submit(null, () -> "second");
+            pipeline.submit(null, () -> "third");
+
+            // the first call blocks the others
+            Assertions.assertTrue(pipeline.takeCompleted(false).isEmpty());
+            firstCanEnd.countDown();
+            Assertions.assertEquals("first,second,third", results(pipeline.takeCompleted(true)));
+            Assertions.assertEquals(0, pipeline.size());
+        }
+    }
+
+    @Test
+    void relaxedOrder() throws InterruptedException {
+        CountDownLatch firstCanEnd = new CountDownLatch(1);
+        try (RequestPipeline<String> pipeline = new RequestPipeline<>(2, false, getClass().getClassLoader())) {
+            pipeline.submit(null, () -> {
+                await(firstCanEnd);
+                return "first";
+            });
+            pipeline.submit(null, () -> "second");
+
+            // the pipeline is full, waits for any call to end
+            Assertions.assertEquals("second", results(pipeline.takeCompleted(false)));
+            firstCanEnd.countDown();
+            Assertions.assertEquals("first", results(pipeline.takeCompleted(true)));
+        }
+    }
+
+    @Test
+    void rateLimit() throws InterruptedException {
+        HostRateLimiter limiter = new HostRateLimiter(20);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("http://localhost:8080/path?i=" + i);
+        }
+        limiter.acquire("http://otherhost/");
+        // 4 intervals of 50ms for the same host, other hosts are not delayed
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsed >= 190, "elapsed " + elapsed);
+        Assertions.assertTrue(elapsed < 1000, "elapsed " + elapsed);
+    }
+
+    private static String results(final List<RequestPipeline.Job<String>> jobs) {
+        return jobs.stream().map(j -> j.getResult().join()).collect(Collectors.joining(","));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HeadCapturingInputStreamTest {
+
+    @Test
+    void keepOnlyTheBeginningOfTheStream() throws IOException {
+        byte[] payload = "{\"id\": 1, \"name\": \"élément\"}".getBytes(StandardCharsets.UTF_8);
+        try (HeadCapturingInputStream in = new HeadCapturingInputStream(new ByteArrayInputStream(payload), 10)) {
+            Assertions.assertEquals('{', in.read());
+            byte[] buffer = new byte[8];
+            while (in.read(buffer, 0, buffer.length) > 0) {
+                // consume the stream
+            }
+            Assertions.assertEquals("{\"id\": 1, ", in.getHead(StandardCharsets.UTF_8.name()));
+        }
+    }
+
+    @Test
+    void keepTheWholeShortStream() throws IOException {
+        byte[] payload = "élément".getBytes(StandardCharsets.UTF_8);
+        try (HeadCapturingInputStream in = new HeadCapturingInputStream(new ByteArrayInputStream(payload), 100)) {
+            Assertions.assertEquals(payload.length, in.read(new byte[100], 0, 100));
+            Assertions.assertEquals("élément", in.getHead(StandardCharsets.UTF_8.name()));
+        }
+    }
+
+}
@@ -15,12 +15,19 @@ package org.talend.components.jdbc.configuration;
 import lombok.Data;
 import org.talend.components.jdbc.dataset.TableNameDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.action.Suggestable;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
+import static org.talend.components.jdbc.service.UIActionService.ACTION_SUGGESTION_TABLE_COLUMNS_NAMES;
+
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }),
+        @GridLayout.Row({ "incremental" }), @GridLayout.Row({ "watermarkColumn" }),
+        @GridLayout.Row({ "overlap" }), @GridLayout.Row({ "watermarkFile" }) })
 @Documentation("Table name input configuration")
 public class InputTableNameConfig implements InputConfig {
 
@@ -28,4 +35,27 @@ public class InputTableNameConfig implements InputConfig {
     @Documentation("table name dataset")
     private TableNameDataset dataSet;
 
+    @Option
+    @Documentation("Read only the rows changed since the last run, using a watermark column")
+    private boolean incremental = false;
+
+    @Option
+    @Required
+    @ActiveIf(target = "incremental", value = { "true" })
+    @Suggestable(value = ACTION_SUGGESTION_TABLE_COLUMNS_NAMES, parameters = { "../dataSet" })
+    @Documentation("Column increasing with each change, like a last update date or an auto incremented id")
+    private String watermarkColumn;
+
+    @Option
+    @ActiveIf(target = "incremental", value = { "true" })
+    @Documentation("Window read again to catch the rows committed late, in seconds for date columns or in units for "
+            + "numeric columns")
+    private long overlap = 0;
+
+    @Option
+    @Required
+    @ActiveIf(target = "incremental", value = { "true" })
+    @Documentation("Local file keeping the watermark of the last run")
+    private String watermarkFile;
+
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.configuration;
+
+public enum InsertStrategy {
+
+    /**
+     * One single row insert per record, batched
+     */
+    BATCH,
+
+    /**
+     * Inserts with as many rows in their VALUES clause as the bind parameters limit of the platform allows, for the
+     * drivers not rewriting the batches themselves. Falls back to the batch on platforms without multi-row VALUES.
+     */
+    MULTI_ROW
+}
@@ -43,7 +43,9 @@ import static org.talend.sdk.component.api.configuration.condition.ActiveIfs.Ope
         @GridLayout.Row("sortKeys"),
         @GridLayout.Row("distributionStrategy"), @GridLayout.Row("distributionKeys"), @GridLayout.Row("ignoreUpdate") })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"),
-        @GridLayout.Row("rewriteBatchedStatements"), @GridLayout.Row("useSanitizedColumnName") })
+        @GridLayout.Row("rewriteBatchedStatements"), @GridLayout.Row("useSanitizedColumnName"),
+        @GridLayout.Row("insertStrategy"), @GridLayout.Row("upsertStrategy"),
+        @GridLayout.Row("stagingTableThreshold") })
 @Documentation("Those properties define an output data set for the JDBC output component")
 public class OutputConfig implements Serializable {
 
@@ -118,6 +120,24 @@ public class OutputConfig implements Serializable {
     @Documentation("Rewrite batched statements, to execute one statement per batch combining values in the sql query")
     private boolean rewriteBatchedStatements = true;
 
+    @Option
+    @ActiveIf(target = "../actionOnData", value = { "INSERT" })
+    @Documentation("How insert sends the records: one row per batched statement or several rows per statement")
+    private InsertStrategy insertStrategy = InsertStrategy.BATCH;
+
+    @Option
+    @ActiveIf(target = "../actionOnData", value = { "UPSERT" })
+    @Documentation("How upsert decides between insert and update: existence check per record or native set based "
+            + "statement")
+    private UpsertStrategy upsertStrategy = UpsertStrategy.CHECK_EXISTENCE;
+
+    @Option
+    @ActiveIfs(operator = AND, value = { @ActiveIf(target = "../actionOnData", value = { "UPSERT" }),
+            @ActiveIf(target = "../upsertStrategy", value = { "MERGE" }) })
+    @Documentation("Batches with at least this number of records are loaded into a temporary table merged with a "
+            + "single statement, 0 to disable")
+    private int stagingTableThreshold = 0;
+
     // @Option
     // @Documentation("To keep the old behavior that use sanitized name as column name")
     // private boolean useOriginColumnName = true;
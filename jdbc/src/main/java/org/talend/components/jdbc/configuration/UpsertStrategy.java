@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.configuration;
+
+public enum UpsertStrategy {
+
+    /**
+     * Query the existence of every record then batch the inserts and the updates, works without unique constraint
+     */
+    CHECK_EXISTENCE,
+
+    /**
+     * Single set based statement per batch (INSERT ... ON CONFLICT, ON DUPLICATE KEY UPDATE or MERGE), the keys must
+     * be backed by a unique constraint for PostgreSQL and MySQL/MariaDB. Falls back to the existence check on
+     * platforms without native upsert.
+     */
+    MERGE
+}
@@ -15,6 +15,7 @@ package org.talend.components.jdbc.input;
 import static java.util.Locale.ROOT;
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
 
+import java.io.File;
 import java.io.Serializable;
 import java.sql.*;
 import java.util.*;
@@ -25,6 +26,7 @@ import javax.annotation.PreDestroy;
 
 import org.jooq.impl.ParserException;
 import org.talend.components.jdbc.configuration.InputConfig;
+import org.talend.components.jdbc.configuration.InputTableNameConfig;
 import org.talend.components.jdbc.dataset.BaseDataSet;
 import org.talend.components.jdbc.output.platforms.MariaDbPlatform;
 import org.talend.components.jdbc.output.platforms.Platform;
@@ -58,6 +60,8 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     private transient Schema schema;
 
+    private transient WatermarkRange watermark;
+
     AbstractInputEmitter(final InputConfig inputConfig, final JdbcService jdbcDriversService,
             final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage) {
         this.inputConfig = inputConfig;
@@ -85,9 +89,20 @@ public abstract class AbstractInputEmitter implements Serializable {
         try {
             dataSource = jdbcDriversService.createDataSource(dataSet.getConnection());
             connection = dataSource.getConnection();
-            statement = connection.createStatement();
-            statement.setFetchSize(dataSet.getFetchSize());
-            resultSet = statement.executeQuery(query);
+            watermark = createWatermarkRange();
+            if (watermark != null) {
+                final InputTableNameConfig tableConfig = (InputTableNameConfig) inputConfig;
+                final PreparedStatement preparedStatement = connection.prepareStatement(watermark.prepare(connection,
+                        platform, query, tableConfig.getDataSet().getTableName(), tableConfig.getWatermarkColumn()));
+                watermark.bind(preparedStatement);
+                statement = preparedStatement;
+                statement.setFetchSize(dataSet.getFetchSize());
+                resultSet = preparedStatement.executeQuery();
+            } else {
+                statement = connection.createStatement();
+                statement.setFetchSize(dataSet.getFetchSize());
+                resultSet = statement.executeQuery(query);
+            }
 
             schema = jdbcDriversService.createSchema(dataSet, connection, resultSet, recordBuilderFactory);
 
@@ -105,6 +120,11 @@ public abstract class AbstractInputEmitter implements Serializable {
     public Record next() {
         try {
             if (!resultSet.next()) {
+                if (watermark != null) {
+                    // all the rows up to the high-water mark were read
+                    watermark.commit();
+                    watermark = null;
+                }
                 return null;
             }
             final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(schema);
@@ -123,6 +143,27 @@ public abstract class AbstractInputEmitter implements Serializable {
         }
     }
 
+    private WatermarkRange createWatermarkRange() {
+        if (!(inputConfig instanceof InputTableNameConfig) || !((InputTableNameConfig) inputConfig).isIncremental()) {
+            return null;
+        }
+        final InputTableNameConfig tableConfig = (InputTableNameConfig) inputConfig;
+        final String column = tableConfig.getWatermarkColumn();
+        final String file = tableConfig.getWatermarkFile();
+        if (column == null || column.trim().isEmpty() || file == null || file.trim().isEmpty()) {
+            throw new IllegalArgumentException(i18n.errorEmptyWatermarkColumn());
+        }
+        return new WatermarkRange(createWatermarkStore(tableConfig),
+                tableConfig.getDataSet().getTableName() + "." + column, tableConfig.getOverlap());
+    }
+
+    /**
+     * @return the store of the incremental read watermarks, a local file by default.
+     */
+    protected WatermarkStore createWatermarkStore(final InputTableNameConfig tableConfig) {
+        return new FileWatermarkStore(new File(tableConfig.getWatermarkFile()));
+    }
+
     @PreDestroy
     public void release() {
         if (resultSet != null) {
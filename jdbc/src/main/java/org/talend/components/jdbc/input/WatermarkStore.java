@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import java.io.Serializable;
+
+/**
+ * Keeps the high-water marks of the incremental reads between two runs.
+ */
+public interface WatermarkStore extends Serializable {
+
+    /**
+     * @param key the read the watermark belongs to.
+     * @return the last saved watermark, or null when the read never completed.
+     */
+    String load(String key);
+
+    /**
+     * Saves the watermark once all the rows up to it have been read.
+     */
+    void save(String key, String watermark);
+}
@@ -61,6 +61,16 @@ public class DeltaLakePlatform extends Platform {
         return String.format("%s://%s:%s/%s%s", protocol, host, port, database, params.replace('&', ';'));
     }
 
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, columns
+                .stream()
+                .map(this::identifier)
+                .map(c -> "? AS " + c)
+                .collect(Collectors.joining(", ", "(SELECT ", ") src")), columns, keys, updatable);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
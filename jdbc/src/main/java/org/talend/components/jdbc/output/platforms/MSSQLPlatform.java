@@ -58,6 +58,42 @@ public class MSSQLPlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * The server refuses the requests with more than 2100 parameters.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 2099;
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, "(" + valuesClause(columns) + ") AS src "
+                + columns.stream().map(this::identifier).collect(Collectors.joining(", ", "(", ")")), columns, keys,
+                updatable) + ";";
+    }
+
+    @Override
+    public String upsertFromQuery(final String table, final String staging, final List<String> columns,
+            final List<String> keys, final List<String> updatable) {
+        return mergeQuery(table, identifier(staging) + " src", columns, keys, updatable) + ";";
+    }
+
+    @Override
+    public String createStagingTableQuery(final String table, final String staging) {
+        return "IF OBJECT_ID('tempdb.." + staging.replace("'", "''") + "') IS NULL SELECT TOP 0 * INTO "
+                + identifier(staging) + " FROM " + identifier(table);
+    }
+
+    /**
+     * Local temporary table, dropped with the session.
+     */
+    @Override
+    public String stagingTableName(final String table) {
+        return "#" + super.stagingTableName(table);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
@@ -136,5 +172,10 @@ public class MSSQLPlatform extends Platform {
 
         // https://docs.microsoft.com/en-us/sql/connect/jdbc/setting-the-connection-properties?view=sql-server-2017
         dataSource.addDataSourceProperty("applicationName", APPLICATION);
+        if (getDriver() == null || !MSSQL_JTDS.equalsIgnoreCase(getDriver().getId())) {
+            // jtds pools its statements by default (maxStatements), mssql-jdbc only once a cache size is set
+            addDataSourcePropertyIfAbsent(dataSource, "disableStatementPooling", "false");
+            addDataSourcePropertyIfAbsent(dataSource, "statementPoolingCacheSize", "250");
+        }
     }
 }
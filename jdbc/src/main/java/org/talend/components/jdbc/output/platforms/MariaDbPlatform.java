@@ -20,6 +20,8 @@ import java.util.stream.Collectors;
 import org.talend.components.jdbc.configuration.JdbcConfiguration;
 import org.talend.components.jdbc.service.I18nMessage;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -41,6 +43,36 @@ public class MariaDbPlatform extends Platform {
         return "`";
     }
 
+    @Override
+    public int maxBindParameters() {
+        return 65535;
+    }
+
+    @Override
+    public void addDataSourceProperties(final HikariDataSource dataSource) {
+        super.addDataSourceProperties(dataSource);
+        // reuse server side prepared statements across batches, cachePrepStmts is enabled by default
+        // https://mariadb.com/kb/en/about-mariadb-connector-j/#optional-url-parameters
+        addDataSourcePropertyIfAbsent(dataSource, "useServerPrepStmts", "true");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return insertQuery(table, columns, valuesClause(columns)) + onDuplicateKey(keys, updatable);
+    }
+
+    @Override
+    public String upsertFromQuery(final String table, final String staging, final List<String> columns,
+            final List<String> keys, final List<String> updatable) {
+        return insertQuery(table, columns, selectClause(staging, columns)) + onDuplicateKey(keys, updatable);
+    }
+
+    @Override
+    public String createStagingTableQuery(final String table, final String staging) {
+        return "CREATE TEMPORARY TABLE IF NOT EXISTS " + identifier(staging) + " LIKE " + identifier(table);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
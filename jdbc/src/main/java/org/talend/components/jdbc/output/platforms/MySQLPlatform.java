@@ -47,6 +47,11 @@ public class MySQLPlatform extends Platform {
         return "`";
     }
 
+    @Override
+    public int maxBindParameters() {
+        return 65535;
+    }
+
     @Override
     public void addDataSourceProperties(HikariDataSource dataSource) {
         super.addDataSourceProperties(dataSource);
@@ -55,6 +60,29 @@ public class MySQLPlatform extends Platform {
         if (jdbcUrl != null && !jdbcUrl.contains("enabledTLSProtocols=")) {
             dataSource.addDataSourceProperty("enabledTLSProtocols", "TLSv1.2,TLSv1.1,TLSv1");
         }
+        // reuse server side prepared statements across batches
+        // https://dev.mysql.com/doc/connector-j/en/connector-j-connp-props-prepared-statements.html
+        addDataSourcePropertyIfAbsent(dataSource, "useServerPrepStmts", "true");
+        addDataSourcePropertyIfAbsent(dataSource, "cachePrepStmts", "true");
+        addDataSourcePropertyIfAbsent(dataSource, "prepStmtCacheSize", "250");
+        addDataSourcePropertyIfAbsent(dataSource, "prepStmtCacheSqlLimit", "2048");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return insertQuery(table, columns, valuesClause(columns)) + onDuplicateKey(keys, updatable);
+    }
+
+    @Override
+    public String upsertFromQuery(final String table, final String staging, final List<String> columns,
+            final List<String> keys, final List<String> updatable) {
+        return insertQuery(table, columns, selectClause(staging, columns)) + onDuplicateKey(keys, updatable);
+    }
+
+    @Override
+    public String createStagingTableQuery(final String table, final String staging) {
+        return "CREATE TEMPORARY TABLE IF NOT EXISTS " + identifier(staging) + " LIKE " + identifier(table);
     }
 
     @Override
@@ -61,6 +61,24 @@ public class OraclePlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * Oracle only accepts a single row per VALUES clause.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 0;
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, columns
+                .stream()
+                .map(this::identifier)
+                .map(c -> "? AS " + c)
+                .collect(Collectors.joining(", ", "(SELECT ", " FROM DUAL) src")), columns, keys, updatable);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
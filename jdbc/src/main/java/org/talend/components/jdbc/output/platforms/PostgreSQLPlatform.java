@@ -20,6 +20,8 @@ import java.util.stream.Collectors;
 import org.talend.components.jdbc.configuration.JdbcConfiguration;
 import org.talend.components.jdbc.service.I18nMessage;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -45,6 +47,55 @@ public class PostgreSQLPlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * The protocol allows 65535 parameters, the drivers older than 42.4 only 32767.
+     */
+    @Override
+    public int maxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public void addDataSourceProperties(final HikariDataSource dataSource) {
+        super.addDataSourceProperties(dataSource);
+        // switch to a named server side statement from the first execution, statements are reused across batches
+        // https://jdbc.postgresql.org/documentation/server-prepare/
+        addDataSourcePropertyIfAbsent(dataSource, "prepareThreshold", "1");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return insertQuery(table, columns, valuesClause(columns)) + onConflict(keys, updatable);
+    }
+
+    @Override
+    public String upsertFromQuery(final String table, final String staging, final List<String> columns,
+            final List<String> keys, final List<String> updatable) {
+        return insertQuery(table, columns, selectClause(staging, columns)) + onConflict(keys, updatable);
+    }
+
+    @Override
+    public String createStagingTableQuery(final String table, final String staging) {
+        return "CREATE TEMPORARY TABLE IF NOT EXISTS " + identifier(staging) + " (LIKE " + identifier(table)
+                + " INCLUDING DEFAULTS)";
+    }
+
+    /**
+     * The keys must be backed by a unique index or constraint.
+     */
+    private String onConflict(final List<String> keys, final List<String> updatable) {
+        final String target = keys.stream().map(this::identifier).collect(Collectors.joining(", ", "(", ")"));
+        if (updatable.isEmpty()) {
+            return " ON CONFLICT " + target + " DO NOTHING";
+        }
+        return " ON CONFLICT " + target + " DO UPDATE SET " + updatable
+                .stream()
+                .map(this::identifier)
+                .map(c -> c + " = EXCLUDED." + c)
+                .collect(Collectors.joining(", "));
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
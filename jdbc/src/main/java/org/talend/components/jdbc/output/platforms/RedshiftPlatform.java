@@ -50,6 +50,11 @@ public class RedshiftPlatform extends Platform {
         return "\"";
     }
 
+    @Override
+    public int maxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName)
             throws SQLException {
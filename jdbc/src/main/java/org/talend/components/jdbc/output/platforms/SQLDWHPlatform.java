@@ -35,6 +35,14 @@ public class SQLDWHPlatform extends MSSQLPlatform {
         super(i18n, driver);
     }
 
+    /**
+     * Synapse dedicated pools only accept a single row per VALUES clause.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 0;
+    }
+
     @Override
     public void createTableIfNotExist(final Connection connection, final String name, final List<String> keys,
             final RedshiftSortStrategy sortStrategy, final List<String> sortKeys,
@@ -13,13 +13,17 @@
 package org.talend.components.jdbc.output.statement;
 
 import lombok.Data;
+import org.talend.components.jdbc.configuration.InsertStrategy;
 import org.talend.components.jdbc.configuration.OutputConfig;
+import org.talend.components.jdbc.configuration.UpsertStrategy;
 import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.output.statement.operations.Delete;
 import org.talend.components.jdbc.output.statement.operations.Insert;
+import org.talend.components.jdbc.output.statement.operations.MultiRowInsert;
 import org.talend.components.jdbc.output.statement.operations.QueryManagerImpl;
 import org.talend.components.jdbc.output.statement.operations.Update;
 import org.talend.components.jdbc.output.statement.operations.UpsertDefault;
+import org.talend.components.jdbc.output.statement.operations.UpsertMerge;
 import org.talend.components.jdbc.output.statement.operations.snowflake.SnowflakeDelete;
 import org.talend.components.jdbc.output.statement.operations.snowflake.SnowflakeInsert;
 import org.talend.components.jdbc.output.statement.operations.snowflake.SnowflakeUpdate;
@@ -55,13 +59,17 @@ public final class QueryManagerFactory {
         default:
             switch (configuration.getActionOnData()) {
             case INSERT:
-                return new Insert(platform, configuration, i18n);
+                return configuration.getInsertStrategy() == InsertStrategy.MULTI_ROW
+                        ? new MultiRowInsert(platform, configuration, i18n)
+                        : new Insert(platform, configuration, i18n);
             case UPDATE:
                 return new Update(platform, configuration, i18n);
             case DELETE:
                 return new Delete(platform, configuration, i18n);
             case UPSERT:
-                return new UpsertDefault(platform, configuration, i18n);
+                return configuration.getUpsertStrategy() == UpsertStrategy.MERGE
+                        ? new UpsertMerge(platform, configuration, i18n)
+                        : new UpsertDefault(platform, configuration, i18n);
             default:
                 throw new IllegalStateException(i18n.errorUnsupportedDatabaseAction());
             }
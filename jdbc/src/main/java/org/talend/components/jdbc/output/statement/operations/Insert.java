@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.*;
@@ -42,9 +43,18 @@ public class Insert extends QueryManagerImpl {
 
     @Override
     public String buildQuery(final List<Record> records) {
+        return buildQuery(records, 1);
+    }
+
+    /**
+     * @return the insert of <code>rows</code> rows, the parameters of each row following the ones of the previous row
+     * in the order of {@link #getQueryParams()}.
+     */
+    protected String buildQuery(final List<Record> records, final int rows) {
         final List<Schema.Entry> entries = OutputUtils.getAllSchemaEntries(records);
 
-        return queries.computeIfAbsent(entries.stream().map(Schema.Entry::getOriginalFieldName).collect(joining("::")),
+        return queries.computeIfAbsent(
+                entries.stream().map(Schema.Entry::getOriginalFieldName).collect(joining("::")) + "::" + rows,
                 key -> {
                     final AtomicInteger index = new AtomicInteger(0);
                     namedParams = new HashMap<>();
@@ -65,7 +75,8 @@ public class Insert extends QueryManagerImpl {
                                     .map(name -> getPlatform().identifier(name))
                                     .collect(joining(",", "(", ")")));
                     query.append(" VALUES");
-                    query.append(params.stream().map(e -> "?").collect((joining(",", "(", ")"))));
+                    final String row = params.stream().map(e -> "?").collect((joining(",", "(", ")")));
+                    query.append(IntStream.range(0, rows).mapToObj(i -> row).collect(joining(",")));
                     return query.toString();
                 });
     }
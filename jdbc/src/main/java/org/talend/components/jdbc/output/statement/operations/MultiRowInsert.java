@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output.statement.operations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.configuration.OutputConfig;
+import org.talend.components.jdbc.output.Reject;
+import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.StatementCache;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Insert sending the records in statements of several rows, as many as {@link Platform#maxBindParameters()} and
+ * {@link Platform#maxInsertRows()} allow, for the drivers not rewriting the batches themselves. A batch needs at most
+ * two statement shapes, the full one and the last rows, both prepared once through the statement cache.
+ * <p>
+ * When a statement fails, the records not committed yet are inserted again one row per statement to isolate the
+ * rejected ones.
+ */
+@Slf4j
+public class MultiRowInsert extends Insert {
+
+    public MultiRowInsert(final Platform platform, final OutputConfig configuration, final I18nMessage i18n) {
+        super(platform, configuration, i18n);
+    }
+
+    @Override
+    public List<Reject> execute(final List<Record> records, final JdbcService.JdbcDatasource dataSource)
+            throws SQLException {
+        if (records.isEmpty()) {
+            return emptyList();
+        }
+        final String singleRow = buildQuery(records);
+        final int columns = getQueryParams().size();
+        final int rowsPerStatement = columns == 0 ? 0
+                : Math.min(getPlatform().maxInsertRows(), getPlatform().maxBindParameters() / columns);
+        if (rowsPerStatement < 2 || records.size() < 2) {
+            return execute(records, dataSource, singleRow);
+        }
+
+        final List<Reject> rejects = new ArrayList<>();
+        final List<Record> valid = new ArrayList<>(records.size());
+        for (final Record record : records) {
+            if (validateQueryParam(record)) {
+                valid.add(record);
+            } else {
+                rejects.add(new Reject("missing required query param in this record", record));
+            }
+        }
+
+        final StatementCache statements = dataSource.getStatementCache();
+        try {
+            final Connection connection = statements.getConnection();
+            int inserted = 0;
+            try {
+                while (inserted < valid.size()) {
+                    final List<Record> rows =
+                            valid.subList(inserted, Math.min(valid.size(), inserted + rowsPerStatement));
+                    final PreparedStatement statement = statements.prepare(buildQuery(records, rows.size()));
+                    bind(statement, rows);
+                    statement.executeUpdate();
+                    inserted += rows.size();
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } catch (final SQLException e) {
+                // in auto commit the previous statements are already committed
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    inserted = 0;
+                }
+                log.debug("Multi-row insert failed, inserting the {} remaining records row by row",
+                        valid.size() - inserted, e);
+                rejects
+                        .addAll(processRecords(valid.subList(inserted, valid.size()), connection,
+                                statements.prepare(singleRow)));
+            }
+            return rejects;
+        } catch (final SQLException e) {
+            statements.discardOnConnectionError(e);
+            throw e;
+        }
+    }
+
+    private void bind(final PreparedStatement statement, final List<Record> rows) throws SQLException {
+        final Map<Integer, Schema.Entry> params = getQueryParams();
+        int offset = 0;
+        for (final Record record : rows) {
+            for (final Map.Entry<Integer, Schema.Entry> entry : params.entrySet()) {
+                RecordToSQLTypeConverter
+                        .valueOf(entry.getValue().getType().name())
+                        .setValue(statement, offset + entry.getKey(), entry.getValue(), record);
+            }
+            offset += params.size();
+        }
+    }
+}
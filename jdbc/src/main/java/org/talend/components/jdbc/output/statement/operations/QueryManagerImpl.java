@@ -21,6 +21,7 @@ import org.talend.components.jdbc.output.statement.QueryManager;
 import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.StatementCache;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 
@@ -67,59 +68,70 @@ public abstract class QueryManagerImpl implements QueryManager {
         if (records.isEmpty()) {
             return emptyList();
         }
-        try (final Connection connection = dataSource.getConnection()) {
-            return processRecords(records, connection, buildQuery(records));
+        return execute(records, dataSource, buildQuery(records));
+    }
+
+    /**
+     * Executes the query once per record in a single batch, binding the query params of each record.
+     */
+    protected List<Reject> execute(final List<Record> records, final JdbcService.JdbcDatasource dataSource,
+            final String query) throws SQLException {
+        final StatementCache statements = dataSource.getStatementCache();
+        try {
+            return processRecords(records, statements.getConnection(), statements.prepare(query));
+        } catch (final SQLException e) {
+            statements.discardOnConnectionError(e);
+            throw e;
         }
     }
 
-    private List<Reject> processRecords(final List<Record> records, final Connection connection, final String query)
-            throws SQLException {
+    protected List<Reject> processRecords(final List<Record> records, final Connection connection,
+            final PreparedStatement statement) throws SQLException {
         List<Reject> rejects;
         do {
             rejects = new ArrayList<>();
-            try (final PreparedStatement statement = connection.prepareStatement(query)) {
-                final Map<Integer, Integer> batchOrder = new HashMap<>();
-                int recordIndex = -1;
-                int batchNumber = -1;
-                for (final Record record : records) {
-                    recordIndex++;
-                    statement.clearParameters();
-                    if (!validateQueryParam(record)) {
-                        rejects.add(new Reject("missing required query param in this record", record));
-                        continue;
-                    }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter
-                                .valueOf(entry.getValue().getType().name())
-                                .setValue(statement, entry.getKey(),
-                                        entry.getValue(), record);
-                    }
-                    statement.addBatch();
-                    batchNumber++;
-                    batchOrder.put(batchNumber, recordIndex);
+            statement.clearBatch();
+            final Map<Integer, Integer> batchOrder = new HashMap<>();
+            int recordIndex = -1;
+            int batchNumber = -1;
+            for (final Record record : records) {
+                recordIndex++;
+                statement.clearParameters();
+                if (!validateQueryParam(record)) {
+                    rejects.add(new Reject("missing required query param in this record", record));
+                    continue;
+                }
+                for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
+                    RecordToSQLTypeConverter
+                            .valueOf(entry.getValue().getType().name())
+                            .setValue(statement, entry.getKey(),
+                                    entry.getValue(), record);
                 }
+                statement.addBatch();
+                batchNumber++;
+                batchOrder.put(batchNumber, recordIndex);
+            }
 
-                try {
-                    statement.executeBatch();
-                    if (!connection.getAutoCommit()) {
-                        connection.commit();
-                    }
+            try {
+                statement.executeBatch();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                break;
+            } catch (final SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                if (!retry(e) || retryCount > maxRetry) {
+                    rejects.addAll(handleRejects(records, batchOrder, e));
                     break;
-                } catch (final SQLException e) {
-                    if (!connection.getAutoCommit()) {
-                        connection.rollback();
-                    }
-                    if (!retry(e) || retryCount > maxRetry) {
-                        rejects.addAll(handleRejects(records, batchOrder, e));
-                        break;
-                    }
-                    retryCount++;
-                    log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
-                    try {
-                        Thread.sleep((long) Math.exp(retryCount) * 2000);
-                    } catch (InterruptedException e1) {
-                        Thread.currentThread().interrupt();
-                    }
+                }
+                retryCount++;
+                log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
+                try {
+                    Thread.sleep((long) Math.exp(retryCount) * 2000);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
                 }
             }
         } while (true);
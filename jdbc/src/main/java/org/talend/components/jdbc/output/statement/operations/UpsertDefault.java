@@ -21,6 +21,7 @@ import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.StatementCache;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 
@@ -109,37 +110,39 @@ public class UpsertDefault extends QueryManagerImpl {
         final List<Record> needInsert = new ArrayList<>();
         final String query = buildQuery(records);
         final List<Reject> discards = new ArrayList<>();
-        try (final Connection connection = dataSource.getConnection()) {
-            try (final PreparedStatement statement = connection.prepareStatement(query)) {
-                for (final Record rec : records) {
-                    statement.clearParameters();
-                    if (!validateQueryParam(rec)) {
-                        discards.add(new Reject("missing required query param in this record", rec));
-                        continue;
-                    }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter
-                                .valueOf(entry.getValue().getType().name())
-                                .setValue(statement, entry.getKey(),
-                                        entry.getValue(), rec);
-                    }
-                    try (final ResultSet result = statement.executeQuery()) {
-                        if (result.next() && result.getInt("RECORD_EXIST") > 0) {
-                            needUpdate.add(rec);
-                        } else {
-                            needInsert.add(rec);
-                        }
-                    }
+        final StatementCache statements = dataSource.getStatementCache();
+        final Connection connection = statements.getConnection();
+        try {
+            final PreparedStatement statement = statements.prepare(query);
+            for (final Record rec : records) {
+                statement.clearParameters();
+                if (!validateQueryParam(rec)) {
+                    discards.add(new Reject("missing required query param in this record", rec));
+                    continue;
                 }
-                if (!connection.getAutoCommit()) {
-                    connection.commit();
+                for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
+                    RecordToSQLTypeConverter
+                            .valueOf(entry.getValue().getType().name())
+                            .setValue(statement, entry.getKey(),
+                                    entry.getValue(), rec);
                 }
-            } catch (final SQLException e) {
-                if (!connection.getAutoCommit()) {
-                    connection.rollback();
+                try (final ResultSet result = statement.executeQuery()) {
+                    if (result.next() && result.getInt("RECORD_EXIST") > 0) {
+                        needUpdate.add(rec);
+                    } else {
+                        needInsert.add(rec);
+                    }
                 }
-                throw e;
             }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (final SQLException e) {
+            statements.discardOnConnectionError(e);
+            if (statements.isUsable() && !connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            throw e;
         }
 
         // fixme handle the update and insert in // need a pool of 2 !
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output.statement.operations;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.configuration.OutputConfig;
+import org.talend.components.jdbc.output.OutputUtils;
+import org.talend.components.jdbc.output.Reject;
+import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.StatementCache;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Set based upsert: one native statement per record batched (INSERT ... ON CONFLICT, ON DUPLICATE KEY UPDATE or
+ * MERGE depending on the platform), or, for batches reaching the staging threshold, a batch insert into a temporary
+ * table followed by a single upsert from it. Platforms without native upsert fall back to {@link UpsertDefault}.
+ */
+@Slf4j
+@Getter
+public class UpsertMerge extends QueryManagerImpl {
+
+    private final List<String> keys;
+
+    private final List<String> ignoreColumns;
+
+    private final UpsertDefault fallback;
+
+    private Map<Integer, Schema.Entry> queryParams;
+
+    private List<String> columns;
+
+    private List<String> keyColumns;
+
+    private List<Schema.Entry> keyEntries;
+
+    private List<String> updatable;
+
+    public UpsertMerge(final Platform platform, final OutputConfig configuration, final I18nMessage i18n) {
+        super(platform, configuration, i18n);
+        this.keys = new ArrayList<>(ofNullable(configuration.getKeys()).orElse(emptyList()));
+        if (this.keys.isEmpty()) {
+            throw new IllegalArgumentException(i18n.errorNoKeyForUpdateQuery());
+        }
+        this.ignoreColumns = new ArrayList<>(ofNullable(configuration.getIgnoreUpdate()).orElse(emptyList()));
+        this.fallback = new UpsertDefault(platform, configuration, i18n);
+    }
+
+    @Override
+    public String buildQuery(final List<Record> records) {
+        this.queryParams = new HashMap<>();
+        final AtomicInteger index = new AtomicInteger(0);
+        final List<Schema.Entry> entries = OutputUtils.getAllSchemaEntries(records);
+        entries.forEach(entry -> queryParams.put(index.incrementAndGet(), entry));
+
+        this.columns = entries.stream().map(this::columnName).collect(toList());
+        this.keyEntries = keys
+                .stream()
+                .map(key -> entries
+                        .stream()
+                        .filter(e -> key.equals(e.getOriginalFieldName()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException(getI18n().errorNoFieldForQueryParam(key))))
+                .collect(toList());
+        this.keyColumns = keyEntries.stream().map(this::columnName).collect(toList());
+        this.updatable = entries
+                .stream()
+                .filter(e -> !ignoreColumns.contains(e.getOriginalFieldName())
+                        && !keys.contains(e.getOriginalFieldName()))
+                .map(this::columnName)
+                .collect(toList());
+        return getPlatform()
+                .upsertQuery(getConfiguration().getDataset().getTableName(), columns, keyColumns, updatable);
+    }
+
+    @Override
+    public boolean validateQueryParam(final Record rec) {
+        final Set<Schema.Entry> entries = new HashSet<>(rec.getSchema().getEntries());
+        return keys.stream().allMatch(k -> entries.stream().anyMatch(entry -> entry.getOriginalFieldName().equals(k)))
+                && queryParams
+                        .values()
+                        .stream()
+                        .filter(entry -> !entry.isNullable())
+                        .map(entry -> valueOf(rec, entry))
+                        .allMatch(Optional::isPresent);
+    }
+
+    @Override
+    public Map<Integer, Schema.Entry> getQueryParams() {
+        return queryParams;
+    }
+
+    @Override
+    public List<Reject> execute(final List<Record> records, final JdbcService.JdbcDatasource dataSource)
+            throws SQLException {
+        if (records.isEmpty()) {
+            return emptyList();
+        }
+        final String query = buildQuery(records);
+        if (query == null) {
+            return fallback.execute(records, dataSource);
+        }
+        final List<Record> upserts = lastPerKey(records);
+        if (upserts.size() < records.size()) {
+            log.debug("{} records superseded by a later record with the same keys", records.size() - upserts.size());
+        }
+        final int threshold = getConfiguration().getStagingTableThreshold();
+        if (threshold > 0 && upserts.size() >= threshold) {
+            final String table = getConfiguration().getDataset().getTableName();
+            final String staging = getPlatform().stagingTableName(table);
+            final String create = getPlatform().createStagingTableQuery(table, staging);
+            final String merge = getPlatform().upsertFromQuery(table, staging, columns, keyColumns, updatable);
+            if (create != null && merge != null) {
+                return executeStaged(upserts, dataSource, create, staging, merge);
+            }
+        }
+        return execute(upserts, dataSource, query);
+    }
+
+    /**
+     * A set based upsert can't affect a row twice (PostgreSQL, SQL Server, Oracle) and rewritten batches are
+     * executed as a single statement: only the last record of each key is kept, as if the previous ones had been
+     * written then overwritten. Records missing a key are kept, to be rejected by the validation.
+     */
+    private List<Record> lastPerKey(final List<Record> records) {
+        final Map<List<Object>, Record> lastRecords = new HashMap<>();
+        final List<Record> unkeyed = new ArrayList<>();
+        for (final Record rec : records) {
+            final List<Object> key = keyEntries.stream().map(e -> valueOf(rec, e).orElse(null)).collect(toList());
+            if (key.contains(null)) {
+                unkeyed.add(rec);
+            } else {
+                lastRecords.put(key, rec);
+            }
+        }
+        if (unkeyed.isEmpty() && lastRecords.size() == records.size()) {
+            return records;
+        }
+        final Set<Record> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        kept.addAll(lastRecords.values());
+        kept.addAll(unkeyed);
+        return records.stream().filter(kept::contains).collect(toList());
+    }
+
+    /**
+     * Rows failing to be staged are rejected one by one as for any batch. The upsert from the staging table being a
+     * single statement, when it fails all the staged records are rejected with its error.
+     */
+    private List<Reject> executeStaged(final List<Record> records, final JdbcService.JdbcDatasource dataSource,
+            final String create, final String staging, final String merge) throws SQLException {
+        final StatementCache statements = dataSource.getStatementCache();
+        final Connection connection = statements.getConnection();
+        final String insert = "INSERT INTO " + getPlatform().identifier(staging)
+                + columns.stream().map(c -> getPlatform().identifier(c)).collect(joining(",", "(", ")")) + " VALUES"
+                + columns.stream().map(c -> "?").collect(joining(",", "(", ")"));
+        try (final Statement statement = connection.createStatement()) {
+            log.debug("Staging table: {}", create);
+            statement.execute(create);
+            final List<Reject> rejects =
+                    new ArrayList<>(processRecords(records, connection, statements.prepare(insert)));
+            if (rejects.size() == records.size()) {
+                return rejects;
+            }
+            try {
+                log.debug("Upsert from staging table: {}", merge);
+                statement.executeUpdate(merge);
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } catch (final SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                final Set<Record> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+                rejects.forEach(reject -> rejected.add(reject.getRecord()));
+                records
+                        .stream()
+                        .filter(rec -> !rejected.contains(rec))
+                        .map(rec -> new Reject(e.getMessage(), e.getSQLState(), e.getErrorCode(), rec))
+                        .forEach(rejects::add);
+            } finally {
+                statement.executeUpdate("DELETE FROM " + getPlatform().identifier(staging));
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+            return rejects;
+        } catch (final SQLException e) {
+            statements.discardOnConnectionError(e);
+            throw e;
+        }
+    }
+
+    private String columnName(final Schema.Entry entry) {
+        return getConfiguration().isUseOriginColumnName() ? entry.getOriginalFieldName() : entry.getName();
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+import org.talend.components.jdbc.service.ContextualDelegate.SQLCallable;
+
+import static org.talend.components.jdbc.service.ContextualDelegate.call;
+import static org.talend.components.jdbc.service.ContextualDelegate.run;
+import static org.talend.components.jdbc.service.ContextualDelegate.wrap;
+
+/**
+ * Connection handed out by {@link JdbcService.JdbcDatasource}.
+ *
+ * Connection level calls run with the driver classloader as thread context classloader since drivers may load
+ * classes there. Statements and result sets are plain delegates which only switch the classloader to execute
+ * statements and read objects, parameter binding and column reads go straight to the driver.
+ */
+final class ContextualConnection implements Connection {
+
+    private final Connection delegate;
+
+    private final ClassLoader classLoader;
+
+    ContextualConnection(final Connection delegate, final ClassLoader classLoader) {
+        this.delegate = delegate;
+        this.classLoader = classLoader;
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    private Statement statement(final SQLCallable<Statement> create) throws SQLException {
+        return new ContextualStatement<>(this, call(classLoader, create));
+    }
+
+    private PreparedStatement prepared(final SQLCallable<PreparedStatement> prepare) throws SQLException {
+        return new ContextualPreparedStatement(this, call(classLoader, prepare));
+    }
+
+    private CallableStatement callable(final SQLCallable<CallableStatement> prepare) throws SQLException {
+        return wrap(classLoader, call(classLoader, prepare), CallableStatement.class);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return statement(() -> delegate.createStatement());
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return callable(() -> delegate.prepareCall(sql));
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return call(classLoader, () -> delegate.nativeSQL(sql));
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        run(classLoader, () -> delegate.setAutoCommit(autoCommit));
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return call(classLoader, () -> delegate.getAutoCommit());
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        run(classLoader, () -> delegate.commit());
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        run(classLoader, () -> delegate.rollback());
+    }
+
+    @Override
+    public void close() throws SQLException {
+        run(classLoader, () -> delegate.close());
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return call(classLoader, () -> delegate.isClosed());
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.getMetaData(), DatabaseMetaData.class));
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        run(classLoader, () -> delegate.setReadOnly(readOnly));
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return call(classLoader, () -> delegate.isReadOnly());
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        run(classLoader, () -> delegate.setCatalog(catalog));
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return call(classLoader, () -> delegate.getCatalog());
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        run(classLoader, () -> delegate.setTransactionIsolation(level));
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return call(classLoader, () -> delegate.getTransactionIsolation());
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return call(classLoader, () -> delegate.getWarnings());
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        run(classLoader, () -> delegate.clearWarnings());
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return statement(() -> delegate.createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return callable(() -> delegate.prepareCall(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public Map<String,Class<?>> getTypeMap() throws SQLException {
+        return call(classLoader, () -> delegate.getTypeMap());
+    }
+
+    @Override
+    public void setTypeMap(Map<String,Class<?>> map) throws SQLException {
+        run(classLoader, () -> delegate.setTypeMap(map));
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        run(classLoader, () -> delegate.setHoldability(holdability));
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return call(classLoader, () -> delegate.getHoldability());
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return call(classLoader, () -> delegate.setSavepoint());
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return call(classLoader, () -> delegate.setSavepoint(name));
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        run(classLoader, () -> delegate.rollback(savepoint));
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        run(classLoader, () -> delegate.releaseSavepoint(savepoint));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return statement(() -> delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql, resultSetType, resultSetConcurrency,
+                resultSetHoldability));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        return callable(() -> delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql, columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return prepared(() -> delegate.prepareStatement(sql, columnNames));
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createClob(), Clob.class));
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createBlob(), Blob.class));
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createNClob(), NClob.class));
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createSQLXML(), SQLXML.class));
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return call(classLoader, () -> delegate.isValid(timeout));
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        delegate.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        delegate.setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return call(classLoader, () -> delegate.getClientInfo(name));
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return call(classLoader, () -> delegate.getClientInfo());
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createArrayOf(typeName, elements), Array.class));
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return call(classLoader, () -> wrap(classLoader, delegate.createStruct(typeName, attributes), Struct.class));
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        run(classLoader, () -> delegate.setSchema(schema));
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return call(classLoader, () -> delegate.getSchema());
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        run(classLoader, () -> delegate.abort(executor));
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        run(classLoader, () -> delegate.setNetworkTimeout(executor, milliseconds));
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return call(classLoader, () -> delegate.getNetworkTimeout());
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+}
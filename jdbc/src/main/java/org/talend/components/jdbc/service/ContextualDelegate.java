@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Runs JDBC calls with the driver classloader as thread context classloader.
+ *
+ * The reflective proxy is kept for the JDBC objects out of the per row path (metadata, callable statements, lobs),
+ * connections, statements and result sets use the dedicated delegates.
+ */
+@AllArgsConstructor
+final class ContextualDelegate implements InvocationHandler {
+
+    private final Object delegate;
+
+    private final ClassLoader classLoader;
+
+    static <T> T wrap(final ClassLoader classLoader, final Object delegate, final Class<T> api) {
+        return api
+                .cast(
+                        Proxy
+                                .newProxyInstance(classLoader, new Class<?>[] { api },
+                                        new ContextualDelegate(delegate, classLoader)));
+    }
+
+    static <T> T call(final ClassLoader classLoader, final SQLCallable<T> callable) throws SQLException {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader prev = thread.getContextClassLoader();
+        if (prev == classLoader) {
+            return callable.call();
+        }
+        thread.setContextClassLoader(classLoader);
+        try {
+            return callable.call();
+        } finally {
+            thread.setContextClassLoader(prev);
+        }
+    }
+
+    static void run(final ClassLoader classLoader, final SQLRunnable runnable) throws SQLException {
+        call(classLoader, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader prev = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            final Object invoked = method.invoke(delegate, args);
+            if (method.getReturnType().getName().startsWith("java.sql.")
+                    && method.getReturnType().isInterface()) {
+                return wrap(classLoader, invoked, method.getReturnType());
+            }
+            return invoked;
+        } catch (final InvocationTargetException ite) {
+            throw ite.getTargetException();
+        } finally {
+            thread.setContextClassLoader(prev);
+        }
+    }
+
+    @FunctionalInterface
+    interface SQLCallable<T> {
+
+        T call() throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface SQLRunnable {
+
+        void run() throws SQLException;
+    }
+}
@@ -43,6 +43,8 @@ public interface I18nMessage {
 
     String errorEmptyQuery();
 
+    String errorEmptyWatermarkColumn();
+
     String warnResultSetCantBeClosed();
 
     String warnStatementCantBeClosed();
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.sdk.component.api.service.dependency.Resolver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * JVM-wide registry of connection pools and driver classloaders.
+ *
+ * Pools are shared by all the data sources having the same connection fingerprint (url, user, credentials, driver
+ * jars and pool settings) and are reference counted. A pool grows by one connection per data source using it, so
+ * that parallel flows each get their own connection, and is closed a while after its last user released it so that
+ * short jobs chained in a row reuse it. Driver classloaders are shared the same way by driver jars.
+ */
+@Slf4j
+public final class JdbcPoolRegistry {
+
+    /** delay before closing an unused pool, can be changed with <code>talend.jdbc.pool.idleCloseDelay</code> (ms). */
+    static volatile long idleCloseDelayMillis = Long.getLong("talend.jdbc.pool.idleCloseDelay", 60_000L);
+
+    private static final Map<String, SharedPool> POOLS = new HashMap<>();
+
+    private static final Map<List<String>, SharedClassLoader> CLASS_LOADERS = new HashMap<>();
+
+    private static final ScheduledExecutorService CLOSER = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "talend-jdbc-pool-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private JdbcPoolRegistry() {
+        // no-op
+    }
+
+    /**
+     * Gets the pool for a fingerprint, creating it with its driver classloader when no data source uses it yet.
+     *
+     * @param fingerprint connection fingerprint
+     * @param resolver dependency resolver used to load the driver jars
+     * @param driverPaths driver jars
+     * @param onMissingJars builds the error raised when some driver jars can't be resolved
+     * @param factory creates the Hikari data source, called with the driver classloader as context classloader
+     * @return the shared pool, to release once
+     */
+    static SharedPool acquire(final String fingerprint, final Resolver resolver, final List<String> driverPaths,
+            final Function<String, RuntimeException> onMissingJars,
+            final Function<ClassLoader, HikariDataSource> factory) {
+        synchronized (POOLS) {
+            SharedPool pool = POOLS.get(fingerprint);
+            if (pool == null) {
+                final SharedClassLoader classLoader = acquireClassLoader(resolver, driverPaths, onMissingJars);
+                try {
+                    final HikariDataSource dataSource = ContextualDelegate
+                            .call(classLoader.getClassLoader(), () -> factory.apply(classLoader.getClassLoader()));
+                    pool = new SharedPool(fingerprint, driverPaths, classLoader.getClassLoader(), dataSource);
+                } catch (final SQLException | RuntimeException e) {
+                    releaseClassLoader(driverPaths);
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+                }
+                POOLS.put(fingerprint, pool);
+            }
+            pool.retain();
+            return pool;
+        }
+    }
+
+    private static SharedClassLoader acquireClassLoader(final Resolver resolver, final List<String> driverPaths,
+            final Function<String, RuntimeException> onMissingJars) {
+        SharedClassLoader shared = CLASS_LOADERS.get(driverPaths);
+        if (shared == null) {
+            final Resolver.ClassLoaderDescriptor descriptor = resolver.mapDescriptorToClassLoader(driverPaths);
+            if (!descriptor.resolvedDependencies().containsAll(driverPaths)) {
+                final String missingJars = driverPaths
+                        .stream()
+                        .filter(p -> !descriptor.resolvedDependencies().contains(p))
+                        .collect(joining("\n"));
+                closeQuietly(descriptor);
+                throw onMissingJars.apply(missingJars);
+            }
+            shared = new SharedClassLoader(descriptor);
+            CLASS_LOADERS.put(new ArrayList<>(driverPaths), shared);
+        }
+        shared.references++;
+        return shared;
+    }
+
+    private static void releaseClassLoader(final List<String> driverPaths) {
+        final SharedClassLoader shared = CLASS_LOADERS.get(driverPaths);
+        if (shared != null && --shared.references == 0) {
+            CLASS_LOADERS.remove(driverPaths);
+            closeQuietly(shared.descriptor);
+        }
+    }
+
+    private static void closeQuietly(final Resolver.ClassLoaderDescriptor descriptor) {
+        try {
+            descriptor.close();
+        } catch (final Exception e) {
+            log.error("can't close driver classloader properly", e);
+        }
+    }
+
+    private static final class SharedClassLoader {
+
+        private final Resolver.ClassLoaderDescriptor descriptor;
+
+        private int references;
+
+        private SharedClassLoader(final Resolver.ClassLoaderDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        private ClassLoader getClassLoader() {
+            return descriptor.asClassLoader();
+        }
+    }
+
+    /**
+     * A Hikari pool shared between data sources, with its usage metrics.
+     */
+    public static final class SharedPool {
+
+        @Getter
+        private final String fingerprint;
+
+        private final List<String> driverPaths;
+
+        @Getter
+        private final ClassLoader classLoader;
+
+        private final HikariDataSource dataSource;
+
+        private int references;
+
+        private ScheduledFuture<?> pendingClose;
+
+        private final LongAdder borrowedConnections = new LongAdder();
+
+        private final LongAdder waitNanos = new LongAdder();
+
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        private SharedPool(final String fingerprint, final List<String> driverPaths, final ClassLoader classLoader,
+                final HikariDataSource dataSource) {
+            this.fingerprint = fingerprint;
+            this.driverPaths = driverPaths;
+            this.classLoader = classLoader;
+            this.dataSource = dataSource;
+        }
+
+        private void retain() {
+            references++;
+            if (pendingClose != null) {
+                pendingClose.cancel(false);
+                pendingClose = null;
+            }
+            if (dataSource.getMaximumPoolSize() < references) {
+                dataSource.setMaximumPoolSize(references);
+            }
+        }
+
+        /**
+         * Releases this pool for one data source, the pool is closed once unused for a while.
+         */
+        void release() {
+            synchronized (POOLS) {
+                if (--references > 0) {
+                    return;
+                }
+                log.debug("[release] {}", this);
+                final long delay = idleCloseDelayMillis;
+                if (delay <= 0) {
+                    closePool();
+                } else {
+                    pendingClose = CLOSER.schedule(() -> {
+                        synchronized (POOLS) {
+                            if (references == 0) {
+                                closePool();
+                            }
+                        }
+                    }, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        private void closePool() {
+            POOLS.remove(fingerprint, this);
+            pendingClose = null;
+            final Thread thread = Thread.currentThread();
+            final ClassLoader prev = thread.getContextClassLoader();
+            try {
+                thread.setContextClassLoader(classLoader);
+                dataSource.close();
+            } finally {
+                thread.setContextClassLoader(prev);
+                releaseClassLoader(driverPaths);
+            }
+        }
+
+        boolean isClosed() {
+            return dataSource.isClosed();
+        }
+
+        Connection getConnection() throws SQLException {
+            final long start = System.nanoTime();
+            final Connection connection = ContextualDelegate.call(classLoader, dataSource::getConnection);
+            final long waited = System.nanoTime() - start;
+            borrowedConnections.increment();
+            waitNanos.add(waited);
+            maxWaitNanos.accumulate(waited);
+            return connection;
+        }
+
+        public long getBorrowedConnections() {
+            return borrowedConnections.sum();
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+        }
+
+        public int getMaximumPoolSize() {
+            return dataSource.getMaximumPoolSize();
+        }
+
+        public int getActiveConnections() {
+            return poolBean().map(HikariPoolMXBean::getActiveConnections).orElse(0);
+        }
+
+        public int getIdleConnections() {
+            return poolBean().map(HikariPoolMXBean::getIdleConnections).orElse(0);
+        }
+
+        public int getThreadsAwaitingConnection() {
+            return poolBean().map(HikariPoolMXBean::getThreadsAwaitingConnection).orElse(0);
+        }
+
+        private Optional<HikariPoolMXBean> poolBean() {
+            return Optional.ofNullable(dataSource.getHikariPoolMXBean());
+        }
+
+        @Override
+        public String toString() {
+            return "SharedPool{borrowed=" + getBorrowedConnections() + ", totalWaitMillis=" + getTotalWaitMillis()
+                    + ", maxWaitMillis=" + getMaxWaitMillis() + ", maximumPoolSize=" + getMaximumPoolSize()
+                    + ", active=" + getActiveConnections() + ", idle=" + getIdleConnections() + ", awaiting="
+                    + getThreadsAwaitingConnection() + "}";
+        }
+    }
+}
@@ -17,6 +17,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.jooq.conf.ParseUnknownFunctions;
 import org.jooq.conf.Settings;
 import org.jooq.impl.DSL;
@@ -36,10 +37,6 @@ import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.dependency.Resolver;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.net.URL;
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -47,10 +44,10 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.joining;
 import static org.talend.sdk.component.api.record.Schema.Type.*;
 
 @Slf4j
@@ -160,9 +157,11 @@ public class JdbcService {
 
     public static class JdbcDatasource implements AutoCloseable {
 
-        private final Resolver.ClassLoaderDescriptor classLoaderDescriptor;
+        private final JdbcPoolRegistry.SharedPool pool;
 
-        private final HikariDataSource dataSource;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private StatementCache statementCache;
 
         @Getter
         private final String driverId;
@@ -172,135 +171,141 @@ public class JdbcService {
                 final boolean rewriteBatchedStatements) {
             final Driver driver = jdbcService.getPlatformService().getDriver(connection);
             this.driverId = driver.getId();
-            final Thread thread = Thread.currentThread();
-            final ClassLoader prev = thread.getContextClassLoader();
-
-            classLoaderDescriptor = resolver.mapDescriptorToClassLoader(driver.getPaths());
-            if (!classLoaderDescriptor.resolvedDependencies().containsAll(driver.getPaths())) {
-                String missingJars = driver
-                        .getPaths()
-                        .stream()
-                        .filter(p -> !classLoaderDescriptor.resolvedDependencies().contains(p))
-                        .collect(joining("\n"));
-                throw new IllegalStateException(i18n.errorDriverLoad(driverId, missingJars));
-            }
+            final Platform platform = jdbcService.getPlatformService().getPlatform(connection);
+            final String jdbcUrl = platform.buildUrl(connection);
+
+            pool = JdbcPoolRegistry
+                    .acquire(fingerprint(connection, driver, jdbcUrl, isAutoCommit, rewriteBatchedStatements),
+                            resolver, driver.getPaths(),
+                            missingJars -> new IllegalStateException(i18n.errorDriverLoad(driverId, missingJars)),
+                            classLoader -> {
+                                final HikariDataSource dataSource = new HikariDataSource();
+                                if ("MSSQL_JTDS".equals(driverId)) {
+                                    dataSource.setConnectionTestQuery("SELECT 1");
+                                }
+                                if (!SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
+                                        || AuthenticationType.BASIC == connection.getAuthenticationType()) {
+                                    dataSource.setUsername(connection.getUserId());
+                                    dataSource.setPassword(connection.getPassword());
+                                } else if (AuthenticationType.KEY_PAIR == connection.getAuthenticationType()) {
+                                    dataSource.setUsername(connection.getUserId());
+                                    dataSource
+                                            .addDataSourceProperty("privateKey",
+                                                    PrivateKeyUtils
+                                                            .getPrivateKey(connection.getPrivateKey(),
+                                                                    connection.getPrivateKeyPassword(), i18n));
+                                } else if (AuthenticationType.OAUTH == connection.getAuthenticationType()) {
+                                    dataSource.addDataSourceProperty("authenticator", "oauth");
+                                }
+                                dataSource.setDriverClassName(driver.getClassName());
+                                dataSource.setJdbcUrl(jdbcUrl);
+                                if ("DeltaLake".equalsIgnoreCase(driverId)) {
+                                    // do nothing, DeltaLake default don't allow set auto commit to false
+                                } else {
+                                    dataSource.setAutoCommit(isAutoCommit);
+                                }
+                                // grown by the registry, one connection per data source sharing the pool
+                                dataSource.setMaximumPoolSize(1);
+                                dataSource.setConnectionTimeout(connection.getConnectionTimeOut() * 1000);
+                                dataSource.setValidationTimeout(connection.getConnectionValidationTimeOut() * 1000);
+                                platform.addDataSourceProperties(dataSource);
+                                dataSource
+                                        .addDataSourceProperty("rewriteBatchedStatements",
+                                                String.valueOf(rewriteBatchedStatements));
+
+                                // Security Issues with LOAD DATA LOCAL https://jira.talendforge.org/browse/TDI-42001
+                                dataSource.addDataSourceProperty("allowLoadLocalInfile", "false"); // MySQL
+                                dataSource.addDataSourceProperty("allowLocalInfile", "false"); // MariaDB
+
+                                driver
+                                        .getFixedParameters()
+                                        .forEach(kv -> dataSource.addDataSourceProperty(kv.getKey(), kv.getValue()));
+                                if (SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
+                                        && AuthenticationType.OAUTH == connection.getAuthenticationType()) {
+                                    // the pool outlives the token, each new connection gets a valid one
+                                    dataSource
+                                            .setDataSource(new TokenDataSource(
+                                                    TokenDataSource.loadDriver(classLoader, driver.getClassName()),
+                                                    jdbcUrl, dataSource.getDataSourceProperties(), "token",
+                                                    OAuth2Utils
+                                                            .accessTokenSupplier(connection, tokenClient, i18n,
+                                                                    System::currentTimeMillis)));
+                                }
+                                return dataSource;
+                            });
+        }
 
-            try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                dataSource = new HikariDataSource();
-                if ("MSSQL_JTDS".equals(driverId)) {
-                    dataSource.setConnectionTestQuery("SELECT 1");
-                }
-                if (!SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
-                        || AuthenticationType.BASIC == connection.getAuthenticationType()) {
-                    dataSource.setUsername(connection.getUserId());
-                    dataSource.setPassword(connection.getPassword());
-                } else if (AuthenticationType.KEY_PAIR == connection.getAuthenticationType()) {
-                    dataSource.setUsername(connection.getUserId());
-                    dataSource
-                            .addDataSourceProperty("privateKey",
-                                    PrivateKeyUtils
-                                            .getPrivateKey(connection.getPrivateKey(),
-                                                    connection.getPrivateKeyPassword(), i18n));
-                } else if (AuthenticationType.OAUTH == connection.getAuthenticationType()) {
-                    dataSource.addDataSourceProperty("authenticator", "oauth");
-                    dataSource
-                            .addDataSourceProperty("token", OAuth2Utils.getAccessToken(connection, tokenClient, i18n));
-                }
-                dataSource.setDriverClassName(driver.getClassName());
-                final Platform platform = jdbcService.getPlatformService().getPlatform(connection);
-                final String jdbcUrl = platform.buildUrl(connection);
-                dataSource.setJdbcUrl(jdbcUrl);
-                if ("DeltaLake".equalsIgnoreCase(driverId)) {
-                    // do nothing, DeltaLake default don't allow set auto commit to false
-                } else {
-                    dataSource.setAutoCommit(isAutoCommit);
-                }
-                dataSource.setMaximumPoolSize(1);
-                dataSource.setConnectionTimeout(connection.getConnectionTimeOut() * 1000);
-                dataSource.setValidationTimeout(connection.getConnectionValidationTimeOut() * 1000);
-                jdbcService.getPlatformService().getPlatform(connection).addDataSourceProperties(dataSource);
-                dataSource.addDataSourceProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
-                // dataSource.addDataSourceProperty("cachePrepStmts", "true");
-                // dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
-                // dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-                // dataSource.addDataSourceProperty("useServerPrepStmts", "true");
-
-                // Security Issues with LOAD DATA LOCAL https://jira.talendforge.org/browse/TDI-42001
-                dataSource.addDataSourceProperty("allowLoadLocalInfile", "false"); // MySQL
-                dataSource.addDataSourceProperty("allowLocalInfile", "false"); // MariaDB
-
-                driver
-                        .getFixedParameters()
-                        .forEach(kv -> dataSource.addDataSourceProperty(kv.getKey(), kv.getValue()));
-
-            } finally {
-                thread.setContextClassLoader(prev);
-            }
+        /**
+         * Data sources with the same fingerprint share their pool, credentials are hashed to stay out of the key.
+         */
+        private static String fingerprint(final JdbcConnection connection, final Driver driver, final String jdbcUrl,
+                final boolean isAutoCommit, final boolean rewriteBatchedStatements) {
+            final String credentials = String
+                    .join("|", String.valueOf(connection.getAuthenticationType()), connection.getPassword(),
+                            connection.getPrivateKey(), connection.getPrivateKeyPassword(),
+                            connection.getOauthTokenEndpoint(), connection.getClientId(), connection.getClientSecret(),
+                            String.valueOf(connection.getGrantType()), connection.getOauthUsername(),
+                            connection.getOauthPassword(), connection.getScope());
+            return String
+                    .join("|", driver.getId(), String.join(",", driver.getPaths()), jdbcUrl, connection.getUserId(),
+                            DigestUtils.sha256Hex(credentials), String.valueOf(isAutoCommit),
+                            String.valueOf(rewriteBatchedStatements), String.valueOf(connection.getConnectionTimeOut()),
+                            String.valueOf(connection.getConnectionValidationTimeOut()));
         }
 
         public Connection getConnection() throws SQLException {
-            final Thread thread = Thread.currentThread();
-            final ClassLoader prev = thread.getContextClassLoader();
-            try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                return wrap(classLoaderDescriptor.asClassLoader(), dataSource.getConnection(), Connection.class);
-            } finally {
-                thread.setContextClassLoader(prev);
+            return new ContextualConnection(pool.getConnection(), pool.getClassLoader());
+        }
+
+        /**
+         * Statements are cached on a connection pinned to this data source until it is closed, so that the batches
+         * of the successive groups reuse their prepared statements. The connection is renewed once broken.
+         *
+         * Don't hold a connection from {@link #getConnection()} while using the cache: the data source only accounts
+         * for one connection in the shared pool.
+         *
+         * @return the statement cache of this data source.
+         * @throws SQLException if no connection can be obtained.
+         */
+        public synchronized StatementCache getStatementCache() throws SQLException {
+            if (statementCache == null || !statementCache.isUsable()) {
+                releaseStatementCache();
+                statementCache = new StatementCache(getConnection());
             }
+            return statementCache;
         }
 
-        @Override
-        public void close() {
-            final Thread thread = Thread.currentThread();
-            final ClassLoader prev = thread.getContextClassLoader();
+        private synchronized void releaseStatementCache() {
+            if (statementCache == null) {
+                return;
+            }
+            statementCache.close();
             try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                dataSource.close();
-            } finally {
-                thread.setContextClassLoader(prev);
-                try {
-                    classLoaderDescriptor.close();
-                } catch (final Exception e) {
-                    log.error("can't close driver classloader properly", e);
-                }
+                statementCache.getConnection().close();
+            } catch (final SQLException e) {
+                log.debug("Can't release the statement cache connection", e);
             }
+            log
+                    .debug("Released statement cache of {}, hits={}, misses={}", driverId, statementCache.getHits(),
+                            statementCache.getMisses());
+            statementCache = null;
         }
 
-        private static <T> T wrap(final ClassLoader classLoader, final Object delegate, final Class<T> api) {
-            return api
-                    .cast(
-                            Proxy
-                                    .newProxyInstance(classLoader, new Class<?>[] { api },
-                                            new ContextualDelegate(delegate, classLoader)));
+        /**
+         * @return the shared pool backing this data source, with its usage metrics
+         */
+        public JdbcPoolRegistry.SharedPool getPool() {
+            return pool;
         }
 
-        @AllArgsConstructor
-        private static class ContextualDelegate implements InvocationHandler {
-
-            private final Object delegate;
-
-            private final ClassLoader classLoader;
-
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                final Thread thread = Thread.currentThread();
-                final ClassLoader prev = thread.getContextClassLoader();
-                thread.setContextClassLoader(classLoader);
-                try {
-                    final Object invoked = method.invoke(delegate, args);
-                    if (method.getReturnType().getName().startsWith("java.sql.")
-                            && method.getReturnType().isInterface()) {
-                        return wrap(classLoader, invoked, method.getReturnType());
-                    }
-                    return invoked;
-                } catch (final InvocationTargetException ite) {
-                    throw ite.getTargetException();
-                } finally {
-                    thread.setContextClassLoader(prev);
-                }
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                releaseStatementCache();
+                pool.release();
             }
         }
+
     }
 
     public static String getSchema(Connection connection) throws SQLException {
@@ -16,6 +16,9 @@ import static java.util.Optional.of;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import javax.json.JsonObject;
 import org.talend.components.jdbc.datastore.GrantType;
 import org.talend.components.jdbc.datastore.JdbcConnection;
@@ -26,6 +29,11 @@ public final class OAuth2Utils {
 
     static final String ACCESS_TOKEN_NAME = "access_token";
 
+    static final String EXPIRES_IN = "expires_in";
+
+    /** a token is renewed this long before it expires, so that a connection opened with it can still log in. */
+    static final long EXPIRY_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     static final String ERROR_DESCRIPTION = "error_description";
 
     static final String ERROR_SUMMARY = "errorSummary";
@@ -48,12 +56,25 @@ public final class OAuth2Utils {
     }
 
     static String getAccessToken(JdbcConnection connection, TokenClient tokentClient, I18nMessage i18n) {
+        return requestAccessToken(connection, tokentClient, i18n).getString(ACCESS_TOKEN_NAME);
+    }
+
+    /**
+     * @return a supplier of access token, requesting a new token only once the previous one is about to expire.
+     */
+    static Supplier<String> accessTokenSupplier(JdbcConnection connection, TokenClient tokentClient,
+            I18nMessage i18n, LongSupplier clock) {
+        return new CachedAccessToken(connection, tokentClient, i18n, clock);
+    }
+
+    private static JsonObject requestAccessToken(JdbcConnection connection, TokenClient tokentClient,
+            I18nMessage i18n) {
         Response<JsonObject> response = tokentClient
                 .getAccessToken(connection.getOauthTokenEndpoint(),
                         getAuthorization(connection), getPayload(connection));
         checkResponse(response, i18n);
 
-        return response.body().getString(ACCESS_TOKEN_NAME);
+        return response.body();
     }
 
     private static void checkResponse(Response<JsonObject> response, I18nMessage i18n) {
@@ -104,4 +125,42 @@ public final class OAuth2Utils {
                 .encodeToString((connection.getClientId() + ':' + connection.getClientSecret())
                         .getBytes(StandardCharsets.UTF_8));
     }
+
+    private static final class CachedAccessToken implements Supplier<String> {
+
+        private final JdbcConnection connection;
+
+        private final TokenClient tokenClient;
+
+        private final I18nMessage i18n;
+
+        private final LongSupplier clock;
+
+        private String token;
+
+        private long renewAt;
+
+        private CachedAccessToken(JdbcConnection connection, TokenClient tokenClient, I18nMessage i18n,
+                LongSupplier clock) {
+            this.connection = connection;
+            this.tokenClient = tokenClient;
+            this.i18n = i18n;
+            this.clock = clock;
+        }
+
+        @Override
+        public synchronized String get() {
+            final long now = clock.getAsLong();
+            if (token == null || now >= renewAt) {
+                final JsonObject body = requestAccessToken(connection, tokenClient, i18n);
+                token = body.getString(ACCESS_TOKEN_NAME);
+                // without expires_in the token is requested again for the next connection
+                renewAt = body.containsKey(EXPIRES_IN)
+                        ? now + TimeUnit.SECONDS.toMillis(body.getJsonNumber(EXPIRES_IN).longValue())
+                                - EXPIRY_MARGIN_MILLIS
+                        : now;
+            }
+            return token;
+        }
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-connection cache of prepared statements keyed by their SQL text.
+ *
+ * Writers flushing one batch per group prepare the same few statements again and again: keeping them open on the
+ * connection lets the driver (and the server when server side prepares are enabled) skip the parse and plan after
+ * the first batch. The least recently used statement is closed once the cache is full. The cache does not own the
+ * connection and is not thread safe, as the connection it wraps.
+ *
+ * The newjdbc connector ships a copy of this class, keep them in sync.
+ */
+@Slf4j
+public class StatementCache implements AutoCloseable {
+
+    /** number of statements kept by default, can be changed with <code>talend.jdbc.statementCacheSize</code>. */
+    static final int DEFAULT_SIZE = Integer.getInteger("talend.jdbc.statementCacheSize", 32);
+
+    @Getter
+    private final Connection connection;
+
+    private final Map<String, PreparedStatement> statements;
+
+    @Getter
+    private long hits;
+
+    @Getter
+    private long misses;
+
+    private boolean closed;
+
+    public StatementCache(final Connection connection) {
+        this(connection, DEFAULT_SIZE);
+    }
+
+    public StatementCache(final Connection connection, final int maxSize) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param sql the statement text.
+     * @return the cached statement for this text, with its parameters and pending batch cleared, or a newly prepared
+     * one.
+     * @throws SQLException if the statement can't be prepared.
+     */
+    public PreparedStatement prepare(final String sql) throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement cache is closed");
+        }
+        final PreparedStatement cached = statements.get(sql);
+        if (cached != null && !cached.isClosed()) {
+            hits++;
+            cached.clearParameters();
+            cached.clearBatch();
+            return cached;
+        }
+        misses++;
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Closes and forgets the statements when the error says the connection is broken, they would fail anyway.
+     *
+     * @param error the error raised while using a statement of this cache.
+     */
+    public void discardOnConnectionError(final SQLException error) {
+        if (isConnectionError(error)) {
+            log.debug("Discarding cached statements after a connection error", error);
+            close();
+        }
+    }
+
+    /**
+     * @return true while the cache is not closed and its connection is open.
+     */
+    public boolean isUsable() {
+        try {
+            return !closed && !connection.isClosed();
+        } catch (final SQLException e) {
+            return false;
+        }
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes the cached statements, not the connection.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final List<PreparedStatement> toClose = new ArrayList<>(statements.values());
+        statements.clear();
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    static boolean isConnectionError(final SQLException error) {
+        return error instanceof SQLNonTransientConnectionException || error instanceof SQLRecoverableException
+                || (error.getSQLState() != null && error.getSQLState().startsWith("08"));
+    }
+
+    private static void closeQuietly(final PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (final SQLException e) {
+            log.debug("Can't close cached statement", e);
+        }
+    }
+}
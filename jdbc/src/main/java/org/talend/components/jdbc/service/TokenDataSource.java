@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Data source given to Hikari when the driver authenticates with an OAuth access token: the token is read from its
+ * supplier for each physical connection, so that a long lived shared pool doesn't open connections with an expired
+ * token.
+ */
+final class TokenDataSource implements DataSource {
+
+    private final Driver driver;
+
+    private final String jdbcUrl;
+
+    private final Properties properties;
+
+    private final String tokenProperty;
+
+    private final Supplier<String> token;
+
+    TokenDataSource(final Driver driver, final String jdbcUrl, final Properties properties,
+            final String tokenProperty, final Supplier<String> token) {
+        this.driver = driver;
+        this.jdbcUrl = jdbcUrl;
+        this.properties = new Properties();
+        this.properties.putAll(properties);
+        this.tokenProperty = tokenProperty;
+        this.token = token;
+    }
+
+    /**
+     * Loads the driver from the driver classloader.
+     */
+    static Driver loadDriver(final ClassLoader classLoader, final String className) {
+        try {
+            return classLoader.loadClass(className).asSubclass(Driver.class).getConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(new Properties());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final Properties credentials = new Properties();
+        if (username != null) {
+            credentials.setProperty("user", username);
+        }
+        if (password != null) {
+            credentials.setProperty("password", password);
+        }
+        return connect(credentials);
+    }
+
+    private Connection connect(final Properties connectionProperties) throws SQLException {
+        connectionProperties.putAll(properties);
+        connectionProperties.setProperty(tokenProperty, token.get());
+        // Hikari opens connections from its own threads
+        final Connection connection = ContextualDelegate
+                .call(driver.getClass().getClassLoader(), () -> driver.connect(jdbcUrl, connectionProperties));
+        if (connection == null) {
+            throw new SQLException("Driver " + driver.getClass().getName() + " doesn't accept " + jdbcUrl);
+        }
+        return connection;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return driver.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper of " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
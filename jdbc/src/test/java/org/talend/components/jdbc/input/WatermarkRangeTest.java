@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WatermarkRangeTest {
+
+    @Test
+    void encodeDecode() {
+        final Timestamp timestamp = Timestamp.valueOf("2023-04-05 06:07:08.9");
+        assertEquals(timestamp, WatermarkRange.decode(WatermarkRange.encode(timestamp)));
+        assertEquals(new BigDecimal("12"), WatermarkRange.decode(WatermarkRange.encode(new BigDecimal("12"))));
+        assertEquals("abc", WatermarkRange.decode(WatermarkRange.encode("abc")));
+        assertNull(WatermarkRange.decode(null));
+    }
+
+    @Test
+    void normalize() {
+        assertEquals(new BigDecimal("42"), WatermarkRange.normalize(42L));
+        assertEquals(Timestamp.valueOf("2023-04-05 06:07:08"),
+                WatermarkRange.normalize(LocalDateTime.of(2023, 4, 5, 6, 7, 8)));
+        assertEquals(new Timestamp(1000L), WatermarkRange.normalize(new java.util.Date(1000L)));
+    }
+
+    @Test
+    void fileStore(@TempDir final File folder) {
+        final File file = new File(folder, "state/watermarks.properties");
+        final FileWatermarkStore store = new FileWatermarkStore(file);
+        assertNull(store.load("orders.updated_at"));
+
+        store.save("orders.updated_at", WatermarkRange.encode(Timestamp.valueOf("2023-04-05 06:07:08")));
+        store.save("customers.id", WatermarkRange.encode(new BigDecimal("100")));
+
+        final FileWatermarkStore reopened = new FileWatermarkStore(file);
+        assertEquals(Timestamp.valueOf("2023-04-05 06:07:08"),
+                WatermarkRange.decode(reopened.load("orders.updated_at")));
+        assertEquals(new BigDecimal("100"), WatermarkRange.decode(reopened.load("customers.id")));
+    }
+}
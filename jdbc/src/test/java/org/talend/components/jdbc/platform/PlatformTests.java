@@ -13,6 +13,7 @@
 package org.talend.components.jdbc.platform;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,8 +29,10 @@ import org.talend.components.jdbc.output.platforms.DeltaLakePlatform;
 import org.talend.components.jdbc.output.platforms.DerbyPlatform;
 import org.talend.components.jdbc.output.platforms.MSSQLPlatform;
 import org.talend.components.jdbc.output.platforms.MariaDbPlatform;
+import org.talend.components.jdbc.output.platforms.MySQLPlatform;
 import org.talend.components.jdbc.output.platforms.OraclePlatform;
 import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.output.platforms.PostgreSQLPlatform;
 import org.talend.components.jdbc.output.platforms.SnowflakePlatform;
 import org.talend.components.jdbc.service.I18nMessage;
 
@@ -175,4 +178,112 @@ public class PlatformTests {
         Assertions.assertEquals("jdbc:test://connection.talend.local:21/connection.database", urlNoParam);
     }
 
+    @Test
+    public void watermarkQueryTest() {
+        Platform platform = new DerbyPlatform(null, driver);
+        Assertions.assertEquals("select * from \"T\" WHERE \"U\" <= ?",
+                platform.watermarkQuery("select * from \"T\"", "U", false));
+        Assertions.assertEquals("select * from \"T\" WHERE \"U\" > ? AND \"U\" <= ?",
+                platform.watermarkQuery("select * from \"T\"", "U", true));
+        Assertions.assertEquals("SELECT MAX(\"U\") FROM \"T\"", platform.maxWatermarkQuery("T", "U"));
+    }
+
+    private static final List<String> COLUMNS = Arrays.asList("ID", "NAME", "AGE");
+
+    private static final List<String> KEYS = Collections.singletonList("ID");
+
+    private static final List<String> UPDATABLE = Arrays.asList("NAME", "AGE");
+
+    @Test
+    public void upsertPostgreSQL() {
+        Platform platform = new PostgreSQLPlatform(null, driver);
+        Assertions.assertEquals("INSERT INTO \"T\" (\"ID\", \"NAME\", \"AGE\") VALUES (?, ?, ?) ON CONFLICT (\"ID\") "
+                + "DO UPDATE SET \"NAME\" = EXCLUDED.\"NAME\", \"AGE\" = EXCLUDED.\"AGE\"",
+                platform.upsertQuery("T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertEquals("INSERT INTO \"T\" (\"ID\", \"NAME\", \"AGE\") VALUES (?, ?, ?) "
+                + "ON CONFLICT (\"ID\") DO NOTHING", platform.upsertQuery("T", COLUMNS, KEYS, Collections.emptyList()));
+        Assertions.assertEquals("INSERT INTO \"T\" (\"ID\", \"NAME\", \"AGE\") SELECT \"ID\", \"NAME\", \"AGE\" "
+                + "FROM \"stg_T\" ON CONFLICT (\"ID\") DO UPDATE SET \"NAME\" = EXCLUDED.\"NAME\", "
+                + "\"AGE\" = EXCLUDED.\"AGE\"", platform.upsertFromQuery("T", "stg_T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertEquals("CREATE TEMPORARY TABLE IF NOT EXISTS \"stg_T\" (LIKE \"T\" INCLUDING DEFAULTS)",
+                platform.createStagingTableQuery("T", "stg_T"));
+    }
+
+    @Test
+    public void upsertMySQL() {
+        for (Platform platform : Arrays.asList(new MySQLPlatform(null, driver), new MariaDbPlatform(null, driver))) {
+            Assertions.assertEquals("INSERT INTO `T` (`ID`, `NAME`, `AGE`) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE `NAME` = VALUES(`NAME`), `AGE` = VALUES(`AGE`)",
+                    platform.upsertQuery("T", COLUMNS, KEYS, UPDATABLE));
+            // nothing to update, the duplicates are ignored
+            Assertions.assertEquals("INSERT INTO `T` (`ID`, `NAME`, `AGE`) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE `ID` = VALUES(`ID`)",
+                    platform.upsertQuery("T", COLUMNS, KEYS, Collections.emptyList()));
+            Assertions.assertEquals("INSERT INTO `T` (`ID`, `NAME`, `AGE`) SELECT `ID`, `NAME`, `AGE` FROM `stg_T` "
+                    + "ON DUPLICATE KEY UPDATE `NAME` = VALUES(`NAME`), `AGE` = VALUES(`AGE`)",
+                    platform.upsertFromQuery("T", "stg_T", COLUMNS, KEYS, UPDATABLE));
+            Assertions.assertEquals("CREATE TEMPORARY TABLE IF NOT EXISTS `stg_T` LIKE `T`",
+                    platform.createStagingTableQuery("T", "stg_T"));
+        }
+    }
+
+    @Test
+    public void upsertOracle() {
+        Platform platform = new OraclePlatform(null, driver);
+        Assertions.assertEquals("MERGE INTO \"T\" tgt "
+                + "USING (SELECT ? AS \"ID\", ? AS \"NAME\", ? AS \"AGE\" FROM DUAL) src "
+                + "ON (tgt.\"ID\" = src.\"ID\" AND tgt.\"NAME\" = src.\"NAME\") "
+                + "WHEN MATCHED THEN UPDATE SET tgt.\"AGE\" = src.\"AGE\" "
+                + "WHEN NOT MATCHED THEN INSERT (\"ID\", \"NAME\", \"AGE\") "
+                + "VALUES (src.\"ID\", src.\"NAME\", src.\"AGE\")",
+                platform.upsertQuery("T", COLUMNS, Arrays.asList("ID", "NAME"), Collections.singletonList("AGE")));
+        // no staging table
+        Assertions.assertNull(platform.upsertFromQuery("T", "stg_T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertNull(platform.createStagingTableQuery("T", "stg_T"));
+    }
+
+    @Test
+    public void upsertMSSQL() {
+        Platform platform = new MSSQLPlatform(null, driver);
+        final String merge = "ON (tgt.\"ID\" = src.\"ID\") "
+                + "WHEN MATCHED THEN UPDATE SET tgt.\"NAME\" = src.\"NAME\", tgt.\"AGE\" = src.\"AGE\" "
+                + "WHEN NOT MATCHED THEN INSERT (\"ID\", \"NAME\", \"AGE\") "
+                + "VALUES (src.\"ID\", src.\"NAME\", src.\"AGE\");";
+        Assertions
+                .assertEquals(
+                        "MERGE INTO \"T\" tgt USING (VALUES (?, ?, ?)) AS src (\"ID\", \"NAME\", \"AGE\") " + merge,
+                        platform.upsertQuery("T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertEquals("MERGE INTO \"T\" tgt USING \"#stg_T\" src " + merge,
+                platform.upsertFromQuery("T", "#stg_T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertEquals("IF OBJECT_ID('tempdb..#stg_T') IS NULL SELECT TOP 0 * INTO \"#stg_T\" FROM \"T\"",
+                platform.createStagingTableQuery("T", "#stg_T"));
+    }
+
+    @Test
+    public void upsertDeltaLake() {
+        Platform platform = new DeltaLakePlatform(null, driver);
+        Assertions.assertEquals("MERGE INTO `T` tgt USING (SELECT ? AS `ID`, ? AS `NAME`, ? AS `AGE`) src "
+                + "ON (tgt.`ID` = src.`ID`) WHEN NOT MATCHED THEN INSERT (`ID`, `NAME`, `AGE`) "
+                + "VALUES (src.`ID`, src.`NAME`, src.`AGE`)",
+                platform.upsertQuery("T", COLUMNS, KEYS, Collections.emptyList()));
+    }
+
+    @Test
+    public void upsertNotSupported() {
+        Platform platform = new DerbyPlatform(null, driver);
+        Assertions.assertNull(platform.upsertQuery("T", COLUMNS, KEYS, UPDATABLE));
+        Assertions.assertNull(platform.upsertFromQuery("T", "stg_T", COLUMNS, KEYS, UPDATABLE));
+    }
+
+    @Test
+    public void stagingTableName() {
+        Assertions.assertEquals("stg_orders", new PostgreSQLPlatform(null, driver).stagingTableName("orders"));
+        Assertions.assertEquals("stg_orders", new PostgreSQLPlatform(null, driver).stagingTableName("sales.orders"));
+        Assertions
+                .assertEquals("stg_orders",
+                        new PostgreSQLPlatform(null, driver).stagingTableName("\"sales\".\"orders\""));
+        Assertions.assertEquals("stg_orders", new MySQLPlatform(null, driver).stagingTableName("`shop`.`orders`"));
+        Assertions.assertEquals("#stg_orders", new MSSQLPlatform(null, driver).stagingTableName("dbo.orders"));
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per row bind and fetch cost on an embedded Derby database: raw driver connection, former reflective proxy and
+ * {@link ContextualConnection}. The wrappers get their own classloader, as a driver loaded by the component would, so
+ * that the context classloader switch is measured.
+ *
+ * Not run by the build, launch the main method to get the figures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextualConnectionBenchmark {
+
+    private static final int COLUMNS = 10;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int READ_ROWS = 100;
+
+    @Param({ "raw", "proxy", "delegate" })
+    private String wrapper;
+
+    private Connection raw;
+
+    private PreparedStatement statement;
+
+    private PreparedStatement query;
+
+    private int rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        raw = DriverManager.getConnection("jdbc:derby:memory:bench;create=true");
+        raw.setAutoCommit(false);
+        try (Statement ddl = raw.createStatement()) {
+            ddl.execute("CREATE TABLE bench (c0 VARCHAR(32), c1 BIGINT, c2 VARCHAR(32), c3 BIGINT, c4 VARCHAR(32), "
+                    + "c5 BIGINT, c6 VARCHAR(32), c7 BIGINT, c8 VARCHAR(32), c9 BIGINT)");
+            ddl.execute("CREATE TABLE bench_read (c0 VARCHAR(32), c1 BIGINT)");
+        }
+        try (PreparedStatement insert = raw.prepareStatement("INSERT INTO bench_read VALUES (?, ?)")) {
+            for (int i = 0; i < READ_ROWS; i++) {
+                insert.setString(1, "value");
+                insert.setLong(2, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final Connection connection;
+        switch (wrapper) {
+        case "proxy":
+            connection = ContextualDelegate.wrap(classLoader, raw, Connection.class);
+            break;
+        case "delegate":
+            connection = new ContextualConnection(raw, classLoader);
+            break;
+        default:
+            connection = raw;
+        }
+        statement = connection.prepareStatement("INSERT INTO bench VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        query = connection.prepareStatement("SELECT c0, c1 FROM bench_read");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        query.close();
+        try (Statement ddl = raw.createStatement()) {
+            ddl.execute("DROP TABLE bench");
+            ddl.execute("DROP TABLE bench_read");
+        }
+        raw.close();
+    }
+
+    @Benchmark
+    public void bindRow() throws SQLException {
+        for (int i = 1; i <= COLUMNS; i += 2) {
+            statement.setString(i, "value");
+            statement.setLong(i + 1, rows);
+        }
+        statement.addBatch();
+        if (++rows % BATCH_SIZE == 0) {
+            statement.clearBatch();
+        }
+    }
+
+    @Benchmark
+    public long fetchRows() throws SQLException {
+        long sum = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                sum += resultSet.getString(1).length() + resultSet.getLong(2);
+            }
+        }
+        return sum;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContextualConnectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
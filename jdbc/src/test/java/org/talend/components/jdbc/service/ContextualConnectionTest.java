@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class ContextualConnectionTest {
+
+    @Test
+    void delegateAndSwitchClassLoaderOnExecution() throws SQLException {
+        final ClassLoader driverLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+        try (Connection raw = DriverManager.getConnection("jdbc:derby:memory:contextual;create=true");
+                Connection connection = new ContextualConnection(raw, driverLoader)) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE contextual (id INT, name VARCHAR(32))");
+                Assertions.assertSame(connection, ddl.getConnection());
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO contextual VALUES (?, ?)")) {
+                insert.setInt(1, 1);
+                insert.setString(2, "one");
+                insert.addBatch();
+                Assertions.assertArrayEquals(new int[] { 1 }, insert.executeBatch());
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT id, name FROM contextual");
+                    ResultSet resultSet = select.executeQuery()) {
+                Assertions.assertSame(select, resultSet.getStatement());
+                Assertions.assertTrue(resultSet.next());
+                Assertions.assertEquals(1, resultSet.getInt(1));
+                Assertions.assertEquals("one", resultSet.getObject("name"));
+                Assertions.assertFalse(resultSet.next());
+            }
+            Assertions.assertSame(raw, connection.unwrap(raw.getClass()));
+            Assertions.assertNotNull(connection.getMetaData().getDatabaseProductName());
+        }
+        Assertions.assertSame(callerLoader, Thread.currentThread().getContextClassLoader());
+    }
+
+    @Test
+    void wrapLobs() throws SQLException {
+        final ClassLoader driverLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+        try (Connection raw = DriverManager.getConnection("jdbc:derby:memory:contextualLob;create=true");
+                Connection connection = new ContextualConnection(raw, driverLoader)) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE contextual_lob (id INT, content CLOB)");
+                ddl.execute("INSERT INTO contextual_lob VALUES (1, 'some text'), (2, NULL)");
+            }
+            try (Statement select = connection.createStatement();
+                    ResultSet resultSet = select.executeQuery("SELECT content FROM contextual_lob ORDER BY id")) {
+                Assertions.assertTrue(resultSet.next());
+                final Clob clob = resultSet.getClob(1);
+                Assertions.assertTrue(Proxy.isProxyClass(clob.getClass()));
+                Assertions.assertEquals("some text", clob.getSubString(1, (int) clob.length()));
+                Assertions.assertTrue(resultSet.next());
+                Assertions.assertNull(resultSet.getClob("content"));
+                Assertions.assertFalse(resultSet.next());
+            }
+        }
+        Assertions.assertSame(callerLoader, Thread.currentThread().getContextClassLoader());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.dependency.Resolver;
+
+import java.io.File;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class JdbcPoolRegistryTest {
+
+    private static final List<String> DRIVER_PATHS = Collections.singletonList("org.apache.derby:derby:10.12.1.1");
+
+    private final AtomicInteger createdPools = new AtomicInteger();
+
+    private final AtomicInteger openClassLoaders = new AtomicInteger();
+
+    private long idleCloseDelay;
+
+    @BeforeEach
+    void saveDelay() {
+        idleCloseDelay = JdbcPoolRegistry.idleCloseDelayMillis;
+    }
+
+    @AfterEach
+    void restoreDelay() {
+        JdbcPoolRegistry.idleCloseDelayMillis = idleCloseDelay;
+    }
+
+    @Test
+    void shareByFingerprint() throws SQLException {
+        JdbcPoolRegistry.idleCloseDelayMillis = 0;
+        final JdbcPoolRegistry.SharedPool first = acquire("shared");
+        final JdbcPoolRegistry.SharedPool second = acquire("shared");
+        final JdbcPoolRegistry.SharedPool other = acquire("other");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals(2, createdPools.get());
+        // one connection per data source using the pool
+        Assertions.assertEquals(2, first.getMaximumPoolSize());
+        Assertions.assertEquals(1, other.getMaximumPoolSize());
+        // the driver classloader is shared by driver jars
+        Assertions.assertEquals(1, openClassLoaders.get());
+        Assertions.assertSame(first.getClassLoader(), other.getClassLoader());
+        try (Connection connection = first.getConnection()) {
+            Assertions.assertTrue(connection.isValid(1));
+        }
+        Assertions.assertEquals(1, first.getBorrowedConnections());
+
+        first.release();
+        second.release();
+        other.release();
+        Assertions.assertTrue(first.isClosed());
+        Assertions.assertTrue(other.isClosed());
+        Assertions.assertEquals(0, openClassLoaders.get());
+    }
+
+    @Test
+    void closeOnLastRelease() {
+        JdbcPoolRegistry.idleCloseDelayMillis = 0;
+        final JdbcPoolRegistry.SharedPool first = acquire("refcount");
+        final JdbcPoolRegistry.SharedPool second = acquire("refcount");
+
+        first.release();
+        Assertions.assertFalse(second.isClosed());
+        second.release();
+        Assertions.assertTrue(second.isClosed());
+
+        final JdbcPoolRegistry.SharedPool renewed = acquire("refcount");
+        Assertions.assertNotSame(first, renewed);
+        Assertions.assertEquals(2, createdPools.get());
+        renewed.release();
+    }
+
+    @Test
+    void reuseBeforeIdleClose() {
+        JdbcPoolRegistry.idleCloseDelayMillis = TimeUnit.MINUTES.toMillis(1);
+        final JdbcPoolRegistry.SharedPool first = acquire("idle");
+        first.release();
+        Assertions.assertFalse(first.isClosed());
+
+        // a job chained right after gets the same pool, the pending close is cancelled
+        final JdbcPoolRegistry.SharedPool second = acquire("idle");
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, createdPools.get());
+
+        JdbcPoolRegistry.idleCloseDelayMillis = 0;
+        second.release();
+        Assertions.assertTrue(second.isClosed());
+    }
+
+    @Test
+    void evictAfterIdleDelay() throws InterruptedException {
+        JdbcPoolRegistry.idleCloseDelayMillis = 50;
+        final JdbcPoolRegistry.SharedPool pool = acquire("evicted");
+        pool.release();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!pool.isClosed() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertTrue(pool.isClosed());
+        Assertions.assertEquals(0, openClassLoaders.get());
+        final JdbcPoolRegistry.SharedPool renewed = acquire("evicted");
+        Assertions.assertNotSame(pool, renewed);
+        JdbcPoolRegistry.idleCloseDelayMillis = 0;
+        renewed.release();
+    }
+
+    @Test
+    void missingDriverJars() {
+        final Resolver resolver = new FakeResolver(Collections.emptyList());
+        final IllegalStateException error = Assertions
+                .assertThrows(IllegalStateException.class,
+                        () -> JdbcPoolRegistry
+                                .acquire(getClass().getName() + "missing", resolver, DRIVER_PATHS,
+                                        IllegalStateException::new, classLoader -> new HikariDataSource()));
+        Assertions.assertEquals(DRIVER_PATHS.get(0), error.getMessage());
+        Assertions.assertEquals(0, openClassLoaders.get());
+    }
+
+    private JdbcPoolRegistry.SharedPool acquire(final String name) {
+        final Function<ClassLoader, HikariDataSource> factory = classLoader -> {
+            createdPools.incrementAndGet();
+            final HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:derby:memory:" + name + ";create=true");
+            dataSource.setMaximumPoolSize(1);
+            return dataSource;
+        };
+        return JdbcPoolRegistry
+                .acquire(getClass().getName() + name, new FakeResolver(DRIVER_PATHS), DRIVER_PATHS,
+                        IllegalStateException::new, factory);
+    }
+
+    private final class FakeResolver implements Resolver {
+
+        private final Collection<String> resolved;
+
+        private FakeResolver(final Collection<String> resolved) {
+            this.resolved = resolved;
+        }
+
+        @Override
+        public ClassLoaderDescriptor mapDescriptorToClassLoader(final InputStream descriptor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ClassLoaderDescriptor mapDescriptorToClassLoader(final List<String> gavs) {
+            openClassLoaders.incrementAndGet();
+            return new ClassLoaderDescriptor() {
+
+                @Override
+                public ClassLoader asClassLoader() {
+                    return JdbcPoolRegistryTest.class.getClassLoader();
+                }
+
+                @Override
+                public Collection<String> resolvedDependencies() {
+                    return resolved;
+                }
+
+                @Override
+                public void close() {
+                    openClassLoaders.decrementAndGet();
+                }
+            };
+        }
+
+        @Override
+        public Collection<File> resolveFromDescriptor(final InputStream descriptor) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
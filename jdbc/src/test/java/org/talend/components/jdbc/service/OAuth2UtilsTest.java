@@ -15,6 +15,10 @@ package org.talend.components.jdbc.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
 import org.junit.jupiter.params.provider.CsvFileSource;
@@ -48,6 +52,26 @@ class OAuth2UtilsTest {
                 OAuth2Utils.getAccessToken(createJdbcConnectionProperties(arguments), tokenClientFake, i18n));
     }
 
+    @ParameterizedTest
+    @CsvSource(value = { "https://talend.com,correct,correct,CLIENT_CREDENTIALS,correct" })
+    void testAccessTokenRenewedBeforeExpiry(ArgumentsAccessor arguments) {
+        final AtomicLong clock = new AtomicLong(1_000_000L);
+        final Supplier<String> token = OAuth2Utils
+                .accessTokenSupplier(createJdbcConnectionProperties(arguments), tokenClientFake, i18n, clock::get);
+
+        assertEquals(TokenClientFake.ACCESS_TOKEN, token.get());
+        final long renewAfter =
+                TimeUnit.SECONDS.toMillis(TokenClientFake.EXPIRES_IN_SECONDS) - OAuth2Utils.EXPIRY_MARGIN_MILLIS;
+        clock.addAndGet(renewAfter - 1);
+        assertEquals(TokenClientFake.ACCESS_TOKEN, token.get());
+        assertEquals(1, tokenClientFake.getRequests());
+
+        // a connection opened now would log in with a token about to expire
+        clock.incrementAndGet();
+        assertEquals(TokenClientFake.ACCESS_TOKEN, token.get());
+        assertEquals(2, tokenClientFake.getRequests());
+    }
+
     private JdbcConnection createJdbcConnectionProperties(ArgumentsAccessor arguments) {
         JdbcConnection connectionProperties = new JdbcConnection();
         connectionProperties.setOauthTokenEndpoint(arguments.getString(0));
@@ -18,6 +18,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.json.Json;
 import javax.json.JsonObject;
@@ -32,6 +33,10 @@ public class TokenClientFake implements TokenClient {
 
     static final String ACCESS_TOKEN = "acces_token";
 
+    static final int EXPIRES_IN_SECONDS = 600;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
     @Override
     public void base(String base) {
         // This one is a deprecated.
@@ -39,6 +44,7 @@ public class TokenClientFake implements TokenClient {
 
     @Override
     public Response<JsonObject> getAccessToken(String base, String authorization, String payload) {
+        requests.incrementAndGet();
         if (!CORRECT_URL.equalsIgnoreCase(base)) {
             return new ResponseImpl(404, null,
                     createJsonObject(ERROR_SUMMARY, "The endpoint does not support the provided HTTP method."));
@@ -66,7 +72,17 @@ public class TokenClientFake implements TokenClient {
             return new ResponseImpl(401, null, createJsonObject(ERROR_DESCRIPTION,
                     "One or more scopes are not configured for the authorization server resource."));
         }
-        return new ResponseImpl(200, createJsonObject(ACCESS_TOKEN_NAME, ACCESS_TOKEN), null);
+        return new ResponseImpl(200,
+                Json
+                        .createObjectBuilder()
+                        .add(ACCESS_TOKEN_NAME, ACCESS_TOKEN)
+                        .add(EXPIRES_IN, EXPIRES_IN_SECONDS)
+                        .build(),
+                null);
+    }
+
+    int getRequests() {
+        return requests.get();
     }
 
     private JsonObject createJsonObject(String name, String message) {
@@ -12,9 +12,42 @@
  */
 package org.talend.components.jdbc.suite.containers;
 
+import static java.util.stream.Collectors.joining;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.talend.components.jdbc.configuration.InsertStrategy;
+import org.talend.components.jdbc.configuration.JdbcConfiguration;
+import org.talend.components.jdbc.configuration.OutputConfig;
 import org.talend.components.jdbc.containers.DerbyTestContainer;
 import org.talend.components.jdbc.containers.JdbcTestContainer;
+import org.talend.components.jdbc.datastore.JdbcConnection;
+import org.talend.components.jdbc.output.Reject;
+import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.output.statement.operations.MultiRowInsert;
+import org.talend.components.jdbc.output.statement.operations.UpsertMerge;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.StatementCache;
+import org.talend.components.jdbc.suite.AbstractBaseJDBC;
 import org.talend.components.jdbc.suite.JDBCBaseContainerTest;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.junit5.WithComponents;
 
 public class DerbyContainerTest extends JDBCBaseContainerTest {
 
@@ -35,4 +68,238 @@ public class DerbyContainerTest extends JDBCBaseContainerTest {
     public class DerbyUI extends UIActionServiceTest {
     }
 
+    @Nested
+    @DisplayName("Upsert - staging table")
+    @WithComponents("org.talend.components.jdbc")
+    public class DerbyStagedUpsert extends AbstractBaseJDBC {
+
+        @Override
+        public JdbcTestContainer getContainer() {
+            return DerbyContainerTest.this.getContainer();
+        }
+
+        @Test
+        @DisplayName("Upsert from staging table - last record of a key wins")
+        void upsertFromStagingTable() throws SQLException {
+            final String table = "UPSERT_STAGED";
+            final JdbcConnection dataStore = newConnection();
+            final StagingDerbyPlatform platform = new StagingDerbyPlatform(getI18nMessage(),
+                    getJdbcService().getPlatformService().getDriver(dataStore));
+            final String staging = platform.stagingTableName(table);
+            try (final JdbcService.JdbcDatasource dataSource = getJdbcService().createDataSource(dataStore)) {
+                try (final Connection connection = dataSource.getConnection();
+                        final Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE " + platform.identifier(table)
+                            + " (\"id\" INT NOT NULL PRIMARY KEY, \"name\" VARCHAR(32))");
+                    statement.execute("CREATE TABLE " + platform.identifier(staging)
+                            + " (\"id\" INT NOT NULL, \"name\" VARCHAR(32))");
+                    statement.execute("INSERT INTO " + platform.identifier(table) + " VALUES (1, 'old')");
+                    connection.commit();
+                }
+
+                final OutputConfig configuration = new OutputConfig();
+                configuration.setDataset(newTableNameDataset(table));
+                configuration.setActionOnData(OutputConfig.ActionOnData.UPSERT.name());
+                configuration.setKeys(Collections.singletonList("id"));
+                configuration.setStagingTableThreshold(2);
+                final List<Record> records = Arrays
+                        .asList(record(1, "first"), record(2, "two"), record(1, "last"), record(3, "three"));
+                final List<Reject> rejects =
+                        new UpsertMerge(platform, configuration, getI18nMessage()).execute(records, dataSource);
+
+                assertTrue(rejects.isEmpty(), () -> rejects.toString());
+                try (final Connection connection = dataSource.getConnection();
+                        final Statement statement = connection.createStatement()) {
+                    try (final ResultSet rows = statement
+                            .executeQuery("SELECT \"id\", \"name\" FROM " + platform.identifier(table)
+                                    + " ORDER BY \"id\"")) {
+                        final StringBuilder content = new StringBuilder();
+                        while (rows.next()) {
+                            content.append(rows.getInt(1)).append('=').append(rows.getString(2)).append(' ');
+                        }
+                        assertEquals("1=last 2=two 3=three ", content.toString());
+                    }
+                    try (final ResultSet rows =
+                            statement.executeQuery("SELECT COUNT(*) FROM " + platform.identifier(staging))) {
+                        rows.next();
+                        assertEquals(0, rows.getInt(1));
+                    }
+                }
+            }
+        }
+
+        private Record record(final int id, final String name) {
+            return getRecordBuilderFactory().newRecordBuilder().withInt("id", id).withString("name", name).build();
+        }
+    }
+
+    @Nested
+    @DisplayName("Insert - multi-row statements")
+    @WithComponents("org.talend.components.jdbc")
+    public class DerbyMultiRowInsert extends AbstractBaseJDBC {
+
+        @Override
+        public JdbcTestContainer getContainer() {
+            return DerbyContainerTest.this.getContainer();
+        }
+
+        @Test
+        @DisplayName("Multi-row insert - statements limited by the rows of a VALUES clause")
+        void rowLimit(final TestInfo testInfo) throws SQLException {
+            // 7 records by 3 rows: two full statements then one of a single row
+            final StatementCache statements = insert(getTestTableName(testInfo), 3, 100, 7);
+            assertEquals(2, statements.getMisses());
+            assertEquals(1, statements.getHits());
+        }
+
+        @Test
+        @DisplayName("Multi-row insert - statements limited by the bound parameters")
+        void paramLimit(final TestInfo testInfo) throws SQLException {
+            // 2 columns and 5 parameters: 2 rows per statement, 5 records in statements of 2, 2 and 1 rows
+            final StatementCache statements = insert(getTestTableName(testInfo), 100, 5, 5);
+            assertEquals(2, statements.getMisses());
+            assertEquals(1, statements.getHits());
+        }
+
+        @Test
+        @DisplayName("Multi-row insert - failed statement inserted again row by row")
+        void fallback(final TestInfo testInfo) throws SQLException {
+            final String table = getTestTableName(testInfo);
+            final JdbcConnection dataStore = newConnection();
+            final LimitedDerbyPlatform platform = new LimitedDerbyPlatform(getI18nMessage(),
+                    getJdbcService().getPlatformService().getDriver(dataStore), 100, 100);
+            try (final JdbcService.JdbcDatasource dataSource = getJdbcService().createDataSource(dataStore)) {
+                createTable(dataSource, platform, table);
+                try (final Connection connection = dataSource.getConnection();
+                        final Statement statement = connection.createStatement()) {
+                    statement.execute("INSERT INTO " + platform.identifier(table) + " VALUES (5, 'existing')");
+                    connection.commit();
+                }
+
+                final List<Record> records =
+                        IntStream.rangeClosed(1, 5).mapToObj(this::record).collect(Collectors.toList());
+                final List<Reject> rejects =
+                        new MultiRowInsert(platform, configuration(table), getI18nMessage())
+                                .execute(records, dataSource);
+
+                // the duplicated key fails the statement of 5 rows, only its record is rejected row by row
+                assertEquals(1, rejects.size(), () -> rejects.toString());
+                assertSame(records.get(4), rejects.get(0).getRecord());
+                // the single row statement is prepared for the fallback
+                assertEquals(2, dataSource.getStatementCache().getMisses());
+            }
+        }
+
+        private StatementCache insert(final String table, final int maxRows, final int maxParameters,
+                final int count) throws SQLException {
+            final JdbcConnection dataStore = newConnection();
+            final LimitedDerbyPlatform platform = new LimitedDerbyPlatform(getI18nMessage(),
+                    getJdbcService().getPlatformService().getDriver(dataStore), maxRows, maxParameters);
+            try (final JdbcService.JdbcDatasource dataSource = getJdbcService().createDataSource(dataStore)) {
+                createTable(dataSource, platform, table);
+                final List<Record> records =
+                        IntStream.rangeClosed(1, count).mapToObj(this::record).collect(Collectors.toList());
+                final List<Reject> rejects =
+                        new MultiRowInsert(platform, configuration(table), getI18nMessage())
+                                .execute(records, dataSource);
+
+                assertTrue(rejects.isEmpty(), () -> rejects.toString());
+                try (final Connection connection = dataSource.getConnection();
+                        final Statement statement = connection.createStatement();
+                        final ResultSet rows = statement
+                                .executeQuery("SELECT COUNT(*), MIN(\"id\"), MAX(\"id\") FROM "
+                                        + platform.identifier(table))) {
+                    rows.next();
+                    assertEquals(count, rows.getInt(1));
+                    assertEquals(1, rows.getInt(2));
+                    assertEquals(count, rows.getInt(3));
+                }
+                return dataSource.getStatementCache();
+            }
+        }
+
+        private void createTable(final JdbcService.JdbcDatasource dataSource, final Platform platform,
+                final String table) throws SQLException {
+            try (final Connection connection = dataSource.getConnection();
+                    final Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + platform.identifier(table)
+                        + " (\"id\" INT NOT NULL PRIMARY KEY, \"name\" VARCHAR(32))");
+                connection.commit();
+            }
+        }
+
+        private OutputConfig configuration(final String table) {
+            final OutputConfig configuration = new OutputConfig();
+            configuration.setDataset(newTableNameDataset(table));
+            configuration.setActionOnData(OutputConfig.ActionOnData.INSERT.name());
+            configuration.setInsertStrategy(InsertStrategy.MULTI_ROW);
+            return configuration;
+        }
+
+        private Record record(final int id) {
+            return getRecordBuilderFactory().newRecordBuilder().withInt("id", id).withString("name", "n" + id).build();
+        }
+    }
+
+    /**
+     * Derby has no native upsert, only a MERGE from a table: enough to run the staged path, the staging table being
+     * created by the test.
+     */
+    private static class StagingDerbyPlatform extends org.talend.components.jdbc.output.platforms.DerbyPlatform {
+
+        private StagingDerbyPlatform(final I18nMessage i18n, final JdbcConfiguration.Driver driver) {
+            super(i18n, driver);
+        }
+
+        @Override
+        public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+                final List<String> updatable) {
+            // only checked for support, the records are upserted from the staging table
+            return "VALUES 1";
+        }
+
+        @Override
+        public String upsertFromQuery(final String table, final String staging, final List<String> columns,
+                final List<String> keys, final List<String> updatable) {
+            return "MERGE INTO " + identifier(table) + " tgt USING " + identifier(staging) + " src ON "
+                    + keys.stream().map(this::identifier).map(k -> "tgt." + k + " = src." + k).collect(joining(" AND "))
+                    + " WHEN MATCHED THEN UPDATE SET "
+                    + updatable.stream().map(this::identifier).map(c -> c + " = src." + c).collect(joining(", "))
+                    + " WHEN NOT MATCHED THEN INSERT "
+                    + columns.stream().map(this::identifier).collect(joining(", ", "(", ")")) + " VALUES "
+                    + columns.stream().map(this::identifier).map(c -> "src." + c).collect(joining(", ", "(", ")"));
+        }
+
+        @Override
+        public String createStagingTableQuery(final String table, final String staging) {
+            return "VALUES 1";
+        }
+    }
+
+    /**
+     * Derby with lower limits, to split a few records into several statements.
+     */
+    private static class LimitedDerbyPlatform extends org.talend.components.jdbc.output.platforms.DerbyPlatform {
+
+        private final int maxRows;
+
+        private final int maxParameters;
+
+        private LimitedDerbyPlatform(final I18nMessage i18n, final JdbcConfiguration.Driver driver, final int maxRows,
+                final int maxParameters) {
+            super(i18n, driver);
+            this.maxRows = maxRows;
+            this.maxParameters = maxParameters;
+        }
+
+        @Override
+        public int maxBindParameters() {
+            return maxParameters;
+        }
+
+        @Override
+        public int maxInsertRows() {
+            return maxRows;
+        }
+    }
 }
@@ -13,8 +13,9 @@
 package org.talend.components.jira.source;
 
 import java.io.StringReader;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.stream.Collectors;
 
@@ -117,7 +118,13 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
             requestConfigDataset.setResource("rest/api/2/issue/" + config.getIssueId());
         } else {
             requestConfigDataset.setHasQueryParams(true);
-            requestConfigDataset.setQueryParams(Collections.singletonList(new Param("jql", config.getJql())));
+            List<Param> queryParams = new ArrayList<>();
+            queryParams.add(new Param("jql", config.getJql()));
+            if (!StringUtils.isEmpty(config.getFields())) {
+                // Only retrieve the needed fields instead of the whole issues
+                queryParams.add(new Param("fields", config.getFields().replaceAll("\\s", "")));
+            }
+            requestConfigDataset.setQueryParams(queryParams);
 
             Pagination pagination = new Pagination();
             pagination.setStrategy(Pagination.Strategy.OFFSET_LIMIT);
@@ -128,6 +135,9 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
             paginationConfig.setLimitValue(String.valueOf(config.getBatchSize()));
             pagination.setOffsetLimitStrategyConfig(paginationConfig);
             paginationConfig.setElementsPath(".issues");
+            // The first page gives the total, the next startAt windows are then requested at the same time
+            paginationConfig.setPrefetchedPages(config.getConcurrentPages());
+            paginationConfig.setTotalPath(".total");
             requestConfigDataset.setPagination(pagination);
             requestConfigDataset.setHasPagination(true);
 
@@ -191,15 +201,44 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
             return;
         }
 
-        JsonParser parser = Json.createParser(new StringReader(nextPageJQLSearchResult
-                .getString("body")));
-        JsonArray records;
-        if (fieldName != null) {
-            records = parser.getObject().getJsonArray(fieldName);
-        } else {
-            records = parser.getArray();
+        // The body is already the whole page as a String: the RAW_TEXT format reads it before it is given here, so
+        // the response itself can't be streamed. Issues are still decoded one by one from it, which only avoids
+        // building the json tree of the whole page next to the String.
+        try (JsonParser parser = Json.createParser(new StringReader(nextPageJQLSearchResult.getString("body")))) {
+            if (fieldName == null) {
+                if (parser.hasNext() && parser.next() == JsonParser.Event.START_ARRAY) {
+                    queueElements(parser);
+                }
+                return;
+            }
+
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+                return;
+            }
+            JsonParser.Event event;
+            while ((event = parser.next()) == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                event = parser.next();
+                if (fieldName.equals(key) && event == JsonParser.Event.START_ARRAY) {
+                    queueElements(parser);
+                } else if (event == JsonParser.Event.START_OBJECT) {
+                    parser.skipObject();
+                } else if (event == JsonParser.Event.START_ARRAY) {
+                    parser.skipArray();
+                }
+            }
+        }
+    }
+
+    private void queueElements(JsonParser arrayParser) {
+        JsonParser.Event event;
+        while ((event = arrayParser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event == JsonParser.Event.START_OBJECT) {
+                jiraJQLSearchResultQueue.add(arrayParser.getObject().toString());
+            } else if (event == JsonParser.Event.START_ARRAY) {
+                arrayParser.skipArray();
+            }
         }
-        records.forEach(rec -> jiraJQLSearchResultQueue.add(rec.asJsonObject().toString()));
     }
 
     private ComponentException extractJiraError(HTTPComponentException e) {
@@ -17,6 +17,7 @@ import org.talend.components.jira.dataset.JiraDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -25,7 +26,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row("dataset"), @GridLayout.Row("useJQL"), @GridLayout.Row("jql"),
         @GridLayout.Row("projectId"), @GridLayout.Row("issueId") })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("batchSize") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("batchSize"),
+        @GridLayout.Row("concurrentPages"), @GridLayout.Row("fields") })
 public class JiraInputConfiguration implements Serializable {
 
     @Option
@@ -62,4 +64,19 @@ public class JiraInputConfiguration implements Serializable {
     @DefaultValue("50")
     @Documentation("Batch size.")
     private int batchSize = 50;
+
+    @Option
+    @Min(0)
+    @ActiveIfs({ @ActiveIf(target = "../dataset.resourceType", value = "ISSUE"),
+            @ActiveIf(target = "useJQL", value = "true") })
+    @DefaultValue("4")
+    @Documentation("Number of result pages requested at the same time once the first one gives the total, "
+            + "0 to request them one after the other.")
+    private int concurrentPages = 4;
+
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "../dataset.resourceType", value = "ISSUE"),
+            @ActiveIf(target = "useJQL", value = "true") })
+    @Documentation("Comma separated list of the issue fields to retrieve, all navigable fields if empty.")
+    private String fields;
 }
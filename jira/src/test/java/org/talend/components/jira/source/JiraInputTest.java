@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jira.source;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.talend.components.jira.dataset.JiraDataset;
+import org.talend.components.jira.dataset.ResourceType;
+import org.talend.components.jira.datastore.JiraDatastore;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.junit.BaseComponentsHandler;
+import org.talend.sdk.component.junit5.Injected;
+import org.talend.sdk.component.junit5.WithComponents;
+import org.talend.sdk.component.runtime.manager.chain.Job;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.talend.sdk.component.junit.SimpleFactory.configurationByExample;
+
+/**
+ * JQL search against a local server answering the pages of a search of "total" issues.
+ */
+@WithComponents("org.talend.components.jira")
+class JiraInputTest {
+
+    @Injected
+    protected BaseComponentsHandler componentsHandler;
+
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private JiraInputConfiguration inputConfiguration;
+
+    private int total;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        // The pages are answered at the same time
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.createContext("/rest/api/2/search", this::search);
+        server.start();
+
+        JiraDatastore datastore = new JiraDatastore();
+        datastore.setJiraURL("http://localhost:" + server.getAddress().getPort());
+        datastore.setUser("user");
+        datastore.setPass("pass");
+
+        JiraDataset dataset = new JiraDataset();
+        dataset.setDatastore(datastore);
+        dataset.setResourceType(ResourceType.ISSUE);
+
+        inputConfiguration = new JiraInputConfiguration();
+        inputConfiguration.setDataset(dataset);
+        inputConfiguration.setUseJQL(true);
+        inputConfiguration.setJql("project=TP");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentPagesKeepStartAtOrder() {
+        total = 23;
+        inputConfiguration.setBatchSize(5);
+        inputConfiguration.setConcurrentPages(3);
+
+        assertEquals(IntStream.range(0, total).mapToObj(i -> "TP-" + i).collect(Collectors.toList()), readKeys());
+        assertEquals(asList("0", "5", "10", "15", "20"),
+                requests.stream().map(r -> r.get("startAt")).sorted(this::byNumber).collect(Collectors.toList()));
+        requests.forEach(r -> assertEquals("5", r.get("maxResults")));
+    }
+
+    @Test
+    void sequentialPages() {
+        total = 12;
+        inputConfiguration.setBatchSize(5);
+        inputConfiguration.setConcurrentPages(0);
+
+        assertEquals(IntStream.range(0, total).mapToObj(i -> "TP-" + i).collect(Collectors.toList()), readKeys());
+        // without prefetch, the pagination stops at the first empty page
+        assertEquals(asList("0", "5", "10", "12"),
+                requests.stream().map(r -> r.get("startAt")).collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 4, 5 })
+    void totalNotGreaterThanPageSize(final int total) {
+        this.total = total;
+        inputConfiguration.setBatchSize(5);
+        inputConfiguration.setConcurrentPages(4);
+
+        assertEquals(IntStream.range(0, total).mapToObj(i -> "TP-" + i).collect(Collectors.toList()), readKeys());
+        // the first page holds everything, no other page is requested
+        assertEquals(singletonList("0"), requests.stream().map(r -> r.get("startAt")).collect(Collectors.toList()));
+    }
+
+    @Test
+    void fields() {
+        total = 2;
+        inputConfiguration.setFields("summary, status ,\tassignee");
+
+        assertEquals(asList("TP-0", "TP-1"), readKeys());
+        assertEquals(1, requests.size());
+        assertEquals("summary,status,assignee", requests.get(0).get("fields"));
+        assertEquals("project=TP", requests.get(0).get("jql"));
+    }
+
+    @Test
+    void allFieldsByDefault() {
+        total = 2;
+        inputConfiguration.setFields("");
+
+        assertEquals(asList("TP-0", "TP-1"), readKeys());
+        assertFalse(requests.get(0).containsKey("fields"));
+    }
+
+    private List<String> readKeys() {
+        String inputConfig = configurationByExample().forInstance(inputConfiguration).configured().toQueryString();
+        Job.components()
+                .component("jiraInput", "JIRA://Input?" + inputConfig)
+                .component("collector", "test://collector")
+                .connections()
+                .from("jiraInput")
+                .to("collector")
+                .build()
+                .run();
+
+        return componentsHandler.getCollectedData(Record.class)
+                .stream()
+                .map(r -> Json.createReader(new StringReader(r.getString("json"))).readObject().getString("key"))
+                .collect(Collectors.toList());
+    }
+
+    private void search(final HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        requests.add(query);
+        int startAt = Integer.parseInt(query.get("startAt"));
+        int maxResults = Integer.parseInt(query.get("maxResults"));
+
+        try {
+            // The first pages answer last, the input must still emit them first
+            Thread.sleep(Math.max(0, total - startAt) * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        JsonArrayBuilder issues = Json.createArrayBuilder();
+        IntStream.range(startAt, Math.min(total, startAt + maxResults))
+                .forEach(i -> issues.add(Json.createObjectBuilder()
+                        .add("id", String.valueOf(10000 + i))
+                        .add("key", "TP-" + i)
+                        .add("fields", Json.createObjectBuilder().add("summary", "Issue " + i))));
+        byte[] body = Json.createObjectBuilder()
+                .add("startAt", startAt)
+                .add("maxResults", maxResults)
+                .add("total", total)
+                .add("issues", issues)
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String query) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String param : query.split("&")) {
+            int eq = param.indexOf('=');
+            String name = eq < 0 ? param : param.substring(0, eq);
+            String value = eq < 0 ? "" : param.substring(eq + 1);
+            params.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+        return params;
+    }
+
+    private int byNumber(final String a, final String b) {
+        return Integer.compare(Integer.parseInt(a), Integer.parseInt(b));
+    }
+}
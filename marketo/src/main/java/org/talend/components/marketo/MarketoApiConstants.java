@@ -137,9 +137,43 @@ public class MarketoApiConstants {
 
     public static final String ATTR_SEARCHABLE_FIELDS = "searchableFields";
 
+    public static final String ATTR_EXPORT_ID = "exportId";
+
+    public static final String ATTR_FORMAT = "format";
+
+    public static final String ATTR_FILTER = "filter";
+
+    public static final String ATTR_START_AT = "startAt";
+
+    public static final String ATTR_END_AT = "endAt";
+
+    public static final String ATTR_ACTIVITY_TYPE_IDS = "activityTypeIds";
+
+    public static final String ATTR_PROGRAM_ID = "programId";
+
+    public static final String ATTR_STATIC_LIST_ID = "staticListId";
+
+    public static final String ATTR_ENTITY = "entity";
+
+    public static final String BULK_FORMAT_CSV = "CSV";
+
+    public static final String BULK_STATUS_COMPLETED = "Completed";
+
+    public static final String BULK_STATUS_FAILED = "Failed";
+
+    public static final String BULK_STATUS_CANCELLED = "Cancelled";
+
+    public static final String HEADER_RANGE = "Range";
+
+    public static final String HEADER_CONTENT_RANGE = "Content-Range";
+
     public static final String DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     public static final int REST_API_LIMIT = 300;
 
     public static final int HTTP_STATUS_OK = 200;
+
+    public static final int HTTP_STATUS_PARTIAL_CONTENT = 206;
+
+    public static final int HTTP_STATUS_RANGE_NOT_SATISFIABLE = 416;
 }
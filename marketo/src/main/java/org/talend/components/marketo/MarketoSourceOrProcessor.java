@@ -13,6 +13,7 @@
 package org.talend.components.marketo;
 
 import java.io.Serializable;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.json.JsonArray;
@@ -72,4 +73,23 @@ public class MarketoSourceOrProcessor implements Serializable {
         return marketoService.handleResponse(response);
     }
 
+    /**
+     * Runs an API call through the subscription scheduler, the access token is refreshed from the shared cache
+     * before each attempt.
+     *
+     * @param call API call using {@link #accessToken}
+     * @param <T> response body type
+     * @return raw API response
+     */
+    protected <T> Response<T> schedule(Supplier<Response<T>> call) {
+        return marketoService.schedule(dataSet.getDataStore(), () -> {
+            accessToken = marketoService.retrieveAccessToken(dataSet);
+            return call.get();
+        });
+    }
+
+    protected JsonObject execute(Supplier<Response<JsonObject>> call) {
+        return handleResponse(schedule(call));
+    }
+
 }
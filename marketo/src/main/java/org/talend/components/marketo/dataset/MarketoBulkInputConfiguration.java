@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.dataset;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.action.Validable;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.ToString;
+
+import static org.talend.components.marketo.service.UIActionService.VALIDATION_DATETIME_PATTERN;
+
+@Data
+@GridLayout({ //
+        @GridLayout.Row({ "dataSet" }), //
+        @GridLayout.Row({ "bulkEntity" }), //
+        @GridLayout.Row({ "programId" }), //
+        @GridLayout.Row({ "sinceDateTime", "untilDateTime" }), //
+}) //
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
+        @GridLayout.Row({ "windowSizeDays" }), //
+        @GridLayout.Row({ "parallelWindows" }), //
+        @GridLayout.Row({ "pollInterval" }) //
+})
+@Documentation("Marketo Bulk Extract Source Configuration")
+@ToString(callSuper = true)
+public class MarketoBulkInputConfiguration implements Serializable {
+
+    public static final String NAME = "MarketoBulkInputConfiguration";
+
+    @Option
+    @Documentation("Marketo DataSet")
+    private MarketoDataSet dataSet;
+
+    @Option
+    @Documentation("Entity to export")
+    private BulkEntity bulkEntity = BulkEntity.leads;
+
+    @Option
+    @ActiveIf(target = "bulkEntity", value = "programMembers")
+    @Documentation("Program id whose members are exported")
+    private String programId;
+
+    @Option
+    @ActiveIf(target = "bulkEntity", negate = true, value = "programMembers")
+    @Validable(VALIDATION_DATETIME_PATTERN)
+    @Documentation("Export records created since this date time (yyyy-MM-dd HH:mm:ss)")
+    private String sinceDateTime;
+
+    @Option
+    @ActiveIf(target = "bulkEntity", negate = true, value = "programMembers")
+    @Documentation("Export records created before this date time (yyyy-MM-dd HH:mm:ss), now when empty")
+    private String untilDateTime;
+
+    @Option
+    @Min(1)
+    @Max(31)
+    @Documentation("Number of days covered by each export job (Marketo accepts 31 days at most)")
+    private int windowSizeDays = 31;
+
+    @Option
+    @Min(1)
+    @Max(10)
+    @Documentation("Number of export jobs queued at the same time")
+    private int parallelWindows = 2;
+
+    @Option
+    @Min(1)
+    @Documentation("Delay in seconds between two export job status checks")
+    private int pollInterval = 30;
+
+    public enum BulkEntity {
+        leads("leads"),
+        activities("activities"),
+        programMembers("program_members");
+
+        @Getter
+        private final String path;
+
+        BulkEntity(final String path) {
+            this.path = path;
+        }
+    }
+
+}
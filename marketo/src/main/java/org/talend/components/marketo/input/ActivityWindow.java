@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
+
+/**
+ * An activityDate range read by a single lead activity reader. The upper bound is exclusive and null for the last
+ * window, which reads up to the activities logged while the flow runs.
+ */
+@Data
+@AllArgsConstructor
+public class ActivityWindow implements Serializable {
+
+    private ZonedDateTime since;
+
+    private ZonedDateTime until;
+
+    /**
+     * @param dataSet lead activity dataset
+     * @return the start of the activities to read, as configured by the user
+     */
+    public static ZonedDateTime since(final MarketoDataSet dataSet) {
+        if (DateTimeMode.absolute.equals(dataSet.getDateTimeMode())) {
+            return LocalDateTime
+                    .parse(dataSet.getSinceDateTimeAbsolute().trim(), DateTimeFormatter.ofPattern(DATETIME_FORMAT))
+                    .atZone(ZoneId.systemDefault());
+        }
+        return ZonedDateTime.now().minus(Period.parse(dataSet.getSinceDateTimeRelative().getRelativeOffset()));
+    }
+
+    /**
+     * Cuts [since, until) in at most <code>partitions</code> contiguous windows of equal duration.
+     *
+     * @return windows in chronological order
+     */
+    public static List<ActivityWindow> plan(final ZonedDateTime since, final ZonedDateTime until,
+            final int partitions) {
+        final List<ActivityWindow> windows = new ArrayList<>();
+        final long step = partitions < 2 ? 0 : Duration.between(since, until).getSeconds() / partitions;
+        if (step <= 0) {
+            windows.add(new ActivityWindow(since, null));
+            return windows;
+        }
+        ZonedDateTime start = since;
+        for (int i = 1; i < partitions; i++) {
+            final ZonedDateTime end = since.plusSeconds(step * i);
+            windows.add(new ActivityWindow(start, end));
+            start = end;
+        }
+        windows.add(new ActivityWindow(start, null));
+        return windows;
+    }
+
+    public String formatSince() {
+        return since.format(DateTimeFormatter.ofPattern(DATETIME_FORMAT));
+    }
+
+    public boolean isAfterWindow(final ZonedDateTime activityDate) {
+        return until != null && !activityDate.isBefore(until);
+    }
+
+}
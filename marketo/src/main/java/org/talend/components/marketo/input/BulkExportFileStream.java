@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_RANGE;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_PARTIAL_CONTENT;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_RANGE_NOT_SATISFIABLE;
+
+/**
+ * Reads the file of an export job as consecutive byte ranges, so that only one chunk is held in memory whatever the
+ * size of the export.
+ *
+ * The file endpoint honors the <code>Range</code> header: each chunk is a <code>206</code> response, the total size
+ * comes from <code>Content-Range</code>. A <code>200</code> response holds the whole file and ends the stream.
+ */
+@Slf4j
+class BulkExportFileStream extends InputStream {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final Function<String, Response<byte[]>> rangeReader;
+
+    private final Function<Response<byte[]>, RuntimeException> failure;
+
+    private final int chunkSize;
+
+    private long offset;
+
+    private long total = -1;
+
+    private boolean lastChunk;
+
+    private InputStream chunk = new ByteArrayInputStream(new byte[0]);
+
+    /**
+     * @param rangeReader API call returning the requested range, as <code>bytes=first-last</code>
+     * @param failure builds the error thrown on an unexpected response
+     * @param chunkSize maximum size of a range
+     */
+    BulkExportFileStream(final Function<String, Response<byte[]>> rangeReader,
+            final Function<Response<byte[]>, RuntimeException> failure, final int chunkSize) {
+        this.rangeReader = rangeReader;
+        this.failure = failure;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() {
+        final byte[] single = new byte[1];
+        final int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int read = chunk.read(buffer, off, len);
+        while (read < 0 && nextChunk()) {
+            read = chunk.read(buffer, off, len);
+        }
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return chunk.available();
+    }
+
+    private boolean nextChunk() {
+        if (lastChunk || (total >= 0 && offset >= total)) {
+            return false;
+        }
+        final String range = "bytes=" + offset + "-" + (offset + chunkSize - 1);
+        final Response<byte[]> response = rangeReader.apply(range);
+        final byte[] body = response.body() == null ? new byte[0] : response.body();
+        switch (response.status()) {
+        case HTTP_STATUS_PARTIAL_CONTENT:
+            total = parseTotal(response.headers());
+            lastChunk = body.length < chunkSize;
+            break;
+        case HTTP_STATUS_OK:
+            lastChunk = true;
+            break;
+        case HTTP_STATUS_RANGE_NOT_SATISFIABLE:
+            // offset reached the end of a file which size is a multiple of the chunk size
+            return false;
+        default:
+            throw failure.apply(response);
+        }
+        log.debug("[nextChunk] Read {} bytes at {} of {}.", body.length, offset, total);
+        offset += body.length;
+        chunk = new ByteArrayInputStream(body);
+        return body.length > 0 || !lastChunk && nextChunk();
+    }
+
+    /**
+     * @return the size after the slash of <code>bytes first-last/size</code>, -1 when unknown
+     */
+    private static long parseTotal(final Map<String, List<String>> headers) {
+        if (headers == null) {
+            return -1;
+        }
+        return headers
+                .entrySet()
+                .stream()
+                .filter(header -> HEADER_CONTENT_RANGE.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .map(value -> value.substring(value.lastIndexOf('/') + 1).trim())
+                .filter(size -> !size.isEmpty() && !"*".equals(size))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+}
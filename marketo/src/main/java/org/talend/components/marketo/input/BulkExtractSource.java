@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.HeaderLine;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.input.csv.CSVReaderSupplier;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.MarketoSourceOrProcessor;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration.BulkEntity;
+import org.talend.components.marketo.service.BulkExtractClient;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_IDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CREATED_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_END_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FORMAT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_NAME;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_PROGRAM_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_START_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATIC_LIST_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATUS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_FORMAT_CSV;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_CANCELLED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_COMPLETED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_FAILED;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE_APPLICATION_JSON;
+
+/**
+ * Exports Marketo entities through Bulk Extract jobs, one job per date window.
+ *
+ * Up to <code>queueDepth</code> jobs are created and enqueued ahead so that Marketo processes the next windows while
+ * the current file is streamed. Files are read line by line with the common CSV reader, records hold the CSV columns
+ * as strings.
+ */
+@Slf4j
+@Version
+@Documentation("Marketo bulk extract input")
+public class BulkExtractSource extends MarketoSourceOrProcessor {
+
+    private final MarketoBulkInputConfiguration configuration;
+
+    private final List<BulkExtractWindow> windows;
+
+    private final int queueDepth;
+
+    private final BulkExtractClient bulkClient;
+
+    private transient Deque<BulkExtractWindow> pendingWindows;
+
+    private transient Deque<String> queuedJobs;
+
+    private transient JsonValue fields;
+
+    private transient RecordReader recordReader;
+
+    private transient InputStream currentFile;
+
+    private transient Iterator<Record> currentRecords;
+
+    public BulkExtractSource(@Option("configuration") final MarketoBulkInputConfiguration configuration, //
+            final MarketoService service, final List<BulkExtractWindow> windows, final int queueDepth) {
+        super(configuration.getDataSet(), service);
+        this.configuration = configuration;
+        this.windows = windows;
+        this.queueDepth = Math.max(1, queueDepth);
+        this.bulkClient = service.getBulkExtractClient();
+    }
+
+    @Override
+    @PostConstruct
+    public void init() {
+        super.init();
+        bulkClient.base(configuration.getDataSet().getDataStore().getEndpoint());
+        pendingWindows = new ArrayDeque<>(windows);
+        queuedJobs = new ArrayDeque<>();
+        fields = resolveFields();
+        recordReader = new CSVReaderSupplier()
+                .getReader(marketoService.getRecordBuilder(), buildCsvConfiguration(), null);
+        fillQueue();
+    }
+
+    @Producer
+    public Record next() {
+        while (true) {
+            if (currentRecords != null && currentRecords.hasNext()) {
+                return currentRecords.next();
+            }
+            closeCurrentFile();
+            final String exportId = queuedJobs.poll();
+            if (exportId == null) {
+                return null;
+            }
+            // keep Marketo busy on next windows while this one is read
+            fillQueue();
+            waitForCompletion(exportId);
+            currentFile = openFile(exportId);
+            currentRecords = recordReader.read(currentFile);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        closeCurrentFile();
+        if (recordReader != null) {
+            recordReader.close();
+        }
+        if (queuedJobs != null) {
+            for (String exportId : queuedJobs) {
+                try {
+                    schedule(() -> bulkClient.cancelExportJob(accessToken, getEntityPath(), exportId));
+                } catch (RuntimeException e) {
+                    log.warn("[release] Cannot cancel export job {}: {}.", exportId, e.getMessage());
+                }
+            }
+            queuedJobs.clear();
+        }
+    }
+
+    private void fillQueue() {
+        while (queuedJobs.size() < queueDepth && !pendingWindows.isEmpty()) {
+            final BulkExtractWindow window = pendingWindows.poll();
+            final JsonObject payload = buildJobPayload(window);
+            final JsonObject job = firstResult(execute(() -> bulkClient
+                    .createExportJob(HEADER_CONTENT_TYPE_APPLICATION_JSON, accessToken, getEntityPath(), payload)));
+            final String exportId = job.getString(ATTR_EXPORT_ID);
+            execute(() -> bulkClient.enqueueExportJob(accessToken, getEntityPath(), exportId));
+            log.debug("[fillQueue] Export job {} enqueued for {}.", exportId, window);
+            queuedJobs.add(exportId);
+        }
+    }
+
+    private void waitForCompletion(final String exportId) {
+        while (true) {
+            final JsonObject job =
+                    firstResult(execute(() -> bulkClient.getExportJobStatus(accessToken, getEntityPath(), exportId)));
+            final String status = job.getString(ATTR_STATUS, "");
+            log.debug("[waitForCompletion] Export job {} status: {}.", exportId, status);
+            if (BULK_STATUS_COMPLETED.equals(status)) {
+                return;
+            }
+            if (BULK_STATUS_FAILED.equals(status) || BULK_STATUS_CANCELLED.equals(status)) {
+                throw new MarketoRuntimeException(
+                        i18n.bulkExportFailed(exportId, status, job.getString("errorMsg", "")));
+            }
+            try {
+                TimeUnit.SECONDS.sleep(configuration.getPollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MarketoRuntimeException(i18n.bulkExportFailed(exportId, status, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * The file is downloaded by ranges through the scheduled client, instead of buffering the whole export in a
+     * single response body.
+     */
+    private InputStream openFile(final String exportId) {
+        return new BulkExportFileStream(
+                range -> schedule(() -> bulkClient.getExportJobFile(range, accessToken, getEntityPath(), exportId)),
+                response -> new MarketoRuntimeException(i18n
+                        .bulkExportFailed(exportId, String.valueOf(response.status()),
+                                response.body() == null ? "" : new String(response.body(), StandardCharsets.UTF_8))),
+                BulkExportFileStream.DEFAULT_CHUNK_SIZE);
+    }
+
+    private void closeCurrentFile() {
+        currentRecords = null;
+        if (currentFile != null) {
+            try {
+                currentFile.close();
+            } catch (IOException e) {
+                log.warn("[closeCurrentFile] {}", e.getMessage());
+            }
+            currentFile = null;
+        }
+    }
+
+    private JsonObject buildJobPayload(final BulkExtractWindow window) {
+        final JsonObjectBuilder filter = jsonFactory.createObjectBuilder();
+        if (!window.isUnbounded()) {
+            filter
+                    .add(ATTR_CREATED_AT, jsonFactory
+                            .createObjectBuilder()
+                            .add(ATTR_START_AT, window.getStartAt())
+                            .add(ATTR_END_AT, window.getEndAt()));
+        }
+        final String listId = configuration.getDataSet().getListId();
+        switch (configuration.getBulkEntity()) {
+        case leads:
+            if (listId != null && !listId.isEmpty()) {
+                filter.add(ATTR_STATIC_LIST_ID, Integer.parseInt(listId));
+            }
+            break;
+        case activities:
+            if (!configuration.getDataSet().getActivityTypeIds().isEmpty()) {
+                final JsonArrayBuilder types = jsonFactory.createArrayBuilder();
+                configuration.getDataSet().getActivityTypeIds().forEach(id -> types.add(Integer.parseInt(id)));
+                filter.add(ATTR_ACTIVITY_TYPE_IDS, types);
+            }
+            break;
+        case programMembers:
+            filter.add(ATTR_PROGRAM_ID, Integer.parseInt(configuration.getProgramId()));
+            break;
+        }
+        final JsonObjectBuilder payload = jsonFactory.createObjectBuilder().add(ATTR_FORMAT, BULK_FORMAT_CSV);
+        if (fields != null) {
+            payload.add(ATTR_FIELDS, fields);
+        }
+        return payload.add(ATTR_FILTER, filter).build();
+    }
+
+    /**
+     * Leads and program members exports require the field list, activities have a fixed layout.
+     */
+    private JsonValue resolveFields() {
+        final JsonArrayBuilder result = jsonFactory.createArrayBuilder();
+        final List<String> selected = configuration.getDataSet().getFields();
+        if (BulkEntity.activities == configuration.getBulkEntity()) {
+            return null;
+        } else if (!selected.isEmpty()) {
+            selected.forEach(result::add);
+        } else if (BulkEntity.leads == configuration.getBulkEntity()) {
+            final String described = marketoService
+                    .getFieldsFromDescribeFormatedForApi(
+                            execute(() -> marketoService.getLeadClient().describeLead(accessToken))
+                                    .getJsonArray(ATTR_RESULT));
+            Arrays.stream(described.split(",")).forEach(result::add);
+        } else {
+            firstResult(execute(() -> bulkClient.describeProgramMembers(accessToken)))
+                    .getJsonArray(ATTR_FIELDS)
+                    .getValuesAs(JsonObject.class)
+                    .forEach(field -> result.add(field.getString(ATTR_NAME)));
+        }
+        return result.build();
+    }
+
+    private CSVConfiguration buildCsvConfiguration() {
+        final CSVConfiguration csv = new CSVConfiguration();
+        // Marketo doubles quotes inside quoted values instead of escaping them
+        csv.setEscape(null);
+        final HeaderLine header = new HeaderLine();
+        header.setActive(true);
+        header.setSize(1);
+        csv.getLineConfiguration().setHeader(header);
+        return csv;
+    }
+
+    private JsonObject firstResult(final JsonObject response) {
+        return response.getJsonArray(ATTR_RESULT).getJsonObject(0);
+    }
+
+    private String getEntityPath() {
+        return configuration.getBulkEntity().getPath();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration.BulkEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
+
+/**
+ * A createdAt range exported by a single Marketo bulk extract job. Bounds are ISO-8601 date times, both null when the
+ * export is not filtered on dates (program members).
+ */
+@Data
+@AllArgsConstructor
+public class BulkExtractWindow implements Serializable {
+
+    private String startAt;
+
+    private String endAt;
+
+    public boolean isUnbounded() {
+        return startAt == null;
+    }
+
+    /**
+     * Cuts the configured date range in consecutive windows of at most <code>windowSizeDays</code> days. Windows don't
+     * overlap, so a record created on a boundary is exported once.
+     *
+     * @param configuration bulk input configuration
+     * @return windows in chronological order
+     */
+    public static List<BulkExtractWindow> plan(final MarketoBulkInputConfiguration configuration) {
+        if (BulkEntity.programMembers == configuration.getBulkEntity()) {
+            return Collections.singletonList(new BulkExtractWindow(null, null));
+        }
+        final ZonedDateTime since = parse(configuration.getSinceDateTime());
+        final ZonedDateTime until = configuration.getUntilDateTime() == null
+                || configuration.getUntilDateTime().trim().isEmpty()
+                        ? ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                        : parse(configuration.getUntilDateTime());
+        final List<BulkExtractWindow> windows = new ArrayList<>();
+        ZonedDateTime start = since;
+        while (start.isBefore(until)) {
+            final ZonedDateTime next = start.plusDays(configuration.getWindowSizeDays());
+            // Marketo bounds are inclusive, a window ends on the second before the next one starts
+            final ZonedDateTime end = next.isBefore(until) ? next.minusSeconds(1) : until;
+            windows.add(new BulkExtractWindow(format(start), format(end)));
+            start = next;
+        }
+        return windows;
+    }
+
+    private static ZonedDateTime parse(final String dateTime) {
+        return LocalDateTime
+                .parse(dateTime.trim(), DateTimeFormatter.ofPattern(DATETIME_FORMAT))
+                .atZone(ZoneId.systemDefault());
+    }
+
+    private static String format(final ZonedDateTime dateTime) {
+        return dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+}
@@ -15,6 +15,7 @@ package org.talend.components.marketo.input;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.EnumMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -34,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import static java.util.stream.Collectors.joining;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_DATE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER_TYPE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER_VALUES;
@@ -49,9 +51,20 @@ public class LeadSource extends MarketoSource {
 
     private transient EnumMap<LeadAction, Supplier<JsonObject>> action = new EnumMap<>(LeadAction.class);
 
+    private final ActivityWindow window;
+
     public LeadSource(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
+        this(configuration, service, null);
+    }
+
+    /**
+     * @param window activity dates read by this source, null to read all the activities since the configured date
+     */
+    public LeadSource(final MarketoInputConfiguration configuration, final MarketoService service,
+            final ActivityWindow window) {
         super(configuration, service);
+        this.window = window;
         this.leadClient = service.getLeadClient();
         this.leadClient.base(this.configuration.getDataSet().getDataStore().getEndpoint());
         this.listClient = service.getListClient();
@@ -72,7 +85,7 @@ public class LeadSource extends MarketoSource {
     private JsonObject getLeadsByListId() {
         Integer listId = Integer.parseInt(configuration.getDataSet().getListId());
         String fields = schema.keySet().stream().collect(Collectors.joining(","));
-        return handleResponse(listClient.getLeadsByListId(accessToken, nextPageToken, listId, fields));
+        return execute(() -> listClient.getLeadsByListId(accessToken, nextPageToken, listId, fields));
     }
 
     private Boolean isLeadUrlSizeGreaterThan8k(String filterType, String filterValues, String fields) {
@@ -106,7 +119,9 @@ public class LeadSource extends MarketoSource {
 
     private String computeDateTimeFromConfiguration() {
         String result;
-        if (DateTimeMode.absolute.equals(configuration.getDataSet().getDateTimeMode())) {
+        if (window != null) {
+            result = window.formatSince();
+        } else if (DateTimeMode.absolute.equals(configuration.getDataSet().getDateTimeMode())) {
             result = configuration.getDataSet().getSinceDateTimeAbsolute();
         } else {
             result = ZonedDateTime
@@ -134,16 +149,38 @@ public class LeadSource extends MarketoSource {
             activityTypeIds = configuration.getDataSet().getActivityTypeIds().stream().collect(joining(","));
         }
         String listId = configuration.getDataSet().getListId();
-        return handleResponse(
-                leadClient.getLeadActivities(accessToken, nextPageToken, activityTypeIds, "", listId, ""));
+        final String activityTypes = activityTypeIds;
+        return execute(
+                () -> leadClient.getLeadActivities(accessToken, nextPageToken, activityTypes, "", listId, ""));
+    }
+
+    /**
+     * Activities are returned in chronological order, the first one past the window ends the flow.
+     */
+    @Override
+    protected boolean isEndOfFlow(final JsonObject result) {
+        if (window == null || window.getUntil() == null
+                || LeadAction.getLeadActivity != configuration.getDataSet().getLeadAction()) {
+            return false;
+        }
+        final String activityDate = result.getString(ATTR_ACTIVITY_DATE, null);
+        if (activityDate == null) {
+            return false;
+        }
+        try {
+            return window.isAfterWindow(ZonedDateTime.parse(activityDate, DateTimeFormatter.ISO_DATE_TIME));
+        } catch (DateTimeParseException e) {
+            log.warn("[isEndOfFlow] Unparseable activity date: {}.", activityDate);
+            return false;
+        }
     }
 
     public JsonObject getActivities() {
-        return handleResponse(leadClient.getActivities(accessToken));
+        return execute(() -> leadClient.getActivities(accessToken));
     }
 
     public String getPagingToken(String dateTime) {
-        return handleResponse(leadClient.getPagingToken(accessToken, dateTime)).getString(ATTR_NEXT_PAGE_TOKEN);
+        return execute(() -> leadClient.getPagingToken(accessToken, dateTime)).getString(ATTR_NEXT_PAGE_TOKEN);
     }
 
 }
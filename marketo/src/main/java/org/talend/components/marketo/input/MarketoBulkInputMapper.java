@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration.BulkEntity;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Icon.IconType;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Version
+@Icon(value = IconType.CUSTOM, custom = "marketo-input")
+@PartitionMapper(family = "Marketo", name = "BulkInput")
+@Documentation("Marketo Bulk Extract Input Component")
+public class MarketoBulkInputMapper implements Serializable {
+
+    private final MarketoBulkInputConfiguration configuration;
+
+    private final MarketoService service;
+
+    private List<BulkExtractWindow> windows;
+
+    private int queueDepth;
+
+    public MarketoBulkInputMapper(@Option("configuration") final MarketoBulkInputConfiguration configuration, //
+            final MarketoService service) {
+        this(configuration, service, null, configuration.getParallelWindows());
+    }
+
+    private MarketoBulkInputMapper(final MarketoBulkInputConfiguration configuration, final MarketoService service,
+            final List<BulkExtractWindow> windows, final int queueDepth) {
+        this.configuration = configuration;
+        this.service = service;
+        this.windows = windows;
+        this.queueDepth = queueDepth;
+    }
+
+    private List<BulkExtractWindow> getWindows() {
+        if (windows == null) {
+            if (BulkEntity.programMembers != configuration.getBulkEntity()
+                    && (configuration.getSinceDateTime() == null || configuration.getSinceDateTime().isEmpty())) {
+                throw new IllegalArgumentException(service.getI18n().invalidBlankProperty());
+            }
+            windows = BulkExtractWindow.plan(configuration);
+        }
+        return windows;
+    }
+
+    /**
+     * Each window costs a single export job, the size is expressed in windows.
+     */
+    @Assessor
+    public long estimateSize() {
+        return getWindows().size();
+    }
+
+    /**
+     * Windows are dealt round-robin to at most <code>parallelWindows</code> workers. The job queue depth is shared
+     * between workers so that the whole pipeline never queues more jobs than configured.
+     */
+    @Split
+    public List<MarketoBulkInputMapper> split(@PartitionSize final long bundles) {
+        final List<BulkExtractWindow> all = getWindows();
+        final long wanted = bundles <= 0 ? 1 : (all.size() + bundles - 1) / bundles;
+        final int partitions = (int) Math.max(1, Math.min(Math.min(wanted, all.size()), queueDepth));
+        if (partitions == 1) {
+            return Collections.singletonList(this);
+        }
+        final List<List<BulkExtractWindow>> dealt = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            dealt.add(new ArrayList<>());
+        }
+        for (int i = 0; i < all.size(); i++) {
+            dealt.get(i % partitions).add(all.get(i));
+        }
+        final int depth = Math.max(1, queueDepth / partitions);
+        final List<MarketoBulkInputMapper> mappers = new ArrayList<>();
+        for (List<BulkExtractWindow> part : dealt) {
+            mappers.add(new MarketoBulkInputMapper(configuration, service, part, depth));
+        }
+        log.debug("[split] {} windows in {} partitions.", all.size(), partitions);
+        return mappers;
+    }
+
+    @Emitter
+    public BulkExtractSource createWorker() {
+        return new BulkExtractSource(configuration, service, getWindows(), queueDepth);
+    }
+
+}
@@ -13,11 +13,14 @@
 package org.talend.components.marketo.input;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
 
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.AuthorizationClient;
 import org.talend.components.marketo.service.MarketoService;
@@ -35,6 +38,7 @@ import org.talend.sdk.component.api.meta.Documentation;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
+import static org.talend.components.marketo.service.MarketoCallScheduler.MAX_CONCURRENT_CALLS;
 
 @Slf4j
 @Version
@@ -49,9 +53,17 @@ public class MarketoInputMapper implements Serializable {
 
     private AuthorizationClient authorizationClient;
 
+    private ActivityWindow window;
+
     public MarketoInputMapper(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
+        this(configuration, service, null);
+    }
+
+    private MarketoInputMapper(final MarketoInputConfiguration configuration, final MarketoService service,
+            final ActivityWindow window) {
         this.configuration = configuration;
+        this.window = window;
         this.service = service;
         authorizationClient = service.getAuthorizationClient();
         log.debug("[MarketoInputMapper] {}", configuration);
@@ -63,19 +75,46 @@ public class MarketoInputMapper implements Serializable {
         // NOOP
     }
 
+    /**
+     * A constant, one page of the REST API: Marketo reports no count of the records read through the REST API, lead
+     * activities included. The runtime derives the partition size from it, so lead activities are split in as many
+     * windows as the requested parallelism.
+     */
     @Assessor
     public long estimateSize() {
         return REST_API_LIMIT;
     }
 
+    /**
+     * Lead activities are read in contiguous activity date windows, each one paged by its own reader. Readers are
+     * bounded by the concurrent calls allowed by Marketo.
+     */
     @Split
     public List<MarketoInputMapper> split(@PartitionSize final long bundles) {
-        return Collections.singletonList(this);
+        if (!isWindowed() || window != null || bundles <= 0) {
+            return Collections.singletonList(this);
+        }
+        final long size = estimateSize();
+        final int partitions = (int) Math.min(MAX_CONCURRENT_CALLS, (size + bundles - 1) / bundles);
+        if (partitions < 2) {
+            return Collections.singletonList(this);
+        }
+        final List<MarketoInputMapper> mappers = new ArrayList<>();
+        for (ActivityWindow w : ActivityWindow
+                .plan(ActivityWindow.since(configuration.getDataSet()), ZonedDateTime.now(), partitions)) {
+            mappers.add(new MarketoInputMapper(configuration, service, w));
+        }
+        log.debug("[split] lead activities in {} windows.", mappers.size());
+        return mappers;
     }
 
     @Emitter
     public MarketoSource createWorker() {
-        return new LeadSource(configuration, service);
+        return new LeadSource(configuration, service, window);
+    }
+
+    private boolean isWindowed() {
+        return LeadAction.getLeadActivity == configuration.getDataSet().getLeadAction();
     }
 
 }
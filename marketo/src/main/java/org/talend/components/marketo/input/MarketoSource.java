@@ -90,9 +90,21 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
             processBatch();
             next = resultIterator.hasNext() ? resultIterator.next() : null;
         }
+        if (next != null && isEndOfFlow(next.asJsonObject())) {
+            resultIterator = null;
+            nextPageToken = null;
+            return null;
+        }
         return next == null ? null : marketoService.convertToRecord(next.asJsonObject(), schema);
     }
 
+    /**
+     * Stops the flow before the given result, for readers which only own a part of the results.
+     */
+    protected boolean isEndOfFlow(final JsonObject result) {
+        return false;
+    }
+
     public void processBatch() {
         JsonObject result = runAction();
         nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
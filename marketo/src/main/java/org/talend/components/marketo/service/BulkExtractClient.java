@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import javax.json.JsonObject;
+
+import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpClient;
+import org.talend.sdk.component.api.service.http.Path;
+import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.Request;
+import org.talend.sdk.component.api.service.http.Response;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ENTITY;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_RANGE;
+import static org.talend.components.marketo.MarketoApiConstants.METHOD_POST;
+
+/**
+ * Client for Marketo Bulk Extract jobs.
+ *
+ * The entity path segment is one of <code>leads</code>, <code>activities</code> or <code>program_members</code>.
+ */
+public interface BulkExtractClient extends HttpClient {
+
+    /**
+     * Creates an export job with the given fields and filter. The job is not processed until it is enqueued.
+     *
+     * @param contentType application/json
+     * @param accessToken Marketo authorization token for API
+     * @param entity export entity path segment
+     * @param payload job definition (fields, format and filter)
+     * @return job description with its exportId
+     */
+    @Request(path = "/bulk/v1/{entity}/export/create.json", method = METHOD_POST)
+    Response<JsonObject> createExportJob( //
+            @Header(HEADER_CONTENT_TYPE) String contentType, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            @Path(ATTR_ENTITY) String entity, //
+            JsonObject payload //
+    );
+
+    /**
+     * Puts a created export job in the processing queue.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param entity export entity path segment
+     * @param exportId job identifier
+     * @return job description
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/enqueue.json", method = METHOD_POST)
+    Response<JsonObject> enqueueExportJob( //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId //
+    );
+
+    /**
+     * Returns the status of an export job.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param entity export entity path segment
+     * @param exportId job identifier
+     * @return job description with its status
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/status.json")
+    Response<JsonObject> getExportJobStatus( //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId //
+    );
+
+    /**
+     * Returns a byte range of the file of a completed export job. The whole file is returned when the range is not
+     * honored.
+     *
+     * @param range byte range, as <code>bytes=first-last</code>
+     * @param accessToken Marketo authorization token for API
+     * @param entity export entity path segment
+     * @param exportId job identifier
+     * @return the requested part of the CSV file
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/file.json")
+    Response<byte[]> getExportJobFile( //
+            @Header(HEADER_RANGE) String range, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId //
+    );
+
+    /**
+     * Cancels an export job.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param entity export entity path segment
+     * @param exportId job identifier
+     * @return job description
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/cancel.json", method = METHOD_POST)
+    Response<JsonObject> cancelExportJob( //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId //
+    );
+
+    /**
+     * Returns metadata about program member fields.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @return
+     */
+    @Request(path = "/rest/v1/programs/members/describe.json")
+    Response<JsonObject> describeProgramMembers(@Query(ATTR_ACCESS_TOKEN) String accessToken);
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.datastore.MarketoDataStore;
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CODE;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
+import static org.talend.components.marketo.service.AuthorizationClient.ERROR_TOKEN_EXPIRED;
+
+/**
+ * JVM-wide scheduler for calls to a Marketo subscription, shared by all components using the same endpoint and client
+ * id.
+ *
+ * Marketo allows 100 calls per 20 seconds and 10 concurrent calls per subscription. Calls take a permit from a token
+ * bucket sized to these quotas, waiting callers are served in arrival order so that concurrent components share the
+ * quota fairly. The access token is cached and renewed before it expires instead of being requested by each
+ * component.
+ *
+ * When Marketo still rejects a call for exceeding its rate (606) or concurrency (615) limit, every caller of the
+ * subscription is paused before the retry: for the Retry-After delay when the response gives one, otherwise for the
+ * quota period on 606 and for a delay doubling from one second on 615.
+ */
+@Slf4j
+public class MarketoCallScheduler {
+
+    public static final int CALLS_PER_PERIOD = 100;
+
+    public static final long PERIOD_MILLIS = 20_000L;
+
+    public static final int MAX_CONCURRENT_CALLS = 10;
+
+    public static final int MAX_THROTTLE_RETRIES = 5;
+
+    /** first pause after a concurrency limit rejection, doubled on each new rejection up to the quota period. */
+    static final long CONCURRENCY_BACKOFF_MILLIS = 1_000L;
+
+    /** access token is renewed this long before its announced expiration. */
+    static final long TOKEN_RENEWAL_MARGIN_MILLIS = 60_000L;
+
+    static final String ERROR_RATE_LIMIT = "606";
+
+    static final String ERROR_CONCURRENCY_LIMIT = "615";
+
+    static final String ATTR_EXPIRES_IN = "expires_in";
+
+    static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    private static final ConcurrentMap<String, MarketoCallScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+
+    private final String key;
+
+    private final int capacity;
+
+    private final long periodMillis;
+
+    private final double permitsPerNano;
+
+    /** fair lock: callers waiting for a permit are served first come, first served. */
+    private final ReentrantLock bucketLock = new ReentrantLock(true);
+
+    private final Semaphore concurrentCalls = new Semaphore(MAX_CONCURRENT_CALLS, true);
+
+    private double availablePermits;
+
+    private long lastRefill;
+
+    /** no permit is given before this time (nano time), set when Marketo rejects a call for its limits. */
+    private long pausedUntil;
+
+    private final Object tokenLock = new Object();
+
+    private volatile String accessToken;
+
+    private volatile long accessTokenExpiresAt;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder waits = new LongAdder();
+
+    private final LongAdder waitedMillis = new LongAdder();
+
+    private final LongAdder throttles = new LongAdder();
+
+    private final LongAdder tokenRefreshes = new LongAdder();
+
+    MarketoCallScheduler(final String key, final int capacity, final long periodMillis) {
+        this.key = key;
+        this.capacity = capacity;
+        this.periodMillis = periodMillis;
+        this.permitsPerNano = (double) capacity / TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.availablePermits = capacity;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * @param dataStore Marketo connection
+     * @return the scheduler shared by all components calling the same subscription with the same client id
+     */
+    public static MarketoCallScheduler of(final MarketoDataStore dataStore) {
+        final String key = dataStore.getEndpoint() + "|" + dataStore.getClientId();
+        return SCHEDULERS.computeIfAbsent(key, k -> new MarketoCallScheduler(k, CALLS_PER_PERIOD, PERIOD_MILLIS));
+    }
+
+    /**
+     * Returns the cached access token, requesting a new one when none is cached or when it is about to expire.
+     *
+     * @param tokenRequest identity call returning the access token payload
+     * @return a valid access token
+     */
+    public String getAccessToken(final Supplier<Response<JsonObject>> tokenRequest) {
+        if (accessToken != null && System.currentTimeMillis() < accessTokenExpiresAt) {
+            return accessToken;
+        }
+        synchronized (tokenLock) {
+            if (accessToken == null || System.currentTimeMillis() >= accessTokenExpiresAt) {
+                final Response<JsonObject> response = tokenRequest.get();
+                if (response.status() != HTTP_STATUS_OK || response.body() == null) {
+                    throw new MarketoRuntimeException(
+                            String.format("[%s] %s", response.status(), response.headers()));
+                }
+                final long expiresIn = TimeUnit.SECONDS.toMillis(response.body().getInt(ATTR_EXPIRES_IN, 3600));
+                accessTokenExpiresAt =
+                        System.currentTimeMillis() + Math.max(0, expiresIn - TOKEN_RENEWAL_MARGIN_MILLIS);
+                accessToken = response.body().getString(ATTR_ACCESS_TOKEN);
+                tokenRefreshes.increment();
+                log.debug("[getAccessToken] [{}] access token renewed, valid for {}ms.", key, expiresIn);
+            }
+            return accessToken;
+        }
+    }
+
+    /**
+     * Drops the cached access token, the next call requests a new one.
+     */
+    public void invalidateAccessToken() {
+        synchronized (tokenLock) {
+            accessToken = null;
+        }
+    }
+
+    /**
+     * Runs a Marketo API call once a permit is available. Calls rejected by Marketo for exceeding the rate or the
+     * concurrency limit are retried after a pause of all the callers, calls rejected for an expired token are retried
+     * once with a new token.
+     *
+     * @param call the API call, invoked again on retry
+     * @param <T> response body type, errors are only looked for in JSON bodies
+     * @return the call response
+     */
+    public <T> Response<T> execute(final Supplier<Response<T>> call) {
+        boolean tokenRenewed = false;
+        int throttled = 0;
+        while (true) {
+            final Response<T> response;
+            try {
+                acquire();
+                concurrentCalls.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MarketoRuntimeException(e.getMessage());
+            }
+            try {
+                response = call.get();
+            } finally {
+                concurrentCalls.release();
+                calls.increment();
+            }
+            final String error = findError(response);
+            if ((ERROR_RATE_LIMIT.equals(error) || ERROR_CONCURRENCY_LIMIT.equals(error))
+                    && throttled < MAX_THROTTLE_RETRIES) {
+                throttled++;
+                throttles.increment();
+                final long delay = throttleDelay(response, error, throttled);
+                log.warn("[execute] [{}] throttled by Marketo ({}), retry {}/{} in {}ms. {}", key, error, throttled,
+                        MAX_THROTTLE_RETRIES, delay, this);
+                pause(delay);
+            } else if (ERROR_TOKEN_EXPIRED.equals(error) && !tokenRenewed) {
+                tokenRenewed = true;
+                invalidateAccessToken();
+            } else {
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit from the bucket, waiting for it to refill when empty.
+     */
+    void acquire() throws InterruptedException {
+        bucketLock.lockInterruptibly();
+        try {
+            final long pauseNanos = pausedUntil - System.nanoTime();
+            if (pauseNanos > 0) {
+                waits.increment();
+                waitedMillis.add(TimeUnit.NANOSECONDS.toMillis(pauseNanos));
+                TimeUnit.NANOSECONDS.sleep(pauseNanos);
+            }
+            refill();
+            if (availablePermits < 1) {
+                final long waitNanos = (long) Math.ceil((1 - availablePermits) / permitsPerNano);
+                waits.increment();
+                waitedMillis.add(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                // the lock is kept while waiting: next callers queue behind in arrival order
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+                refill();
+            }
+            availablePermits -= 1;
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        availablePermits = Math.min(capacity, availablePermits + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+
+    /**
+     * Marketo counts calls on its side too: empty the bucket and give no permit to any caller before the delay.
+     */
+    private void pause(final long delayMillis) {
+        bucketLock.lock();
+        try {
+            refill();
+            availablePermits = Math.min(availablePermits, 0);
+            final long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    /**
+     * @param retry number of the retry, from 1
+     * @return the pause before retrying a call rejected for the given error
+     */
+    long throttleDelay(final Response<?> response, final String error, final int retry) {
+        final Long retryAfter = getRetryAfter(response);
+        if (retryAfter != null) {
+            return retryAfter;
+        }
+        if (ERROR_RATE_LIMIT.equals(error)) {
+            return periodMillis;
+        }
+        // calls in flight end quickly, the concurrency limit is usually released sooner than the quota period
+        return Math.min(periodMillis, CONCURRENCY_BACKOFF_MILLIS << Math.min(retry - 1, 20));
+    }
+
+    private static Long getRetryAfter(final Response<?> response) {
+        if (response.headers() == null) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+            if (HEADER_RETRY_AFTER.equalsIgnoreCase(header.getKey()) && header.getValue() != null
+                    && !header.getValue().isEmpty()) {
+                try {
+                    return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().get(0).trim()));
+                } catch (NumberFormatException e) {
+                    log.debug("[getRetryAfter] Unparseable Retry-After header: {}.", header.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String findError(final Response<?> response) {
+        if (response.status() != HTTP_STATUS_OK || !(response.body() instanceof JsonObject)) {
+            return null;
+        }
+        final JsonValue errors = ((JsonObject) response.body()).get(ATTR_ERRORS);
+        if (errors == null || errors.getValueType() != JsonValue.ValueType.ARRAY) {
+            return null;
+        }
+        final JsonArray array = errors.asJsonArray();
+        return array.isEmpty() ? null : array.getJsonObject(0).getString(ATTR_CODE, null);
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    public long getWaitedMillis() {
+        return waitedMillis.sum();
+    }
+
+    public long getThrottles() {
+        return throttles.sum();
+    }
+
+    public long getTokenRefreshes() {
+        return tokenRefreshes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String
+                .format("MarketoCallScheduler{%s, calls=%d, waits=%d, waitedMillis=%d, throttles=%d, "
+                        + "tokenRefreshes=%d}", key, getCalls(), getWaits(), getWaitedMillis(), getThrottles(),
+                        getTokenRefreshes());
+    }
+
+}
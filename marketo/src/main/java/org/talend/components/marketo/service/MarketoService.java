@@ -18,6 +18,8 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.json.JsonArray;
 import javax.json.JsonBuilderFactory;
@@ -48,7 +50,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
-import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_DATE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_ID;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ATTRIBUTES;
@@ -125,6 +126,10 @@ public class MarketoService {
     @Service
     protected ListClient listClient;
 
+    @Getter
+    @Service
+    protected BulkExtractClient bulkExtractClient;
+
     public void initClients(MarketoDataStore dataStore) {
         authorizationClient.base(dataStore.getEndpoint());
         leadClient.base(dataStore.getEndpoint());
@@ -132,24 +137,59 @@ public class MarketoService {
         customObjectClient.base(dataStore.getEndpoint());
         companyClient.base(dataStore.getEndpoint());
         opportunityClient.base(dataStore.getEndpoint());
+        bulkExtractClient.base(dataStore.getEndpoint());
     }
 
     /**
      * Retrieve an set an access token for using API
      */
     public String retrieveAccessToken(@Configuration("configuration") final MarketoDataSet dataSet) {
-        initClients(dataSet.getDataStore());
-        Response<JsonObject> result = authorizationClient
-                .getAuthorizationToken(CLIENT_CREDENTIALS,
-                        dataSet.getDataStore().getClientId(), dataSet.getDataStore().getClientSecret());
-        log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
-        if (result.status() == 200) {
-            return result.body().getString(ATTR_ACCESS_TOKEN);
-        } else {
-            String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
-            log.error("[retrieveAccessToken] {}", error);
-            throw new MarketoRuntimeException(error);
-        }
+        return retrieveAccessToken(dataSet.getDataStore());
+    }
+
+    /**
+     * @param dataStore Marketo connection
+     * @return the access token shared by the components calling the subscription
+     */
+    public String retrieveAccessToken(final MarketoDataStore dataStore) {
+        return MarketoCallScheduler.of(dataStore).getAccessToken(() -> {
+            initClients(dataStore);
+            Response<JsonObject> result = authorizationClient
+                    .getAuthorizationToken(CLIENT_CREDENTIALS, dataStore.getClientId(), dataStore.getClientSecret());
+            log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
+            if (result.status() != 200) {
+                String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
+                log.error("[retrieveAccessToken] {}", error);
+                throw new MarketoRuntimeException(error);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Runs an API call once the shared scheduler of the subscription allows it.
+     *
+     * @param dataStore Marketo connection
+     * @param call API call
+     * @param <T> response body type
+     * @return raw API response
+     */
+    public <T> Response<T> schedule(final MarketoDataStore dataStore, final Supplier<Response<T>> call) {
+        return MarketoCallScheduler.of(dataStore).execute(call);
+    }
+
+    /**
+     * Runs an API call with the shared access token once the scheduler of the subscription allows it, the token is
+     * read again before each attempt.
+     *
+     * @param dataStore Marketo connection
+     * @param call API call taking the access token
+     * @return raw API response
+     */
+    public Response<JsonObject> scheduleWithToken(final MarketoDataStore dataStore,
+            final Function<String, Response<JsonObject>> call) {
+        initClients(dataStore);
+        return schedule(dataStore, () -> call.apply(retrieveAccessToken(dataStore)));
     }
 
     public String getFieldsFromDescribeFormatedForApi(JsonArray fields) {
@@ -203,10 +243,8 @@ public class MarketoService {
 
     public Schema getEntitySchema(final MarketoDataStore dataStore) {
         try {
-            initClients(dataStore);
-            String accessToken = authorizationClient.getAccessToken(dataStore);
-            JsonArray entitySchema = null;
-            entitySchema = parseResultFromResponse(leadClient.describeLead(accessToken));
+            JsonArray entitySchema =
+                    parseResultFromResponse(scheduleWithToken(dataStore, leadClient::describeLead));
             return getSchemaForEntity(entitySchema);
         } catch (Exception e) {
             log.error(i18n.exceptionOccured(e.getMessage()));
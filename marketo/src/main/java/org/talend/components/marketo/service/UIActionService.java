@@ -103,9 +103,7 @@ public class UIActionService extends MarketoService {
     @Suggestions(LEAD_KEY_NAME_LIST)
     public SuggestionValues suggestLeadKeyNames(@Option final MarketoDataStore dataStore) {
         try {
-            initClients(dataStore);
-            JsonArray sf =
-                    parseResultFromResponse(leadClient.describeLead2(authorizationClient.getAccessToken(dataStore)));
+            JsonArray sf = parseResultFromResponse(scheduleWithToken(dataStore, leadClient::describeLead2));
             List<String> f = sf
                     .getJsonObject(0)
                     .getJsonArray(MarketoApiConstants.ATTR_SEARCHABLE_FIELDS)
@@ -143,10 +141,8 @@ public class UIActionService extends MarketoService {
     public SuggestionValues getActivities(@Option final MarketoDataStore dataStore) {
         log.debug("[getActivities] {}.", dataStore);
         try {
-            initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
             List<Item> activities = new ArrayList<>();
-            for (JsonObject act : parseResultFromResponse(leadClient.getActivities(aToken))
+            for (JsonObject act : parseResultFromResponse(scheduleWithToken(dataStore, leadClient::getActivities))
                     .getValuesAs(JsonObject.class)) {
                 activities
                         .add(new SuggestionValues.Item(String.valueOf(act.getInt(ATTR_ID)), act.getString(ATTR_NAME)));
@@ -230,11 +226,12 @@ public class UIActionService extends MarketoService {
 
     }
 
-    private ListsPage getListsPage(String token, String nextPage) {
+    private ListsPage getListsPage(MarketoDataStore dataStore, String nextPage) {
         List<Item> lists = new ArrayList<>();
         Consumer<JsonObject> listConsumer =
                 l -> lists.add(new Item(String.valueOf(l.getInt(ATTR_ID)), l.getString(ATTR_NAME)));
-        JsonObject result = handleResponse(listClient.getLists(token, nextPage, null, "", "", ""));
+        JsonObject result = handleResponse(
+                scheduleWithToken(dataStore, token -> listClient.getLists(token, nextPage, null, "", "", "")));
         String nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
         if (result.getJsonArray(ATTR_RESULT) != null) {
             result.getJsonArray(ATTR_RESULT).getValuesAs(JsonObject.class).forEach(listConsumer);
@@ -248,12 +245,10 @@ public class UIActionService extends MarketoService {
         List<Item> lists = new ArrayList<>();
         Predicate<String> hasNextPageToken = token -> token != null && !token.isEmpty();
         try {
-            initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
-            ListsPage result = getListsPage(aToken, null);
+            ListsPage result = getListsPage(dataStore, null);
             lists.addAll(result.getLists());
             while (hasNextPageToken.test(result.getNextPageToken())) {
-                result = getListsPage(aToken, result.getNextPageToken());
+                result = getListsPage(dataStore, result.getNextPageToken());
                 lists.addAll(result.getLists());
             }
             return new SuggestionValues(true, lists);
@@ -280,10 +275,9 @@ public class UIActionService extends MarketoService {
     public SuggestionValues getCustomObjectNames(@Option final MarketoDataStore dataStore) {
         log.debug("[getCustomObjectNames] {}.", dataStore);
         try {
-            initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
             List<Item> coNames = new ArrayList<>();
-            for (JsonObject l : parseResultFromResponse(customObjectClient.listCustomObjects(aToken, ""))
+            for (JsonObject l : parseResultFromResponse(
+                    scheduleWithToken(dataStore, token -> customObjectClient.listCustomObjects(token, "")))
                     .getValuesAs(JsonObject.class)) {
                 coNames.add(new SuggestionValues.Item(String.valueOf(l.getString(ATTR_NAME)), l.getString(ATTR_NAME)));
             }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ActivityWindowTest {
+
+    private static final ZonedDateTime SINCE = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void planContiguousWindows() {
+        final List<ActivityWindow> windows = ActivityWindow.plan(SINCE, SINCE.plusDays(4), 4);
+        Assertions.assertEquals(4, windows.size());
+        Assertions.assertEquals(SINCE, windows.get(0).getSince());
+        for (int i = 1; i < windows.size(); i++) {
+            Assertions.assertEquals(windows.get(i - 1).getUntil(), windows.get(i).getSince());
+        }
+        Assertions.assertEquals(SINCE.plusDays(1), windows.get(0).getUntil());
+        Assertions.assertNull(windows.get(3).getUntil());
+    }
+
+    @Test
+    void planSingleWindow() {
+        final List<ActivityWindow> windows = ActivityWindow.plan(SINCE, SINCE.plusDays(4), 1);
+        Assertions.assertEquals(1, windows.size());
+        Assertions.assertNull(windows.get(0).getUntil());
+    }
+
+    @Test
+    void activityAfterWindow() {
+        final ActivityWindow window = new ActivityWindow(SINCE, SINCE.plusHours(1));
+        Assertions.assertFalse(window.isAfterWindow(SINCE.plusMinutes(59)));
+        Assertions.assertTrue(window.isAfterWindow(SINCE.plusHours(1)));
+        Assertions.assertFalse(new ActivityWindow(SINCE, null).isAfterWindow(SINCE.plusYears(1)));
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.talend.components.marketo.MarketoBaseTest;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration.BulkEntity;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.http.Response;
+import org.talend.sdk.component.junit.http.junit5.HttpApi;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@WithComponents("org.talend.components.marketo")
+@HttpApi(useSsl = true)
+class BulkExtractSourceTest extends MarketoBaseTest {
+
+    @Test
+    void testSource() {
+        final MarketoBulkInputConfiguration configuration = new MarketoBulkInputConfiguration();
+        configuration.setDataSet(dataSet);
+        configuration.setBulkEntity(BulkEntity.activities);
+        configuration.setSinceDateTime("2020-01-01 00:00:00");
+        configuration.setUntilDateTime("2020-01-10 00:00:00");
+        configuration.setPollInterval(1);
+        final BulkExtractSource source =
+                new BulkExtractSource(configuration, service, BulkExtractWindow.plan(configuration), 1);
+
+        source.init();
+        final List<Record> records = new ArrayList<>();
+        Record record = source.next();
+        while (record != null) {
+            records.add(record);
+            record = source.next();
+        }
+        source.release();
+
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals("101", records.get(0).getString("leadId"));
+        Assertions.assertEquals("Visit Web Page", records.get(0).getString("primaryAttributeValue"));
+        Assertions.assertEquals("102", records.get(1).getString("leadId"));
+        Assertions.assertEquals("Fill Out Form, Contact", records.get(1).getString("primaryAttributeValue"));
+    }
+
+    @Test
+    void readFileByRanges() throws IOException {
+        final byte[] file = "leadId\n1\n22\n333\n".getBytes(StandardCharsets.UTF_8);
+        final List<String> ranges = new ArrayList<>();
+        final InputStream stream = new BulkExportFileStream(range -> {
+            ranges.add(range);
+            final String[] bounds = range.substring("bytes=".length()).split("-");
+            final int first = Integer.parseInt(bounds[0]);
+            if (first >= file.length) {
+                return response(416, new byte[0], Collections.emptyMap());
+            }
+            final int last = Math.min(Integer.parseInt(bounds[1]), file.length - 1);
+            final byte[] chunk = new byte[last - first + 1];
+            System.arraycopy(file, first, chunk, 0, chunk.length);
+            return response(206, chunk, Collections
+                    .singletonMap("content-range",
+                            Collections.singletonList("bytes " + first + "-" + last + "/" + file.length)));
+        }, r -> new MarketoRuntimeException(String.valueOf(r.status())), 4);
+
+        Assertions.assertArrayEquals(file, readAll(stream));
+        // 16 bytes: the total from Content-Range ends the stream without an extra request
+        Assertions.assertEquals(4, ranges.size());
+        Assertions.assertEquals("bytes=12-15", ranges.get(3));
+    }
+
+    @Test
+    void readFileWithoutRangeSupport() throws IOException {
+        final byte[] file = "leadId\n1\n".getBytes(StandardCharsets.UTF_8);
+        final List<String> ranges = new ArrayList<>();
+        final InputStream stream = new BulkExportFileStream(range -> {
+            ranges.add(range);
+            return response(200, file, Collections.emptyMap());
+        }, r -> new MarketoRuntimeException(String.valueOf(r.status())), 4);
+
+        Assertions.assertArrayEquals(file, readAll(stream));
+        Assertions.assertEquals(1, ranges.size());
+    }
+
+    @Test
+    void readFileFailure() {
+        final InputStream stream = new BulkExportFileStream(range -> response(404, null, Collections.emptyMap()),
+                r -> new MarketoRuntimeException(String.valueOf(r.status())), 4);
+
+        final MarketoRuntimeException error = Assertions.assertThrows(MarketoRuntimeException.class, stream::read);
+        Assertions.assertEquals("404", error.getMessage());
+    }
+
+    private static byte[] readAll(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[3];
+        int read;
+        while ((read = stream.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static Response<byte[]> response(final int status, final byte[] body,
+            final Map<String, List<String>> headers) {
+        return new Response<byte[]>() {
+
+            @Override
+            public int status() {
+                return status;
+            }
+
+            @Override
+            public Map<String, List<String>> headers() {
+                return headers;
+            }
+
+            @Override
+            public byte[] body() {
+                return body;
+            }
+
+            @Override
+            public <E> E error(final Class<E> type) {
+                return null;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration;
+import org.talend.components.marketo.dataset.MarketoBulkInputConfiguration.BulkEntity;
+
+class BulkExtractWindowTest {
+
+    @Test
+    void planConsecutiveWindows() {
+        final MarketoBulkInputConfiguration configuration = new MarketoBulkInputConfiguration();
+        configuration.setBulkEntity(BulkEntity.activities);
+        configuration.setSinceDateTime("2020-01-01 00:00:00");
+        configuration.setUntilDateTime("2020-03-01 12:00:00");
+        configuration.setWindowSizeDays(31);
+
+        final List<BulkExtractWindow> windows = BulkExtractWindow.plan(configuration);
+        Assertions.assertEquals(2, windows.size());
+        final OffsetDateTime start = OffsetDateTime.parse(windows.get(0).getStartAt());
+        final OffsetDateTime end = OffsetDateTime.parse(windows.get(0).getEndAt());
+        final OffsetDateTime next = OffsetDateTime.parse(windows.get(1).getStartAt());
+        // bounds are inclusive, windows must not share their boundary
+        Assertions.assertEquals(start.plusDays(31), next);
+        Assertions.assertEquals(next.minusSeconds(1), end);
+        Assertions.assertEquals(31 * 24 * 3600 - 1, ChronoUnit.SECONDS.between(start, end));
+        Assertions.assertTrue(windows.get(1).getEndAt().startsWith("2020-03-01T12:00:00"));
+    }
+
+    @Test
+    void planProgramMembers() {
+        final MarketoBulkInputConfiguration configuration = new MarketoBulkInputConfiguration();
+        configuration.setBulkEntity(BulkEntity.programMembers);
+
+        final List<BulkExtractWindow> windows = BulkExtractWindow.plan(configuration);
+        Assertions.assertEquals(1, windows.size());
+        Assertions.assertTrue(windows.get(0).isUnbounded());
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.http.Response;
+
+class MarketoCallSchedulerTest {
+
+    @Test
+    void waitWhenBucketIsEmpty() throws InterruptedException {
+        final MarketoCallScheduler scheduler = new MarketoCallScheduler("test", 2, 400);
+        final long start = System.currentTimeMillis();
+        scheduler.acquire();
+        scheduler.acquire();
+        Assertions.assertEquals(0, scheduler.getWaits());
+        scheduler.acquire();
+        Assertions.assertEquals(1, scheduler.getWaits());
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 150);
+    }
+
+    @Test
+    void retryThrottledCall() {
+        final MarketoCallScheduler scheduler = new MarketoCallScheduler("test", 100, 20);
+        final AtomicInteger attempts = new AtomicInteger();
+        final Response<JsonObject> response = scheduler.execute(() -> attempts.incrementAndGet() == 1 //
+                ? response(error("606"))
+                : response(Json.createObjectBuilder().add("success", true).build()));
+        Assertions.assertTrue(response.body().getBoolean("success"));
+        Assertions.assertEquals(2, scheduler.getCalls());
+        Assertions.assertEquals(1, scheduler.getThrottles());
+    }
+
+    @Test
+    void pauseForQuotaPeriodOnRateLimit() {
+        final MarketoCallScheduler scheduler = new MarketoCallScheduler("test", 100, 300);
+        final AtomicInteger attempts = new AtomicInteger();
+        final long start = System.currentTimeMillis();
+        final Response<JsonObject> response = scheduler
+                .execute(() -> attempts.incrementAndGet() == 1 ? response(error("606"))
+                        : response(Json.createObjectBuilder().add("success", true).build()));
+        Assertions.assertTrue(response.body().getBoolean("success"));
+        // the retry waits for the whole quota period, not only for one permit
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 250);
+        Assertions.assertEquals(1, scheduler.getWaits());
+    }
+
+    @Test
+    void throttleDelay() {
+        final MarketoCallScheduler scheduler = new MarketoCallScheduler("test", 100, 20_000);
+        final Response<JsonObject> noHeader = response(error("606"));
+        Assertions.assertEquals(20_000L, scheduler.throttleDelay(noHeader, "606", 1));
+        Assertions.assertEquals(1_000L, scheduler.throttleDelay(noHeader, "615", 1));
+        Assertions.assertEquals(4_000L, scheduler.throttleDelay(noHeader, "615", 3));
+        Assertions.assertEquals(20_000L, scheduler.throttleDelay(noHeader, "615", 10));
+        final Response<JsonObject> retryAfter =
+                response(error("615"), Collections.singletonMap("retry-after", Collections.singletonList("7")));
+        Assertions.assertEquals(7_000L, scheduler.throttleDelay(retryAfter, "615", 1));
+    }
+
+    @Test
+    void cacheAccessToken() {
+        final MarketoCallScheduler scheduler = new MarketoCallScheduler("test", 100, 20_000);
+        final AtomicInteger requests = new AtomicInteger();
+        final JsonObject token = Json.createObjectBuilder().add("access_token", "abc").add("expires_in", 3599).build();
+        Assertions.assertEquals("abc", scheduler.getAccessToken(() -> {
+            requests.incrementAndGet();
+            return response(token);
+        }));
+        Assertions.assertEquals("abc", scheduler.getAccessToken(() -> {
+            requests.incrementAndGet();
+            return response(token);
+        }));
+        Assertions.assertEquals(1, requests.get());
+        scheduler.invalidateAccessToken();
+        scheduler.getAccessToken(() -> {
+            requests.incrementAndGet();
+            return response(token);
+        });
+        Assertions.assertEquals(2, requests.get());
+        Assertions.assertEquals(2, scheduler.getTokenRefreshes());
+    }
+
+    private static JsonObject error(final String code) {
+        return Json
+                .createObjectBuilder()
+                .add("success", false)
+                .add("errors", Json.createArrayBuilder().add(Json.createObjectBuilder().add("code", code)))
+                .build();
+    }
+
+    private static Response<JsonObject> response(final JsonObject body) {
+        return response(body, Collections.emptyMap());
+    }
+
+    private static Response<JsonObject> response(final JsonObject body, final Map<String, List<String>> headers) {
+        return new Response<JsonObject>() {
+
+            @Override
+            public int status() {
+                return 200;
+            }
+
+            @Override
+            public Map<String, List<String>> headers() {
+                return headers;
+            }
+
+            @Override
+            public JsonObject body() {
+                return body;
+            }
+
+            @Override
+            public <E> E error(final Class<E> type) {
+                return null;
+            }
+        };
+    }
+
+}
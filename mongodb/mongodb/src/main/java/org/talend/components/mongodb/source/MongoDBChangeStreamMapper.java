@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.source;
+
+import org.talend.components.mongodb.service.MongoDBService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+@Version(1)
+@Icon(value = Icon.IconType.CUSTOM, custom = "mongo_db-connector")
+@PartitionMapper(name = "ChangeStreamSource", infinite = true)
+@Documentation("MongoDB streaming source reading the change stream of a collection")
+public class MongoDBChangeStreamMapper implements Serializable {
+
+    private final MongoDBChangeStreamSourceConfiguration configuration;
+
+    private final MongoDBService service;
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    public MongoDBChangeStreamMapper(
+            @Option("configuration") final MongoDBChangeStreamSourceConfiguration configuration,
+            final MongoDBService service, final RecordBuilderFactory recordBuilderFactory) {
+        this.configuration = configuration;
+        this.service = service;
+        this.recordBuilderFactory = recordBuilderFactory;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        return 1L;
+    }
+
+    @Split
+    public List<MongoDBChangeStreamMapper> split(@PartitionSize final long bundles) {
+        // a change stream is a single ordered cursor, resume tokens can't be shared between workers
+        return singletonList(this);
+    }
+
+    @Emitter
+    public MongoDBChangeStreamReader createWorker() {
+        return new MongoDBChangeStreamReader(configuration, service, recordBuilderFactory);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.source;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.talend.components.common.stream.input.json.JsonToRecord;
+import org.talend.components.mongo.datastore.MongoCommonDataStore;
+import org.talend.components.mongo.service.DocumentToRecord;
+import org.talend.components.mongo.source.MongoCommonInput;
+import org.talend.components.mongodb.AggregationStage;
+import org.talend.components.mongodb.FullDocumentLookup;
+import org.talend.components.mongodb.dataset.MongoDBReadAndWriteDataSet;
+import org.talend.components.mongodb.service.MongoDBService;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Documentation("This component reads the change events of a MongoDB collection.")
+public class MongoDBChangeStreamReader extends MongoCommonInput {
+
+    public static final String RESUME_TOKEN = "_resumeToken";
+
+    public static final String OPERATION_TYPE = "operationType";
+
+    public static final String CLUSTER_TIME = "clusterTime";
+
+    public static final String DOCUMENT_KEY = "documentKey";
+
+    public static final String FULL_DOCUMENT = "fullDocument";
+
+    public static final String UPDATED_FIELDS = "updatedFields";
+
+    public static final String REMOVED_FIELDS = "removedFields";
+
+    private final MongoDBChangeStreamSourceConfiguration configuration;
+
+    private MongoDBService service;
+
+    private transient MongoClient client;
+
+    private transient MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    private transient DocumentCodec documentCodec;
+
+    /** resume token of the last event processed downstream, the one the checkpoint saves */
+    private transient BsonDocument lastResumeToken;
+
+    /** resume token of the event returned by the last call, processed once the runtime asks for the next one */
+    private transient BsonDocument pendingResumeToken;
+
+    private transient long eventsSinceCheckpoint;
+
+    /** number of change events emitted by this reader */
+    @Getter
+    private transient long eventCount;
+
+    /** delay between the cluster time of the last event and its emission, in milliseconds */
+    @Getter
+    private transient long lastLagMillis;
+
+    /** highest lag observed since the reader started, in milliseconds */
+    @Getter
+    private transient long maxLagMillis;
+
+    public MongoDBChangeStreamReader(
+            @Option("configuration") final MongoDBChangeStreamSourceConfiguration configuration,
+            final MongoDBService service, final RecordBuilderFactory builderFactory) {
+        super.configuration = this.configuration = configuration;
+        super.service = this.service = service;
+        this.builderFactory = builderFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        jsonToRecord = new JsonToRecord(this.builderFactory);
+        documentToRecord = new DocumentToRecord(this.builderFactory);
+        documentCodec = new DocumentCodec();
+
+        MongoDBReadAndWriteDataSet dataset = configuration.getDataset();
+        MongoCommonDataStore datastore = dataset.getDatastore();
+        client = service.createClient(datastore);
+        MongoCollection<Document> collection =
+                client.getDatabase(datastore.getDatabase()).getCollection(dataset.getCollection());
+
+        List<BsonDocument> pipeline = new ArrayList<>();
+        if (configuration.getPipeline() != null) {
+            for (AggregationStage stage : configuration.getPipeline()) {
+                pipeline.add(service.getBsonDocument(stage.getStage()));
+            }
+        }
+
+        ChangeStreamIterable<Document> changeStream = collection.watch(pipeline);
+        if (configuration.getFullDocument() == FullDocumentLookup.UPDATE_LOOKUP) {
+            changeStream = changeStream.fullDocument(FullDocument.UPDATE_LOOKUP);
+        }
+        if (configuration.getBatchSize() > 0) {
+            changeStream = changeStream.batchSize(configuration.getBatchSize());
+        }
+        changeStream = changeStream.maxAwaitTime(configuration.getMaxAwaitTime(), TimeUnit.MILLISECONDS);
+
+        BsonDocument startAfter = loadResumeToken();
+        if (startAfter != null) {
+            log.info("resume change stream on {} after {}", dataset.getCollection(), startAfter.toJson());
+            changeStream = changeStream.resumeAfter(startAfter);
+        }
+
+        cursor = changeStream.cursor();
+    }
+
+    private BsonDocument loadResumeToken() {
+        String checkpointFile = configuration.getCheckpointFile();
+        if (checkpointFile != null && !checkpointFile.trim().isEmpty()) {
+            Path path = Paths.get(checkpointFile);
+            if (Files.exists(path)) {
+                try {
+                    String token = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+                    if (!token.isEmpty()) {
+                        return BsonDocument.parse(token);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("can't read change stream checkpoint " + checkpointFile, e);
+                }
+            }
+        }
+
+        String resumeToken = configuration.getResumeToken();
+        if (resumeToken != null && !resumeToken.trim().isEmpty()) {
+            return BsonDocument.parse(resumeToken);
+        }
+        return null;
+    }
+
+    @Producer
+    public Record next() {
+        // the runtime asks for a record once the previous one went through the downstream components
+        if (pendingResumeToken != null) {
+            lastResumeToken = pendingResumeToken;
+            pendingResumeToken = null;
+            if (++eventsSinceCheckpoint >= configuration.getCheckpointInterval()) {
+                checkpoint();
+            }
+        }
+
+        // non blocking, the server waits at most maxAwaitTime and the runtime calls back on null
+        ChangeStreamDocument<Document> event = cursor.tryNext();
+        if (event == null) {
+            // even without event the server may move the post batch resume token forward
+            BsonDocument token = cursor.getResumeToken();
+            if (token != null) {
+                lastResumeToken = token;
+            }
+            return null;
+        }
+
+        pendingResumeToken = event.getResumeToken();
+        updateLag(event.getClusterTime());
+        eventCount++;
+
+        return doConvert(toDocument(event));
+    }
+
+    private void updateLag(BsonTimestamp clusterTime) {
+        if (clusterTime == null) {
+            return;
+        }
+        lastLagMillis = Math.max(0, System.currentTimeMillis() - clusterTime.getTime() * 1000L);
+        maxLagMillis = Math.max(maxLagMillis, lastLagMillis);
+    }
+
+    /**
+     * Flatten the change event in a document, so it goes through the same conversion as the batch readers.
+     */
+    Document toDocument(ChangeStreamDocument<Document> event) {
+        Document document = new Document();
+        document.put(RESUME_TOKEN, event.getResumeToken() == null ? null : event.getResumeToken().toJson());
+        document.put(OPERATION_TYPE, event.getOperationType() == null ? null : event.getOperationType().getValue());
+        if (event.getClusterTime() != null) {
+            document.put(CLUSTER_TIME, new Date(event.getClusterTime().getTime() * 1000L));
+        }
+        if (event.getDocumentKey() != null) {
+            document.put(DOCUMENT_KEY, decode(event.getDocumentKey()));
+        }
+        if (event.getFullDocument() != null) {
+            document.put(FULL_DOCUMENT, event.getFullDocument());
+        }
+        UpdateDescription updateDescription = event.getUpdateDescription();
+        if (updateDescription != null) {
+            if (updateDescription.getUpdatedFields() != null) {
+                document.put(UPDATED_FIELDS, decode(updateDescription.getUpdatedFields()));
+            }
+            if (updateDescription.getRemovedFields() != null) {
+                document.put(REMOVED_FIELDS, updateDescription.getRemovedFields());
+            }
+        }
+        return document;
+    }
+
+    private Document decode(BsonDocument bson) {
+        return documentCodec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    private void checkpoint() {
+        eventsSinceCheckpoint = 0;
+        log.info("change stream on {} : {} events, last lag {} ms, max lag {} ms",
+                configuration.getDataset().getCollection(), eventCount, lastLagMillis, maxLagMillis);
+
+        String checkpointFile = configuration.getCheckpointFile();
+        if (lastResumeToken == null || checkpointFile == null || checkpointFile.trim().isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(checkpointFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // write then rename, a crash never leaves a truncated token behind
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(tmp, lastResumeToken.toJson().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("can't write change stream checkpoint {} : {}", checkpointFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        try {
+            if (cursor != null) {
+                // the runtime stops once the last returned event was processed
+                if (pendingResumeToken != null) {
+                    lastResumeToken = pendingResumeToken;
+                    pendingResumeToken = null;
+                }
+                checkpoint();
+                cursor.close();
+            }
+        } finally {
+            service.closeClient(client);
+        }
+    }
+
+}
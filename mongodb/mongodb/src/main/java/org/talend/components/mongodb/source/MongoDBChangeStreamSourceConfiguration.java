@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.source;
+
+import lombok.Data;
+import org.talend.components.mongo.dataset.MongoCommonDataSet;
+import org.talend.components.mongo.source.MongoCommonSourceConfiguration;
+import org.talend.components.mongodb.AggregationStage;
+import org.talend.components.mongodb.FullDocumentLookup;
+import org.talend.components.mongodb.dataset.MongoDBReadAndWriteDataSet;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import java.util.Collections;
+import java.util.List;
+
+@Version(1)
+@Data
+@GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }), //
+        @GridLayout.Row({ "fullDocument" }), //
+        @GridLayout.Row({ "pipeline" }) }),
+        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
+                @GridLayout.Row({ "resumeToken" }), @GridLayout.Row({ "checkpointFile" }),
+                @GridLayout.Row({ "checkpointInterval" }), @GridLayout.Row({ "batchSize" }),
+                @GridLayout.Row({ "maxAwaitTime" }) }) })
+@Documentation("MongoDB change stream source configuration")
+public class MongoDBChangeStreamSourceConfiguration implements MongoCommonSourceConfiguration {
+
+    @Option
+    @Documentation("Dataset")
+    private MongoDBReadAndWriteDataSet dataset;
+
+    @Option
+    @Documentation("Whether update events carry the current version of the changed document.")
+    private FullDocumentLookup fullDocument = FullDocumentLookup.DEFAULT;
+
+    @Option
+    @Documentation("Aggregation stages applied to the change events, for example a $match on operationType.")
+    private List<AggregationStage> pipeline = Collections.emptyList();
+
+    @Option
+    @Documentation("Resume token (json) to start the change stream after, empty to start from now.")
+    private String resumeToken;
+
+    @Option
+    @Documentation("File where the last resume token is stored, the stream resumes from it on restart.")
+    private String checkpointFile;
+
+    @Option
+    @Min(1)
+    @Documentation("Number of change events between two checkpoints of the resume token. An event is checkpointed "
+            + "once it went through the downstream components, so after a crash the events since the last checkpoint "
+            + "are read again: the delivery is at least once.")
+    private int checkpointInterval = 100;
+
+    @Option
+    @Min(0)
+    @Documentation("Number of change events fetched per server round trip, 0 for driver default.")
+    private int batchSize = 0;
+
+    @Option
+    @Min(0)
+    @Documentation("Maximum time in milliseconds the server waits for new change events before returning.")
+    private long maxAwaitTime = 1000L;
+
+    // change streams are not sampled
+    private Long sampleLimit = -1L;
+
+    public void setDataset(MongoCommonDataSet dataset) {
+        this.dataset = (MongoDBReadAndWriteDataSet) dataset;
+    }
+}
@@ -30,6 +30,8 @@ import org.talend.components.mongodb.dataset.MongoDBReadDataSet;
 import org.talend.components.mongodb.datastore.MongoDBDataStore;
 import org.talend.components.mongodb.service.MongoDBService;
 import org.talend.components.mongodb.sink.MongoDBSinkConfiguration;
+import org.talend.components.mongodb.source.MongoDBChangeStreamReader;
+import org.talend.components.mongodb.source.MongoDBChangeStreamSourceConfiguration;
 import org.talend.components.mongodb.source.MongoDBCollectionSourceConfiguration;
 import org.talend.components.mongodb.source.MongoDBQuerySourceConfiguration;
 import org.talend.sdk.component.api.record.Record;
@@ -46,8 +48,11 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
@@ -936,4 +941,61 @@ public class MongoDBTest {
         Assertions.assertEquals(10, res.size());
     }
 
+    @Test
+    void testChangeStream(@TempDir Path tempDir) throws IOException {
+        MongoDBReadAndWriteDataSet dataset = getMongoDBReadAndWriteDataSet("changestream");
+        dataset.setMode(Mode.JSON);
+
+        MongoDBChangeStreamSourceConfiguration config = new MongoDBChangeStreamSourceConfiguration();
+        config.setDataset(dataset);
+        config.setFullDocument(FullDocumentLookup.UPDATE_LOOKUP);
+        config.setCheckpointFile(tempDir.resolve("changestream.token").toString());
+        config.setCheckpointInterval(1);
+        config.setMaxAwaitTime(200L);
+
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("changestream");
+
+        MongoDBChangeStreamReader reader = new MongoDBChangeStreamReader(config, mongoDBService, recordBuilderFactory);
+        reader.init();
+        collection.insertOne(new Document("id", 1).append("name", "Wang Wei"));
+        collection.updateOne(new Document("id", 1), new Document("$set", new Document("name", "Xia Liang")));
+
+        Record inserted = nextChangeEvent(reader);
+        Assertions.assertEquals("insert", inserted.getString("operationType"));
+        Assertions.assertEquals("Wang Wei", inserted.getRecord("fullDocument").getString("name"));
+        // an event is only checkpointed once the runtime asks for the next one
+        Path checkpoint = tempDir.resolve("changestream.token");
+        Assertions.assertFalse(Files.exists(checkpoint));
+
+        Record updated = nextChangeEvent(reader);
+        Assertions.assertEquals(inserted.getString("_resumeToken"), readToken(checkpoint));
+        Assertions.assertEquals("update", updated.getString("operationType"));
+        Assertions.assertEquals("Xia Liang", updated.getRecord("fullDocument").getString("name"));
+        Assertions.assertEquals("Xia Liang", updated.getRecord("updatedFields").getString("name"));
+        Assertions.assertEquals(2, reader.getEventCount());
+        reader.release();
+
+        // a new reader resumes after the checkpointed token and only sees the next change
+        collection.deleteOne(new Document("id", 1));
+        reader = new MongoDBChangeStreamReader(config, mongoDBService, recordBuilderFactory);
+        reader.init();
+        Record deleted = nextChangeEvent(reader);
+        Assertions.assertEquals("delete", deleted.getString("operationType"));
+        reader.release();
+    }
+
+    private String readToken(Path checkpoint) throws IOException {
+        return new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8);
+    }
+
+    private Record nextChangeEvent(MongoDBChangeStreamReader reader) {
+        for (int i = 0; i < 50; i++) {
+            Record record = reader.next();
+            if (record != null) {
+                return record;
+            }
+        }
+        return Assertions.fail("no change event received");
+    }
+
 }
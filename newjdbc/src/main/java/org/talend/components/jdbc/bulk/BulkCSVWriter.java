@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import lombok.Setter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV writer of the bulk components. The values are formatted straight into a reusable char buffer and escaped in the
+ * same pass, the buffer reaches the output only when it is full or flushed.
+ *
+ * In a quoted column the quote and the escape chars are prefixed by the escape char. In an unquoted column the
+ * separator, the line breaks and the escape char are, which is what LOAD DATA and COPY in text format expect.
+ */
+public class BulkCSVWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private final char[] digits = new char[20];
+
+    private int position;
+
+    private boolean rowStarted;
+
+    @Setter
+    private char separator = ';';
+
+    @Setter
+    private char quoteChar = '"';
+
+    @Setter
+    private char escapeChar = '\\';
+
+    @Setter
+    private boolean quote;
+
+    @Setter
+    private String lineEnd = "\n";
+
+    /**
+     * The null marker is written as is when set, as COPY expects it. Otherwise it is quoted and escaped like any value,
+     * as talendcsv did in the bulk files.
+     */
+    @Setter
+    private boolean rawNullValue;
+
+    public BulkCSVWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeColumn(CharSequence value) throws IOException {
+        startColumn();
+        if (quote) {
+            put(quoteChar);
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (needsEscape(c)) {
+                put(escapeChar);
+            }
+            put(c);
+        }
+        if (quote) {
+            put(quoteChar);
+        }
+    }
+
+    public void writeColumn(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeColumn(Long.toString(value));
+            return;
+        }
+        startColumn();
+        if (quote) {
+            put(quoteChar);
+        }
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int i = start; i < digits.length; i++) {
+            // digits never need escaping, unless they are used as separator
+            if (needsEscape(digits[i])) {
+                put(escapeChar);
+            }
+            put(digits[i]);
+        }
+        if (quote) {
+            put(quoteChar);
+        }
+    }
+
+    /**
+     * Writes the value as is, never quoted nor escaped, for the null markers.
+     */
+    public void writeRawColumn(CharSequence value) throws IOException {
+        startColumn();
+        for (int i = 0, length = value.length(); i < length; i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    public void writeNull(CharSequence nullValue) throws IOException {
+        if (rawNullValue) {
+            writeRawColumn(nullValue);
+        } else {
+            writeColumn(nullValue);
+        }
+    }
+
+    public void endRow() throws IOException {
+        for (int i = 0, length = lineEnd.length(); i < length; i++) {
+            put(lineEnd.charAt(i));
+        }
+        rowStarted = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private boolean needsEscape(char c) {
+        if (c == escapeChar) {
+            return true;
+        }
+        if (quote) {
+            return c == quoteChar;
+        }
+        return c == separator || c == '\n' || c == '\r';
+    }
+
+    private void startColumn() throws IOException {
+        if (rowStarted) {
+            put(separator);
+        } else {
+            rowStarted = true;
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -12,26 +12,32 @@
  */
 package org.talend.components.jdbc.bulk;
 
-import com.talend.csv.CSVWriter;
 import org.talend.components.jdbc.schema.CommonUtils;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.record.SchemaProperty;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+/**
+ * Writes the record values into the {@link BulkCSVWriter} without intermediate strings for the numbers, the dates and
+ * the bytes. The formatters keep their buffers, an instance must be used by a single thread.
+ */
 public class BulkFormatter {
 
     private Formatter[] formatter;
 
-    private boolean useTextEnclosure;
-
-    public BulkFormatter(Schema inputSchema, Schema currentSchema, boolean useTextEnclosure) {
+    public BulkFormatter(Schema inputSchema, Schema currentSchema) {
         List<Formatter> writers = new ArrayList<>();
         List<Schema.Entry> fields = currentSchema.getEntries();
 
@@ -50,6 +56,8 @@ public class BulkFormatter {
                 writer = new DateTypeWriter(inputValueName, pattern);
             } else if (type == Schema.Type.BYTES) {
                 writer = new BytesTypeWriter(inputValueName);
+            } else if (type == Schema.Type.INT || type == Schema.Type.LONG) {
+                writer = new IntegerTypeWriter(inputValueName);
             } else {
                 writer = new StringTypeWriter(inputValueName);
             }
@@ -58,7 +66,6 @@ public class BulkFormatter {
         }
 
         formatter = writers.toArray(new Formatter[0]);
-        this.useTextEnclosure = useTextEnclosure;
     }
 
     public Formatter getFormatter(int i) {
@@ -73,24 +80,14 @@ public class BulkFormatter {
             this.inputValueName = inputValueName;
         }
 
-        public void format(Record input, String nullValue, CSVWriter writer) {
+        public void format(Record input, String nullValue, BulkCSVWriter writer) throws IOException {
             // do nothing
         }
 
     }
 
-    private void fillNull(String nullValue, CSVWriter writer) {
-        writer.setQuoteStatus(CSVWriter.QuoteStatus.NO);
-        if (nullValue != null) {
-            writer.writeColumn(nullValue);
-        } else {
-            writer.writeColumn("");
-        }
-        if (useTextEnclosure) {
-            writer.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
-        } else {
-            writer.setQuoteStatus(CSVWriter.QuoteStatus.NO);
-        }
+    private void fillNull(String nullValue, BulkCSVWriter writer) throws IOException {
+        writer.writeNull(nullValue != null ? nullValue : "");
     }
 
     public class StringTypeWriter extends Formatter {
@@ -100,10 +97,32 @@ public class BulkFormatter {
         }
 
         @Override
-        public void format(Record input, String nullValue, CSVWriter writer) {
+        public void format(Record input, String nullValue, BulkCSVWriter writer) throws IOException {
             Object inputValue = input.get(Object.class, inputValueName);
             if (inputValue == null) {
                 fillNull(nullValue, writer);
+            } else if (inputValue instanceof CharSequence) {
+                writer.writeColumn((CharSequence) inputValue);
+            } else {
+                writer.writeColumn(String.valueOf(inputValue));
+            }
+        }
+    }
+
+    public class IntegerTypeWriter extends Formatter {
+
+        IntegerTypeWriter(String inputValueLocation) {
+            super(inputValueLocation);
+        }
+
+        @Override
+        public void format(Record input, String nullValue, BulkCSVWriter writer) throws IOException {
+            Object inputValue = input.get(Object.class, inputValueName);
+            if (inputValue == null) {
+                fillNull(nullValue, writer);
+            } else if (inputValue instanceof Integer || inputValue instanceof Long || inputValue instanceof Short
+                    || inputValue instanceof Byte) {
+                writer.writeColumn(((Number) inputValue).longValue());
             } else {
                 writer.writeColumn(String.valueOf(inputValue));
             }
@@ -112,24 +131,26 @@ public class BulkFormatter {
 
     public class DateTypeWriter extends Formatter {
 
-        private String pattern;
+        private final FastDateWriter dateWriter;
 
         DateTypeWriter(String inputValueName, String pattern) {
             super(inputValueName);
-            this.pattern = pattern;
+            this.dateWriter = FastDateWriter.of(pattern);
         }
 
         @Override
-        public void format(Record input, String nullValue, CSVWriter writer) {
+        public void format(Record input, String nullValue, BulkCSVWriter writer) throws IOException {
             Object inputValue = input.get(Object.class, inputValueName);
             if (inputValue == null) {
                 fillNull(nullValue, writer);
+            } else if (inputValue instanceof Long) {
+                writer.writeColumn(dateWriter.format((Long) inputValue));
+            } else if (inputValue instanceof ZonedDateTime) {
+                writer.writeColumn(dateWriter.format(((ZonedDateTime) inputValue).toInstant().toEpochMilli()));
+            } else if (inputValue instanceof Instant) {
+                writer.writeColumn(dateWriter.format(((Instant) inputValue).toEpochMilli()));
             } else {
-                if (inputValue instanceof Long) {
-                    writer.writeColumn(FormatterUtils.formatDate(new Date(Long.class.cast(inputValue)), pattern));
-                } else {
-                    writer.writeColumn(FormatterUtils.formatDate((Date) inputValue, pattern));
-                }
+                writer.writeColumn(dateWriter.format(((Date) inputValue).getTime()));
             }
         }
 
@@ -139,19 +160,34 @@ public class BulkFormatter {
 
         // always use utf8? bytes array can't mean a lob object?
         // now use utf8, not use platform default as easy migration if fix it in future
-        private Charset charset = StandardCharsets.UTF_8;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8
+                .newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private CharBuffer chars = CharBuffer.allocate(256);
 
         BytesTypeWriter(String inputValueLocation) {
             super(inputValueLocation);
         }
 
         @Override
-        public void format(Record input, String nullValue, CSVWriter writer) {
+        public void format(Record input, String nullValue, BulkCSVWriter writer) throws IOException {
             Object inputValue = input.get(Object.class, inputValueName);
             if (inputValue == null) {
                 fillNull(nullValue, writer);
             } else {
-                writer.writeColumn(charset.decode(ByteBuffer.wrap((byte[]) inputValue)).toString());
+                byte[] bytes = (byte[]) inputValue;
+                // utf8 never decodes to more chars than bytes
+                if (chars.capacity() < bytes.length) {
+                    chars = CharBuffer.allocate(bytes.length);
+                }
+                chars.clear();
+                decoder.reset();
+                decoder.decode(ByteBuffer.wrap(bytes), chars, true);
+                decoder.flush(chars);
+                chars.flip();
+                writer.writeColumn(chars);
             }
         }
 
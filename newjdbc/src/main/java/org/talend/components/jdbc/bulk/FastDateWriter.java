@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Formats dates into a reused buffer, one instance per writing thread.
+ *
+ * Patterns made of fixed width numeric fields (yyyy, MM, dd, HH, mm, ss, SSS) and literals are written digit by digit
+ * from a reused calendar, the other patterns go through the cached {@link FastDateParser} format, always with the
+ * same output as {@link FormatterUtils#formatDate(Date, String)}.
+ */
+public abstract class FastDateWriter {
+
+    public static FastDateWriter of(String pattern) {
+        final String effective = pattern == null ? FormatterUtils.DATE_DEFAULT_PATTERN : pattern;
+        final List<Object> tokens = tokenize(effective);
+        return tokens == null ? new PatternWriter(effective) : new DigitWriter(tokens);
+    }
+
+    /**
+     * @return the formatted date, only valid until the next call.
+     */
+    public abstract CharSequence format(long epochMillis);
+
+    /**
+     * @return the calendar fields and the literal strings of the pattern, null if it has other fields.
+     */
+    private static List<Object> tokenize(String pattern) {
+        final List<Object> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                final int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                tokens.add(end == i + 1 ? "'" : pattern.substring(i + 1, end));
+                i = end + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i;
+                while (end < pattern.length() && pattern.charAt(end) == c) {
+                    end++;
+                }
+                final Field field = Field.of(pattern.substring(i, end));
+                if (field == null) {
+                    return null;
+                }
+                tokens.add(field);
+                i = end;
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private enum Field {
+
+        YEAR("yyyy", Calendar.YEAR, 4, 0),
+        MONTH("MM", Calendar.MONTH, 2, 1),
+        DAY("dd", Calendar.DAY_OF_MONTH, 2, 0),
+        HOUR("HH", Calendar.HOUR_OF_DAY, 2, 0),
+        MINUTE("mm", Calendar.MINUTE, 2, 0),
+        SECOND("ss", Calendar.SECOND, 2, 0),
+        MILLISECOND("SSS", Calendar.MILLISECOND, 3, 0);
+
+        private final String pattern;
+
+        private final int calendarField;
+
+        private final int width;
+
+        private final int offset;
+
+        Field(String pattern, int calendarField, int width, int offset) {
+            this.pattern = pattern;
+            this.calendarField = calendarField;
+            this.width = width;
+            this.offset = offset;
+        }
+
+        static Field of(String pattern) {
+            for (Field field : values()) {
+                if (field.pattern.equals(pattern)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class DigitWriter extends FastDateWriter {
+
+        private final Object[] tokens;
+
+        private final Calendar calendar = Calendar.getInstance(TimeZone.getDefault());
+
+        private final StringBuilder buffer = new StringBuilder(32);
+
+        DigitWriter(List<Object> tokens) {
+            this.tokens = tokens.toArray();
+        }
+
+        @Override
+        public CharSequence format(long epochMillis) {
+            calendar.setTimeInMillis(epochMillis);
+            buffer.setLength(0);
+            for (Object token : tokens) {
+                if (token instanceof Field) {
+                    final Field field = (Field) token;
+                    final int value = calendar.get(field.calendarField) + field.offset;
+                    for (int limit = 10, width = 1; width < field.width; width++, limit *= 10) {
+                        if (value < limit) {
+                            buffer.append('0');
+                        }
+                    }
+                    buffer.append(value);
+                } else {
+                    buffer.append((String) token);
+                }
+            }
+            return buffer;
+        }
+    }
+
+    private static class PatternWriter extends FastDateWriter {
+
+        private final String pattern;
+
+        private final Date date = new Date();
+
+        private final StringBuffer buffer = new StringBuffer(32);
+
+        private final FieldPosition position = new FieldPosition(0);
+
+        PatternWriter(String pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public CharSequence format(long epochMillis) {
+            final DateFormat format = FastDateParser.getInstance(pattern);
+            format.setTimeZone(TimeZone.getDefault());
+            date.setTime(epochMillis);
+            buffer.setLength(0);
+            return format.format(date, buffer, position);
+        }
+    }
+}
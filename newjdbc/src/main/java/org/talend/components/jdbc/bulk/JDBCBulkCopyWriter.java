@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.dataset.JDBCTableDataSet;
+import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Streams the formatted rows into a PostgreSQL <code>COPY ... FROM STDIN</code> instead of a bulk file.
+ *
+ * The rows are written by the component thread into a bounded pipe, read by a dedicated thread which runs the COPY
+ * through the driver <code>CopyManager</code>, so the rows are loaded while they arrive and the writer blocks when the
+ * database is slower than the input. The COPY starts with the first row, once the columns of a dynamic schema are
+ * known.
+ */
+@Slf4j
+public class JDBCBulkCopyWriter extends JDBCBulkFileWriter {
+
+    /**
+     * Size in chars of the pipe between the formatter and the COPY thread.
+     */
+    static final int PIPE_SIZE = Integer.getInteger("talend.jdbc.bulk.copyPipeSize", 1024 * 1024);
+
+    /**
+     * Null marker when none is set, the default of the text format: unlike an empty value, it can't be a string.
+     */
+    static final String DEFAULT_NULL_VALUE = "\\N";
+
+    private final JDBCTableDataSet dataSet;
+
+    private final JDBCService.DataSourceWrapper conn;
+
+    private final boolean useExistedConnection;
+
+    private Object copyManager;
+
+    private PipedReader pipe;
+
+    private FutureTask<Long> copy;
+
+    private long loadedRows;
+
+    public JDBCBulkCopyWriter(JDBCTableDataSet dataSet, JDBCBulkCommonConfig bulkCommonConfig,
+            boolean useExistedConnection, JDBCService.DataSourceWrapper conn,
+            RecordBuilderFactory recordBuilderFactory) {
+        super(dataSet.getSchema(), bulkCommonConfig, false, recordBuilderFactory);
+        this.dataSet = dataSet;
+        this.conn = conn;
+        this.useExistedConnection = useExistedConnection;
+    }
+
+    @Override
+    protected Writer openOutput() throws IOException {
+        copyManager = getCopyManager(conn.getConnection());
+        pipe = new PipedReader(PIPE_SIZE);
+        return new BufferedWriter(new PipedWriter(pipe));
+    }
+
+    @Override
+    protected void beforeFirstRow(Schema schema) {
+        startCopy(schema.getEntries());
+    }
+
+    private void startCopy(List<Schema.Entry> fields) {
+        final String sql = createCopySQL(fields);
+        final PipedReader reader = pipe;
+        copy = new FutureTask<>(() -> {
+            try (Reader in = reader) {
+                log.debug("Executing the query: '{}'", sql);
+                return copyIn(copyManager, sql, in);
+            }
+        });
+        final Thread thread = new Thread(copy, "jdbc-copy-" + dataSet.getTableName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // COPY only knows \n and \r\n as row separator
+    @Override
+    protected String getLineEnd() {
+        return "\n";
+    }
+
+    // a quoted null value is a string for COPY
+    @Override
+    protected boolean isRawNullValue() {
+        return true;
+    }
+
+    @Override
+    protected String getDefaultNullValue() {
+        return DEFAULT_NULL_VALUE;
+    }
+
+    @Override
+    public void write(Record input) throws IOException {
+        try {
+            super.write(input);
+        } catch (IOException e) {
+            // the pipe is closed when the COPY failed, report the cause instead
+            if (copy != null && copy.isDone()) {
+                awaitCopy();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pipe == null) {
+            return;
+        }
+        try {
+            try {
+                if (copy == null) {
+                    // no row, all the columns keep their default
+                    startCopy(null);
+                }
+                // end of the input for the COPY
+                super.close();
+            } finally {
+                loadedRows = awaitCopy();
+            }
+            log.debug("{} rows copied into {}", loadedRows, dataSet.getTableName());
+
+            if (!useExistedConnection && !conn.getConnection().getAutoCommit()) {
+                conn.getConnection().commit();
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        } finally {
+            if (!useExistedConnection) {
+                log.debug("Closing connection");
+                conn.close();
+            }
+        }
+    }
+
+    public long getLoadedRows() {
+        return loadedRows;
+    }
+
+    private long awaitCopy() throws IOException {
+        try {
+            return copy.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the COPY of " + dataSet.getTableName());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("COPY into " + dataSet.getTableName() + " failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @param fields the columns of the written rows, the design ones merged with the dynamic ones. Empty or null to
+     * let COPY expect all the columns of the table.
+     */
+    String createCopySQL(List<Schema.Entry> fields) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("COPY ").append(identifier(dataSet.getTableName()));
+
+        if (fields != null && !fields.isEmpty()) {
+            sb.append(" (");
+            for (int i = 0; i < fields.size(); i++) {
+                Schema.Entry field = fields.get(i);
+                String originName = field.getRawName();
+                String headerName = (originName == null || "".equals(originName)) ? field.getName() : originName;
+                sb.append(identifier(headerName));
+                if (i != fields.size() - 1) {
+                    sb.append(',');
+                }
+            }
+            sb.append(')');
+        }
+
+        sb.append(" FROM STDIN WITH (FORMAT ");
+        if (bulkCommonConfig.isSetTextEnclosure()) {
+            sb.append("csv, QUOTE ").append(literal(bulkCommonConfig.getTextEnclosure())).append(", ESCAPE '\\'");
+        } else {
+            // without enclosure the writer escapes the separators with a backslash, like the text format
+            sb.append("text");
+        }
+        sb.append(", DELIMITER ").append(literal(bulkCommonConfig.getFieldSeparator()));
+        sb.append(", NULL ")
+                .append(literal(bulkCommonConfig.isSetNullValue() && bulkCommonConfig.getNullValue() != null
+                        ? bulkCommonConfig.getNullValue()
+                        : DEFAULT_NULL_VALUE));
+        sb.append(')');
+        return sb.toString();
+    }
+
+    private static String identifier(String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * The driver is loaded dynamically, so its <code>CopyManager</code> is reached by reflection from the
+     * <code>org.postgresql.PGConnection</code> the pooled connection wraps.
+     */
+    private static Object getCopyManager(Connection connection) throws IOException {
+        try {
+            final Class<?> pgConnection = loadDriverClass("org.postgresql.PGConnection", connection);
+            final Object unwrapped = connection.unwrap(pgConnection);
+            return pgConnection.getMethod("getCopyAPI").invoke(unwrapped);
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IOException("Streaming COPY is only supported with the PostgreSQL driver", e);
+        }
+    }
+
+    private static Class<?> loadDriverClass(String name, Connection connection) throws ClassNotFoundException {
+        try {
+            return Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Class.forName(name, false, connection.getClass().getClassLoader());
+        }
+    }
+
+    private static long copyIn(Object copyManager, String sql, Reader reader) throws Exception {
+        final Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+        try {
+            return (Long) copyIn.invoke(copyManager, sql, reader);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+}
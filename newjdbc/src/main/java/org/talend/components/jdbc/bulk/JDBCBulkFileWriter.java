@@ -12,7 +12,6 @@
  */
 package org.talend.components.jdbc.bulk;
 
-import com.talend.csv.CSVWriter;
 import org.talend.components.jdbc.common.SchemaInfo;
 import org.talend.components.jdbc.schema.SchemaInferer;
 import org.talend.sdk.component.api.record.Record;
@@ -22,6 +21,7 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -31,7 +31,7 @@ public class JDBCBulkFileWriter {
 
     protected JDBCBulkCommonConfig bulkCommonConfig;
 
-    private CSVWriter csvWriter;
+    private BulkCSVWriter csvWriter;
 
     private String charset = "UTF-8";
 
@@ -71,38 +71,75 @@ public class JDBCBulkFileWriter {
     }
 
     public void open() throws IOException {
-        String filepath = bulkCommonConfig.getBulkFile();
-        if (filepath == null || filepath.isEmpty()) {
-            throw new RuntimeException("Please set a valid value for \"Bulk File Path\" field.");
-        }
-        File file = new File(filepath);
-        if (file.getParentFile().mkdirs()) {
-            // fix findbug only
-        }
-
         if (bulkCommonConfig.getRowSeparator().length() > 1) {
             throw new RuntimeException("only support one char row separator");
         }
         if (bulkCommonConfig.getFieldSeparator().length() > 1) {
             throw new RuntimeException("only support one char field separator");
         }
-        csvWriter = new CSVWriter(new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset));
+        if (bulkCommonConfig.isSetTextEnclosure() && bulkCommonConfig.getTextEnclosure().length() > 1) {
+            throw new RuntimeException("only support one char text enclosure");
+        }
+
+        csvWriter = new BulkCSVWriter(openOutput());
         csvWriter.setSeparator(bulkCommonConfig.getFieldSeparator().charAt(0));
-        csvWriter.setLineEnd(bulkCommonConfig.getRowSeparator().substring(0, 1));
+        csvWriter.setLineEnd(getLineEnd());
 
         if (bulkCommonConfig.isSetTextEnclosure()) {
-            if (bulkCommonConfig.getTextEnclosure().length() > 1) {
-                throw new RuntimeException("only support one char text enclosure");
-            }
             // not let it to do the "smart" thing, avoid to promise too much for changing api in future
-            csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
+            csvWriter.setQuote(true);
             csvWriter.setQuoteChar(bulkCommonConfig.getTextEnclosure().charAt(0));
         } else {
-            csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.NO);
+            csvWriter.setQuote(false);
         }
         csvWriter.setEscapeChar('\\');
+        csvWriter.setRawNullValue(isRawNullValue());
+        if (nullValue == null) {
+            nullValue = getDefaultNullValue();
+        }
+    }
+
+    /**
+     * @return where the formatted rows are written, the bulk file by default.
+     */
+    protected Writer openOutput() throws IOException {
+        String filepath = bulkCommonConfig.getBulkFile();
+        if (filepath == null || filepath.isEmpty()) {
+            throw new RuntimeException("Please set a valid value for \"Bulk File Path\" field.");
+        }
+        File file = new File(filepath);
+        if (file.getParentFile().mkdirs()) {
+            // fix findbug only
+        }
 
         fileIsEmpty = (file.length() == 0);
+
+        return new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset);
+    }
+
+    protected String getLineEnd() {
+        return bulkCommonConfig.getRowSeparator().substring(0, 1);
+    }
+
+    /**
+     * @return true to write the null value unquoted and unescaped, the bulk file keeps it like any other value.
+     */
+    protected boolean isRawNullValue() {
+        return false;
+    }
+
+    /**
+     * @return the value written for null when none is set, null to write an empty value.
+     */
+    protected String getDefaultNullValue() {
+        return null;
+    }
+
+    /**
+     * Called once the schema of the written rows is known, before the first row is written.
+     */
+    protected void beforeFirstRow(Schema schema) throws IOException {
+        // nothing to prepare for a bulk file
     }
 
     private boolean fileIsEmpty = false;
@@ -121,8 +158,8 @@ public class JDBCBulkFileWriter {
                         recordBuilderFactory);
             }
 
-            bulkFormatter =
-                    new BulkFormatter(inputSchema, currentSchema, bulkCommonConfig.isSetTextEnclosure());
+            bulkFormatter = new BulkFormatter(inputSchema, currentSchema);
+            beforeFirstRow(currentSchema);
         }
 
         writeValues(input);
@@ -15,6 +15,7 @@ package org.talend.components.jdbc.bulk;
 import lombok.Data;
 import org.talend.components.jdbc.dataset.JDBCTableDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -28,7 +29,8 @@ import java.io.Serializable;
 })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = {
         @GridLayout.Row("dataSet"),
-        @GridLayout.Row("bulkCommonConfig")
+        @GridLayout.Row("bulkCommonConfig"),
+        @GridLayout.Row("streamingCopy")
 })
 @Documentation("jdbc bulk exec")
 public class JDBCOutputBulkExecConfig implements Serializable {
@@ -44,4 +46,9 @@ public class JDBCOutputBulkExecConfig implements Serializable {
     @Option
     @Documentation("")
     private boolean append;
+
+    @Option
+    @ActiveIf(target = "../dataSet.dataStore.dbType", value = "PostgreSQL")
+    @Documentation("Stream the rows into COPY FROM STDIN while they arrive instead of loading a bulk file at the end")
+    private boolean streamingCopy;
 }
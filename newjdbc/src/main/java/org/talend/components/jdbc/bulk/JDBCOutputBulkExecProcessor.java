@@ -92,6 +92,14 @@ public class JDBCOutputBulkExecProcessor implements Serializable {
             dataSource = new JDBCService.DataSourceWrapper(null, connection);
         }
 
+        if (configuration.isStreamingCopy()) {
+            // the rows are loaded while they are written, no bulk file and nothing left to run on close
+            writer = new JDBCBulkCopyWriter(configuration.getDataSet(), configuration.getBulkCommonConfig(),
+                    useExistedConnection, dataSource, recordBuilderFactory);
+            writer.open();
+            return;
+        }
+
         writer = new JDBCBulkFileWriter(configuration.getDataSet().getSchema(), configuration.getBulkCommonConfig(),
                 configuration.isAppend(),
                 recordBuilderFactory);
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.talend.components.jdbc.schema.TalendType;
+import org.talend.sdk.component.api.record.Schema;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a result set straight into an Avro container file, without building a record per row.
+ *
+ * One {@link GenericRecord} is reused for all the rows, and a block is closed every <code>rowsPerBlock</code> rows
+ * so the readers can split the file on them. Avro stays a row oriented format: a block holds whole rows one after
+ * the other and is compressed as a unit, it is not a column chunk as in Parquet or ORC.
+ */
+@Slf4j
+@Getter
+public class AvroResultSetExporter {
+
+    private final Schema querySchema;
+
+    private final List<TalendType> talendTypeList;
+
+    private final boolean isTrimAll;
+
+    private final Map<Integer, Boolean> trimMap;
+
+    private final int rowsPerBlock;
+
+    private long rows;
+
+    private long blocks;
+
+    public AvroResultSetExporter(final Schema querySchema, final List<TalendType> talendTypeList,
+            final boolean isTrimAll, final Map<Integer, Boolean> trimMap, final int rowsPerBlock) {
+        this.querySchema = querySchema;
+        this.talendTypeList = talendTypeList;
+        this.isTrimAll = isTrimAll;
+        this.trimMap = trimMap;
+        this.rowsPerBlock = Math.max(1, rowsPerBlock);
+    }
+
+    /**
+     * Source of the rows, positioned on the next row, or null when there is no more row.
+     */
+    @FunctionalInterface
+    public interface Rows {
+
+        ResultSet next() throws SQLException;
+    }
+
+    public void export(final ResultSet resultSet, final File file) throws SQLException, IOException {
+        export(() -> resultSet.next() ? resultSet : null, file);
+    }
+
+    public void export(final Rows source, final File file) throws SQLException, IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && parent.mkdirs()) {
+            log.debug("Created the directory {}", parent);
+        }
+        try (DataFileWriter<GenericRecord> writer = newWriter()) {
+            writer.create(getAvroSchema(), file);
+            write(source, writer);
+        }
+    }
+
+    public void export(final Rows source, final OutputStream out) throws SQLException, IOException {
+        try (DataFileWriter<GenericRecord> writer = newWriter()) {
+            writer.create(getAvroSchema(), out);
+            write(source, writer);
+        }
+    }
+
+    private DataFileWriter<GenericRecord> newWriter() {
+        // a block is closed by hand every rowsPerBlock rows, the size limit only avoids huge blocks
+        return new DataFileWriter<GenericRecord>(new GenericDatumWriter<>())
+                .setCodec(CodecFactory.deflateCodec(CodecFactory.DEFAULT_DEFLATE_LEVEL))
+                .setSyncInterval(64 * 1024 * 1024);
+    }
+
+    private void write(final Rows source, final DataFileWriter<GenericRecord> writer)
+            throws SQLException, IOException {
+        final GenericData.Record row = new GenericData.Record(getAvroSchema());
+        final int size = querySchema.getEntries().size();
+        ResultSet resultSet;
+        while ((resultSet = source.next()) != null) {
+            for (int index = 0; index < size; index++) {
+                row.put(index, readValue(resultSet, index));
+            }
+            writer.append(row);
+            rows++;
+            if (rows % rowsPerBlock == 0) {
+                writer.sync();
+                blocks++;
+            }
+        }
+        if (rows % rowsPerBlock != 0) {
+            blocks++;
+        }
+        log.debug("Exported {} rows in {} blocks", rows, blocks);
+    }
+
+    private org.apache.avro.Schema avroSchema;
+
+    public org.apache.avro.Schema getAvroSchema() {
+        if (avroSchema == null) {
+            SchemaBuilder.FieldAssembler<org.apache.avro.Schema> fields =
+                    SchemaBuilder.record("row").namespace("org.talend.components.jdbc").fields();
+            final List<Schema.Entry> entries = querySchema.getEntries();
+            for (int index = 0; index < entries.size(); index++) {
+                fields = fields
+                        .name(entries.get(index).getName())
+                        .type(SchemaBuilder
+                                .unionOf()
+                                .nullType()
+                                .and()
+                                .type(toAvro(talendTypeList.get(index)))
+                                .endUnion())
+                        .withDefault(null);
+            }
+            avroSchema = fields.endRecord();
+        }
+        return avroSchema;
+    }
+
+    private static org.apache.avro.Schema toAvro(final TalendType talendType) {
+        switch (talendType) {
+        case INTEGER:
+        case SHORT:
+        case BYTE:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.INT);
+        case LONG:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.LONG);
+        case BOOLEAN:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.BOOLEAN);
+        case DATE:
+            return LogicalTypes
+                    .timestampMillis()
+                    .addToSchema(org.apache.avro.Schema.create(org.apache.avro.Schema.Type.LONG));
+        case FLOAT:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.FLOAT);
+        case DOUBLE:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.DOUBLE);
+        case BYTES:
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.BYTES);
+        default:
+            // decimals keep their scale as text, like the objects of unknown type
+            return org.apache.avro.Schema.create(org.apache.avro.Schema.Type.STRING);
+        }
+    }
+
+    private Object readValue(final ResultSet resultSet, final int index) throws SQLException {
+        final int jdbcIndex = index + 1;
+        switch (talendTypeList.get(index)) {
+        case INTEGER:
+            int intValue = resultSet.getInt(jdbcIndex);
+            return resultSet.wasNull() ? null : intValue;
+        case SHORT:
+            short shortValue = resultSet.getShort(jdbcIndex);
+            return resultSet.wasNull() ? null : (int) shortValue;
+        case BYTE:
+            byte byteValue = resultSet.getByte(jdbcIndex);
+            return resultSet.wasNull() ? null : (int) byteValue;
+        case LONG:
+            long longValue = resultSet.getLong(jdbcIndex);
+            return resultSet.wasNull() ? null : longValue;
+        case BOOLEAN:
+            boolean booleanValue = resultSet.getBoolean(jdbcIndex);
+            return resultSet.wasNull() ? null : booleanValue;
+        case FLOAT:
+            float floatValue = resultSet.getFloat(jdbcIndex);
+            return resultSet.wasNull() ? null : floatValue;
+        case DOUBLE:
+            double doubleValue = resultSet.getDouble(jdbcIndex);
+            return resultSet.wasNull() ? null : doubleValue;
+        case DATE:
+            try {
+                Timestamp timestampValue = resultSet.getTimestamp(jdbcIndex);
+                return timestampValue == null ? null : timestampValue.getTime();
+            } catch (Exception e) {
+                Date dateValue = resultSet.getDate(jdbcIndex);
+                return dateValue == null ? null : dateValue.getTime();
+            }
+        case BIG_DECIMAL:
+            BigDecimal decimalValue = resultSet.getBigDecimal(jdbcIndex);
+            return decimalValue == null ? null : decimalValue.toPlainString();
+        case BYTES:
+            byte[] bytesValue = resultSet.getBytes(jdbcIndex);
+            return bytesValue == null ? null : ByteBuffer.wrap(bytesValue);
+        case STRING:
+        case CHARACTER:
+            String stringValue = resultSet.getString(jdbcIndex);
+            Boolean isTrim = trimMap.get(jdbcIndex);
+            return (stringValue != null && (isTrimAll || (isTrim != null && isTrim))) ? stringValue.trim()
+                    : stringValue;
+        default:
+            Object value = resultSet.getObject(jdbcIndex);
+            return value == null ? null : String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Default {@link WatermarkStore}, a local properties file shared by all the reads using the same path.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FileWatermarkStore implements WatermarkStore {
+
+    private final File file;
+
+    @Override
+    public synchronized String load(final String key) {
+        return read().getProperty(key);
+    }
+
+    @Override
+    public synchronized void save(final String key, final String watermark) {
+        final Properties properties = read();
+        properties.setProperty(key, watermark);
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && parent.mkdirs()) {
+                log.debug("Created the directory {}", parent);
+            }
+            // a crash while writing must not lose the watermarks of the other reads
+            final File tmp = new File(file.getPath() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+                properties.store(out, "JDBC incremental read watermarks");
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Saved the watermark {} of {} into {}", watermark, key, file);
+    }
+
+    private Properties read() {
+        final Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return properties;
+    }
+}
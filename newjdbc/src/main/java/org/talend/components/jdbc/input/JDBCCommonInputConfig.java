@@ -19,6 +19,7 @@ import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.UIScope;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.configuration.ui.widget.Path;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import java.io.Serializable;
@@ -37,7 +38,10 @@ import java.util.List;
         @GridLayout.Row("usePreparedStatement"),
         @GridLayout.Row("preparedStatementParameters"),
         @GridLayout.Row("useQueryTimeout"),
-        @GridLayout.Row("queryTimeout")
+        @GridLayout.Row("queryTimeout"),
+        @GridLayout.Row("exportFormat"),
+        @GridLayout.Row("exportPath"),
+        @GridLayout.Row("rowsPerBlock")
 })
 @Documentation("jdbc common input")
 public class JDBCCommonInputConfig implements Serializable {
@@ -98,4 +102,19 @@ public class JDBCCommonInputConfig implements Serializable {
     @Documentation("")
     private int queryTimeout = 30;
 
+    @Option
+    @Documentation("write the rows into a file instead of emitting them, only a record describing the file is emitted")
+    private ExportFormat exportFormat = ExportFormat.NONE;
+
+    @Path
+    @Option
+    @ActiveIf(target = "exportFormat", value = { "NONE" }, negate = true)
+    @Documentation("local path of the exported file")
+    private String exportPath;
+
+    @Option
+    @ActiveIf(target = "exportFormat", value = { "NONE" }, negate = true)
+    @Documentation("number of rows per block of the exported file")
+    private int rowsPerBlock = 10000;
+
 }
@@ -25,10 +25,14 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * common JDBC reader
@@ -48,6 +52,10 @@ public class JDBCInputReader {
 
     private Statement statement;
 
+    private KeysetPager pager;
+
+    private WatermarkRange watermark;
+
     private boolean useExistedConnection;
 
     private Record currentRecord;
@@ -176,6 +184,16 @@ public class JDBCInputReader {
         }
         final String query = config.getDataSet().getSqlQuery(platform);
 
+        if (config instanceof JDBCTableInputConfig && ((JDBCTableInputConfig) config).isKeysetPagination()) {
+            openKeyset((JDBCTableInputConfig) config, platform, query);
+            return;
+        }
+
+        if (config instanceof JDBCTableInputConfig && ((JDBCTableInputConfig) config).isIncremental()) {
+            openIncremental((JDBCTableInputConfig) config, platform, query);
+            return;
+        }
+
         boolean usePreparedStatement = config.getConfig().isUsePreparedStatement();
         try {
             String driverClass = config.getDataSet().getDataStore().getJdbcClass();
@@ -239,8 +257,88 @@ public class JDBCInputReader {
         }
     }
 
-    private boolean haveNext() throws SQLException {
+    private void openKeyset(final JDBCTableInputConfig tableConfig, final Platform platform, final String query)
+            throws SQLException {
+        final String keyColumn = tableConfig.getKeyColumn();
+        final List<String> keyColumns = keyColumn == null ? Collections.emptyList()
+                : Arrays
+                        .stream(keyColumn.split(","))
+                        .map(String::trim)
+                        .filter(column -> !column.isEmpty())
+                        .collect(Collectors.toList());
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Please set a valid value for \"Key column\" field.");
+        }
+        pager = new KeysetPager(conn.getConnection(), platform, query, keyColumns, tableConfig.getPageSize(),
+                tableConfig.getCheckpointFile());
+        resultSet = pager.firstPage();
+        // the schema may need the connection, read it before it is used by the prefetch
+        getSchema();
+        pager.prefetch();
+    }
+
+    /**
+     * Reads the rows between the watermark of the last run and the current high-water mark of the table.
+     */
+    private void openIncremental(final JDBCTableInputConfig tableConfig, final Platform platform, final String query)
+            throws SQLException {
+        final String column = tableConfig.getWatermarkColumn();
+        final String file = tableConfig.getWatermarkFile();
+        if (column == null || column.trim().isEmpty() || file == null || file.trim().isEmpty()) {
+            throw new IllegalArgumentException(jdbcService.getI18n().errorEmptyWatermarkColumn());
+        }
+        final String tableName = tableConfig.getDataSet().getTableName();
+        watermark = new WatermarkRange(createWatermarkStore(tableConfig), tableName + "." + column,
+                tableConfig.getOverlap());
+        final PreparedStatement preparedStatement = conn.getConnection()
+                .prepareStatement(watermark.prepare(conn.getConnection(), platform, query, tableName, column));
+        watermark.bind(preparedStatement);
+        statement = preparedStatement;
+        if (config.getConfig().isUseQueryTimeout()) {
+            statement.setQueryTimeout(config.getConfig().getQueryTimeout());
+        }
+        if (config.getConfig().isUseCursor()) {
+            statement.setFetchSize(config.getConfig().getCursorSize());
+        }
+        resultSet = preparedStatement.executeQuery();
+    }
+
+    /**
+     * @return the store of the incremental read watermarks, a local file by default.
+     */
+    protected WatermarkStore createWatermarkStore(final JDBCTableInputConfig tableConfig) {
+        return new FileWatermarkStore(new File(tableConfig.getWatermarkFile()));
+    }
+
+    /**
+     * Saves the high-water mark of an incremental read, once all its rows went through.
+     */
+    private void commitWatermark() {
+        if (watermark != null) {
+            watermark.commit();
+            watermark = null;
+        }
+    }
+
+    /**
+     * Moves to the next row, going to the next page when the keyset pagination is used.
+     */
+    private boolean nextRow() throws SQLException {
         boolean haveNext = resultSet.next();
+        while (!haveNext && pager != null) {
+            ResultSet page = pager.nextPage();
+            if (page == null) {
+                break;
+            }
+            resultSet.close();
+            resultSet = page;
+            haveNext = resultSet.next();
+        }
+        return haveNext;
+    }
+
+    private boolean haveNext() throws SQLException {
+        boolean haveNext = nextRow();
 
         if (haveNext) {
             totalCount++;
@@ -253,13 +351,58 @@ public class JDBCInputReader {
             SchemaInferer.fillValue(recordBuilder, getSchema(), talendTypeList, resultSet, isTrimAll, trimMap);
 
             currentRecord = recordBuilder.build();
+        } else {
+            commitWatermark();
         }
 
         return haveNext;
     }
 
+    private boolean exported;
+
+    /**
+     * Writes the whole result set into the export file, then emits a single record describing it.
+     */
+    private boolean export() throws SQLException {
+        if (exported) {
+            return false;
+        }
+        exported = true;
+
+        final String exportPath = config.getConfig().getExportPath();
+        if (exportPath == null || exportPath.isEmpty()) {
+            throw new IllegalArgumentException(jdbcService.getI18n().errorEmptyExportPath());
+        }
+
+        final long start = System.currentTimeMillis();
+        final File file = new File(exportPath);
+        final AvroResultSetExporter exporter = new AvroResultSetExporter(getSchema(), talendTypeList, isTrimAll,
+                trimMap, config.getConfig().getRowsPerBlock());
+        try {
+            exporter.export(() -> nextRow() ? resultSet : null, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        totalCount = exporter.getRows();
+        commitWatermark();
+
+        currentRecord = recordBuilderFactory
+                .newRecordBuilder()
+                .withString("path", file.getAbsolutePath())
+                .withString("format", config.getConfig().getExportFormat().name())
+                .withLong("rows", exporter.getRows())
+                .withLong("blocks", exporter.getBlocks())
+                .withLong("bytes", file.length())
+                .withLong("durationMs", System.currentTimeMillis() - start)
+                .build();
+        return true;
+    }
+
     public boolean advance() throws SQLException {
         try {
+            if (config.getConfig().getExportFormat() == ExportFormat.AVRO) {
+                return export();
+            }
             return haveNext();
         } catch (SQLException e) {
             throw e;
@@ -275,6 +418,11 @@ public class JDBCInputReader {
 
     public void close() throws SQLException {
         try {
+            if (pager != null) {
+                pager.close();
+                pager = null;
+            }
+
             if (resultSet != null) {
                 resultSet.close();
                 resultSet = null;
@@ -15,7 +15,12 @@ package org.talend.components.jdbc.input;
 import lombok.Data;
 import org.talend.components.jdbc.dataset.JDBCTableDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.action.Suggestable;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.configuration.ui.widget.Path;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import java.io.Serializable;
@@ -26,7 +31,15 @@ import java.io.Serializable;
 })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = {
         @GridLayout.Row("dataSet"),
-        @GridLayout.Row("config")
+        @GridLayout.Row("config"),
+        @GridLayout.Row("keysetPagination"),
+        @GridLayout.Row("keyColumn"),
+        @GridLayout.Row("pageSize"),
+        @GridLayout.Row("checkpointFile"),
+        @GridLayout.Row("incremental"),
+        @GridLayout.Row("watermarkColumn"),
+        @GridLayout.Row("overlap"),
+        @GridLayout.Row("watermarkFile")
 })
 @Documentation("jdbc table input")
 public class JDBCTableInputConfig implements BaseInputConfig, Serializable {
@@ -39,4 +52,54 @@ public class JDBCTableInputConfig implements BaseInputConfig, Serializable {
     @Documentation("common input config")
     private JDBCCommonInputConfig config = new JDBCCommonInputConfig();
 
+    @Option
+    @Documentation("read the table by pages ordered on a key, instead of a single cursor")
+    private boolean keysetPagination;
+
+    @Option
+    @Required
+    @ActiveIf(target = "keysetPagination", value = { "true" })
+    @Suggestable(value = "ACTION_SUGGESTION_TABLE_COLUMNS_NAMES", parameters = { "../dataSet" })
+    @Documentation("indexed columns the pages are ordered on, comma separated, rows with a null key are not read")
+    private String keyColumn;
+
+    @Option
+    @ActiveIf(target = "keysetPagination", value = { "true" })
+    @Documentation("number of rows per page")
+    private int pageSize = 10000;
+
+    @Path
+    @Option
+    @ActiveIf(target = "keysetPagination", value = { "true" })
+    @Documentation("file keeping the last key read, an interrupted read resumes after it")
+    private String checkpointFile;
+
+    @Option
+    @ActiveIf(target = "keysetPagination", value = { "false" })
+    @Documentation("read only the rows changed since the last run, using a watermark column")
+    private boolean incremental;
+
+    @Option
+    @Required
+    @ActiveIfs({ @ActiveIf(target = "keysetPagination", value = { "false" }),
+            @ActiveIf(target = "incremental", value = { "true" }) })
+    @Suggestable(value = "ACTION_SUGGESTION_TABLE_COLUMNS_NAMES", parameters = { "../dataSet" })
+    @Documentation("column increasing with each change, like a last update date or an auto incremented id")
+    private String watermarkColumn;
+
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "keysetPagination", value = { "false" }),
+            @ActiveIf(target = "incremental", value = { "true" }) })
+    @Documentation("window read again to catch the rows committed late, in seconds for date columns or in units for "
+            + "numeric columns")
+    private long overlap;
+
+    @Path
+    @Option
+    @Required
+    @ActiveIfs({ @ActiveIf(target = "keysetPagination", value = { "false" }),
+            @ActiveIf(target = "incremental", value = { "true" }) })
+    @Documentation("file keeping the watermark of the last run, several tables can share it")
+    private String watermarkFile;
+
 }
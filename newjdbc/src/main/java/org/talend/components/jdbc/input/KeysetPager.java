@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.platforms.Platform;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads a table by pages of <code>WHERE (k1, k2) &gt; (?, ?) ORDER BY k1, k2</code>, limited in SQL with
+ * {@link Platform#limitQuery}, or with {@link java.sql.Statement#setMaxRows} when the platform can't. Each page is
+ * copied in a disconnected {@link CachedRowSet}, so no cursor stays open on the database between two pages, and the
+ * next page is fetched in the background while the current one is read.
+ *
+ * The key doesn't need to be unique: a page never ends in the middle of the rows sharing a key, they are left to the
+ * next page, or read in a single page when there are more of them than a page holds. Rows with a null key are not
+ * read.
+ *
+ * A page is only handed over once the row after the last one of the current page is asked, so once all its rows went
+ * through the downstream components. The checkpoint file then gets the last key of the page before it, which leaves a
+ * page of slack to the outputs writing by batches. A restarted extract resumes after that key, a row may be read
+ * twice but is never missed. The file is deleted once the table is fully read.
+ */
+@Slf4j
+public class KeysetPager implements AutoCloseable {
+
+    private static final String CHECKPOINT_COLUMNS = "columns";
+
+    private static final String CHECKPOINT_KEY = "key.";
+
+    private static final String CHECKPOINT_TYPE = "type.";
+
+    private final Connection connection;
+
+    private final List<String> keyColumns;
+
+    private final String firstQuery;
+
+    private final String nextQuery;
+
+    private final String keyQuery;
+
+    private final boolean limitedInSql;
+
+    private final int pageSize;
+
+    private final File checkpoint;
+
+    private final RowSetFactory rowSetFactory;
+
+    private final ExecutorService executor;
+
+    private Future<Page> prefetch;
+
+    private Page current;
+
+    private Key processed;
+
+    private long pages;
+
+    public KeysetPager(final Connection connection, final Platform platform, final String select,
+            final List<String> keyColumns, final int pageSize, final String checkpointPath) throws SQLException {
+        this.connection = connection;
+        this.keyColumns = keyColumns;
+        this.pageSize = Math.max(1, pageSize);
+        final List<String> quoted = keyColumns.stream().map(platform::identifier).collect(toList());
+        final String orderBy = " ORDER BY " + String.join(", ", quoted);
+        final String first = select + orderBy;
+        final String next = select + " WHERE " + afterKey(quoted) + orderBy;
+        final String limitedFirst = platform.limitQuery(first, this.pageSize);
+        this.limitedInSql = limitedFirst != null;
+        this.firstQuery = limitedInSql ? limitedFirst : first;
+        this.nextQuery = limitedInSql ? platform.limitQuery(next, this.pageSize) : next;
+        this.keyQuery = select + " WHERE " + quoted.stream().map(c -> c + " = ?").collect(joining(" AND ")) + orderBy;
+        this.checkpoint = checkpointPath == null || checkpointPath.isEmpty() ? null : new File(checkpointPath);
+        this.rowSetFactory = RowSetProvider.newFactory();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "jdbc-keyset-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Expands the row value comparison, not every database supports it:
+     * <code>(k1 &gt; ? OR k1 = ? AND k2 &gt; ?)</code>.
+     */
+    static String afterKey(final List<String> quotedColumns) {
+        final StringBuilder predicate = new StringBuilder("(");
+        for (int i = 0; i < quotedColumns.size(); i++) {
+            if (i > 0) {
+                predicate.append(" OR ");
+            }
+            for (int j = 0; j < i; j++) {
+                predicate.append(quotedColumns.get(j)).append(" = ? AND ");
+            }
+            predicate.append(quotedColumns.get(i)).append(" > ?");
+        }
+        return predicate.append(')').toString();
+    }
+
+    /**
+     * Fetches the first page, after the checkpoint if there is one, without prefetching the next one so the caller
+     * can still use the connection.
+     */
+    public ResultSet firstPage() throws SQLException {
+        final Key saved = loadCheckpoint();
+        if (saved != null) {
+            log.info("Resuming {} after key {}", keyColumns, Arrays.toString(saved.values));
+        }
+        current = fetch(saved);
+        return current.rows;
+    }
+
+    /**
+     * Starts fetching the page after the current one in the background, from now on the connection belongs to the
+     * pager until the next page is taken.
+     */
+    public void prefetch() {
+        if (current != null && current.isFull()) {
+            final Key after = current.lastKey;
+            prefetch = executor.submit(() -> fetch(after));
+        }
+    }
+
+    /**
+     * Called once the current page is fully processed: checkpoints the page before it and hands over the next page.
+     *
+     * @return the next page, or null when the table has been fully read.
+     */
+    public ResultSet nextPage() throws SQLException {
+        if (current == null) {
+            return null;
+        }
+        if (prefetch == null) {
+            // last page read
+            current = null;
+            deleteCheckpoint();
+            log.debug("{} pages read", pages);
+            return null;
+        }
+        if (processed != null) {
+            saveCheckpoint(processed);
+        }
+        processed = current.lastKey;
+        try {
+            current = prefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while fetching the next page", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        } finally {
+            prefetch = null;
+        }
+        prefetch();
+        return current.rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        executor.shutdownNow();
+        try {
+            // the connection must not be closed under a running page query
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Next page query still running on close");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (current != null) {
+            current.rows.close();
+        }
+    }
+
+    private Page fetch(final Key after) throws SQLException {
+        CachedRowSet rows = query(after == null ? firstQuery : nextQuery, after, false);
+        pages++;
+        final Key last = lastKey(rows);
+        if (last == null || rows.size() < pageSize) {
+            return new Page(rows, last, false);
+        }
+        int sameKey = 0;
+        rows.afterLast();
+        while (rows.previous() && last.matches(rows)) {
+            sameKey++;
+        }
+        if (sameKey == rows.size()) {
+            // more rows share this key than a page holds, read them all at once
+            rows.close();
+            rows = query(keyQuery, last, true);
+            return new Page(rows, last, true);
+        }
+        // the next page may hold more rows of the last key, leave them all to it
+        for (int i = 0; i < sameKey; i++) {
+            rows.last();
+            rows.deleteRow();
+        }
+        return new Page(rows, lastKey(rows), true);
+    }
+
+    private CachedRowSet query(final String sql, final Key key, final boolean sameKey) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (!sameKey && !limitedInSql) {
+                statement.setMaxRows(pageSize);
+            }
+            statement.setFetchSize(Math.min(pageSize, 10000));
+            if (key != null) {
+                int index = 1;
+                for (int i = 0; i < key.values.length; i++) {
+                    if (sameKey) {
+                        key.bind(statement, index++, i);
+                        continue;
+                    }
+                    for (int j = 0; j <= i; j++) {
+                        key.bind(statement, index++, j);
+                    }
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                final CachedRowSet rows = rowSetFactory.createCachedRowSet();
+                rows.populate(resultSet);
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * @return the key of the last row, the rows being left before the first one.
+     */
+    private Key lastKey(final CachedRowSet rows) throws SQLException {
+        Key key = null;
+        if (rows.last()) {
+            final Object[] values = new Object[keyColumns.size()];
+            final int[] types = new int[keyColumns.size()];
+            for (int i = 0; i < values.length; i++) {
+                final int index = rows.findColumn(keyColumns.get(i));
+                values[i] = rows.getObject(index);
+                types[i] = rows.getMetaData().getColumnType(index);
+            }
+            key = new Key(values, types, false);
+        }
+        rows.beforeFirst();
+        return key;
+    }
+
+    private Key loadCheckpoint() {
+        if (checkpoint == null || !checkpoint.exists()) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint.toPath())) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!String.join(",", keyColumns).equals(properties.getProperty(CHECKPOINT_COLUMNS))) {
+            throw new IllegalStateException("The checkpoint " + checkpoint + " was saved for the key "
+                    + properties.getProperty(CHECKPOINT_COLUMNS) + ", not " + keyColumns + ".");
+        }
+        final Object[] values = new Object[keyColumns.size()];
+        final int[] types = new int[keyColumns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = properties.getProperty(CHECKPOINT_KEY + i);
+            types[i] = Integer.parseInt(properties.getProperty(CHECKPOINT_TYPE + i));
+        }
+        return new Key(values, types, true);
+    }
+
+    private void saveCheckpoint(final Key key) {
+        if (checkpoint == null) {
+            return;
+        }
+        final Properties properties = new Properties();
+        properties.setProperty(CHECKPOINT_COLUMNS, String.join(",", keyColumns));
+        for (int i = 0; i < key.values.length; i++) {
+            properties.setProperty(CHECKPOINT_KEY + i, String.valueOf(key.values[i]));
+            properties.setProperty(CHECKPOINT_TYPE + i, String.valueOf(key.types[i]));
+        }
+        try {
+            final File parent = checkpoint.getAbsoluteFile().getParentFile();
+            if (parent != null && parent.mkdirs()) {
+                log.debug("Created the directory {}", parent);
+            }
+            // never leave a truncated checkpoint behind
+            final File tmp = new File(checkpoint.getPath() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+                properties.store(out, "keyset checkpoint of " + keyColumns);
+            }
+            Files.move(tmp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (checkpoint != null && checkpoint.exists() && !checkpoint.delete()) {
+            log.warn("Can't delete the checkpoint {}", checkpoint);
+        }
+    }
+
+    private class Key {
+
+        private final Object[] values;
+
+        private final int[] types;
+
+        /**
+         * resumed keys are read back as text, the driver converts them.
+         */
+        private final boolean text;
+
+        Key(final Object[] values, final int[] types, final boolean text) {
+            this.values = values;
+            this.types = types;
+            this.text = text;
+        }
+
+        void bind(final PreparedStatement statement, final int index, final int column) throws SQLException {
+            if (text) {
+                statement.setObject(index, values[column], types[column]);
+            } else {
+                statement.setObject(index, values[column]);
+            }
+        }
+
+        boolean matches(final ResultSet row) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (!Objects.equals(values[i], row.getObject(keyColumns.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private class Page {
+
+        private final CachedRowSet rows;
+
+        private final Key lastKey;
+
+        private final boolean full;
+
+        Page(final CachedRowSet rows, final Key lastKey, final boolean full) {
+            this.rows = rows;
+            this.lastKey = lastKey;
+            this.full = full;
+        }
+
+        boolean isFull() {
+            return full && lastKey != null;
+        }
+    }
+}
@@ -14,9 +14,16 @@ package org.talend.components.jdbc.input;
 
 import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.context.RuntimeContext;
+import org.talend.sdk.component.api.context.RuntimeContextHolder;
+import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.connection.Connection;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import javax.annotation.PostConstruct;
@@ -25,6 +32,10 @@ import java.io.Serializable;
 import java.sql.SQLException;
 
 @Slf4j
+@Version(1)
+@Icon(value = Icon.IconType.CUSTOM, custom = "JDBCInput")
+@Emitter(name = "TableInput")
+@Documentation("JDBC table input")
 public class TableEmitter implements Serializable {
 
     private static final long serialVersionUID = 1;
@@ -35,6 +46,12 @@ public class TableEmitter implements Serializable {
 
     private final JDBCService jdbcService;
 
+    @RuntimeContext
+    private transient RuntimeContextHolder context;
+
+    @Connection
+    private transient java.sql.Connection connection;
+
     private transient JDBCService.DataSourceWrapper dataSource;
 
     // private final I18nMessage i18n;
@@ -52,10 +69,17 @@ public class TableEmitter implements Serializable {
 
     @PostConstruct
     public void init() throws SQLException {
-        dataSource = jdbcService.createConnectionOrGetFromSharedConnectionPoolOrDataSource(
-                configuration.getDataSet().getDataStore(), null, false);
+        boolean useExistedConnection = false;
+        if (connection == null) {
+            dataSource = jdbcService.createConnectionOrGetFromSharedConnectionPoolOrDataSource(
+                    configuration.getDataSet().getDataStore(), context, false);
+        } else {
+            useExistedConnection = true;
+            dataSource = new JDBCService.DataSourceWrapper(null, connection);
+        }
 
-        reader = new JDBCInputReader(configuration, jdbcService, false, dataSource, recordBuilderFactory, null);
+        reader = new JDBCInputReader(configuration, jdbcService, useExistedConnection, dataSource, recordBuilderFactory,
+                context);
         reader.open();
     }
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import org.talend.components.jdbc.platforms.Platform;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounds an incremental read between the saved watermark, minus the overlap window, and the high-water mark of the
+ * table when the read starts. Rows inserted during the read are left to the next run.
+ * <p>
+ * The overlap is in seconds for date and time columns and in units for numeric ones: rows committed late with a
+ * watermark just below the saved one are read again, so the reads are at least once.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class WatermarkRange implements Serializable {
+
+    private static final String TIMESTAMP = "timestamp:";
+
+    private static final String NUMBER = "number:";
+
+    private static final String STRING = "string:";
+
+    private final WatermarkStore store;
+
+    private final String key;
+
+    private final long overlap;
+
+    @Getter
+    private Object lower;
+
+    @Getter
+    private Object upper;
+
+    /**
+     * Reads the bounds of the range.
+     *
+     * @return <code>query</code> restricted to the range.
+     */
+    String prepare(final Connection connection, final Platform platform, final String query, final String table,
+            final String column) throws SQLException {
+        lower = minusOverlap(decode(store.load(key)));
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(platform.maxWatermarkQuery(table, column))) {
+            upper = resultSet.next() ? normalize(resultSet.getObject(1)) : null;
+        }
+        log.info("Incremental read of {} from {} to {}", key, lower, upper);
+        if (upper == null) {
+            // empty table, only the schema is read
+            return query + " WHERE 1 = 0";
+        }
+        return platform.watermarkQuery(query, column, lower != null);
+    }
+
+    void bind(final PreparedStatement statement) throws SQLException {
+        if (upper == null) {
+            return;
+        }
+        int index = 1;
+        if (lower != null) {
+            statement.setObject(index++, lower);
+        }
+        statement.setObject(index, upper);
+    }
+
+    /**
+     * Saves the high-water mark, to be called once all the rows of the range are read.
+     */
+    void commit() {
+        if (upper != null) {
+            store.save(key, encode(upper));
+        }
+    }
+
+    private Object minusOverlap(final Object watermark) {
+        if (overlap <= 0 || watermark == null) {
+            return watermark;
+        }
+        if (watermark instanceof Timestamp) {
+            return new Timestamp(((Timestamp) watermark).getTime() - overlap * 1000);
+        }
+        if (watermark instanceof BigDecimal) {
+            return ((BigDecimal) watermark).subtract(BigDecimal.valueOf(overlap));
+        }
+        return watermark;
+    }
+
+    static Object normalize(final Object value) {
+        if (value == null || value instanceof Timestamp || value instanceof BigDecimal) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return new Timestamp(((Date) value).getTime());
+        }
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        if (value instanceof OffsetDateTime) {
+            return Timestamp.from(((OffsetDateTime) value).toInstant());
+        }
+        if (value instanceof ZonedDateTime) {
+            return Timestamp.from(((ZonedDateTime) value).toInstant());
+        }
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString());
+        }
+        return value.toString();
+    }
+
+    static String encode(final Object watermark) {
+        if (watermark instanceof Timestamp) {
+            return TIMESTAMP + watermark;
+        }
+        if (watermark instanceof BigDecimal) {
+            return NUMBER + ((BigDecimal) watermark).toPlainString();
+        }
+        return STRING + watermark;
+    }
+
+    static Object decode(final String watermark) {
+        if (watermark == null) {
+            return null;
+        }
+        if (watermark.startsWith(TIMESTAMP)) {
+            return Timestamp.valueOf(watermark.substring(TIMESTAMP.length()));
+        }
+        if (watermark.startsWith(NUMBER)) {
+            return new BigDecimal(watermark.substring(NUMBER.length()));
+        }
+        if (watermark.startsWith(STRING)) {
+            return watermark.substring(STRING.length());
+        }
+        throw new IllegalArgumentException("Invalid watermark: " + watermark);
+    }
+}
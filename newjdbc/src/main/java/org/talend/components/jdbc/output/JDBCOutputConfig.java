@@ -65,9 +65,11 @@ import static org.talend.sdk.component.api.configuration.condition.ActiveIfs.Ope
         @GridLayout.Row("batchSize"),
         @GridLayout.Row("useQueryTimeout"),
         @GridLayout.Row("queryTimeout"),
+        @GridLayout.Row("upsertStrategy"),
 
         // cloud special
         @GridLayout.Row("rewriteBatchedStatements"),
+        @GridLayout.Row("insertStrategy"),
         @GridLayout.Row("useOriginColumnName")
 
 })
@@ -166,6 +168,19 @@ public class JDBCOutputConfig implements Serializable {
     @Documentation("Rewrite batched statements, to execute one statement per batch combining values in the sql query")
     private boolean rewriteBatchedStatements = true;
 
+    @Option
+    @ActiveIfs(operator = AND, value = {
+            @ActiveIf(target = UIScope.TARGET, value = { UIScope.CLOUD_SCOPE }),
+            @ActiveIf(target = "../dataAction", value = { "INSERT" })
+    })
+    @Documentation("How insert sends the records: one row per batched statement or several rows per statement")
+    private InsertStrategy insertStrategy = InsertStrategy.BATCH;
+
+    @Option
+    @ActiveIf(target = "../dataAction", value = { "INSERT_OR_UPDATE", "UPDATE_OR_INSERT" })
+    @Documentation("How insert or update is executed: existence check per record or native upsert statement")
+    private UpsertStrategy upsertStrategy = UpsertStrategy.CHECK_EXISTENCE;
+
     @Option
     // should not introduce this to studio, as it's a cloud history issue
     @ActiveIf(target = UIScope.TARGET, value = { UIScope.CLOUD_SCOPE })
@@ -26,6 +26,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Studio insert or update: checks the existence of each record with a query, then updates or inserts it.
+ *
+ * With the MERGE upsert strategy, each record is written by the native upsert of the database instead, a single
+ * statement which can't tell an insert from an update: the upserted records are counted as updated.
+ */
 @Slf4j
 public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
 
@@ -35,12 +41,16 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
 
     private String sqlUpdate;
 
+    private String sqlUpsert;
+
     private PreparedStatement statementQuery;
 
     private PreparedStatement statementInsert;
 
     private PreparedStatement statementUpdate;
 
+    private PreparedStatement statementUpsert;
+
     public JDBCOutputInsertOrUpdateWriter(JDBCOutputConfig config, final JDBCService jdbcService,
             boolean useExistedConnection,
             JDBCService.DataSourceWrapper conn,
@@ -55,17 +65,19 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
             if (!isDynamic) {
                 sqlQuery = JDBCSQLBuilder.getInstance()
                         .generateQuerySQL4InsertOrUpdate(platform, config.getDataSet().getTableName(), columnList);
-                statementQuery = conn.getConnection().prepareStatement(sqlQuery);
+                statementQuery = conn.prepareStatement(sqlQuery);
 
                 sqlInsert =
                         JDBCSQLBuilder.getInstance()
                                 .generateSQL4Insert(platform, config.getDataSet().getTableName(), columnList);
-                statementInsert = conn.getConnection().prepareStatement(sqlInsert);
+                statementInsert = conn.prepareStatement(sqlInsert);
 
                 sqlUpdate =
                         JDBCSQLBuilder.getInstance()
                                 .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                statementUpdate = conn.getConnection().prepareStatement(sqlUpdate);
+                statementUpdate = conn.prepareStatement(sqlUpdate);
+
+                prepareUpsert();
             }
         } catch (SQLException e) {
             throw e;
@@ -79,6 +91,8 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
 
     private RowWriter rowWriter4Insert = null;
 
+    private RowWriter rowWriter4Upsert = null;
+
     private boolean initSchema;
 
     private Schema currentSchema;
@@ -94,15 +108,17 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
                     columnList = JDBCSQLBuilder.getInstance().createColumnList(config, currentSchema);
                     sqlQuery = JDBCSQLBuilder.getInstance()
                             .generateQuerySQL4InsertOrUpdate(platform, config.getDataSet().getTableName(), columnList);
-                    statementQuery = conn.getConnection().prepareStatement(sqlQuery);
+                    statementQuery = conn.prepareStatement(sqlQuery);
 
                     sqlUpdate = JDBCSQLBuilder.getInstance()
                             .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                    statementUpdate = conn.getConnection().prepareStatement(sqlUpdate);
+                    statementUpdate = conn.prepareStatement(sqlUpdate);
 
                     sqlInsert = JDBCSQLBuilder.getInstance()
                             .generateSQL4Insert(platform, config.getDataSet().getTableName(), columnList);
-                    statementInsert = conn.getConnection().prepareStatement(sqlInsert);
+                    statementInsert = conn.prepareStatement(sqlInsert);
+
+                    prepareUpsert();
                 } catch (SQLException e) {
                     throw e;
                 }
@@ -167,6 +183,29 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
             rowWriter4Insert = new RowWriter(columnList4Statement, inputSchema, currentSchema, statementInsert,
                     config.isDebugQuery(), sqlInsert);
         }
+
+        if (rowWriter4Upsert == null && statementUpsert != null) {
+            List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.insertable) {
+                    columnList4Statement.add(column);
+                }
+            }
+
+            rowWriter4Upsert = new RowWriter(columnList4Statement, inputSchema, currentSchema, statementUpsert,
+                    config.isDebugQuery(), sqlUpsert);
+        }
+    }
+
+    private void prepareUpsert() throws SQLException {
+        sqlUpsert = generateSQL4Upsert();
+        if (sqlUpsert != null) {
+            statementUpsert = conn.prepareStatement(sqlUpsert);
+        }
     }
 
     @Override
@@ -179,21 +218,33 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
 
         boolean dataExists = false;
 
-        try {
-            rowWriter4Query.write(input);
+        if (statementUpsert == null) {
+            try {
+                rowWriter4Query.write(input);
 
-            try (ResultSet resultSet = statementQuery.executeQuery()) {
-                while (resultSet.next()) {
-                    dataExists = resultSet.getInt(1) > 0;
+                try (ResultSet resultSet = statementQuery.executeQuery()) {
+                    while (resultSet.next()) {
+                        dataExists = resultSet.getInt(1) > 0;
+                    }
                 }
-            }
 
-        } catch (SQLException e) {
-            throw e;
+            } catch (SQLException e) {
+                throw e;
+            }
         }
 
         try {
-            if (dataExists) {// do update
+            if (statementUpsert != null) {// do native upsert
+                String sqlFact = rowWriter4Upsert.write(input);
+                if (sqlFact != null) {
+                    context.set("QUERY", sqlFact);
+                    if (config.isDebugQuery()) {
+                        log.debug("'" + sqlFact.trim() + "'.");
+                    }
+                }
+
+                updateCount += execute(input, statementUpsert);
+            } else if (dataExists) {// do update
                 String sqlFact = rowWriter4Update.write(input);
                 if (sqlFact != null) {
                     context.set("QUERY", sqlFact);
@@ -243,10 +294,12 @@ public class JDBCOutputInsertOrUpdateWriter extends JDBCOutputWriter {
         closeStatementQuietly(statementQuery);
         closeStatementQuietly(statementUpdate);
         closeStatementQuietly(statementInsert);
+        closeStatementQuietly(statementUpsert);
 
         statementQuery = null;
         statementUpdate = null;
         statementInsert = null;
+        statementUpsert = null;
 
         commitAndCloseAtLast();
 
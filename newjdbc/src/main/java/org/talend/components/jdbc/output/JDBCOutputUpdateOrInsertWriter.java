@@ -25,6 +25,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Studio update or insert: updates each record, then inserts it when no row was updated.
+ *
+ * As {@link JDBCOutputInsertOrUpdateWriter}, it writes each record with the native upsert of the database when the
+ * upsert strategy is MERGE, the upserted records are then counted as updated.
+ */
 @Slf4j
 public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
 
@@ -32,10 +38,14 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
 
     private String sqlUpdate;
 
+    private String sqlUpsert;
+
     private PreparedStatement statementInsert;
 
     private PreparedStatement statementUpdate;
 
+    private PreparedStatement statementUpsert;
+
     public JDBCOutputUpdateOrInsertWriter(JDBCOutputConfig config, final JDBCService jdbcService,
             boolean useExistedConnection,
             JDBCService.DataSourceWrapper conn,
@@ -51,12 +61,14 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
                 sqlInsert =
                         JDBCSQLBuilder.getInstance()
                                 .generateSQL4Insert(platform, config.getDataSet().getTableName(), columnList);
-                statementInsert = conn.getConnection().prepareStatement(sqlInsert);
+                statementInsert = conn.prepareStatement(sqlInsert);
 
                 sqlUpdate =
                         JDBCSQLBuilder.getInstance()
                                 .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                statementUpdate = conn.getConnection().prepareStatement(sqlUpdate);
+                statementUpdate = conn.prepareStatement(sqlUpdate);
+
+                prepareUpsert();
             }
         } catch (SQLException e) {
             throw e;
@@ -68,6 +80,8 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
 
     private RowWriter rowWriter4Insert = null;
 
+    private RowWriter rowWriter4Upsert = null;
+
     private boolean initSchema;
 
     private Schema currentSchema;
@@ -83,11 +97,13 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
                     columnList = JDBCSQLBuilder.getInstance().createColumnList(config, currentSchema);
                     sqlInsert = JDBCSQLBuilder.getInstance()
                             .generateSQL4Insert(platform, config.getDataSet().getTableName(), columnList);
-                    statementInsert = conn.getConnection().prepareStatement(sqlInsert);
+                    statementInsert = conn.prepareStatement(sqlInsert);
 
                     sqlUpdate = JDBCSQLBuilder.getInstance()
                             .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                    statementUpdate = conn.getConnection().prepareStatement(sqlUpdate);
+                    statementUpdate = conn.prepareStatement(sqlUpdate);
+
+                    prepareUpsert();
                 } catch (SQLException e) {
                     throw e;
                 }
@@ -137,6 +153,29 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
             rowWriter4Insert = new RowWriter(columnList4Statement, inputSchema, currentSchema, statementInsert,
                     config.isDebugQuery(), sqlInsert);
         }
+
+        if (rowWriter4Upsert == null && statementUpsert != null) {
+            List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.insertable) {
+                    columnList4Statement.add(column);
+                }
+            }
+
+            rowWriter4Upsert = new RowWriter(columnList4Statement, inputSchema, currentSchema, statementUpsert,
+                    config.isDebugQuery(), sqlUpsert);
+        }
+    }
+
+    private void prepareUpsert() throws SQLException {
+        sqlUpsert = generateSQL4Upsert();
+        if (sqlUpsert != null) {
+            statementUpsert = conn.prepareStatement(sqlUpsert);
+        }
     }
 
     @Override
@@ -147,7 +186,7 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
 
         initRowWriterIfNot(inputSchema);
 
-        String updateSqlFact = rowWriter4Update.write(input);
+        String updateSqlFact = statementUpsert != null ? rowWriter4Upsert.write(input) : rowWriter4Update.write(input);
         if (updateSqlFact != null) {
             context.set("QUERY", updateSqlFact);
             if (config.isDebugQuery()) {
@@ -156,23 +195,27 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
         }
 
         try {
-            int count = statementUpdate.executeUpdate();
-            updateCount += count;
-
-            boolean noDataUpdate = (count == 0);
-
-            if (noDataUpdate) {
-                String insertSqlFact = rowWriter4Insert.write(input);
-                if (insertSqlFact != null) {
-                    context.set("QUERY", insertSqlFact);
-                    if (config.isDebugQuery()) {
-                        log.debug("'" + insertSqlFact.trim() + "'.");
+            if (statementUpsert != null) {// do native upsert
+                updateCount += execute(input, statementUpsert);
+            } else {
+                int count = statementUpdate.executeUpdate();
+                updateCount += count;
+
+                boolean noDataUpdate = (count == 0);
+
+                if (noDataUpdate) {
+                    String insertSqlFact = rowWriter4Insert.write(input);
+                    if (insertSqlFact != null) {
+                        context.set("QUERY", insertSqlFact);
+                        if (config.isDebugQuery()) {
+                            log.debug("'" + insertSqlFact.trim() + "'.");
+                        }
                     }
+                    insertCount += execute(input, statementInsert);
+                } else {
+                    totalCount++;
+                    handleSuccess(input);
                 }
-                insertCount += execute(input, statementInsert);
-            } else {
-                totalCount++;
-                handleSuccess(input);
             }
         } catch (SQLException e) {
             if (dieOnError) {
@@ -202,9 +245,11 @@ public class JDBCOutputUpdateOrInsertWriter extends JDBCOutputWriter {
     public void close() throws SQLException {
         closeStatementQuietly(statementUpdate);
         closeStatementQuietly(statementInsert);
+        closeStatementQuietly(statementUpsert);
 
         statementUpdate = null;
         statementInsert = null;
+        statementUpsert = null;
 
         commitAndCloseAtLast();
 
@@ -42,7 +42,7 @@ public class JDBCOutputUpdateWriter extends JDBCOutputWriter {
             if (!isDynamic) {
                 sql = JDBCSQLBuilder.getInstance()
                         .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                statement = conn.getConnection().prepareStatement(sql);
+                statement = conn.prepareStatement(sql);
             }
         } catch (SQLException e) {
             throw e;
@@ -63,7 +63,7 @@ public class JDBCOutputUpdateWriter extends JDBCOutputWriter {
                     columnList = JDBCSQLBuilder.getInstance().createColumnList(config, currentSchema);
                     sql = JDBCSQLBuilder.getInstance()
                             .generateSQL4Update(platform, config.getDataSet().getTableName(), columnList);
-                    statement = conn.getConnection().prepareStatement(sql);
+                    statement = conn.prepareStatement(sql);
                 } catch (SQLException e) {
                     throw e;
                 }
@@ -93,10 +93,13 @@ public abstract class JDBCOutputWriter {
 
     protected final Platform platform;
 
+    private final JDBCService jdbcService;
+
     public JDBCOutputWriter(final JDBCOutputConfig config, final JDBCService jdbcService,
             final boolean useExistedConnection, final JDBCService.DataSourceWrapper conn,
             final RecordBuilderFactory recordBuilderFactory, final RuntimeContextHolder context) {
         this.config = config;
+        this.jdbcService = jdbcService;
 
         this.isCloud = RuntimeEnvUtil.isCloud(config.getDataSet().getDataStore());
         if (isCloud) {
@@ -299,6 +302,27 @@ public abstract class JDBCOutputWriter {
         return result;
     }
 
+    /**
+     * Native upsert of the insert or update actions, when the upsert strategy is MERGE. In the studio it is the upsert
+     * of the connected database, the generic platform has none.
+     *
+     * @return the upsert statement binding the insertable columns, or null to keep the per record statements.
+     */
+    protected String generateSQL4Upsert() throws SQLException {
+        if (config.getUpsertStrategy() != UpsertStrategy.MERGE) {
+            return null;
+        }
+        final Platform upsertPlatform =
+                isCloud ? platform : jdbcService.getPlatformService().getPlatform(conn.getConnection());
+        final String sql = JDBCSQLBuilder.getInstance()
+                .generateSQL4Upsert(upsertPlatform, config.getDataSet().getTableName(), columnList);
+        if (sql == null) {
+            log.info("No native upsert for the platform {}, the records keep their own statements.",
+                    upsertPlatform.name());
+        }
+        return sql;
+    }
+
     protected int execute(Record input, PreparedStatement statement) throws SQLException {
         int count = 0;
 
@@ -214,6 +214,14 @@ public class JDBCSQLBuilder {
     }
 
     public String generateSQL4Insert(Platform platform, String tableName, List<Column> columnList) {
+        return generateSQL4Insert(platform, tableName, columnList, 1);
+    }
+
+    /**
+     * @return the insert of <code>rows</code> rows in a single VALUES clause, the parameters of each row following the
+     * ones of the previous row.
+     */
+    public String generateSQL4Insert(Platform platform, String tableName, List<Column> columnList, int rows) {
         List<String> dbColumnNames = new ArrayList<>();
         List<String> expressions = new ArrayList<>();
 
@@ -226,7 +234,7 @@ public class JDBCSQLBuilder {
             }
         }
 
-        return generateSQL4Insert(platform, tableName, dbColumnNames, expressions);
+        return generateSQL4Insert(platform, tableName, dbColumnNames, expressions, rows);
     }
 
     public List<Column> createColumnList(JDBCOutputConfig config, Schema schema) {
@@ -460,7 +468,7 @@ public class JDBCSQLBuilder {
     }
 
     private String generateSQL4Insert(Platform platform, String tableName, List<String> insertableDBColumns,
-            List<String> expressions) {
+            List<String> expressions, int rows) {
         StringBuilder sb = new StringBuilder();
         sb.append("INSERT INTO ")
                 .append(platform.delimiterToken())
@@ -483,19 +491,25 @@ public class JDBCSQLBuilder {
 
         sb.append(" VALUES ");
 
-        sb.append("(");
-
-        firstOne = true;
-        for (String expression : expressions) {
-            if (firstOne) {
-                firstOne = false;
-            } else {
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
                 sb.append(",");
             }
 
-            sb.append(expression);
+            sb.append("(");
+
+            firstOne = true;
+            for (String expression : expressions) {
+                if (firstOne) {
+                    firstOne = false;
+                } else {
+                    sb.append(",");
+                }
+
+                sb.append(expression);
+            }
+            sb.append(")");
         }
-        sb.append(")");
 
         return sb.toString();
     }
@@ -664,6 +678,34 @@ public class JDBCSQLBuilder {
         return generateQuerySQL4InsertOrUpdate(platform, tableName, updateKeys, updateKeyExpressions);
     }
 
+    /**
+     * @return the native upsert of the platform, binding the insertable columns in order, or null if it has none
+     * or no key is set.
+     */
+    public String generateSQL4Upsert(Platform platform, String tableName, List<Column> columnList) {
+        List<String> columns = new ArrayList<>();
+        List<String> updateKeys = new ArrayList<>();
+        List<String> updatable = new ArrayList<>();
+
+        List<Column> all = getAllColumns(columnList);
+
+        for (Column column : all) {
+            if (column.insertable) {
+                columns.add(column.dbColumnName);
+            }
+            if (column.updateKey) {
+                updateKeys.add(column.dbColumnName);
+            } else if (column.updatable) {
+                updatable.add(column.dbColumnName);
+            }
+        }
+
+        if (updateKeys.isEmpty()) {
+            return null;
+        }
+        return platform.upsertQuery(tableName, columns, updateKeys, updatable);
+    }
+
     public static List<Column> getAllColumns(List<Column> columnList) {
         List<Column> result = new ArrayList<>();
         for (Column column : columnList) {
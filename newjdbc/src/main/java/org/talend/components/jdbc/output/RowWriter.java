@@ -43,6 +43,14 @@ public class RowWriter {
 
     public RowWriter(List<JDBCSQLBuilder.Column> columnList, Schema inputSchema, Schema currentSchema,
             PreparedStatement statement, boolean debug, String sql) {
+        this(columnList, inputSchema, currentSchema, statement, debug, sql, 0);
+    }
+
+    /**
+     * @param offset the number of parameters before the ones of this row, when a statement inserts several rows.
+     */
+    public RowWriter(List<JDBCSQLBuilder.Column> columnList, Schema inputSchema, Schema currentSchema,
+            PreparedStatement statement, boolean debug, String sql, int offset) {
         this.debug = debug;
 
         if (debug) {
@@ -51,7 +59,7 @@ public class RowWriter {
 
         List<TypeWriter> writers = new ArrayList<>();
 
-        int statementIndex = 0;
+        int statementIndex = offset;
 
         for (JDBCSQLBuilder.Column column : columnList) {
             Schema.Entry inputField = CommonUtils.getField(inputSchema, column.columnLabel);
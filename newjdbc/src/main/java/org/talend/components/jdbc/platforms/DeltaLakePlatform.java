@@ -19,6 +19,8 @@ import org.talend.components.jdbc.schema.Dbms;
 import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * https://docs.microsoft.com/en-us/azure/databricks/spark/latest/spark-sql/language-manual/sql-ref-syntax-ddl-create-table-datasource#create-table-delta
@@ -42,6 +44,11 @@ public class DeltaLakePlatform extends Platform {
         return "`";
     }
 
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " LIMIT " + rows;
+    }
+
     @Override
     public void addDataSourceProperties(HikariDataSource dataSource) {
         super.addDataSourceProperties(dataSource);
@@ -57,6 +64,16 @@ public class DeltaLakePlatform extends Platform {
         return String.format("%s://%s:%s/%s%s", protocol, host, port, database, params.replace('&', ';'));
     }
 
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, columns
+                .stream()
+                .map(this::identifier)
+                .map(c -> "? AS " + c)
+                .collect(Collectors.joining(", ", "(SELECT ", ") src")), columns, keys, updatable);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping) {
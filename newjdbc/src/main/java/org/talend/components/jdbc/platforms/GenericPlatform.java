@@ -39,6 +39,14 @@ public class GenericPlatform extends Platform {
         return "";
     }
 
+    /**
+     * The dialect is unknown, the rows are limited by the driver.
+     */
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return null;
+    }
+
     @Override
     public String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
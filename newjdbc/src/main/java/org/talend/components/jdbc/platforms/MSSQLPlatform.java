@@ -20,6 +20,7 @@ import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +57,30 @@ public class MSSQLPlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * SQL Server only accepts FETCH after an OFFSET clause.
+     */
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " OFFSET 0 ROWS FETCH NEXT " + rows + " ROWS ONLY";
+    }
+
+    /**
+     * The server refuses the requests with more than 2100 parameters.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 2099;
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, "(" + valuesClause(columns) + ") AS src "
+                + columns.stream().map(this::identifier).collect(Collectors.joining(", ", "(", ")")), columns, keys,
+                updatable) + ";";
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
@@ -97,5 +122,10 @@ public class MSSQLPlatform extends Platform {
 
         // https://docs.microsoft.com/en-us/sql/connect/jdbc/setting-the-connection-properties?view=sql-server-2017
         dataSource.addDataSourceProperty("applicationName", APPLICATION);
+        if (getDriver() == null || !MSSQL_JTDS.equalsIgnoreCase(getDriver().getId())) {
+            // jtds pools its statements by default (maxStatements), mssql-jdbc only once a cache size is set
+            addDataSourcePropertyIfAbsent(dataSource, "disableStatementPooling", "false");
+            addDataSourcePropertyIfAbsent(dataSource, "statementPoolingCacheSize", "250");
+        }
     }
 }
@@ -12,6 +12,7 @@
  */
 package org.talend.components.jdbc.platforms;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.common.JDBCConfiguration;
 import org.talend.components.jdbc.schema.Dbms;
@@ -19,6 +20,7 @@ import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,6 +42,30 @@ public class MariaDbPlatform extends Platform {
         return "`";
     }
 
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " LIMIT " + rows;
+    }
+
+    @Override
+    public int maxBindParameters() {
+        return 65535;
+    }
+
+    @Override
+    public void addDataSourceProperties(final HikariDataSource dataSource) {
+        super.addDataSourceProperties(dataSource);
+        // reuse server side prepared statements across batches, cachePrepStmts is enabled by default
+        // https://mariadb.com/kb/en/about-mariadb-connector-j/#optional-url-parameters
+        addDataSourcePropertyIfAbsent(dataSource, "useServerPrepStmts", "true");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return insertQuery(table, columns, valuesClause(columns)) + onDuplicateKey(keys, updatable);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
@@ -20,6 +20,7 @@ import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +46,16 @@ public class MySQLPlatform extends Platform {
         return "`";
     }
 
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " LIMIT " + rows;
+    }
+
+    @Override
+    public int maxBindParameters() {
+        return 65535;
+    }
+
     @Override
     public void addDataSourceProperties(HikariDataSource dataSource) {
         super.addDataSourceProperties(dataSource);
@@ -53,6 +64,18 @@ public class MySQLPlatform extends Platform {
         if (jdbcUrl != null && !jdbcUrl.contains("enabledTLSProtocols=")) {
             dataSource.addDataSourceProperty("enabledTLSProtocols", "TLSv1.2,TLSv1.1,TLSv1");
         }
+        // reuse server side prepared statements across batches
+        // https://dev.mysql.com/doc/connector-j/en/connector-j-connp-props-prepared-statements.html
+        addDataSourcePropertyIfAbsent(dataSource, "useServerPrepStmts", "true");
+        addDataSourcePropertyIfAbsent(dataSource, "cachePrepStmts", "true");
+        addDataSourcePropertyIfAbsent(dataSource, "prepStmtCacheSize", "250");
+        addDataSourcePropertyIfAbsent(dataSource, "prepStmtCacheSqlLimit", "2048");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return insertQuery(table, columns, valuesClause(columns)) + onDuplicateKey(keys, updatable);
     }
 
     @Override
@@ -20,6 +20,7 @@ import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +60,24 @@ public class OraclePlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * Oracle only accepts a single row per VALUES clause.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 0;
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return mergeQuery(table, columns
+                .stream()
+                .map(this::identifier)
+                .map(c -> "? AS " + c)
+                .collect(Collectors.joining(", ", "(SELECT ", " FROM DUAL) src")), columns, keys, updatable);
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
@@ -318,6 +318,122 @@ public abstract class Platform implements Serializable {
                 .build();
     }
 
+    /**
+     * Builds a statement inserting a row, or updating it when a row with the same keys already exists. Each column is
+     * bound once, in the order of <code>columns</code>.
+     *
+     * @param table the target table.
+     * @param columns the columns to write, keys included.
+     * @param keys the columns identifying a row.
+     * @param updatable the columns to update on an existing row.
+     * @return the upsert statement, or null when the platform has no native upsert.
+     */
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        return null;
+    }
+
+    /**
+     * @return the maximum number of parameters bound to a single statement, 0 when the platform can't insert several
+     * rows with a single VALUES clause.
+     */
+    public int maxBindParameters() {
+        return 2000;
+    }
+
+    /**
+     * @return the maximum number of rows of a single VALUES clause.
+     */
+    public int maxInsertRows() {
+        return 1000;
+    }
+
+    /**
+     * @param query the select query of the table, without where clause.
+     * @param column the watermark column.
+     * @param lowerBound whether the rows must be above a lower bound, bound as the first parameter.
+     * @return <code>query</code> restricted to the rows up to the high-water mark, bound as the last parameter.
+     */
+    public String watermarkQuery(final String query, final String column, final boolean lowerBound) {
+        final String watermark = identifier(column);
+        return query + " WHERE " + (lowerBound ? watermark + " > ? AND " : "") + watermark + " <= ?";
+    }
+
+    /**
+     * @param table the source table.
+     * @param column the watermark column.
+     * @return the statement reading the current high-water mark of the table.
+     */
+    public String maxWatermarkQuery(final String table, final String column) {
+        return "SELECT MAX(" + identifier(column) + ") FROM " + identifier(table);
+    }
+
+    /**
+     * Limits an ordered query to its first rows.
+     *
+     * @param query a query ending with its ORDER BY clause.
+     * @param rows the number of rows to keep.
+     * @return the limited query, or null when the platform can't limit it and
+     * {@link java.sql.Statement#setMaxRows} has to be used instead.
+     */
+    public String limitQuery(final String query, final int rows) {
+        return query + " FETCH FIRST " + rows + " ROWS ONLY";
+    }
+
+    protected String insertQuery(final String table, final List<String> columns, final String source) {
+        return "INSERT INTO " + identifier(table) + " "
+                + columns.stream().map(this::identifier).collect(joining(", ", "(", ")")) + " " + source;
+    }
+
+    protected String valuesClause(final List<String> columns) {
+        return columns.stream().map(c -> "?").collect(joining(", ", "VALUES (", ")"));
+    }
+
+    /**
+     * MySQL and MariaDB upsert clause, it applies on any unique index of the table so the keys must be backed by one.
+     * Without updatable column the first key is set to itself, to ignore the duplicates.
+     */
+    protected String onDuplicateKey(final List<String> keys, final List<String> updatable) {
+        return " ON DUPLICATE KEY UPDATE " + (updatable.isEmpty() ? keys.subList(0, 1) : updatable)
+                .stream()
+                .map(this::identifier)
+                .map(c -> c + " = VALUES(" + c + ")")
+                .collect(joining(", "));
+    }
+
+    /**
+     * ANSI MERGE of <code>source</code>, a table or a derived table aliased <code>src</code>, into the target table.
+     */
+    protected String mergeQuery(final String table, final String source, final List<String> columns,
+            final List<String> keys, final List<String> updatable) {
+        final StringBuilder sql = new StringBuilder("MERGE INTO ")
+                .append(identifier(table))
+                .append(" tgt USING ")
+                .append(source)
+                .append(" ON (")
+                .append(keys
+                        .stream()
+                        .map(this::identifier)
+                        .map(k -> "tgt." + k + " = src." + k)
+                        .collect(joining(" AND ")))
+                .append(")");
+        if (!updatable.isEmpty()) {
+            sql
+                    .append(" WHEN MATCHED THEN UPDATE SET ")
+                    .append(updatable
+                            .stream()
+                            .map(this::identifier)
+                            .map(c -> "tgt." + c + " = src." + c)
+                            .collect(joining(", ")));
+        }
+        return sql
+                .append(" WHEN NOT MATCHED THEN INSERT ")
+                .append(columns.stream().map(this::identifier).collect(joining(", ", "(", ")")))
+                .append(" VALUES ")
+                .append(columns.stream().map(this::identifier).map(c -> "src." + c).collect(joining(", ", "(", ")")))
+                .toString();
+    }
+
     /**
      * Add platform related properties to jdbc connections
      *
@@ -326,4 +442,15 @@ public abstract class Platform implements Serializable {
     public void addDataSourceProperties(final HikariDataSource dataSource) {
         // to be override by impl
     }
+
+    /**
+     * Add a driver property unless it is already set in the jdbc url parameters.
+     */
+    protected void addDataSourcePropertyIfAbsent(final HikariDataSource dataSource, final String name,
+            final Object value) {
+        final String jdbcUrl = dataSource.getJdbcUrl();
+        if (jdbcUrl == null || !jdbcUrl.contains(name + "=")) {
+            dataSource.addDataSourceProperty(name, value);
+        }
+    }
 }
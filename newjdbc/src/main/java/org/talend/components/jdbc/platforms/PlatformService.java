@@ -19,6 +19,8 @@ import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.configuration.Configuration;
 import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Locale;
 import java.util.function.Supplier;
 
@@ -110,4 +112,30 @@ public class PlatformService {
         }
     }
 
+    /**
+     * The studio data store doesn't set the database type, the platform is found from the product name of the
+     * connected database instead.
+     *
+     * @return the platform of the database, or the generic platform when it isn't known.
+     */
+    public Platform getPlatform(final Connection connection) throws SQLException {
+        final String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        if (product.contains("postgresql")) {
+            return new PostgreSQLPlatform(i18n, null);
+        }
+        if (product.contains("mariadb")) {
+            return new MariaDbPlatform(i18n, null);
+        }
+        if (product.contains("mysql")) {
+            return new MySQLPlatform(i18n, null);
+        }
+        if (product.contains("microsoft sql server")) {
+            return new MSSQLPlatform(i18n, null);
+        }
+        if (product.contains("oracle")) {
+            return new OraclePlatform(i18n, null);
+        }
+        return new GenericPlatform(i18n, null);
+    }
+
 }
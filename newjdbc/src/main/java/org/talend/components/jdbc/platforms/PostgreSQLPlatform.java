@@ -12,6 +12,7 @@
  */
 package org.talend.components.jdbc.platforms;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.common.JDBCConfiguration;
 import org.talend.components.jdbc.schema.Dbms;
@@ -19,6 +20,7 @@ import org.talend.components.jdbc.service.I18nMessage;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +46,36 @@ public class PostgreSQLPlatform extends Platform {
         return "\"";
     }
 
+    /**
+     * The protocol allows 65535 parameters, the drivers older than 42.4 only 32767.
+     */
+    @Override
+    public int maxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public void addDataSourceProperties(final HikariDataSource dataSource) {
+        super.addDataSourceProperties(dataSource);
+        // switch to a named server side statement from the first execution, statements are reused across batches
+        // https://jdbc.postgresql.org/documentation/server-prepare/
+        addDataSourcePropertyIfAbsent(dataSource, "prepareThreshold", "1");
+    }
+
+    @Override
+    public String upsertQuery(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updatable) {
+        // the keys must be backed by a unique index or constraint
+        final String target = keys.stream().map(this::identifier).collect(Collectors.joining(", ", "(", ")"));
+        return insertQuery(table, columns, valuesClause(columns)) + " ON CONFLICT " + target
+                + (updatable.isEmpty() ? " DO NOTHING"
+                        : " DO UPDATE SET " + updatable
+                                .stream()
+                                .map(this::identifier)
+                                .map(c -> c + " = EXCLUDED." + c)
+                                .collect(Collectors.joining(", ")));
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
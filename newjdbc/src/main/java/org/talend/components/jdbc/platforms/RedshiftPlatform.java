@@ -50,6 +50,16 @@ public class RedshiftPlatform extends Platform {
         return "\"";
     }
 
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " LIMIT " + rows;
+    }
+
+    @Override
+    public int maxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
@@ -34,6 +34,22 @@ public class SQLDWHPlatform extends MSSQLPlatform {
         super(i18n, driver);
     }
 
+    /**
+     * Synapse dedicated pools only accept a single row per VALUES clause.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 0;
+    }
+
+    /**
+     * Synapse dedicated pools don't support OFFSET, the rows are limited by the driver.
+     */
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return null;
+    }
+
     @Override
     public void createTableIfNotExist(final Connection connection,
             final List<Record> records, final Dbms mapping, final JDBCOutputConfig config,
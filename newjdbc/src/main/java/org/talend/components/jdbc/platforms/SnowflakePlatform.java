@@ -56,6 +56,11 @@ public class SnowflakePlatform extends Platform {
         return "\"";
     }
 
+    @Override
+    public String limitQuery(final String query, final int rows) {
+        return query + " LIMIT " + rows;
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table, final boolean useOriginColumnName,
             Dbms mapping)
@@ -20,11 +20,11 @@ import org.talend.components.jdbc.output.RowWriter;
 import org.talend.components.jdbc.platforms.Platform;
 import org.talend.components.jdbc.schema.SchemaInferer;
 import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JDBCService;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -47,7 +47,8 @@ public class Delete extends QueryManagerImpl {
     }
 
     @Override
-    public PreparedStatement buildQuery(final List<Record> records, final Connection connection) throws SQLException {
+    public PreparedStatement buildQuery(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
         final List<Schema.Entry> entries = records
                 .stream()
                 .flatMap(r -> r.getSchema().getEntries().stream())
@@ -70,7 +71,7 @@ public class Delete extends QueryManagerImpl {
 
         log.debug("DELETE SQL: " + sql);
 
-        final PreparedStatement statement = connection.prepareStatement(sql);
+        final PreparedStatement statement = dataSource.prepareStatement(sql);
 
         final List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
         for (JDBCSQLBuilder.Column column : columnList) {
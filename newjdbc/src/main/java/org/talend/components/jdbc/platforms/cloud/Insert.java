@@ -19,11 +19,11 @@ import org.talend.components.jdbc.output.RowWriter;
 import org.talend.components.jdbc.platforms.Platform;
 import org.talend.components.jdbc.schema.SchemaInferer;
 import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JDBCService;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -34,13 +34,23 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 public class Insert extends QueryManagerImpl {
 
+    protected Schema inputSchema;
+
+    protected Schema currentSchema;
+
+    protected List<JDBCSQLBuilder.Column> columnList;
+
+    /** the columns bound for each row, in the order of the parameters. */
+    protected List<JDBCSQLBuilder.Column> columnList4Statement;
+
     public Insert(final Platform platform, final JDBCOutputConfig configuration, final I18nMessage i18n,
             final RecordBuilderFactory recordBuilderFactory) {
         super(platform, configuration, i18n, recordBuilderFactory);
     }
 
     @Override
-    public PreparedStatement buildQuery(final List<Record> records, final Connection connection) throws SQLException {
+    public PreparedStatement buildQuery(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
         final List<Schema.Entry> entries = records
                 .stream()
                 .flatMap(r -> r.getSchema().getEntries().stream())
@@ -49,20 +59,20 @@ public class Insert extends QueryManagerImpl {
 
         final Schema.Builder schemaBuilder = getRecordBuilderFactory().newSchemaBuilder(Schema.Type.RECORD);
         entries.forEach(schemaBuilder::withEntry);
-        final Schema inputSchema = schemaBuilder.build();
+        inputSchema = schemaBuilder.build();
 
-        final Schema currentSchema = SchemaInferer.mergeRuntimeSchemaAndDesignSchema4Dynamic(
+        currentSchema = SchemaInferer.mergeRuntimeSchemaAndDesignSchema4Dynamic(
                 getConfiguration().getDataSet().getSchema(), inputSchema, getRecordBuilderFactory());
 
-        final List<JDBCSQLBuilder.Column> columnList = JDBCSQLBuilder.getInstance()
+        columnList = JDBCSQLBuilder.getInstance()
                 .createColumnList(getConfiguration(), currentSchema, getConfiguration().isUseOriginColumnName(), null,
                         null);
         final String sql = JDBCSQLBuilder.getInstance()
                 .generateSQL4Insert(getPlatform(), getConfiguration().getDataSet().getTableName(), columnList);
 
-        final PreparedStatement statement = connection.prepareStatement(sql);
+        final PreparedStatement statement = dataSource.prepareStatement(sql);
 
-        final List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+        columnList4Statement = new ArrayList<>();
         for (JDBCSQLBuilder.Column column : columnList) {
             if (column.addCol || (column.isReplaced())) {
                 continue;
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.platforms.cloud;
+
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.output.JDBCOutputConfig;
+import org.talend.components.jdbc.output.JDBCSQLBuilder;
+import org.talend.components.jdbc.output.RowWriter;
+import org.talend.components.jdbc.platforms.Platform;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Insert sending the records in statements of several rows, as many as {@link Platform#maxBindParameters()} and
+ * {@link Platform#maxInsertRows()} allow, for the drivers not rewriting the batches themselves. A batch needs at most
+ * two statement shapes, the full one and the last rows, both cached by the data source.
+ * <p>
+ * When a statement fails, the records not committed yet are inserted again one row per statement to isolate the
+ * rejected ones.
+ */
+@Slf4j
+public class MultiRowInsert extends Insert {
+
+    private PreparedStatement fullStatement;
+
+    private Schema fullSchema;
+
+    private RowWriter[] fullWriters;
+
+    public MultiRowInsert(final Platform platform, final JDBCOutputConfig configuration, final I18nMessage i18n,
+            final RecordBuilderFactory recordBuilderFactory) {
+        super(platform, configuration, i18n, recordBuilderFactory);
+    }
+
+    @Override
+    public List<Reject> execute(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
+        if (records.isEmpty()) {
+            return emptyList();
+        }
+        final PreparedStatement singleRow = buildQuery(records, dataSource);
+        final int columns = columnList4Statement.size();
+        final int rowsPerStatement = columns == 0 ? 0
+                : Math.min(getPlatform().maxInsertRows(), getPlatform().maxBindParameters() / columns);
+        if (rowsPerStatement < 2 || records.size() < 2 || getConfiguration().isDebugQuery()) {
+            return execute(records, dataSource, singleRow);
+        }
+
+        try {
+            final Connection connection = dataSource.getConnection();
+            int inserted = 0;
+            try {
+                while (inserted < records.size()) {
+                    final List<Record> rows =
+                            records.subList(inserted, Math.min(records.size(), inserted + rowsPerStatement));
+                    final PreparedStatement statement = dataSource.prepareStatement(JDBCSQLBuilder.getInstance()
+                            .generateSQL4Insert(getPlatform(), getConfiguration().getDataSet().getTableName(),
+                                    columnList, rows.size()));
+                    final RowWriter[] writers = writers(statement, rows.size(), rows.size() == rowsPerStatement);
+                    for (int i = 0; i < rows.size(); i++) {
+                        writers[i].write(rows.get(i));
+                    }
+                    statement.executeUpdate();
+                    inserted += rows.size();
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                return emptyList();
+            } catch (final SQLException e) {
+                // in auto commit the previous statements are already committed
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    inserted = 0;
+                }
+                log.debug("Multi-row insert failed, inserting the {} remaining records row by row",
+                        records.size() - inserted, e);
+                return execute(records.subList(inserted, records.size()), dataSource, singleRow);
+            }
+        } catch (final SQLException e) {
+            dataSource.discardStatementsOnConnectionError(e);
+            throw e;
+        }
+    }
+
+    /**
+     * The writers of the full statement are kept across the batches while the data source returns the same cached
+     * statement for records of the same schema, the columns bound being derived from it.
+     */
+    private RowWriter[] writers(final PreparedStatement statement, final int rows, final boolean full) {
+        if (full && statement == fullStatement && inputSchema.equals(fullSchema)) {
+            return fullWriters;
+        }
+        final RowWriter[] writers = new RowWriter[rows];
+        for (int i = 0; i < rows; i++) {
+            writers[i] = new RowWriter(columnList4Statement, inputSchema, currentSchema, statement, false, null,
+                    i * columnList4Statement.size());
+        }
+        if (full) {
+            fullStatement = statement;
+            fullSchema = inputSchema;
+            fullWriters = writers;
+        }
+        return writers;
+    }
+}
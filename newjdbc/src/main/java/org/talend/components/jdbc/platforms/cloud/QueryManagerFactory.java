@@ -14,6 +14,8 @@ package org.talend.components.jdbc.platforms.cloud;
 
 import lombok.Data;
 import org.talend.components.jdbc.output.JDBCOutputConfig;
+import org.talend.components.jdbc.output.InsertStrategy;
+import org.talend.components.jdbc.output.UpsertStrategy;
 import org.talend.components.jdbc.platforms.Platform;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
@@ -47,12 +49,18 @@ public final class QueryManagerFactory {
         default:
             switch (configuration.getDataAction()) {
             case INSERT:
+                if (configuration.getInsertStrategy() == InsertStrategy.MULTI_ROW) {
+                    return new MultiRowInsert(platform, configuration, i18n, recordBuilderFactory);
+                }
                 return new Insert(platform, configuration, i18n, recordBuilderFactory);
             case UPDATE:
                 return new Update(platform, configuration, i18n, recordBuilderFactory);
             case DELETE:
                 return new Delete(platform, configuration, i18n, recordBuilderFactory);
             case INSERT_OR_UPDATE:
+                if (configuration.getUpsertStrategy() == UpsertStrategy.MERGE) {
+                    return new UpsertMerge(platform, configuration, i18n, recordBuilderFactory);
+                }
                 return new UpsertDefault(platform, configuration, i18n, recordBuilderFactory);
             default:
                 throw new IllegalStateException(i18n.errorUnsupportedDatabaseAction());
@@ -58,7 +58,8 @@ public abstract class QueryManagerImpl implements QueryManager {
 
     private Integer retryCount = 0;
 
-    protected PreparedStatement buildQuery(List<Record> records, Connection connection) throws SQLException {
+    protected PreparedStatement buildQuery(List<Record> records, JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
         return null;
     }
 
@@ -68,8 +69,18 @@ public abstract class QueryManagerImpl implements QueryManager {
         if (records.isEmpty()) {
             return emptyList();
         }
+        return execute(records, dataSource, buildQuery(records, dataSource));
+    }
+
+    protected List<Reject> execute(final List<Record> records, final JDBCService.DataSourceWrapper dataSource,
+            final PreparedStatement statement) throws SQLException {
         final Connection connection = dataSource.getConnection();
-        return processRecords(records, connection, buildQuery(records, connection));
+        try {
+            return processRecords(records, connection, statement);
+        } catch (final SQLException e) {
+            dataSource.discardStatementsOnConnectionError(e);
+            throw e;
+        }
     }
 
     private List<Reject> processRecords(final List<Record> records, final Connection connection,
@@ -78,48 +89,46 @@ public abstract class QueryManagerImpl implements QueryManager {
         List<Reject> rejects;
         do {
             rejects = new ArrayList<>();
-            try {
-                final Map<Integer, Integer> batchOrder = new HashMap<>();
-                int recordIndex = -1;
-                int batchNumber = -1;
-                for (final Record rec : records) {
-                    recordIndex++;
-                    statement.clearParameters();
-
-                    String sqlFact = rowWriter.write(rec);
-                    if (configuration.isDebugQuery() && sqlFact != null) {
-                        log.debug("'" + sqlFact.trim() + "'.");
-                    }
-
-                    statement.addBatch();
-                    batchNumber++;
-                    batchOrder.put(batchNumber, recordIndex);
+            // the statement is cached by the data source wrapper, don't close it
+            statement.clearBatch();
+            final Map<Integer, Integer> batchOrder = new HashMap<>();
+            int recordIndex = -1;
+            int batchNumber = -1;
+            for (final Record rec : records) {
+                recordIndex++;
+                statement.clearParameters();
+
+                String sqlFact = rowWriter.write(rec);
+                if (configuration.isDebugQuery() && sqlFact != null) {
+                    log.debug("'" + sqlFact.trim() + "'.");
                 }
 
-                try {
-                    statement.executeBatch();
-                    if (!connection.getAutoCommit()) {
-                        connection.commit();
-                    }
+                statement.addBatch();
+                batchNumber++;
+                batchOrder.put(batchNumber, recordIndex);
+            }
+
+            try {
+                statement.executeBatch();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                break;
+            } catch (final SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                if (!retry(e) || retryCount > maxRetry) {
+                    rejects.addAll(handleRejects(records, batchOrder, e));
                     break;
-                } catch (final SQLException e) {
-                    if (!connection.getAutoCommit()) {
-                        connection.rollback();
-                    }
-                    if (!retry(e) || retryCount > maxRetry) {
-                        rejects.addAll(handleRejects(records, batchOrder, e));
-                        break;
-                    }
-                    retryCount++;
-                    log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
-                    try {
-                        Thread.sleep((long) Math.exp(retryCount) * 2000);
-                    } catch (InterruptedException e1) {
-                        Thread.currentThread().interrupt();
-                    }
                 }
-            } finally {
-                statement.close();
+                retryCount++;
+                log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
+                try {
+                    Thread.sleep((long) Math.exp(retryCount) * 2000);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                }
             }
         } while (true);
 
@@ -58,7 +58,8 @@ public class UpsertDefault extends QueryManagerImpl {
     }
 
     @Override
-    public PreparedStatement buildQuery(final List<Record> records, final Connection connection) throws SQLException {
+    public PreparedStatement buildQuery(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
         final List<Schema.Entry> entries = records
                 .stream()
                 .flatMap(r -> r.getSchema().getEntries().stream())
@@ -80,7 +81,7 @@ public class UpsertDefault extends QueryManagerImpl {
                 .generateQuerySQL4InsertOrUpdate(getPlatform(), getConfiguration().getDataSet().getTableName(),
                         columnList);
 
-        final PreparedStatement statement = connection.prepareStatement(sql);
+        final PreparedStatement statement = dataSource.prepareStatement(sql);
 
         final List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
         for (JDBCSQLBuilder.Column column : columnList) {
@@ -107,7 +108,7 @@ public class UpsertDefault extends QueryManagerImpl {
         final List<Record> needUpdate = new ArrayList<>();
         final List<Record> needInsert = new ArrayList<>();
         final Connection connection = dataSource.getConnection();
-        final PreparedStatement statement = buildQuery(records, connection);
+        final PreparedStatement statement = buildQuery(records, dataSource);
         final List<Reject> discards = new ArrayList<>();
         try {
             for (final Record rec : records) {
@@ -130,12 +131,11 @@ public class UpsertDefault extends QueryManagerImpl {
                 connection.commit();
             }
         } catch (final SQLException e) {
-            if (!connection.getAutoCommit()) {
+            dataSource.discardStatementsOnConnectionError(e);
+            if (!connection.isClosed() && !connection.getAutoCommit()) {
                 connection.rollback();
             }
             throw e;
-        } finally {
-            statement.close();
         }
 
         // fixme handle the update and insert in // need a pool of 2 !
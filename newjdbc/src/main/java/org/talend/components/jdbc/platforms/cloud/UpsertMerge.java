@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.platforms.cloud;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.jdbc.output.JDBCOutputConfig;
+import org.talend.components.jdbc.output.JDBCSQLBuilder;
+import org.talend.components.jdbc.output.RowWriter;
+import org.talend.components.jdbc.platforms.Platform;
+import org.talend.components.jdbc.schema.SchemaInferer;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Upsert with one native statement per record, batched: INSERT ... ON CONFLICT, ON DUPLICATE KEY UPDATE or MERGE
+ * depending on the platform. Platforms without native upsert fall back to {@link UpsertDefault}.
+ */
+@Slf4j
+@Getter
+public class UpsertMerge extends QueryManagerImpl {
+
+    private final List<String> keys;
+
+    private final List<String> ignoreColumns;
+
+    private final UpsertDefault fallback;
+
+    private List<String> keyLabels;
+
+    public UpsertMerge(final Platform platform, final JDBCOutputConfig configuration, final I18nMessage i18n,
+            final RecordBuilderFactory recordBuilderFactory) {
+        super(platform, configuration, i18n, recordBuilderFactory);
+        this.keys = new ArrayList<>(ofNullable(configuration.getKeys()).orElse(emptyList()));
+        this.ignoreColumns = new ArrayList<>(ofNullable(configuration.getIgnoreUpdate()).orElse(emptyList()));
+        this.fallback = new UpsertDefault(platform, configuration, i18n, recordBuilderFactory);
+    }
+
+    /**
+     * @return the upsert statement, or null when the platform has no native upsert.
+     */
+    @Override
+    public PreparedStatement buildQuery(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
+        final List<Schema.Entry> entries = records
+                .stream()
+                .flatMap(r -> r.getSchema().getEntries().stream())
+                .distinct()
+                .collect(toList());
+
+        final Schema.Builder schemaBuilder = getRecordBuilderFactory().newSchemaBuilder(Schema.Type.RECORD);
+        entries.forEach(schemaBuilder::withEntry);
+        final Schema inputSchema = schemaBuilder.build();
+
+        final Schema currentSchema = SchemaInferer.mergeRuntimeSchemaAndDesignSchema4Dynamic(
+                getConfiguration().getDataSet().getSchema(), inputSchema, getRecordBuilderFactory());
+
+        final List<JDBCSQLBuilder.Column> columnList = JDBCSQLBuilder.getInstance()
+                .createColumnList(getConfiguration(), currentSchema, getConfiguration().isUseOriginColumnName(), keys,
+                        ignoreColumns);
+
+        keyLabels = columnList
+                .stream()
+                .filter(column -> column.updateKey)
+                .map(column -> column.columnLabel)
+                .collect(toList());
+
+        final String sql = JDBCSQLBuilder.getInstance()
+                .generateSQL4Upsert(getPlatform(), getConfiguration().getDataSet().getTableName(), columnList);
+        if (sql == null) {
+            return null;
+        }
+
+        final PreparedStatement statement = dataSource.prepareStatement(sql);
+
+        final List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+        for (JDBCSQLBuilder.Column column : columnList) {
+            if (column.addCol || (column.isReplaced())) {
+                continue;
+            }
+
+            if (column.insertable) {
+                columnList4Statement.add(column);
+            }
+        }
+
+        rowWriter = new RowWriter(columnList4Statement, inputSchema, currentSchema, statement,
+                getConfiguration().isDebugQuery(), sql);
+
+        return statement;
+    }
+
+    @Override
+    public List<Reject> execute(final List<Record> records, final JDBCService.DataSourceWrapper dataSource)
+            throws SQLException {
+        if (records.isEmpty()) {
+            return emptyList();
+        }
+        final PreparedStatement statement = buildQuery(records, dataSource);
+        if (statement == null) {
+            return fallback.execute(records, dataSource);
+        }
+        return execute(lastPerKey(records), dataSource, statement);
+    }
+
+    /**
+     * Rewritten batches are executed as a single statement, which can't affect a row twice (PostgreSQL): only the
+     * last record of each key is kept, as if the previous ones had been written then overwritten.
+     */
+    private List<Record> lastPerKey(final List<Record> records) {
+        final Map<List<Object>, Record> lastRecords = new HashMap<>();
+        for (final Record rec : records) {
+            lastRecords.put(keyLabels.stream().map(k -> rec.get(Object.class, k)).collect(toList()), rec);
+        }
+        if (lastRecords.size() == records.size()) {
+            return records;
+        }
+        log.debug("{} records superseded by a later record with the same keys", records.size() - lastRecords.size());
+        final Set<Record> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        kept.addAll(lastRecords.values());
+        return records.stream().filter(kept::contains).collect(toList());
+    }
+}
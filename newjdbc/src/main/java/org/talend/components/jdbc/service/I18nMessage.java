@@ -101,4 +101,8 @@ public interface I18nMessage {
     String errorCantDiscoverDataset(String error);
 
     String errorAccessTokenResponse(String errorDescription);
+
+    String errorEmptyWatermarkColumn();
+
+    String errorEmptyExportPath();
 }
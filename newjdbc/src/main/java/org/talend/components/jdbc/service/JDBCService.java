@@ -693,6 +693,8 @@ public class JDBCService implements Serializable {
 
         private Connection connection;
 
+        private StatementCache statementCache;
+
         public DataSourceWrapper(JDBCDataSource dataSource, Connection connection) {
             this.dataSource = dataSource;
             this.connection = connection;
@@ -711,8 +713,46 @@ public class JDBCService implements Serializable {
             return null;
         }
 
+        /**
+         * Prepares the statement through a cache bound to the current connection, so that a statement built again
+         * for the next batch, or after the connection got renewed, reuses the one already prepared for the same SQL.
+         *
+         * @param sql the statement text.
+         * @return the prepared statement, parameters and batch cleared.
+         * @throws SQLException if the statement can't be prepared.
+         */
+        public PreparedStatement prepareStatement(final String sql) throws SQLException {
+            final Connection current = getConnection();
+            if (statementCache == null || statementCache.getConnection() != current || !statementCache.isUsable()) {
+                if (statementCache != null) {
+                    statementCache.close();
+                }
+                statementCache = new StatementCache(current);
+            }
+            return statementCache.prepare(sql);
+        }
+
+        /**
+         * Forgets the cached statements when the error means the connection is broken.
+         *
+         * @param error the error raised while using a statement from {@link #prepareStatement(String)}.
+         */
+        public void discardStatementsOnConnectionError(final SQLException error) {
+            if (statementCache != null) {
+                statementCache.discardOnConnectionError(error);
+            }
+        }
+
         @Override
         public void close() throws SQLException {
+            if (statementCache != null) {
+                log
+                        .debug("Closing statement cache, hits={}, misses={}", statementCache.getHits(),
+                                statementCache.getMisses());
+                statementCache.close();
+                statementCache = null;
+            }
+
             if (connection != null && !connection.isClosed()) {
                 connection.close();
             }
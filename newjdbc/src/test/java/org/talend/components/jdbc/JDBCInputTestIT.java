@@ -12,7 +12,11 @@
  */
 package org.talend.components.jdbc;
 
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +37,7 @@ import org.talend.sdk.component.junit.BaseComponentsHandler;
 import org.talend.sdk.component.junit5.Injected;
 import org.talend.sdk.component.junit5.WithComponents;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -303,6 +308,40 @@ class JDBCInputTestIT {
         assertEquals("dabao", getValueByIndex(data.get(2), 1));
     }
 
+    @Test
+    void testReaderExportAvro(@TempDir File tempDir) throws Exception {
+        JDBCQueryDataSet dataSet = new JDBCQueryDataSet();
+        dataSet.setDataStore(dataStore);
+        dataSet.setSchema(DBTestUtils.createTestSchemaInfos());
+        dataSet.setSqlQuery(DBTestUtils.getSQL(tableName));
+
+        JDBCCommonInputConfig commonConfig = new JDBCCommonInputConfig();
+        commonConfig.setExportFormat(ExportFormat.AVRO);
+        commonConfig.setExportPath(new File(tempDir, "export.avro").getAbsolutePath());
+        commonConfig.setRowsPerBlock(2);
+        commonConfig.setTrimAllStringOrCharColumns(true);
+
+        JDBCInputConfig config = new JDBCInputConfig();
+        config.setDataSet(dataSet);
+        config.setConfig(commonConfig);
+
+        List<Record> data = DBTestUtils.runInput(componentsHandler, config);
+
+        assertEquals(1, data.size());
+        assertEquals(3, data.get(0).getLong("rows"));
+        assertEquals(2, data.get(0).getLong("blocks"));
+
+        List<GenericRecord> rows = new ArrayList<>();
+        try (DataFileReader<GenericRecord> reader =
+                new DataFileReader<>(new File(data.get(0).getString("path")), new GenericDatumReader<>())) {
+            reader.forEach(rows::add);
+        }
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.get(0).get("ID"));
+        assertEquals("wangwei", rows.get(0).get("NAME").toString());
+        assertEquals("gaoyan", rows.get(1).get("NAME").toString());
+    }
+
     @Test
     void testReaderDynamic() {
         JDBCQueryDataSet dataSet = new JDBCQueryDataSet();
@@ -35,6 +35,7 @@ import org.talend.components.jdbc.dataset.JDBCTableDataSet;
 import org.talend.components.jdbc.datastore.JDBCDataStore;
 import org.talend.components.jdbc.output.DataAction;
 import org.talend.components.jdbc.output.JDBCOutputConfig;
+import org.talend.components.jdbc.output.UpsertStrategy;
 import org.talend.components.jdbc.service.JDBCService;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
@@ -573,6 +574,40 @@ class JDBCOutputTestIT {
         assertEquals("new one", getValueByIndex(result.get(3), 1));
     }
 
+    @Test
+    void testUpdateOrInsertMergeFallback() {
+        Schema schema = DBTestUtils.createTestSchema(recordBuilderFactory);
+        List<Record> records = new ArrayList<>();
+        records.add(
+                recordBuilderFactory.newRecordBuilder(schema).withInt("ID", 1).withString("NAME", "wangwei1").build());
+        records.add(
+                recordBuilderFactory.newRecordBuilder(schema).withInt("ID", 4).withString("NAME", "new one").build());
+
+        List<SchemaInfo> schemaInfos = createTestSchemaInfos();
+
+        JDBCOutputConfig config = new JDBCOutputConfig();
+        JDBCTableDataSet dataSet4Output = new JDBCTableDataSet();
+        dataSet4Output.setTableName(tableName);
+        dataSet4Output.setDataStore(dataStore);
+        dataSet4Output.setSchema(schemaInfos);
+        config.setDataSet(dataSet4Output);
+
+        config.setDataAction(DataAction.UPDATE_OR_INSERT);
+        // derby has no native upsert, the records keep the update then insert statements
+        config.setUpsertStrategy(UpsertStrategy.MERGE);
+        config.setDieOnError(true);
+
+        DBTestUtils.runOutput(records, componentsHandler, config);
+
+        List<Record> result = DBTestUtils.runInput(componentsHandler, dataStore, tableName, schemaInfos);
+
+        assertEquals(4, result.size());
+        assertEquals("wangwei1", getValueByIndex(result.get(0), 1));
+        assertEquals("dabao", getValueByIndex(result.get(2), 1));
+        assertEquals(4, getValueByIndex(result.get(3), 0));
+        assertEquals("new one", getValueByIndex(result.get(3), 1));
+    }
+
     @Test
     void testDynamicUpdateOrInsert() {
         Schema schema = DBTestUtils.createTestSchema(recordBuilderFactory);
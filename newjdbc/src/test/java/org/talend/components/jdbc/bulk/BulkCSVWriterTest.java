@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.talend.csv.CSVWriter;
+
+class BulkCSVWriterTest {
+
+    private static final String[] VALUES = { "plain", "", " spaced ", "semi;colon", "com,ma", "pi|pe", "tab\there",
+            "double\"quote", "single'quote", "\"", "''", "back\\slash", "\\", "ends with\\", "\\\"", "line\nbreak",
+            "crlf\r\nbreak", "\r", "\n", "all;,|\t\"'\\\r\n", "unicod\u00e9 \u20ac \ud83d\ude00", "-120",
+            "9223372036854775807" };
+
+    private static final long[] NUMBERS = { 0, 7, -1, 120, -120, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+
+    private static final String[] NULL_VALUES = { "", "\\N", "NULL", "n;u\"l'l" };
+
+    private static final char[] SEPARATORS = { ';', ',', '|', '\t' };
+
+    private static final char[] QUOTES = { '"', '\'' };
+
+    private static final String[] LINE_ENDS = { "\n", "\r\n" };
+
+    @Test
+    void sameBytesAsTalendCsv() throws IOException {
+        for (boolean quote : new boolean[] { false, true }) {
+            for (char separator : SEPARATORS) {
+                for (char quoteChar : QUOTES) {
+                    for (String lineEnd : LINE_ENDS) {
+                        StringWriter expected = new StringWriter();
+                        CSVWriter csvWriter = talendCsv(expected, quote, separator, quoteChar, lineEnd);
+                        StringWriter actual = new StringWriter();
+                        try (BulkCSVWriter writer = bulkCsv(actual, quote, separator, quoteChar, lineEnd)) {
+                            for (String value : VALUES) {
+                                csvWriter.writeColumn(value);
+                                writer.writeColumn(value);
+                            }
+                            csvWriter.endRow();
+                            writer.endRow();
+                            for (long number : NUMBERS) {
+                                csvWriter.writeColumn(String.valueOf(number));
+                                writer.writeColumn(number);
+                            }
+                            csvWriter.endRow();
+                            writer.endRow();
+                            for (String nullValue : NULL_VALUES) {
+                                csvWriter.writeColumn(nullValue);
+                                writer.writeNull(nullValue);
+                            }
+                            csvWriter.endRow();
+                            writer.endRow();
+                            // a single empty column
+                            csvWriter.writeColumn("");
+                            writer.writeColumn("");
+                            csvWriter.endRow();
+                            writer.endRow();
+                        }
+                        csvWriter.close();
+                        String config = "quote=" + quote + " separator=" + separator + " quoteChar=" + quoteChar;
+                        assertEquals(expected.toString(), actual.toString(), config);
+                        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8),
+                                actual.toString().getBytes(StandardCharsets.UTF_8), config);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void formatterSameBytesAsTalendCsv() throws IOException {
+        RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        Schema schema = factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(factory.newEntryBuilder().withName("id").withType(Schema.Type.INT).build())
+                .withEntry(factory
+                        .newEntryBuilder()
+                        .withName("name")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build())
+                .withEntry(factory
+                        .newEntryBuilder()
+                        .withName("payload")
+                        .withType(Schema.Type.BYTES)
+                        .withNullable(true)
+                        .build())
+                .build();
+        Record[] records = { factory
+                .newRecordBuilder(schema)
+                .withInt("id", -5)
+                .withString("name", "a;b\\c\"d\ne")
+                .withBytes("payload", "x|y\\z".getBytes(StandardCharsets.UTF_8))
+                .build(), factory.newRecordBuilder(schema).withInt("id", 6).build() };
+        for (boolean quote : new boolean[] { false, true }) {
+            for (String nullValue : new String[] { null, "\\N" }) {
+                StringWriter expected = new StringWriter();
+                CSVWriter csvWriter = talendCsv(expected, quote, ';', '"', "\n");
+                StringWriter actual = new StringWriter();
+                BulkFormatter formatter = new BulkFormatter(schema, schema);
+                try (BulkCSVWriter writer = bulkCsv(actual, quote, ';', '"', "\n")) {
+                    for (Record record : records) {
+                        // the former formatter: one string per value, the null value written like any value
+                        csvWriter.writeColumn(String.valueOf(record.getInt("id")));
+                        String name = record.getString("name");
+                        csvWriter.writeColumn(name != null ? name : nullValue != null ? nullValue : "");
+                        byte[] payload = record.getBytes("payload");
+                        csvWriter.writeColumn(payload != null ? new String(payload, StandardCharsets.UTF_8)
+                                : nullValue != null ? nullValue : "");
+                        csvWriter.endRow();
+                        for (int i = 0; i < 3; i++) {
+                            formatter.getFormatter(i).format(record, nullValue, writer);
+                        }
+                        writer.endRow();
+                    }
+                }
+                csvWriter.close();
+                assertEquals(expected.toString(), actual.toString(), "quote=" + quote + " null=" + nullValue);
+            }
+        }
+    }
+
+    @Test
+    void rawNullValue() throws IOException {
+        StringWriter out = new StringWriter();
+        try (BulkCSVWriter writer = bulkCsv(out, true, ',', '"', "\n")) {
+            writer.setRawNullValue(true);
+            writer.writeNull("");
+            writer.writeNull("\\N");
+            writer.writeColumn("");
+            writer.endRow();
+        }
+        assertEquals(",\\N,\"\"\n", out.toString());
+    }
+
+    @Test
+    void escapeUnquoted() throws IOException {
+        StringWriter out = new StringWriter();
+        try (BulkCSVWriter writer = new BulkCSVWriter(out)) {
+            writer.writeColumn("a;b\\c\"d\ne");
+            writer.writeColumn(-120);
+            writer.writeRawColumn("\\N");
+            writer.endRow();
+        }
+        assertEquals("a\\;b\\\\c\"d\\\ne;-120;\\N\n", out.toString());
+    }
+
+    @Test
+    void escapeQuoted() throws IOException {
+        StringWriter out = new StringWriter();
+        try (BulkCSVWriter writer = new BulkCSVWriter(out)) {
+            writer.setQuote(true);
+            writer.setSeparator(',');
+            writer.setLineEnd("\r\n");
+            writer.writeColumn("a;b\\c\"d");
+            writer.writeColumn(Long.MIN_VALUE);
+            writer.writeRawColumn("");
+            writer.endRow();
+            writer.writeColumn(0);
+            writer.endRow();
+        }
+        assertEquals("\"a;b\\\\c\\\"d\",\"-9223372036854775808\",\r\n\"0\"\r\n", out.toString());
+    }
+
+    @Test
+    void rowLargerThanBuffer() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            value.append((char) ('a' + i % 26));
+        }
+        StringWriter out = new StringWriter();
+        try (BulkCSVWriter writer = new BulkCSVWriter(out)) {
+            writer.writeColumn(value);
+            writer.endRow();
+        }
+        assertEquals(value + "\n", out.toString());
+    }
+
+    @Test
+    void dateWriterMatchesDateFormat() {
+        String[] patterns = { null, "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS",
+                "dd/MM/yyyy HH:mm", "EEE, d MMM yyyy" };
+        long[] instants = { 0L, 316051200000L, 1700000000123L, -2208988800000L, 253402300799999L };
+        for (String pattern : patterns) {
+            FastDateWriter dateWriter = FastDateWriter.of(pattern);
+            for (long instant : instants) {
+                assertEquals(FormatterUtils.formatDate(new Date(instant), pattern),
+                        dateWriter.format(instant).toString(), pattern);
+            }
+        }
+    }
+
+    private static CSVWriter talendCsv(StringWriter out, boolean quote, char separator, char quoteChar,
+            String lineEnd) {
+        CSVWriter writer = new CSVWriter(out);
+        writer.setSeparator(separator);
+        writer.setLineEnd(lineEnd);
+        if (quote) {
+            writer.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
+            writer.setQuoteChar(quoteChar);
+        } else {
+            writer.setQuoteStatus(CSVWriter.QuoteStatus.NO);
+        }
+        writer.setEscapeChar('\\');
+        return writer;
+    }
+
+    private static BulkCSVWriter bulkCsv(StringWriter out, boolean quote, char separator, char quoteChar,
+            String lineEnd) {
+        // configured like JDBCBulkFileWriter
+        BulkCSVWriter writer = new BulkCSVWriter(out);
+        writer.setSeparator(separator);
+        writer.setLineEnd(lineEnd);
+        if (quote) {
+            writer.setQuote(true);
+            writer.setQuoteChar(quoteChar);
+        } else {
+            writer.setQuote(false);
+        }
+        writer.setEscapeChar('\\');
+        return writer;
+    }
+}
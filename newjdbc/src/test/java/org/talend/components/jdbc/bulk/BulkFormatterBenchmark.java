@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import com.talend.csv.CSVWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.SchemaProperty;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per row cost of the bulk file formatting on 10 columns of mixed types: former string per value written through
+ * talendcsv, and {@link BulkFormatter} writing into {@link BulkCSVWriter}.
+ *
+ * Not run by the build, launch the main method to get the figures, with -prof gc for the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkFormatterBenchmark {
+
+    @Param({ "talendcsv", "buffer" })
+    private String writer;
+
+    @Param({ "false", "true" })
+    private boolean textEnclosure;
+
+    private Schema schema;
+
+    private Record record;
+
+    private CSVWriter csvWriter;
+
+    private BulkCSVWriter bulkWriter;
+
+    private BulkFormatter bulkFormatter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("bench");
+        schema = factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(entry(factory, "id", Schema.Type.INT, null))
+                .withEntry(entry(factory, "amount", Schema.Type.LONG, null))
+                .withEntry(entry(factory, "name", Schema.Type.STRING, null))
+                .withEntry(entry(factory, "address", Schema.Type.STRING, null))
+                .withEntry(entry(factory, "birth", Schema.Type.DATETIME, "yyyy-MM-dd"))
+                .withEntry(entry(factory, "updated", Schema.Type.DATETIME, "yyyy-MM-dd HH:mm:ss"))
+                .withEntry(entry(factory, "price", Schema.Type.DECIMAL, null))
+                .withEntry(entry(factory, "ratio", Schema.Type.DOUBLE, null))
+                .withEntry(entry(factory, "active", Schema.Type.BOOLEAN, null))
+                .withEntry(entry(factory, "payload", Schema.Type.BYTES, null))
+                .build();
+        record = factory
+                .newRecordBuilder(schema)
+                .withInt("id", 123456)
+                .withLong("amount", 9876543210L)
+                .withString("name", "Jean-Pierre")
+                .withString("address", "12 rue \"des Lilas\"; Paris\\15")
+                .withDateTime("birth", new Date(316051200000L))
+                .withDateTime("updated", new Date(1700000000000L))
+                .withDecimal("price", new BigDecimal("1234.56"))
+                .withDouble("ratio", 0.125)
+                .withBoolean("active", true)
+                .withBytes("payload", "payload bytes".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        csvWriter = new CSVWriter(new NullWriter());
+        csvWriter.setSeparator(';');
+        csvWriter.setLineEnd("\n");
+        csvWriter.setEscapeChar('\\');
+        csvWriter.setQuoteStatus(textEnclosure ? CSVWriter.QuoteStatus.FORCE : CSVWriter.QuoteStatus.NO);
+
+        bulkWriter = new BulkCSVWriter(new NullWriter());
+        bulkWriter.setQuote(textEnclosure);
+        bulkFormatter = new BulkFormatter(schema, schema);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        csvWriter.close();
+        bulkWriter.close();
+    }
+
+    @Benchmark
+    public void writeRow() throws IOException {
+        if ("buffer".equals(writer)) {
+            for (int i = 0; i < 10; i++) {
+                bulkFormatter.getFormatter(i).format(record, null, bulkWriter);
+            }
+            bulkWriter.endRow();
+        } else {
+            writeLegacy();
+        }
+    }
+
+    // the former BulkFormatter: one string per value, escaped again by the writer
+    private void writeLegacy() {
+        final List<Schema.Entry> entries = schema.getEntries();
+        for (Schema.Entry entry : entries) {
+            final Object value = record.get(Object.class, entry.getName());
+            if (entry.getType() == Schema.Type.DATETIME) {
+                final Date date = Date.from(record.getDateTime(entry.getName()).toInstant());
+                csvWriter.writeColumn(FormatterUtils.formatDate(date, entry.getProp(SchemaProperty.PATTERN)));
+            } else if (entry.getType() == Schema.Type.BYTES) {
+                csvWriter.writeColumn(StandardCharsets.UTF_8.decode(ByteBuffer.wrap((byte[]) value)).toString());
+            } else {
+                csvWriter.writeColumn(String.valueOf(value));
+            }
+        }
+        csvWriter.endRow();
+    }
+
+    private static Schema.Entry entry(RecordBuilderFactory factory, String name, Schema.Type type, String pattern) {
+        final Schema.Entry.Builder builder = factory.newEntryBuilder().withName(name).withType(type);
+        if (pattern != null) {
+            builder.withProp(SchemaProperty.PATTERN, pattern);
+        }
+        return builder.build();
+    }
+
+    private static class NullWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            // discarded
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkFormatterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.talend.components.jdbc.common.SchemaInfo;
+import org.talend.components.jdbc.dataset.JDBCTableDataSet;
+import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+@WithComponents("org.talend.components.jdbc")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Testing of streaming COPY bulk load")
+class JDBCBulkCopyWriterTestIT {
+
+    private static final String tableName = "bulk_copy";
+
+    @Service
+    private RecordBuilderFactory recordBuilderFactory;
+
+    private EmbeddedPostgres postgres;
+
+    private Connection connection;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + tableName + " (\"ID\" INT PRIMARY KEY, \"NAME\" VARCHAR(64))");
+        }
+    }
+
+    @AfterAll
+    public void afterAll() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+
+    @BeforeEach
+    public void beforeEach() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + tableName);
+        }
+    }
+
+    @Test
+    @DisplayName("Rows and nulls are loaded through the pipe")
+    void copyRows() throws Exception {
+        JDBCBulkCommonConfig config = new JDBCBulkCommonConfig();
+        config.setSetNullValue(true);
+        config.setNullValue("NULL");
+
+        // more than the pipe can hold, the writer has to wait for the COPY
+        int count = JDBCBulkCopyWriter.PIPE_SIZE / 8;
+        JDBCBulkCopyWriter writer = createWriter(config);
+        writer.open();
+        for (int i = 0; i < count; i++) {
+            writer.write(createRecord(i, i == 1 ? null : "name" + i));
+        }
+        writer.close();
+
+        assertEquals(count, writer.getLoadedRows());
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement
+                        .executeQuery("SELECT COUNT(*), COUNT(\"NAME\"), MAX(\"ID\") FROM " + tableName)) {
+            resultSet.next();
+            assertEquals(count, resultSet.getInt(1));
+            assertEquals(count - 1, resultSet.getInt(2));
+            assertEquals(count - 1, resultSet.getInt(3));
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement
+                        .executeQuery("SELECT \"NAME\" FROM " + tableName + " WHERE \"ID\" = 2")) {
+            resultSet.next();
+            assertEquals("name2", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Text enclosure uses the csv format")
+    void copyWithTextEnclosure() throws Exception {
+        JDBCBulkCommonConfig config = new JDBCBulkCommonConfig();
+        config.setSetTextEnclosure(true);
+
+        JDBCBulkCopyWriter writer = createWriter(config);
+        writer.open();
+        writer.write(createRecord(1, "with \"quote\""));
+        writer.write(createRecord(2, null));
+        writer.close();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement
+                        .executeQuery("SELECT \"NAME\" FROM " + tableName + " ORDER BY \"ID\"")) {
+            resultSet.next();
+            assertEquals("with \"quote\"", resultSet.getString(1));
+            resultSet.next();
+            assertNull(resultSet.getString(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Empty strings are not loaded as null by default")
+    void copyEmptyAndNull() throws Exception {
+        JDBCBulkCopyWriter writer = createWriter(new JDBCBulkCommonConfig());
+        writer.open();
+        writer.write(createRecord(1, ""));
+        writer.write(createRecord(2, null));
+        writer.write(createRecord(3, JDBCBulkCopyWriter.DEFAULT_NULL_VALUE));
+        writer.close();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement
+                        .executeQuery("SELECT \"NAME\" FROM " + tableName + " ORDER BY \"ID\"")) {
+            resultSet.next();
+            assertEquals("", resultSet.getString(1));
+            resultSet.next();
+            assertNull(resultSet.getString(1));
+            resultSet.next();
+            assertEquals(JDBCBulkCopyWriter.DEFAULT_NULL_VALUE, resultSet.getString(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Without design schema the columns of the rows are copied")
+    void copyDynamic() throws Exception {
+        JDBCTableDataSet dataSet = new JDBCTableDataSet();
+        dataSet.setTableName(tableName);
+        dataSet.setSchema(new ArrayList<>());
+        JDBCBulkCopyWriter writer = new JDBCBulkCopyWriter(dataSet, new JDBCBulkCommonConfig(), true,
+                new JDBCService.DataSourceWrapper(null, connection), recordBuilderFactory);
+
+        // the columns are not in the order of the table
+        Schema schema = recordBuilderFactory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(recordBuilderFactory.newEntryBuilder().withName("NAME").withType(Schema.Type.STRING).build())
+                .withEntry(recordBuilderFactory.newEntryBuilder().withName("ID").withType(Schema.Type.INT).build())
+                .build();
+        writer.open();
+        writer.write(recordBuilderFactory.newRecordBuilder(schema).withString("NAME", "a").withInt("ID", 1).build());
+        writer.close();
+
+        assertEquals(1, writer.getLoadedRows());
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT \"ID\", \"NAME\" FROM " + tableName)) {
+            resultSet.next();
+            assertEquals(1, resultSet.getInt(1));
+            assertEquals("a", resultSet.getString(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Closing without rows copies nothing")
+    void copyNoRow() throws Exception {
+        JDBCBulkCopyWriter writer = createWriter(new JDBCBulkCommonConfig());
+        writer.open();
+        writer.close();
+
+        assertEquals(0, writer.getLoadedRows());
+    }
+
+    @Test
+    @DisplayName("The table and the columns are quoted")
+    void copySql() {
+        JDBCTableDataSet dataSet = new JDBCTableDataSet();
+        dataSet.setTableName("my \"table\"");
+        dataSet.setSchema(new ArrayList<>());
+        JDBCBulkCopyWriter writer = new JDBCBulkCopyWriter(dataSet, new JDBCBulkCommonConfig(), true,
+                new JDBCService.DataSourceWrapper(null, connection), recordBuilderFactory);
+
+        List<Schema.Entry> fields = new ArrayList<>();
+        fields.add(recordBuilderFactory.newEntryBuilder().withName("ID").withType(Schema.Type.INT).build());
+        assertEquals("COPY \"my \"\"table\"\"\" (\"ID\") FROM STDIN WITH (FORMAT text, DELIMITER ';', NULL '\\N')",
+                writer.createCopySQL(fields));
+        assertEquals("COPY \"my \"\"table\"\"\" FROM STDIN WITH (FORMAT text, DELIMITER ';', NULL '\\N')",
+                writer.createCopySQL(null));
+    }
+
+    @Test
+    @DisplayName("A failing COPY is reported by the writer")
+    void copyFailure() throws Exception {
+        JDBCBulkCopyWriter writer = createWriter(new JDBCBulkCommonConfig());
+        writer.open();
+        writer.write(createRecord(1, "a"));
+        writer.write(createRecord(1, "duplicate"));
+        assertThrows(IOException.class, writer::close);
+    }
+
+    private JDBCBulkCopyWriter createWriter(JDBCBulkCommonConfig config) {
+        List<SchemaInfo> schemaInfos = new ArrayList<>();
+        schemaInfos.add(new SchemaInfo("ID", "ID", true, "INT", "id_Integer", false, null, 10, null, null, null));
+        schemaInfos
+                .add(new SchemaInfo("NAME", "NAME", false, "VARCHAR", "id_String", true, null, 64, null, null, null));
+
+        JDBCTableDataSet dataSet = new JDBCTableDataSet();
+        dataSet.setTableName(tableName);
+        dataSet.setSchema(schemaInfos);
+
+        return new JDBCBulkCopyWriter(dataSet, config, true, new JDBCService.DataSourceWrapper(null, connection),
+                recordBuilderFactory);
+    }
+
+    private Record createRecord(int id, String name) {
+        Schema schema = recordBuilderFactory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(recordBuilderFactory.newEntryBuilder().withName("ID").withType(Schema.Type.INT).build())
+                .withEntry(recordBuilderFactory
+                        .newEntryBuilder()
+                        .withName("NAME")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build())
+                .build();
+        return recordBuilderFactory.newRecordBuilder(schema).withInt("ID", id).withString("NAME", name).build();
+    }
+}
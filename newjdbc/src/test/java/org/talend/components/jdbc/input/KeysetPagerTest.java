@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.jdbc.platforms.DerbyPlatform;
+import org.talend.components.jdbc.platforms.GenericPlatform;
+import org.talend.components.jdbc.platforms.Platform;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+class KeysetPagerTest {
+
+    private static final String SELECT = "SELECT GRP, SEQ, NAME FROM KEYSET";
+
+    // ordered on (GRP, SEQ): (2, 1) is shared by more rows than a page holds, (3, 2) by two rows
+    private static final List<String> ALL = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:derby:memory:keysetpager;create=true");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE KEYSET (GRP INT NOT NULL, SEQ INT NOT NULL, NAME VARCHAR(8))");
+            ddl.execute("INSERT INTO KEYSET VALUES (3, 2, 'i'), (1, 1, 'a'), (2, 1, 'c'), (4, 1, 'l'), (2, 1, 'd'),"
+                    + " (3, 1, 'h'), (2, 1, 'e'), (1, 2, 'b'), (3, 3, 'k'), (2, 1, 'f'), (3, 2, 'j'), (2, 1, 'g')");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void compositeKeyLimitedInSql() throws SQLException {
+        final Platform derby = new DerbyPlatform(null, null);
+        Assertions.assertEquals(ALL, sorted(readAll(derby, Arrays.asList("GRP", "SEQ"), 3, null)));
+    }
+
+    @Test
+    void compositeKeyLimitedByDriver() throws SQLException {
+        final Platform generic = new GenericPlatform(null, null);
+        Assertions.assertEquals(ALL, sorted(readAll(generic, Arrays.asList("GRP", "SEQ"), 3, null)));
+    }
+
+    @Test
+    void duplicateKey() throws SQLException {
+        final Platform derby = new DerbyPlatform(null, null);
+        for (int pageSize = 1; pageSize <= ALL.size() + 1; pageSize++) {
+            Assertions.assertEquals(ALL, sorted(readAll(derby, Arrays.asList("GRP"), pageSize, null)),
+                    "page size " + pageSize);
+        }
+    }
+
+    @Test
+    void checkpointTrailsOnePage(@TempDir final File tempDir) throws SQLException, IOException {
+        final Platform derby = new DerbyPlatform(null, null);
+        final File checkpoint = new File(tempDir, "keyset.properties");
+        final List<String> keys = Arrays.asList("GRP", "SEQ");
+        try (KeysetPager pager = new KeysetPager(connection, derby, SELECT, keys, 3, checkpoint.getPath())) {
+            // the rows of (2, 1) may continue on the next page, it ends after (1, 2)
+            Assertions.assertEquals(Arrays.asList("a", "b"), names(pager.firstPage()));
+            pager.prefetch();
+            Assertions.assertEquals(Arrays.asList("c", "d", "e", "f", "g"), sorted(names(pager.nextPage())));
+            Assertions.assertFalse(checkpoint.exists());
+            Assertions.assertEquals(Arrays.asList("h"), names(pager.nextPage()));
+            final Properties saved = new Properties();
+            try (InputStream in = Files.newInputStream(checkpoint.toPath())) {
+                saved.load(in);
+            }
+            Assertions.assertEquals("GRP,SEQ", saved.getProperty("columns"));
+            Assertions.assertEquals("1", saved.getProperty("key.0"));
+            Assertions.assertEquals("2", saved.getProperty("key.1"));
+        }
+
+        // resumes after the first page, the rows after it already went downstream are read again
+        Assertions.assertEquals(ALL.subList(2, ALL.size()), sorted(readAll(derby, keys, 3, checkpoint.getPath())));
+        Assertions.assertFalse(checkpoint.exists());
+    }
+
+    @Test
+    void checkpointOfAnotherKey(@TempDir final File tempDir) throws SQLException, IOException {
+        final File checkpoint = new File(tempDir, "keyset.properties");
+        Files.write(checkpoint.toPath(), Arrays.asList("columns=GRP", "key.0=1", "type.0=4"));
+        try (KeysetPager pager = new KeysetPager(connection, new DerbyPlatform(null, null), SELECT,
+                Arrays.asList("GRP", "SEQ"), 3, checkpoint.getPath())) {
+            Assertions.assertThrows(IllegalStateException.class, pager::firstPage);
+        }
+    }
+
+    @Test
+    void afterKey() {
+        Assertions.assertEquals("(\"A\" > ?)", KeysetPager.afterKey(Arrays.asList("\"A\"")));
+        Assertions.assertEquals("(\"A\" > ? OR \"A\" = ? AND \"B\" > ? OR \"A\" = ? AND \"B\" = ? AND \"C\" > ?)",
+                KeysetPager.afterKey(Arrays.asList("\"A\"", "\"B\"", "\"C\"")));
+    }
+
+    private static List<String> readAll(final Platform platform, final List<String> keys, final int pageSize,
+            final String checkpoint) throws SQLException {
+        final List<String> names = new ArrayList<>();
+        try (KeysetPager pager = new KeysetPager(connection, platform, SELECT, keys, pageSize, checkpoint)) {
+            ResultSet page = pager.firstPage();
+            pager.prefetch();
+            while (page != null) {
+                names.addAll(names(page));
+                page.close();
+                page = pager.nextPage();
+            }
+        }
+        return names;
+    }
+
+    private static List<String> names(final ResultSet page) throws SQLException {
+        final List<String> names = new ArrayList<>();
+        while (page.next()) {
+            names.add(page.getString("NAME"));
+        }
+        return names;
+    }
+
+    private static List<String> sorted(final List<String> names) {
+        final List<String> sorted = new ArrayList<>(names);
+        sorted.sort(null);
+        return sorted;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.jdbc.platforms.DerbyPlatform;
+import org.talend.components.jdbc.platforms.Platform;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class WatermarkRangeTest {
+
+    private static final String SELECT = "SELECT ID, NAME FROM \"WATERMARK\"";
+
+    private static final String KEY = "WATERMARK.ID";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:derby:memory:watermarkrange;create=true");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE WATERMARK (ID INT NOT NULL, NAME VARCHAR(8))");
+            ddl.execute("INSERT INTO WATERMARK VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void incrementalRuns(@TempDir final File tempDir) throws SQLException {
+        final FileWatermarkStore store = new FileWatermarkStore(new File(tempDir, "watermarks.properties"));
+
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), read(new WatermarkRange(store, KEY, 0), true));
+        Assertions.assertEquals("number:3", store.load(KEY));
+
+        // an interrupted run reads its rows again
+        try (Statement dml = connection.createStatement()) {
+            dml.execute("INSERT INTO WATERMARK VALUES (4, 'd'), (5, 'e')");
+        }
+        Assertions.assertEquals(Arrays.asList("d", "e"), read(new WatermarkRange(store, KEY, 0), false));
+        Assertions.assertEquals("number:3", store.load(KEY));
+
+        // the overlap window reads the last row of the previous run again
+        Assertions.assertEquals(Arrays.asList("c", "d", "e"), read(new WatermarkRange(store, KEY, 1), true));
+        Assertions.assertEquals(Collections.emptyList(), read(new WatermarkRange(store, KEY, 0), true));
+        Assertions.assertEquals("number:5", store.load(KEY));
+    }
+
+    @Test
+    void encodeDecode() {
+        final Timestamp timestamp = Timestamp.valueOf("2023-04-05 06:07:08.9");
+        Assertions.assertEquals(timestamp, WatermarkRange.decode(WatermarkRange.encode(timestamp)));
+        Assertions.assertEquals(new BigDecimal("12"),
+                WatermarkRange.decode(WatermarkRange.encode(WatermarkRange.normalize(12L))));
+        Assertions.assertEquals("abc", WatermarkRange.decode(WatermarkRange.encode("abc")));
+        Assertions.assertNull(WatermarkRange.decode(null));
+    }
+
+    @Test
+    void watermarkQuery() {
+        final Platform derby = new DerbyPlatform(null, null);
+        Assertions.assertEquals("SELECT * FROM \"T\" WHERE \"U\" > ? AND \"U\" <= ?",
+                derby.watermarkQuery("SELECT * FROM \"T\"", "U", true));
+        Assertions.assertEquals("SELECT MAX(\"U\") FROM \"T\"", derby.maxWatermarkQuery("T", "U"));
+    }
+
+    private static List<String> read(final WatermarkRange range, final boolean complete) throws SQLException {
+        final List<String> names = new ArrayList<>();
+        final String query = range.prepare(connection, new DerbyPlatform(null, null), SELECT, "WATERMARK", "ID");
+        try (PreparedStatement statement = connection.prepareStatement(query + " ORDER BY ID")) {
+            range.bind(statement);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString("NAME"));
+                }
+            }
+        }
+        if (complete) {
+            range.commit();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.platforms.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.talend.components.jdbc.dataset.JDBCTableDataSet;
+import org.talend.components.jdbc.output.InsertStrategy;
+import org.talend.components.jdbc.output.JDBCOutputConfig;
+import org.talend.components.jdbc.platforms.DerbyPlatform;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JDBCService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents("org.talend.components.jdbc")
+class MultiRowInsertTest {
+
+    private static final String TABLE = "MULTIROW";
+
+    @Service
+    private RecordBuilderFactory recordBuilderFactory;
+
+    @Service
+    private I18nMessage i18n;
+
+    @Test
+    void rowLimit() throws SQLException {
+        try (RecordingDataSource dataSource = new RecordingDataSource("multirow_rows")) {
+            final MultiRowInsert insert = new MultiRowInsert(new LimitedDerbyPlatform(3, 100), config(), i18n,
+                    recordBuilderFactory);
+
+            // 7 records by 3 rows: two full statements then one of a single row, the single row one being prepared
+            // first by the query building
+            assertTrue(insert.execute(records(1, 7), dataSource).isEmpty());
+            assertEquals(Arrays.asList(1, 3, 3, 1), dataSource.rows());
+            // the next batch reuses the writers of the full statement
+            assertTrue(insert.execute(records(8, 14), dataSource).isEmpty());
+            assertEquals(Arrays.asList(1, 3, 3, 1, 1, 3, 3, 1), dataSource.rows());
+            assertEquals(14, dataSource.count());
+        }
+    }
+
+    @Test
+    void parameterLimit() throws SQLException {
+        try (RecordingDataSource dataSource = new RecordingDataSource("multirow_parameters")) {
+            // 2 columns and 5 parameters: 2 rows per statement
+            final MultiRowInsert insert = new MultiRowInsert(new LimitedDerbyPlatform(100, 5), config(), i18n,
+                    recordBuilderFactory);
+
+            assertTrue(insert.execute(records(1, 5), dataSource).isEmpty());
+            assertEquals(Arrays.asList(1, 2, 2, 1), dataSource.rows());
+            assertEquals(5, dataSource.count());
+        }
+    }
+
+    @Test
+    void fallbackIsolatesRejectedRows() throws SQLException {
+        try (RecordingDataSource dataSource = new RecordingDataSource("multirow_fallback")) {
+            try (Statement statement = dataSource.getConnection().createStatement()) {
+                statement.execute("INSERT INTO " + TABLE + " VALUES (5, 'existing')");
+            }
+            final MultiRowInsert insert = new MultiRowInsert(new LimitedDerbyPlatform(100, 100), config(), i18n,
+                    recordBuilderFactory);
+
+            // the duplicated key fails the statement of 5 rows, the records are inserted again row by row with the
+            // single row statement and only the duplicated one is rejected
+            final List<Record> records = records(1, 5);
+            final List<Reject> rejects = insert.execute(records, dataSource);
+            assertEquals(Arrays.asList(1, 5), dataSource.rows());
+            assertEquals(1, rejects.size(), rejects::toString);
+            assertSame(records.get(4), rejects.get(0).getRecord());
+        }
+    }
+
+    private JDBCOutputConfig config() {
+        final JDBCTableDataSet dataSet = new JDBCTableDataSet();
+        dataSet.setTableName(TABLE);
+        final JDBCOutputConfig config = new JDBCOutputConfig();
+        config.setDataSet(dataSet);
+        config.setInsertStrategy(InsertStrategy.MULTI_ROW);
+        return config;
+    }
+
+    private List<Record> records(final int from, final int to) {
+        return IntStream
+                .rangeClosed(from, to)
+                .mapToObj(id -> recordBuilderFactory
+                        .newRecordBuilder()
+                        .withInt("ID", id)
+                        .withString("NAME", "name" + id)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Derby with lower limits, to split a few records into several statements.
+     */
+    private static class LimitedDerbyPlatform extends DerbyPlatform {
+
+        private final int maxRows;
+
+        private final int maxParameters;
+
+        private LimitedDerbyPlatform(final int maxRows, final int maxParameters) {
+            super(null, null);
+            this.maxRows = maxRows;
+            this.maxParameters = maxParameters;
+        }
+
+        @Override
+        public int maxBindParameters() {
+            return maxParameters;
+        }
+
+        @Override
+        public int maxInsertRows() {
+            return maxRows;
+        }
+    }
+
+    /**
+     * Records the number of rows of each statement prepared.
+     */
+    private static class RecordingDataSource extends JDBCService.DataSourceWrapper {
+
+        private final List<String> prepared = new ArrayList<>();
+
+        private RecordingDataSource(final String database) throws SQLException {
+            super(null, DriverManager.getConnection("jdbc:derby:memory:" + database + ";create=true"));
+            try (Statement statement = getConnection().createStatement()) {
+                statement.execute("CREATE TABLE " + TABLE + " (ID INT NOT NULL PRIMARY KEY, NAME VARCHAR(16))");
+            }
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(final String sql) throws SQLException {
+            prepared.add(sql);
+            return super.prepareStatement(sql);
+        }
+
+        private List<Integer> rows() {
+            // 2 parameters per row
+            return prepared
+                    .stream()
+                    .map(sql -> (int) sql.chars().filter(c -> c == '?').count() / 2)
+                    .collect(Collectors.toList());
+        }
+
+        private int count() throws SQLException {
+            try (Statement statement = getConnection().createStatement();
+                    ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + TABLE)) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+}
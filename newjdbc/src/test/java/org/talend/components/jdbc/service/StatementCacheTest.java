@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+class StatementCacheTest {
+
+    @Test
+    void reuseAndEvictLeastRecentlyUsed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:derby:memory:statementcache;create=true")) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE cached (id INT, name VARCHAR(32))");
+            }
+            final StatementCache cache = new StatementCache(connection, 2);
+            final PreparedStatement insert = cache.prepare("INSERT INTO cached VALUES (?, ?)");
+            insert.setInt(1, 1);
+            insert.setString(2, "one");
+            insert.addBatch();
+            Assertions.assertArrayEquals(new int[] { 1 }, insert.executeBatch());
+
+            Assertions.assertSame(insert, cache.prepare("INSERT INTO cached VALUES (?, ?)"));
+            final PreparedStatement select = cache.prepare("SELECT name FROM cached WHERE id = ?");
+            Assertions.assertSame(insert, cache.prepare("INSERT INTO cached VALUES (?, ?)"));
+            cache.prepare("DELETE FROM cached WHERE id = ?");
+            Assertions.assertEquals(2, cache.size());
+            Assertions.assertTrue(select.isClosed());
+            Assertions.assertFalse(insert.isClosed());
+            Assertions.assertEquals(2, cache.getHits());
+            Assertions.assertEquals(3, cache.getMisses());
+
+            insert.close();
+            Assertions.assertNotSame(insert, cache.prepare("INSERT INTO cached VALUES (?, ?)"));
+
+            cache.discardOnConnectionError(new SQLException("constraint", "23505"));
+            Assertions.assertTrue(cache.isUsable());
+            cache.discardOnConnectionError(new SQLTransientConnectionException("reset", "08S01"));
+            Assertions.assertFalse(cache.isUsable());
+            Assertions.assertEquals(0, cache.size());
+            Assertions.assertFalse(connection.isClosed());
+        }
+    }
+}